@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Runs load-test/resolve.js against the servlet application and the reactive (WebFlux + R2DBC)
+# variant on the same few cores and at high concurrency, then prints throughput and tail latency
+# side by side.
+#
+#   ./gradlew bootJar reactiveBootJar && load-test/compare-stacks.sh
+#
+# CPUS (default 2) limits each application to that many cores: the process is pinned with taskset
+# when available and the JVM is told the same count, so event loops, carrier threads and GC
+# threads are sized for it. Run k6 and PostgreSQL on other cores, or on another host, or they
+# compete with the application under test.
+#
+# Needs k6 and jq on the PATH and PostgreSQL reachable with the usual DATABASE_* settings.
+# Extra arguments are passed to k6, e.g. -e RATE=8000 -e DURATION=5m.
+set -euo pipefail
+
+SERVLET_JAR=${SERVLET_JAR:-$(ls build/libs/*.jar | grep -v -e plain -e reactive | head -n 1)}
+REACTIVE_JAR=${REACTIVE_JAR:-$(ls build/libs/*-reactive.jar | head -n 1)}
+CPUS=${CPUS:-2}
+RATE=${RATE:-5000}
+MAX_VUS=${MAX_VUS:-5000}
+PORT=${PORT:-8080}
+OUT=${OUT:-build/load-test}
+mkdir -p "$OUT"
+
+PIN=()
+if command -v taskset >/dev/null; then
+    PIN=(taskset -c "0-$((CPUS - 1))")
+fi
+
+run() {
+    local stack=$1 jar=$2
+    echo "== $stack on $CPUS cores"
+    PORT=$PORT "${PIN[@]}" java -XX:ActiveProcessorCount="$CPUS" -jar "$jar" \
+        >"$OUT/$stack.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -fs "http://localhost:$PORT/actuator/health" >/dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "application exited, see $OUT/$stack.log"; exit 1; }
+        sleep 1
+    done
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e RATE="$RATE" -e MAX_VUS="$MAX_VUS" \
+        --summary-export "$OUT/$stack.json" "${@:3}" load-test/resolve.js ||
+        echo "k6 thresholds crossed for $stack"
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run servlet "$SERVLET_JAR" "$@"
+run reactive "$REACTIVE_JAR" "$@"
+
+printf '\n%-10s %8s %9s %9s %9s %9s %8s %6s\n' \
+    stack req/s p50 p95 p99 'hit p99' dropped 503s
+for stack in servlet reactive; do
+    jq -r --arg stack "$stack" '[
+        $stack,
+        (.metrics.http_reqs.rate | floor),
+        (.metrics.http_req_duration.med | . * 10 | round / 10),
+        (.metrics.http_req_duration["p(95)"] | . * 10 | round / 10),
+        (.metrics.http_req_duration["p(99)"] | . * 10 | round / 10),
+        (.metrics["http_req_duration{kind:hit}"]["p(99)"] | . * 10 | round / 10),
+        (.metrics.dropped_iterations.count // 0),
+        (.metrics.responses_503.count // 0)
+    ] | @tsv' "$OUT/$stack.json" |
+        awk -F'\t' '{ printf "%-10s %8s %7sms %7sms %7sms %7sms %8s %6s\n",
+            $1, $2, $3, $4, $5, $6, $7, $8 }'
+done
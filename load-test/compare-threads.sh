@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Runs load-test/resolve.js against the application once on platform threads and once on
+# virtual threads, then prints throughput and tail latency side by side.
+#
+#   ./gradlew bootJar && load-test/compare-threads.sh
+#
+# Needs k6 and jq on the PATH and PostgreSQL reachable with the usual DATABASE_* settings.
+# Extra arguments are passed to k6, e.g. -e RATE=3000 -e DURATION=5m.
+set -euo pipefail
+
+JAR=${JAR:-$(ls build/libs/*.jar | grep -v -e plain -e reactive | head -n 1)}
+PORT=${PORT:-8080}
+OUT=${OUT:-build/load-test}
+mkdir -p "$OUT"
+
+run() {
+    local mode=$1 virtual=$2
+    echo "== $mode threads"
+    VIRTUAL_THREADS_ENABLED=$virtual PORT=$PORT java -jar "$JAR" >"$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -fs "http://localhost:$PORT/actuator/health" >/dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "application exited, see $OUT/$mode.log"; exit 1; }
+        sleep 1
+    done
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" \
+        --summary-export "$OUT/$mode.json" "${@:3}" load-test/resolve.js ||
+        echo "k6 thresholds crossed for $mode threads"
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform false "$@"
+run virtual true "$@"
+
+printf '\n%-10s %8s %9s %9s %9s %9s %8s %6s\n' \
+    mode req/s p50 p95 p99 'hit p99' dropped 503s
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '[
+        $mode,
+        (.metrics.http_reqs.rate | floor),
+        (.metrics.http_req_duration.med | . * 10 | round / 10),
+        (.metrics.http_req_duration["p(95)"] | . * 10 | round / 10),
+        (.metrics.http_req_duration["p(99)"] | . * 10 | round / 10),
+        (.metrics["http_req_duration{kind:hit}"]["p(99)"] | . * 10 | round / 10),
+        (.metrics.dropped_iterations.count // 0),
+        (.metrics.responses_503.count // 0)
+    ] | @tsv' "$OUT/$mode.json" |
+        awk -F'\t' '{ printf "%-10s %8s %7sms %7sms %7sms %7sms %8s %6s\n",
+            $1, $2, $3, $4, $5, $6, $7, $8 }'
+done
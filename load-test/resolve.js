@@ -0,0 +1,103 @@
+// k6 load test for the resolve path, mixing cached hits, database misses and writes.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=2000 load-test/resolve.js
+//
+// Runs at a fixed arrival rate so that a slow server shows up as latency and dropped
+// iterations rather than as a lower offered load.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '1000');
+const DURATION = __ENV.DURATION || '2m';
+const LINKS = parseInt(__ENV.LINKS || '1000');
+// Share of resolves for codes that were never shortened; each one reaches the database
+const MISS_RATIO = parseFloat(__ENV.MISS_RATIO || '0.1');
+const WRITE_RATE = parseInt(__ENV.WRITE_RATE || '50');
+// Upper bound on in-flight resolves once the server falls behind the arrival rate
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000');
+
+const unavailable = new Counter('responses_503');
+const params = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        resolve: {
+            executor: 'constant-arrival-rate',
+            exec: 'resolve',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: MAX_VUS,
+        },
+        shorten: {
+            executor: 'constant-arrival-rate',
+            exec: 'shorten',
+            rate: WRITE_RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 20,
+            maxVUs: 200,
+        },
+    },
+    // Listed so the summary breaks out cache hits; the limit itself is only a sanity bound
+    thresholds: { 'http_req_duration{kind:hit}': ['p(99)<1000'] },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const codes = [];
+    for (let i = 0; i < LINKS; i++) {
+        const res = http.post(
+            `${BASE_URL}/app/rest/shorten`,
+            JSON.stringify({ longUrl: `https://example.com/load/${i}` }),
+            params,
+        );
+        if (res.status === 200) {
+            codes.push(res.json('shortUrl'));
+        }
+    }
+    if (codes.length === 0) {
+        throw new Error(`could not shorten any URL against ${BASE_URL}`);
+    }
+    return { codes };
+}
+
+function randomCode() {
+    const alphabet = 'ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789';
+    let code = '';
+    for (let i = 0; i < 8; i++) {
+        code += alphabet[Math.floor(Math.random() * alphabet.length)];
+    }
+    return code;
+}
+
+export function resolve(data) {
+    const miss = Math.random() < MISS_RATIO;
+    const shortUrl = miss
+        ? randomCode()
+        : data.codes[Math.floor(Math.random() * data.codes.length)];
+    const res = http.post(
+        `${BASE_URL}/app/rest/long`,
+        JSON.stringify({ shortUrl }),
+        Object.assign({ tags: { kind: miss ? 'miss' : 'hit' } }, params),
+    );
+    if (res.status === 503) {
+        unavailable.add(1);
+    }
+    check(res, { 'resolved or not found': (r) => r.status === 200 || r.status === 404 });
+}
+
+export function shorten() {
+    const res = http.post(
+        `${BASE_URL}/app/rest/shorten`,
+        JSON.stringify({ longUrl: `https://example.com/write/${Date.now()}/${Math.random()}` }),
+        params,
+    );
+    if (res.status === 503) {
+        unavailable.add(1);
+    }
+    check(res, { shortened: (r) => r.status === 200 });
+}
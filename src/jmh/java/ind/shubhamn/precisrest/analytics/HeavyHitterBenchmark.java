@@ -0,0 +1,62 @@
+package ind.shubhamn.precisrest.analytics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-resolution cost of {@link HeavyHitterTracker#record} over a skewed key stream (a heavy head
+ * and a long tail), single-threaded and with four contending threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeavyHitterBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    private HeavyHitterTracker tracker;
+    private String[] stream;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tracker = new HeavyHitterTracker(100, 60_000);
+        SplittableRandom random = new SplittableRandom(42);
+        stream = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            // rank ~ 1/u is roughly Zipfian
+            int rank = (int) Math.min(1_000_000, 1 / Math.max(1e-6, random.nextDouble()));
+            stream[i] = String.format("z%07d", rank);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        tracker.record(stream[cursor.index++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended(Cursor cursor) {
+        tracker.record(stream[cursor.index++ & (KEYS - 1)]);
+    }
+}
@@ -0,0 +1,91 @@
+package ind.shubhamn.precisrest.dao;
+
+import ind.shubhamn.precisrest.PrecisApplication;
+import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Integration benchmark comparing the JPA repository lookup with the plain JDBC lookup path
+ * against an in-memory H2 database. Run with the GC profiler (configured in build.gradle) to get
+ * bytes allocated per lookup alongside throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlLookupBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private ConfigurableApplicationContext context;
+    private UrlShortenerDAO urlShortenerDAO;
+    private UrlLookupDAO urlLookupDAO;
+    private String[] shortUrls;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context =
+                new SpringApplicationBuilder(PrecisApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .properties(
+                                "database.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                                "database.username=sa",
+                                "database.password=",
+                                "spring.flyway.enabled=false",
+                                "cache.invalidation.enabled=false",
+                                "management.tracing.enabled=false",
+                                "management.zipkin.tracing.enabled=false",
+                                "logging.level.root=WARN",
+                                "logging.level.ind.shubhamn.precisrest=WARN",
+                                "logging.level.org.hibernate.SQL=OFF")
+                        .run();
+        urlShortenerDAO = context.getBean(UrlShortenerDAO.class);
+        urlLookupDAO = context.getBean(UrlLookupDAO.class);
+
+        shortUrls = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            String shortUrl = String.format("b%07d", i);
+            shortUrls[i] = shortUrl;
+            urlShortenerDAO.save(new ShortenedUrl(shortUrl, "https://example.com/page/" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<ShortenedUrl> jpaFindByShortUrl() {
+        return urlShortenerDAO.findByShortUrl(nextShortUrl());
+    }
+
+    @Benchmark
+    public Optional<UrlMapping> jdbcFindByShortUrl() {
+        return urlLookupDAO.findByShortUrl(nextShortUrl());
+    }
+
+    private String nextShortUrl() {
+        return shortUrls[index++ & (ROWS - 1)];
+    }
+}
@@ -0,0 +1,112 @@
+package ind.shubhamn.precisrest.logging;
+
+import ind.shubhamn.precisrest.PrecisApplication;
+import ind.shubhamn.precisrest.dao.UrlShortenerDAO;
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.rest.UrlShortenerController;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Resolve throughput through {@link RequestLoggingFilter} and the controller with logging:
+ *
+ * <ul>
+ *   <li>{@code off}: application loggers disabled.
+ *   <li>{@code sampled}: INFO, one successful request in 100 logged (the prod setting).
+ *   <li>{@code info}: INFO, every request logged.
+ *   <li>{@code debug}: DEBUG, every hot-path debug line as well (the dev setting).
+ * </ul>
+ *
+ * Several threads log at once so appender contention shows. Output goes to a file under {@code
+ * build/jmh} with the console appender switched off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    @Param({"off", "sampled", "info", "debug"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private RequestLoggingFilter filter;
+    private UrlShortenerController controller;
+    private GetLongUrlRequestDTO hit;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String level =
+                switch (logging) {
+                    case "off" -> "OFF";
+                    case "debug" -> "DEBUG";
+                    default -> "INFO";
+                };
+        context =
+                new SpringApplicationBuilder(PrecisApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .properties(
+                                "database.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                                "database.username=sa",
+                                "database.password=",
+                                "database.show-sql=false",
+                                "spring.flyway.enabled=false",
+                                "cache.invalidation.enabled=false",
+                                "click-log.enabled=false",
+                                "management.tracing.enabled=false",
+                                "management.zipkin.tracing.enabled=false",
+                                "logging.file.name=build/jmh/request-logging-" + logging + ".log",
+                                "logging.threshold.console=OFF",
+                                "logging.level.root=WARN",
+                                "logging.level.ind.shubhamn.precisrest=" + level,
+                                "logging.level.org.hibernate.SQL=OFF",
+                                "log-sampling.rates.request="
+                                        + ("sampled".equals(logging) ? 100 : 1))
+                        .run();
+        filter = context.getBean(RequestLoggingFilter.class);
+        controller = context.getBean(UrlShortenerController.class);
+        context.getBean(UrlShortenerDAO.class)
+                .save(new ShortenedUrl("hit00001", "https://example.com/hit"));
+        hit = new GetLongUrlRequestDTO("hit00001");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int resolve() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/rest/long");
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(
+                request,
+                response,
+                (req, res) -> controller.getLongUrl(hit, (HttpServletRequest) req));
+        return response.getStatus();
+    }
+}
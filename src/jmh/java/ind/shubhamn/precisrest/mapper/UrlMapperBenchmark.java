@@ -0,0 +1,60 @@
+package ind.shubhamn.precisrest.mapper;
+
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The generated {@link UrlMapper} on the resolve and shorten paths. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlMapperBenchmark {
+
+    private UrlMapper urlMapper;
+    private UrlMapping mapping;
+    private ShortenedUrl entity;
+    private ShortenUrlRequestDTO request;
+
+    @Setup
+    public void setup() {
+        urlMapper = Mappers.getMapper(UrlMapper.class);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 21, 9, 5, 7);
+        String longUrl = "https://www.example.com/very/long/url/path?param1=value1&param2=value2";
+        mapping = new UrlMapping("GRNHv-Vd", longUrl, createdAt, null);
+        entity = new ShortenedUrl("GRNHv-Vd", longUrl, createdAt, null);
+        request = new ShortenUrlRequestDTO(longUrl, null);
+    }
+
+    @Benchmark
+    public GetLongUrlResponseDTO resolveResponse() {
+        return urlMapper.toGetLongUrlResponseDto(mapping);
+    }
+
+    @Benchmark
+    public ShortenUrlResponseDTO shortenResponse() {
+        return urlMapper.toShortenUrlResponseDto(entity);
+    }
+
+    @Benchmark
+    public ShortenedUrl shortenRequest() {
+        return urlMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,145 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import ind.shubhamn.precisrest.pipeline.config.PipelineConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Request-thread cost of handing one resolution to a consumer thread: the {@link
+ * ResolutionPipeline} ring buffer against an {@link ArrayBlockingQueue} of freshly allocated
+ * events, both with the same capacity and one consumer. Producers retry while the handoff is full,
+ * so both sides measure sustained handoff rather than drops. Run with the GC profiler to see the
+ * per-event allocation the queue needs and the ring buffer avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandoffBenchmark {
+
+    private static final int CAPACITY = 16_384;
+
+    @Param({"blocking", "yielding"})
+    public String waitStrategy;
+
+    private ResolutionPipeline pipeline;
+
+    private ArrayBlockingQueue<Event> queue;
+
+    private Thread queueConsumer;
+
+    private volatile boolean running;
+
+    /** What the queue variant has to allocate per resolution. */
+    private record Event(
+            long timestampMillis,
+            String shortUrl,
+            int status,
+            String clientIp,
+            String userAgent,
+            String referrer) {}
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PipelineConfig config = new PipelineConfig();
+        config.setRingSize(CAPACITY);
+        config.setWaitStrategy(waitStrategy);
+        Blackhole sink =
+                new Blackhole(
+                        "Today's password is swordfish. I understand instantiating Blackholes"
+                                + " directly is dangerous.");
+        pipeline =
+                new ResolutionPipeline(
+                        config,
+                        List.of((event, endOfBatch) -> sink.consume(event.getShortUrl())),
+                        new SimpleMeterRegistry());
+        pipeline.start();
+
+        running = true;
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+        queueConsumer =
+                new Thread(
+                        () -> {
+                            List<Event> batch = new ArrayList<>(1_024);
+                            try {
+                                while (running) {
+                                    Event first = queue.poll(10, TimeUnit.MILLISECONDS);
+                                    if (first == null) {
+                                        continue;
+                                    }
+                                    batch.add(first);
+                                    queue.drainTo(batch, 1_023);
+                                    for (Event event : batch) {
+                                        sink.consume(event.shortUrl());
+                                    }
+                                    batch.clear();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        "queue-consumer");
+        queueConsumer.setDaemon(true);
+        queueConsumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+        running = false;
+        queueConsumer.join();
+    }
+
+    @Benchmark
+    public void ringBuffer() {
+        publishToRing();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void ringBufferContended() {
+        publishToRing();
+    }
+
+    @Benchmark
+    public void arrayBlockingQueue() throws InterruptedException {
+        offerToQueue();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void arrayBlockingQueueContended() throws InterruptedException {
+        offerToQueue();
+    }
+
+    private void publishToRing() {
+        while (!pipeline.publish("abc123", 200, "10.0.0.1", "bench", null)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void offerToQueue() throws InterruptedException {
+        queue.put(
+                new Event(System.currentTimeMillis(), "abc123", 200, "10.0.0.1", "bench", null));
+    }
+}
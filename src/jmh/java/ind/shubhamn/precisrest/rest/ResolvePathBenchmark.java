@@ -0,0 +1,124 @@
+package ind.shubhamn.precisrest.rest;
+
+import ind.shubhamn.precisrest.PrecisApplication;
+import ind.shubhamn.precisrest.dao.UrlShortenerDAO;
+import ind.shubhamn.precisrest.dto.ErrorResponse;
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.exception.GlobalExceptionHandler;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.service.UrlShortenerService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Resolve path from the controller down, without the servlet container: a cached hit and an
+ * unknown short URL answered by the exception handler. The GC profiler's {@code
+ * gc.alloc.rate.norm} is the bytes allocated per request that {@code ResolvePathAllocationTest}
+ * keeps under budget. The {@code service*} cases call {@link UrlShortenerService#getLongUrl}
+ * directly, so the difference is what the controller, pipeline hand-off and exception handler
+ * add; an unknown short URL is never cached and reaches the database every time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolvePathBenchmark {
+
+    private static final String HIT = "hit00001";
+
+    private static final String MISS = "missing1";
+
+    private ConfigurableApplicationContext context;
+    private UrlShortenerService service;
+    private UrlShortenerController controller;
+    private GlobalExceptionHandler exceptionHandler;
+    private MockHttpServletRequest request;
+    private GetLongUrlRequestDTO hit;
+    private GetLongUrlRequestDTO miss;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context =
+                new SpringApplicationBuilder(PrecisApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .properties(
+                                "database.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                                "database.username=sa",
+                                "database.password=",
+                                "spring.flyway.enabled=false",
+                                "cache.invalidation.enabled=false",
+                                "click-log.enabled=false",
+                                "management.tracing.enabled=false",
+                                "management.zipkin.tracing.enabled=false",
+                                "logging.level.root=WARN",
+                                "logging.level.ind.shubhamn.precisrest=INFO",
+                                "logging.level.org.hibernate.SQL=OFF")
+                        .run();
+        service = context.getBean(UrlShortenerService.class);
+        controller = context.getBean(UrlShortenerController.class);
+        exceptionHandler = context.getBean(GlobalExceptionHandler.class);
+        context.getBean(UrlShortenerDAO.class)
+                .save(new ShortenedUrl(HIT, "https://example.com/hit"));
+
+        request = new MockHttpServletRequest("POST", "/app/rest/long");
+        request.setRemoteAddr("203.0.113.7");
+        hit = new GetLongUrlRequestDTO(HIT);
+        miss = new GetLongUrlRequestDTO(MISS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<GetLongUrlResponseDTO> resolveHit() {
+        return controller.getLongUrl(hit, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> resolveNotFound() {
+        try {
+            controller.getLongUrl(miss, request);
+            throw new IllegalStateException(MISS + " resolved");
+        } catch (ShortUrlNotFoundException e) {
+            return exceptionHandler.handleShortUrlNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public UrlMapping serviceHit() {
+        return service.getLongUrl(HIT);
+    }
+
+    @Benchmark
+    public ShortUrlNotFoundException serviceNotFound() {
+        try {
+            service.getLongUrl(MISS);
+            throw new IllegalStateException(MISS + " resolved");
+        } catch (ShortUrlNotFoundException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ind.shubhamn.precisrest.rest.codec;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.dto.ErrorResponse;
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reflective Jackson binding against {@link UrlDtoJsonConverter} for the resolve request and the
+ * resolve and shorten responses, plus Jackson alone for the error response, which the converter
+ * does not handle. Both read paths start from an input stream over the same bytes. Run with the GC
+ * profiler for bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private JsonMapper jsonMapper;
+    private UrlDtoJsonConverter converter;
+    private GetLongUrlResponseDTO response;
+    private ShortenUrlResponseDTO shortenResponse;
+    private ErrorResponse errorResponse;
+    private byte[] request;
+    private HttpHeaders headers;
+
+    @Setup
+    public void setup() {
+        jsonMapper = JsonMapper.builder().build();
+        converter = new UrlDtoJsonConverter(jsonMapper);
+        response =
+                new GetLongUrlResponseDTO(
+                        "GRNHv-Vd",
+                        "https://www.example.com/very/long/url/path?param1=value1&param2=value2",
+                        LocalDateTime.of(2026, 1, 21, 9, 5, 7, 123_456_000),
+                        null);
+        shortenResponse =
+                new ShortenUrlResponseDTO(
+                        response.getShortUrl(),
+                        response.getLongUrl(),
+                        response.getCreatedAt(),
+                        null);
+        errorResponse =
+                new ErrorResponse(ErrorCodes.NOT_FOUND, "Short URL not found", 404);
+        request = "{\"shortUrl\":\"GRNHv-Vd\"}".getBytes(StandardCharsets.UTF_8);
+        headers = new HttpHeaders();
+    }
+
+    @Benchmark
+    public byte[] jacksonWrite() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] codecWrite() {
+        return converter.encode(response);
+    }
+
+    @Benchmark
+    public byte[] jacksonWriteShorten() {
+        return jsonMapper.writeValueAsBytes(shortenResponse);
+    }
+
+    @Benchmark
+    public byte[] codecWriteShorten() {
+        return converter.encode(shortenResponse);
+    }
+
+    @Benchmark
+    public byte[] jacksonWriteError() {
+        return jsonMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @Benchmark
+    public GetLongUrlRequestDTO jacksonRead() {
+        return jsonMapper.readValue(new ByteArrayInputStream(request), GetLongUrlRequestDTO.class);
+    }
+
+    @Benchmark
+    public Object codecRead() throws IOException {
+        return converter.read(
+                GetLongUrlRequestDTO.class,
+                new HttpInputMessage() {
+                    @Override
+                    public InputStream getBody() {
+                        return new ByteArrayInputStream(request);
+                    }
+
+                    @Override
+                    public HttpHeaders getHeaders() {
+                        return headers;
+                    }
+                });
+    }
+}
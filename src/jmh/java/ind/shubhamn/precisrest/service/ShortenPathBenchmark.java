@@ -0,0 +1,70 @@
+package ind.shubhamn.precisrest.service;
+
+import ind.shubhamn.precisrest.service.UrlCanonicalizer.CanonicalUrl;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The CPU-bound steps of a shorten before it reaches the database: short URL generation ({@code
+ * MessageDigest.getInstance}, SHA-256, Base64 and substring) and canonicalization of an already
+ * canonical URL, of one that needs rewriting, and of a memoized one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortenPathBenchmark {
+
+    private static final String CANONICAL =
+            "https://www.example.com/very/long/url/path?param1=value1&param2=value2";
+
+    private static final String REWRITTEN =
+            "HTTPS://WWW.Example.com:443/very/%7Elong/url/path?param2=value2&utm_source=mail"
+                    + "&param1=value1";
+
+    private UrlCanonicalizer canonicalizer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CanonicalizationConfig config = new CanonicalizationConfig();
+        config.setSortQueryParameters(true);
+        config.setStrippedParameters(List.of("utm_*", "gclid", "fbclid"));
+        canonicalizer = new UrlCanonicalizer(config);
+        canonicalizer.canonicalize(REWRITTEN);
+    }
+
+    @Benchmark
+    public String generateShortUrl() throws NoSuchAlgorithmException {
+        return ShortUrlGenerator.generate(CANONICAL);
+    }
+
+    @Benchmark
+    public CanonicalUrl canonicalizeUnchanged() {
+        return canonicalizer.compute(CANONICAL);
+    }
+
+    @Benchmark
+    public CanonicalUrl canonicalizeRewritten() {
+        return canonicalizer.compute(REWRITTEN);
+    }
+
+    @Benchmark
+    public CanonicalUrl canonicalizeMemoized() {
+        return canonicalizer.canonicalize(REWRITTEN);
+    }
+}
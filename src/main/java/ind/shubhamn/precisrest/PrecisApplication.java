@@ -2,8 +2,10 @@ package ind.shubhamn.precisrest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PrecisApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,112 @@
+package ind.shubhamn.precisrest.analytics;
+
+import ind.shubhamn.precisrest.dao.ClickCountDAO;
+import ind.shubhamn.precisrest.pipeline.ResolutionEvent;
+import ind.shubhamn.precisrest.pipeline.ResolutionHandler;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per short URL click counters. Resolutions only bump a {@link LongAdder} (striped, so concurrent
+ * redirects of a hot link do not contend on one cache line); a scheduled flush drains the deltas
+ * into {@code precis.click_counts} with a single batched upsert. Pending deltas are flushed once
+ * more on shutdown.
+ */
+@Component
+public class ClickCounter implements ResolutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickCounter.class);
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Autowired private ClickCountDAO clickCountDAO;
+
+    /**
+     * Records one successful resolution.
+     *
+     * @param shortUrl The short URL identifier
+     */
+    public void record(String shortUrl) {
+        LongAdder adder;
+        do {
+            adder = pending.computeIfAbsent(shortUrl, key -> new LongAdder());
+            adder.increment();
+            // An adder removed as idle is never read again, and it was only removed because
+            // this increment had not landed yet; count it on a fresh one
+        } while (pending.get(shortUrl) != adder);
+    }
+
+    @Override
+    public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+        if (event.isResolved()) {
+            record(event.getShortUrl());
+        }
+    }
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @return the persisted total plus clicks not yet flushed on this node
+     */
+    public long getClicks(String shortUrl) {
+        LongAdder adder = pending.get(shortUrl);
+        return clickCountDAO.findClicks(shortUrl) + (adder != null ? adder.sum() : 0);
+    }
+
+    /**
+     * Drains all pending deltas and writes them in one batch. On failure the deltas are added back
+     * and go out with the next flush.
+     */
+    @Scheduled(fixedDelayString = "${analytics.clicks.flush-interval-millis:5000}")
+    public synchronized void flush() {
+        Map<String, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            clickCountDAO.addClicks(deltas);
+            logger.debug("Flushed click counts for {} short URLs", deltas.size());
+        } catch (DataAccessException e) {
+            logger.warn(
+                    "Click count flush failed, retrying {} deltas next time: {}",
+                    deltas.size(),
+                    e.getMessage());
+            deltas.forEach(
+                    (shortUrl, delta) ->
+                            pending.computeIfAbsent(shortUrl, key -> new LongAdder()).add(delta));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Flushing pending click counts before shutdown");
+        flush();
+    }
+
+    private Map<String, Long> drain() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.put(entry.getKey(), delta);
+            } else {
+                // Idle since the last flush; removed only if still idle under the entry lock
+                pending.computeIfPresent(
+                        entry.getKey(), (key, adder) -> adder.sum() == 0 ? null : adder);
+            }
+        }
+        return deltas;
+    }
+
+    int pendingSize() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,227 @@
+package ind.shubhamn.precisrest.analytics;
+
+import ind.shubhamn.precisrest.pipeline.ResolutionEvent;
+import ind.shubhamn.precisrest.pipeline.ResolutionHandler;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming heavy-hitter detection over recent resolutions. Every resolution increments a
+ * Count-Min Sketch ({@value #DEPTH} rows of {@value #WIDTH} atomic counters, 256 KB for the current
+ * and previous window together); its estimate decides whether the short URL may enter a
+ * Space-Saving style candidate set of bounded capacity, replacing the weakest candidate.
+ *
+ * <p>The hot path is lock-free: the sketch increments plus a map lookup. Only a short URL whose
+ * estimate beats the weakest candidate takes a lock. Windows rotate on a schedule so the ranking
+ * follows current traffic rather than all-time totals.
+ */
+@Component
+public class HeavyHitterTracker implements ResolutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeavyHitterTracker.class);
+
+    static final int DEPTH = 4;
+
+    static final int WIDTH = 1 << 12;
+
+    private final int capacity;
+
+    private final long windowNanos;
+
+    private final ConcurrentHashMap<String, Candidate> candidates = new ConcurrentHashMap<>();
+
+    private volatile AtomicLongArray current = new AtomicLongArray(DEPTH * WIDTH);
+
+    private volatile AtomicLongArray previous = new AtomicLongArray(DEPTH * WIDTH);
+
+    private volatile long windowStartNanos = System.nanoTime();
+
+    // score a newcomer must reach to be considered; 0 while the candidate set has room
+    private volatile long admissionThreshold;
+
+    @Autowired
+    public HeavyHitterTracker(
+            @Value("${analytics.heavy-hitters.capacity:100}") int capacity,
+            @Value("${analytics.heavy-hitters.window-millis:60000}") long windowMillis) {
+        this.capacity = capacity;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Counts one resolution.
+     *
+     * @param shortUrl The short URL identifier
+     */
+    public void record(String shortUrl) {
+        long estimate = increment(current, shortUrl);
+        Candidate candidate = candidates.get(shortUrl);
+        if (candidate != null) {
+            candidate.current = estimate;
+            return;
+        }
+        if (estimate > admissionThreshold) {
+            admit(shortUrl, estimate);
+        }
+    }
+
+    @Override
+    public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+        if (event.isResolved()) {
+            record(event.getShortUrl());
+        }
+    }
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @return the Count-Min estimate over the current and previous window
+     */
+    public long estimate(String shortUrl) {
+        return estimate(current, shortUrl) + estimate(previous, shortUrl);
+    }
+
+    /**
+     * @param limit maximum number of entries
+     * @return the hottest short URLs, hottest first
+     */
+    public List<HotLink> topK(int limit) {
+        double seconds = (windowNanos + (System.nanoTime() - windowStartNanos)) / 1e9;
+        List<HotLink> hot = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates.values()) {
+            long score = candidate.score();
+            if (score > 0) {
+                hot.add(new HotLink(candidate.shortUrl, score, score / seconds));
+            }
+        }
+        hot.sort(Comparator.comparingLong(HotLink::estimatedCount).reversed());
+        return hot.size() > limit ? new ArrayList<>(hot.subList(0, limit)) : hot;
+    }
+
+    /** @return the hottest short URLs, hottest first, up to the tracker's capacity */
+    public List<HotLink> topK() {
+        return topK(capacity);
+    }
+
+    /**
+     * Starts a new window: the current sketch becomes the previous one and candidates that saw no
+     * traffic in the window just ended are dropped.
+     */
+    @Scheduled(fixedRateString = "${analytics.heavy-hitters.window-millis:60000}")
+    public synchronized void rotate() {
+        AtomicLongArray recycled = previous;
+        for (int i = 0; i < recycled.length(); i++) {
+            recycled.set(i, 0);
+        }
+        previous = current;
+        current = recycled;
+        windowStartNanos = System.nanoTime();
+
+        candidates.values().removeIf(candidate -> candidate.rotate() == 0);
+        admissionThreshold = candidates.size() >= capacity ? weakest().score() : 0;
+        logger.trace("Heavy-hitter window rotated, {} candidates", candidates.size());
+    }
+
+    private synchronized void admit(String shortUrl, long estimate) {
+        Candidate existing = candidates.get(shortUrl);
+        if (existing != null) {
+            existing.current = estimate;
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            Candidate weakest = weakest();
+            if (weakest == null || weakest.score() >= estimate) {
+                admissionThreshold = weakest != null ? weakest.score() : 0;
+                return;
+            }
+            candidates.remove(weakest.shortUrl);
+        }
+        Candidate candidate = new Candidate(shortUrl);
+        candidate.current = estimate;
+        candidate.previous = estimate(previous, shortUrl);
+        candidates.put(shortUrl, candidate);
+        if (candidates.size() >= capacity) {
+            admissionThreshold = weakest().score();
+        }
+    }
+
+    private Candidate weakest() {
+        Candidate weakest = null;
+        long min = Long.MAX_VALUE;
+        for (Candidate candidate : candidates.values()) {
+            long score = candidate.score();
+            if (score < min) {
+                min = score;
+                weakest = candidate;
+            }
+        }
+        return weakest;
+    }
+
+    private static long increment(AtomicLongArray sketch, String shortUrl) {
+        long hash = spread(shortUrl.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int column = (h1 + row * h2) & (WIDTH - 1);
+            min = Math.min(min, sketch.incrementAndGet(row * WIDTH + column));
+        }
+        return min;
+    }
+
+    private static long estimate(AtomicLongArray sketch, String shortUrl) {
+        long hash = spread(shortUrl.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int column = (h1 + row * h2) & (WIDTH - 1);
+            min = Math.min(min, sketch.get(row * WIDTH + column));
+        }
+        return min;
+    }
+
+    /** MurmurHash3 finalizer, giving two independent-enough 32-bit halves for double hashing. */
+    private static long spread(int hashCode) {
+        long hash = hashCode * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Candidate {
+
+        private final String shortUrl;
+
+        // last estimate seen in the current window; racing writers may leave a slightly older one
+        private volatile long current;
+
+        private volatile long previous;
+
+        private Candidate(String shortUrl) {
+            this.shortUrl = shortUrl;
+        }
+
+        private long score() {
+            return current + previous;
+        }
+
+        private long rotate() {
+            previous = current;
+            current = 0;
+            return previous;
+        }
+    }
+}
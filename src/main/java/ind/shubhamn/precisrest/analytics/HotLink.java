@@ -0,0 +1,10 @@
+package ind.shubhamn.precisrest.analytics;
+
+/**
+ * A currently hot short URL as seen by the {@link HeavyHitterTracker}.
+ *
+ * @param shortUrl the short URL identifier
+ * @param estimatedCount Count-Min estimate of resolutions over the current and previous window
+ * @param ratePerSecond the estimated count spread over the time it covers
+ */
+public record HotLink(String shortUrl, long estimatedCount, double ratePerSecond) {}
@@ -0,0 +1,20 @@
+package ind.shubhamn.precisrest.analytics;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Actuator endpoint ({@code /actuator/hotlinks}) listing the current heavy hitters. */
+@Component
+@Endpoint(id = "hotlinks")
+public class HotLinksEndpoint {
+
+    @Autowired private HeavyHitterTracker heavyHitterTracker;
+
+    @ReadOperation
+    public List<HotLink> hotLinks() {
+        return heavyHitterTracker.topK();
+    }
+}
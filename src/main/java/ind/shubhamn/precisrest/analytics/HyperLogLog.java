@@ -0,0 +1,125 @@
+package ind.shubhamn.precisrest.analytics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Dense HyperLogLog sketch with 2<sup>12</sup> one-byte registers: 4 KB per sketch whatever the
+ * traffic, with a standard error of about 1.6%. Registers are raised with a compare-and-set so
+ * concurrent resolutions never block each other. Two sketches merge by taking the register-wise
+ * maximum, which makes merging idempotent and safe to repeat across nodes and flushes.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 12;
+
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    private volatile boolean dirty;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * @param bytes registers previously produced by {@link #toByteArray()}
+     * @return a sketch over a copy of the given registers
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException(
+                    "Expected " + REGISTERS + " HyperLogLog registers, got " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Adds a well-mixed 64-bit hash: the top {@link #PRECISION} bits pick the register, the
+     * position of the first set bit in the rest is its candidate value.
+     *
+     * @param hash the 64-bit hash of the element
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        long remainder = (hash << PRECISION) | (1L << (PRECISION - 1));
+        raise(index, (byte) (Long.numberOfLeadingZeros(remainder) + 1));
+    }
+
+    /** Raises every register to at least the value in {@code other}. */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            raise(i, (byte) REGISTER.getVolatile(other.registers, i));
+        }
+    }
+
+    private void raise(int index, byte rank) {
+        byte current;
+        while (rank > (current = (byte) REGISTER.getVolatile(registers, index))) {
+            if (REGISTER.compareAndSet(registers, index, current, rank)) {
+                dirty = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Register-wise maximum of two serialized sketches, written into {@code target}.
+     *
+     * @param target registers to raise
+     * @param source registers to merge in
+     */
+    public static void mergeRegisters(byte[] target, byte[] source) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (source[i] > target[i]) {
+                target[i] = source[i];
+            }
+        }
+    }
+
+    /** @return the estimated number of distinct hashes added */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            byte register = (byte) REGISTER.getVolatile(registers, i);
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // small-range correction: linear counting over the empty registers
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** @return a copy of the registers, suitable for persisting */
+    public byte[] toByteArray() {
+        byte[] copy = new byte[REGISTERS];
+        for (int i = 0; i < REGISTERS; i++) {
+            copy[i] = (byte) REGISTER.getVolatile(registers, i);
+        }
+        return copy;
+    }
+
+    /** @return whether a register changed since the last {@link #clearDirty()} */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void clearDirty() {
+        dirty = false;
+    }
+}
@@ -0,0 +1,135 @@
+package ind.shubhamn.precisrest.analytics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed ring of per-minute counters for one link. A slot is stamped with the epoch minute it
+ * counts and recycled when that minute comes around again {@link #SLOTS} minutes later, so the
+ * flush job has two hours to drain a completed minute before it is overwritten.
+ *
+ * <p>An idle ring is evicted by {@link #retireIfIdle}: it only succeeds while no click is being
+ * counted, and a retired ring refuses further clicks, so the caller counts them on a fresh ring
+ * instead of in one nobody drains again.
+ */
+final class MinuteRing {
+
+    static final int SLOTS = 120;
+
+    private static final int RETIRED = Integer.MIN_VALUE;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(SLOTS);
+
+    private final AtomicLongArray minutes = new AtomicLongArray(SLOTS);
+
+    // clicks being counted right now, or RETIRED once the ring was evicted
+    private final AtomicInteger writers = new AtomicInteger();
+
+    private volatile long lastMinute;
+
+    // written by the (single) flushing thread, read by queries
+    private volatile long drainedThrough;
+
+    MinuteRing(long createdMinute) {
+        this.lastMinute = createdMinute;
+        this.drainedThrough = createdMinute - 1;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            minutes.set(slot, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Counts one click unless the ring was retired.
+     *
+     * @param minute the epoch minute of the click
+     * @return false if the ring was retired and the click was not counted
+     */
+    boolean tryIncrement(long minute) {
+        int current;
+        do {
+            current = writers.get();
+            if (current == RETIRED) {
+                return false;
+            }
+        } while (!writers.compareAndSet(current, current + 1));
+        try {
+            increment(minute);
+        } finally {
+            writers.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Retires the ring if no click is being counted and none was counted at or after {@code now}.
+     * Checked after claiming the ring, so a click that completed before the claim is seen.
+     *
+     * @param now the current minute
+     * @return true if the ring is retired and must be dropped
+     */
+    boolean retireIfIdle(long now) {
+        if (!writers.compareAndSet(0, RETIRED)) {
+            return false;
+        }
+        if (lastMinute < now) {
+            return true;
+        }
+        writers.set(0);
+        return false;
+    }
+
+    private void increment(long minute) {
+        int slot = (int) Math.floorMod(minute, (long) SLOTS);
+        if (minutes.get(slot) != minute) {
+            synchronized (this) {
+                if (minutes.get(slot) != minute) {
+                    // reset the count before publishing the new stamp, so no increment is wiped
+                    counts.set(slot, 0);
+                    minutes.set(slot, minute);
+                }
+            }
+        }
+        counts.incrementAndGet(slot);
+        if (lastMinute < minute) {
+            lastMinute = minute;
+        }
+    }
+
+    int count(long minute) {
+        int slot = (int) Math.floorMod(minute, (long) SLOTS);
+        return minutes.get(slot) == minute ? counts.get(slot) : 0;
+    }
+
+    long getLastMinute() {
+        return lastMinute;
+    }
+
+    long getDrainedThrough() {
+        return drainedThrough;
+    }
+
+    /**
+     * Hands every completed, not yet drained minute before {@code beforeMinute} to the consumer.
+     *
+     * @param beforeMinute the current minute; it and later minutes are left in place
+     * @param consumer receives (minute, count) for each non-zero minute
+     */
+    void drain(long beforeMinute, MinuteConsumer consumer) {
+        long from = Math.max(drainedThrough + 1, beforeMinute - SLOTS + 1);
+        for (long minute = from; minute < beforeMinute; minute++) {
+            int count = count(minute);
+            if (count != 0) {
+                consumer.accept(minute, count);
+            }
+        }
+        if (beforeMinute - 1 > drainedThrough) {
+            drainedThrough = beforeMinute - 1;
+        }
+    }
+
+    @FunctionalInterface
+    interface MinuteConsumer {
+        void accept(long minute, int count);
+    }
+}
@@ -0,0 +1,252 @@
+package ind.shubhamn.precisrest.analytics;
+
+import ind.shubhamn.precisrest.dao.TrafficRollupDAO;
+import ind.shubhamn.precisrest.model.TrafficBucket;
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import ind.shubhamn.precisrest.pipeline.ResolutionEvent;
+import ind.shubhamn.precisrest.pipeline.ResolutionHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-link traffic over time. Resolutions bump a per-minute slot in a {@link MinuteRing} held only
+ * for links that saw traffic recently; a background job rolls completed minutes up into hourly
+ * rows (per-minute slots) and daily rows (per-hour slots) in {@code precis.traffic_rollup}.
+ * Series queries read those rows by primary key range and add this node's undrained minutes and
+ * unsaved deltas. While the database is down at most {@code max-unsaved-rows} rows of deltas are
+ * kept for retry; beyond that the rows whose window ended longest ago are dropped and counted in
+ * {@code analytics.traffic.unsaved.dropped}.
+ */
+@Component
+public class TrafficHistogram implements ResolutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficHistogram.class);
+
+    private static final Comparator<TrafficBucket> BY_ROW_END =
+            Comparator.comparingLong(
+                    bucket -> bucket.startMinute() + bucket.granularity().getRowMinutes());
+
+    private final ConcurrentHashMap<String, MinuteRing> rings = new ConcurrentHashMap<>();
+
+    // deltas of failed flushes, retried with the next one; guarded by itself, not by this, so
+    // series queries do not wait on a flush stuck talking to the database
+    private final Map<TrafficBucket, int[]> unsaved = new HashMap<>();
+
+    private final LongAdder droppedRows = new LongAdder();
+
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${analytics.traffic.max-unsaved-rows:100000}")
+    private int maxUnsavedRows = 100_000;
+
+    @Autowired private TrafficRollupDAO trafficRollupDAO;
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("analytics.traffic.unsaved.dropped", droppedRows, LongAdder::sum)
+                .description("Traffic rollup rows dropped after failed flushes hit the cap")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records one successful resolution at the current minute.
+     *
+     * @param shortUrl The short URL identifier
+     */
+    public void record(String shortUrl) {
+        long minute = currentMinute();
+        MinuteRing ring;
+        do {
+            ring = rings.computeIfAbsent(shortUrl, key -> new MinuteRing(minute));
+            // A ring retired as idle is being removed; count the click on a fresh one
+        } while (!ring.tryIncrement(minute));
+    }
+
+    @Override
+    public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+        if (event.isResolved()) {
+            record(event.getShortUrl());
+        }
+    }
+
+    /**
+     * Returns the most recent {@link TrafficGranularity#getSeriesLength()} slots ending with the
+     * current (partial) one.
+     *
+     * @param shortUrl The short URL identifier
+     * @param granularity per-minute or per-hour slots
+     * @return the slot counts, oldest first
+     */
+    public TrafficSeries getSeries(String shortUrl, TrafficGranularity granularity) {
+        int slotMinutes = granularity.getSlotMinutes();
+        long endSlot = Math.floorDiv(currentMinute(), slotMinutes);
+        long startMinute = (endSlot - granularity.getSeriesLength() + 1) * slotMinutes;
+        long[] counts = new long[granularity.getSeriesLength()];
+
+        long firstRow = rowStart(granularity, startMinute);
+        long lastRow = rowStart(granularity, endSlot * slotMinutes);
+        Map<Long, int[]> rows =
+                trafficRollupDAO.findRange(shortUrl, granularity, firstRow, lastRow);
+        for (Map.Entry<Long, int[]> row : rows.entrySet()) {
+            int[] slots = row.getValue();
+            for (int i = 0; i < slots.length; i++) {
+                long minute = row.getKey() + (long) i * slotMinutes;
+                addTo(counts, startMinute, slotMinutes, minute, slots[i]);
+            }
+        }
+
+        MinuteRing ring = rings.get(shortUrl);
+        if (ring != null) {
+            long now = currentMinute();
+            for (long minute = ring.getDrainedThrough() + 1; minute <= now; minute++) {
+                addTo(counts, startMinute, slotMinutes, minute, ring.count(minute));
+            }
+        }
+
+        synchronized (unsaved) {
+            for (long row = firstRow; row <= lastRow; row += granularity.getRowMinutes()) {
+                int[] slots = unsaved.get(new TrafficBucket(shortUrl, granularity, row));
+                if (slots != null) {
+                    for (int i = 0; i < slots.length; i++) {
+                        long minute = row + (long) i * slotMinutes;
+                        addTo(counts, startMinute, slotMinutes, minute, slots[i]);
+                    }
+                }
+            }
+        }
+        return new TrafficSeries(shortUrl, granularity, startMinute, counts);
+    }
+
+    /** Rolls all completed minutes up into hourly and daily rows. */
+    @Scheduled(fixedDelayString = "${analytics.traffic.flush-interval-millis:60000}")
+    public void flush() {
+        flushBefore(currentMinute());
+    }
+
+    private synchronized void flushBefore(long now) {
+        Map<TrafficBucket, int[]> deltas;
+        synchronized (unsaved) {
+            deltas = new HashMap<>(unsaved);
+            unsaved.clear();
+        }
+
+        for (Map.Entry<String, MinuteRing> entry : rings.entrySet()) {
+            String shortUrl = entry.getKey();
+            MinuteRing ring = entry.getValue();
+            ring.drain(
+                    now,
+                    (minute, count) -> {
+                        for (TrafficGranularity granularity : TrafficGranularity.values()) {
+                            TrafficBucket bucket =
+                                    TrafficBucket.containing(shortUrl, granularity, minute);
+                            int[] slots =
+                                    deltas.computeIfAbsent(
+                                            bucket, key -> new int[granularity.getSlotsPerRow()]);
+                            slots[bucket.slotOf(minute)] += count;
+                        }
+                    });
+            if (ring.getLastMinute() < now) {
+                // Idle link; removed only if still idle once no click can land on it
+                rings.computeIfPresent(
+                        shortUrl,
+                        (key, current) ->
+                                current == ring && ring.retireIfIdle(now) ? null : current);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            trafficRollupDAO.addCounts(deltas);
+            logger.debug("Flushed {} traffic rollup rows", deltas.size());
+        } catch (DataAccessException e) {
+            logger.warn(
+                    "Traffic rollup flush failed, retrying {} rows next time: {}",
+                    deltas.size(),
+                    e.getMessage());
+            synchronized (unsaved) {
+                unsaved.putAll(deltas);
+                trimUnsaved();
+            }
+        }
+    }
+
+    private void trimUnsaved() {
+        int excess = unsaved.size() - maxUnsavedRows;
+        if (excess <= 0) {
+            return;
+        }
+        List<TrafficBucket> oldest =
+                unsaved.keySet().stream().sorted(BY_ROW_END).limit(excess).toList();
+        oldest.forEach(unsaved::remove);
+        droppedRows.add(excess);
+        logger.warn("Dropped {} unsaved traffic rollup rows over the cap, oldest first", excess);
+    }
+
+    /** Deletes rollup rows that no series query can reach any more. */
+    @Scheduled(fixedDelayString = "${analytics.traffic.prune-interval-millis:3600000}")
+    public void prune() {
+        long now = currentMinute();
+        for (TrafficGranularity granularity : TrafficGranularity.values()) {
+            long windowMinutes =
+                    (long) granularity.getSeriesLength() * granularity.getSlotMinutes();
+            long cutoff = rowStart(granularity, now - windowMinutes);
+            int deleted = trafficRollupDAO.deleteBefore(granularity, cutoff);
+            if (deleted > 0) {
+                logger.debug("Pruned {} {} traffic rollup rows", deleted, granularity);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Flushing pending traffic counts before shutdown");
+        // the current minute is incomplete, but nothing else will persist it
+        flushBefore(currentMinute() + 1);
+    }
+
+    private static long rowStart(TrafficGranularity granularity, long minute) {
+        long rowMinutes = granularity.getRowMinutes();
+        return Math.floorDiv(minute, rowMinutes) * rowMinutes;
+    }
+
+    private static void addTo(
+            long[] counts, long startMinute, int slotMinutes, long minute, long count) {
+        long index = Math.floorDiv(minute - startMinute, slotMinutes);
+        if (index >= 0 && index < counts.length) {
+            counts[(int) index] += count;
+        }
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.millis(), 60_000L);
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    int activeLinks() {
+        return rings.size();
+    }
+
+    long droppedRows() {
+        return droppedRows.sum();
+    }
+}
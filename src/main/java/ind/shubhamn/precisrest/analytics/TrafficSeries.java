@@ -0,0 +1,22 @@
+package ind.shubhamn.precisrest.analytics;
+
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Traffic time series of one link.
+ *
+ * @param shortUrl the short URL identifier
+ * @param granularity the width of each slot
+ * @param startMinute start of the first slot in minutes since the epoch (UTC)
+ * @param counts clicks per slot, oldest first
+ */
+public record TrafficSeries(
+        String shortUrl, TrafficGranularity granularity, long startMinute, long[] counts) {
+
+    /** Start of the first slot as a UTC timestamp. */
+    public LocalDateTime start() {
+        return LocalDateTime.ofEpochSecond(startMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,212 @@
+package ind.shubhamn.precisrest.analytics;
+
+import ind.shubhamn.precisrest.dao.UniqueVisitorDAO;
+import ind.shubhamn.precisrest.model.VisitorBucket;
+import ind.shubhamn.precisrest.pipeline.ResolutionEvent;
+import ind.shubhamn.precisrest.pipeline.ResolutionHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimates unique visitors per link with one {@link HyperLogLog} sketch per link and UTC day.
+ * Resolutions only raise sketch registers; a scheduled flush merges changed sketches into {@code
+ * precis.unique_visitors}. A sketch that did not change since the previous flush is dropped from
+ * memory, so only links with new visitors hold their 4 KB. Range estimates merge the daily
+ * sketches. While the database is down at most {@code max-unsaved-sketches} sketches are kept for
+ * retry; beyond that the oldest days are dropped and counted in {@code
+ * analytics.visitors.unsaved.dropped}.
+ */
+@Component
+public class UniqueVisitorCounter implements ResolutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueVisitorCounter.class);
+
+    private final ConcurrentHashMap<VisitorBucket, HyperLogLog> sketches =
+            new ConcurrentHashMap<>();
+
+    // sketches of failed flushes, retried with the next one; guarded by this
+    private final Map<VisitorBucket, byte[]> unsaved = new HashMap<>();
+
+    private final LongAdder droppedSketches = new LongAdder();
+
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${analytics.visitors.retention-days:90}")
+    private int retentionDays = 90;
+
+    @Value("${analytics.visitors.max-unsaved-sketches:10000}")
+    private int maxUnsavedSketches = 10_000;
+
+    @Autowired private UniqueVisitorDAO uniqueVisitorDAO;
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(
+                        "analytics.visitors.unsaved.dropped", droppedSketches, LongAdder::sum)
+                .description("Unique visitor sketches dropped after failed flushes hit the cap")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a visit.
+     *
+     * @param shortUrl The short URL identifier
+     * @param fingerprint the {@link VisitorFingerprint} of the visitor
+     */
+    public void record(String shortUrl, long fingerprint) {
+        if (fingerprint == VisitorFingerprint.UNKNOWN) {
+            return;
+        }
+        VisitorBucket bucket = new VisitorBucket(shortUrl, today());
+        HyperLogLog sketch = sketches.computeIfAbsent(bucket, key -> new HyperLogLog());
+        sketch.add(fingerprint);
+        if (sketches.get(bucket) != sketch) {
+            // evicted by a concurrent flush; merging is idempotent, so putting it back is safe
+            sketches.merge(bucket, sketch, UniqueVisitorCounter::merge);
+        }
+    }
+
+    @Override
+    public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+        if (event.isResolved()) {
+            // hashed here rather than on the request thread
+            record(
+                    event.getShortUrl(),
+                    VisitorFingerprint.of(event.getClientIp(), event.getUserAgent()));
+        }
+    }
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @param from first UTC day, inclusive
+     * @param to last UTC day, inclusive
+     * @return the estimated number of distinct visitors over the whole range
+     */
+    public long estimate(String shortUrl, LocalDate from, LocalDate to) {
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] sketch : uniqueVisitorDAO.findSketches(shortUrl, from, to)) {
+            merged.merge(HyperLogLog.fromByteArray(sketch));
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog pending = sketches.get(new VisitorBucket(shortUrl, day));
+            if (pending != null) {
+                merged.merge(pending);
+            }
+        }
+        return merged.estimate();
+    }
+
+    /** Merges every sketch that changed since the previous flush into the database. */
+    @Scheduled(fixedDelayString = "${analytics.visitors.flush-interval-millis:60000}")
+    public synchronized void flush() {
+        Map<VisitorBucket, byte[]> changed = new HashMap<>(unsaved);
+        unsaved.clear();
+
+        for (Map.Entry<VisitorBucket, HyperLogLog> entry : sketches.entrySet()) {
+            HyperLogLog sketch = entry.getValue();
+            if (!sketch.isDirty()) {
+                // Persisted and idle. A visit that raced with the removal either sees it gone
+                // and puts the sketch back itself, or marked it dirty before the check below.
+                sketches.computeIfPresent(
+                        entry.getKey(),
+                        (key, current) -> current == sketch && !sketch.isDirty() ? null : current);
+                if (sketch.isDirty() && sketches.get(entry.getKey()) != sketch) {
+                    sketches.merge(entry.getKey(), sketch, UniqueVisitorCounter::merge);
+                }
+                continue;
+            }
+            // cleared before the snapshot, so a concurrent raise is flushed next time
+            sketch.clearDirty();
+            byte[] registers = sketch.toByteArray();
+            changed.merge(entry.getKey(), registers, UniqueVisitorCounter::mergeRegisters);
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            uniqueVisitorDAO.mergeSketches(changed);
+            logger.debug("Flushed {} unique visitor sketches", changed.size());
+        } catch (DataAccessException e) {
+            logger.warn(
+                    "Unique visitor flush failed, retrying {} sketches next time: {}",
+                    changed.size(),
+                    e.getMessage());
+            unsaved.putAll(changed);
+            trimUnsaved();
+        }
+    }
+
+    private void trimUnsaved() {
+        int excess = unsaved.size() - maxUnsavedSketches;
+        if (excess <= 0) {
+            return;
+        }
+        List<VisitorBucket> oldest =
+                unsaved.keySet().stream()
+                        .sorted(Comparator.comparing(VisitorBucket::day))
+                        .limit(excess)
+                        .toList();
+        oldest.forEach(unsaved::remove);
+        droppedSketches.add(excess);
+        logger.warn(
+                "Dropped {} unsaved unique visitor sketches over the cap, oldest first", excess);
+    }
+
+    /** Deletes sketches older than {@code analytics.visitors.retention-days}. */
+    @Scheduled(fixedDelayString = "${analytics.visitors.prune-interval-millis:3600000}")
+    public void prune() {
+        int deleted = uniqueVisitorDAO.deleteBefore(today().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.debug("Pruned {} unique visitor sketches", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Flushing pending unique visitor sketches before shutdown");
+        flush();
+    }
+
+    private static HyperLogLog merge(HyperLogLog target, HyperLogLog source) {
+        target.merge(source);
+        return target;
+    }
+
+    private static byte[] mergeRegisters(byte[] target, byte[] source) {
+        HyperLogLog.mergeRegisters(target, source);
+        return target;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    int sketchCount() {
+        return sketches.size();
+    }
+
+    long droppedSketches() {
+        return droppedSketches.sum();
+    }
+}
@@ -0,0 +1,61 @@
+package ind.shubhamn.precisrest.analytics;
+
+/**
+ * 64-bit visitor fingerprint for unique visitor estimation: a hash of the client IP (resolved the
+ * same way the request log does) and the User-Agent. Only the hash is ever kept.
+ */
+public final class VisitorFingerprint {
+
+    /** Marks a resolution without request context; such clicks are not counted as visitors. */
+    public static final long UNKNOWN = 0L;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private VisitorFingerprint() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param clientIp the client IP address
+     * @param userAgent the User-Agent header, may be null
+     * @return the visitor's fingerprint, never {@link #UNKNOWN}
+     */
+    public static long of(String clientIp, String userAgent) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = update(hash, clientIp);
+        hash = (hash ^ '\n') * FNV_PRIME;
+        hash = update(hash, userAgent);
+        hash = mix(hash);
+        return hash != UNKNOWN ? hash : 1L;
+    }
+
+    /**
+     * @param userAgent the User-Agent header, may be null
+     * @return a 64-bit hash of the User-Agent alone
+     */
+    public static long userAgentHash(String userAgent) {
+        return mix(update(FNV_OFFSET_BASIS, userAgent));
+    }
+
+    private static long update(long hash, String value) {
+        if (value == null) {
+            return hash;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /** MurmurHash3 finalizer; spreads FNV's weak high bits, which HyperLogLog relies on. */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
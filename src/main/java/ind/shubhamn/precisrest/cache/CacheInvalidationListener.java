@@ -0,0 +1,253 @@
+package ind.shubhamn.precisrest.cache;
+
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.config.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds a dedicated {@code LISTEN} connection (outside the pool) on the channel written by {@link
+ * CacheInvalidationPublisher} and evicts the announced keys from the local cache tier.
+ *
+ * <p>Notifications arriving within {@code cache.invalidation.batch-window-millis} of each other are
+ * evicted together. After every (re)connect the outbox is replayed from the last seen id; if the
+ * gap is too long to replay, or older than the outbox retention, the whole local cache is dropped
+ * instead.
+ */
+@Component
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM precis.cache_invalidation";
+
+    static final String REPLAY_SQL =
+            "SELECT id, short_url FROM precis.cache_invalidation WHERE id > ? ORDER BY id"
+                    + " FETCH FIRST ? ROWS ONLY";
+
+    /**
+     * Ids are allocated before commit, so a lower id can become visible after a higher one was
+     * already seen. Replays start this far below the last seen id; evicting twice is harmless.
+     */
+    static final long REPLAY_OVERLAP = 1_000;
+
+    private static final long KEEPALIVE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final CacheConfig.Invalidation config;
+
+    private final DatabaseConfig databaseConfig;
+
+    private final UrlCache urlCache;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    // only touched by the worker thread once started
+    private long lastSeenId = -1;
+    private long disconnectedAtNanos;
+
+    @Autowired
+    public CacheInvalidationListener(
+            CacheConfig cacheConfig, DatabaseConfig databaseConfig, UrlCache urlCache) {
+        this.config = cacheConfig.getInvalidation();
+        this.databaseConfig = databaseConfig;
+        this.urlCache = urlCache;
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled()) {
+            logger.info("Cache invalidation listener disabled");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation-listener");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info(
+                "Cache invalidation listener started on channel {}",
+                CacheInvalidationPublisher.CHANNEL);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection =
+                    DriverManager.getConnection(
+                            databaseConfig.getUrl(),
+                            databaseConfig.getUsername(),
+                            databaseConfig.getPassword())) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cache invalidation listener connection lost: {}", e.getMessage());
+                }
+            }
+            markDisconnected();
+            try {
+                Thread.sleep(config.getReconnectMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CacheInvalidationPublisher.CHANNEL);
+        }
+        // Subscribed before replaying, so nothing committed in between can be missed
+        resync(connection);
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Set<String> batch = new HashSet<>();
+        long lastActivity = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications =
+                    pgConnection.getNotifications((int) config.getPollMillis());
+            if (notifications == null || notifications.length == 0) {
+                // a half-open socket never errors on a read timeout, so probe it now and then
+                if (System.nanoTime() - lastActivity > KEEPALIVE_NANOS) {
+                    if (!connection.isValid(1)) {
+                        throw new SQLException("LISTEN connection is no longer valid");
+                    }
+                    lastActivity = System.nanoTime();
+                }
+                continue;
+            }
+            lastActivity = System.nanoTime();
+
+            long deadline =
+                    lastActivity + TimeUnit.MILLISECONDS.toNanos(config.getBatchWindowMillis());
+            while (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    lastSeenId =
+                            Math.max(lastSeenId, parsePayload(notification.getParameter(), batch));
+                }
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    break;
+                }
+                notifications = pgConnection.getNotifications((int) remainingMillis);
+            }
+
+            urlCache.invalidateLocal(batch);
+            logger.debug("Evicted {} locally cached short URLs on invalidation", batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Catches up on invalidations published while this node was not listening.
+     *
+     * @param connection an open connection to the database holding the outbox
+     */
+    void resync(Connection connection) throws SQLException {
+        if (lastSeenId < 0) {
+            // First connect: entries cached before now were never covered by a LISTEN
+            fullResync(connection, "initial connect");
+            return;
+        }
+        long disconnectedMinutes =
+                TimeUnit.NANOSECONDS.toMinutes(System.nanoTime() - disconnectedAtNanos);
+        if (disconnectedMinutes >= config.getRetentionMinutes()) {
+            fullResync(connection, "disconnected longer than outbox retention");
+            return;
+        }
+
+        List<String> shortUrls = new ArrayList<>();
+        long maxId = lastSeenId;
+        try (PreparedStatement statement = connection.prepareStatement(REPLAY_SQL)) {
+            statement.setLong(1, Math.max(0, lastSeenId - REPLAY_OVERLAP));
+            statement.setInt(2, config.getMaxReplay() + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    maxId = Math.max(maxId, rs.getLong(1));
+                    shortUrls.add(rs.getString(2));
+                }
+            }
+        }
+        if (shortUrls.size() > config.getMaxReplay()) {
+            fullResync(connection, "more than " + config.getMaxReplay() + " missed invalidations");
+            return;
+        }
+        urlCache.invalidateLocal(shortUrls);
+        lastSeenId = maxId;
+        logger.info("Replayed {} cache invalidations after reconnect", shortUrls.size());
+    }
+
+    private void fullResync(Connection connection, String reason) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(MAX_ID_SQL)) {
+            rs.next();
+            lastSeenId = rs.getLong(1);
+        }
+        urlCache.invalidateAllLocal();
+        logger.info("Dropped local URL cache ({}), resuming from outbox id {}", reason, lastSeenId);
+    }
+
+    void markDisconnected() {
+        disconnectedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Parses a {@code <id>:<shortUrl>[,<id>:<shortUrl>...]} payload.
+     *
+     * @param payload the notification payload
+     * @param shortUrls receives the short URLs named in the payload
+     * @return the highest outbox id in the payload, or -1 if none could be parsed
+     */
+    static long parsePayload(String payload, Collection<String> shortUrls) {
+        long maxId = -1;
+        if (payload == null || payload.isEmpty()) {
+            return maxId;
+        }
+        for (String entry : payload.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                logger.warn("Ignoring malformed cache invalidation entry: {}", entry);
+                continue;
+            }
+            try {
+                maxId = Math.max(maxId, Long.parseLong(entry.substring(0, separator)));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring malformed cache invalidation entry: {}", entry);
+                continue;
+            }
+            shortUrls.add(entry.substring(separator + 1));
+        }
+        return maxId;
+    }
+}
@@ -0,0 +1,116 @@
+package ind.shubhamn.precisrest.cache;
+
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.config.DatabaseConfig;
+import jakarta.annotation.PostConstruct;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes cache invalidations for written or deleted short URLs through a transactional outbox
+ * ({@code precis.cache_invalidation}) plus a PostgreSQL {@code NOTIFY}. Both run on the caller's
+ * connection, so when called inside the write transaction the outbox rows and the notification
+ * only become visible once the write commits.
+ *
+ * <p>Notification payload: comma-separated {@code <outboxId>:<shortUrl>} pairs.
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    public static final String CHANNEL = "precis_cache_invalidation";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO precis.cache_invalidation (short_url) VALUES (?)";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String PRUNE_SQL =
+            "DELETE FROM precis.cache_invalidation WHERE created_at < ?";
+
+    @Autowired private DataSource dataSource;
+
+    @Autowired private DatabaseConfig databaseConfig;
+
+    @Autowired private CacheConfig cacheConfig;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean notifySupported;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // NOTIFY is PostgreSQL-only; other databases (H2 in tests) still get the outbox rows
+        notifySupported =
+                databaseConfig.getUrl() != null
+                        && databaseConfig.getUrl().startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Records invalidations for the given short URLs and notifies listening nodes.
+     *
+     * @param shortUrls The short URLs whose cached copies are stale
+     */
+    public void publish(Collection<String> shortUrls) {
+        if (shortUrls.isEmpty()) {
+            return;
+        }
+        StringBuilder payload = new StringBuilder();
+        for (String shortUrl : shortUrls) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(
+                    connection -> {
+                        PreparedStatement statement =
+                                connection.prepareStatement(
+                                        INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                        statement.setString(1, shortUrl);
+                        return statement;
+                    },
+                    keyHolder);
+            // key maps are case-insensitive, and some drivers return every column
+            Number id = (Number) keyHolder.getKeys().get("id");
+            if (payload.length() > 0) {
+                payload.append(',');
+            }
+            payload.append(id.longValue()).append(':').append(shortUrl);
+        }
+
+        logger.debug("Publishing cache invalidation: {}", payload);
+
+        if (notifySupported) {
+            String message = payload.toString();
+            jdbcTemplate.execute(
+                    NOTIFY_SQL,
+                    (PreparedStatementCallback<Boolean>)
+                            statement -> {
+                                statement.setString(1, CHANNEL);
+                                statement.setString(2, message);
+                                return statement.execute();
+                            });
+        }
+    }
+
+    /** Deletes outbox rows older than the retention window; listeners replay only within it. */
+    @Scheduled(fixedDelayString = "${cache.invalidation.prune-interval-millis:300000}")
+    public void prune() {
+        long retentionMinutes = cacheConfig.getInvalidation().getRetentionMinutes();
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int deleted = jdbcTemplate.update(PRUNE_SQL, Timestamp.valueOf(cutoff));
+        if (deleted > 0) {
+            logger.debug("Pruned {} cache invalidation outbox rows", deleted);
+        }
+    }
+}
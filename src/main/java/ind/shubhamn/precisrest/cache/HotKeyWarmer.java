@@ -0,0 +1,53 @@
+package ind.shubhamn.precisrest.cache;
+
+import ind.shubhamn.precisrest.analytics.HeavyHitterTracker;
+import ind.shubhamn.precisrest.analytics.HotLink;
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.UrlLookupDAO;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the hottest short URLs in the local cache tier: pins the current heavy hitters and
+ * pre-admits those not cached yet with one batched database read.
+ */
+@Component
+public class HotKeyWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyWarmer.class);
+
+    @Autowired private HeavyHitterTracker heavyHitterTracker;
+
+    @Autowired private UrlCache urlCache;
+
+    @Autowired private UrlLookupDAO urlLookupDAO;
+
+    @Autowired private CacheConfig cacheConfig;
+
+    @Scheduled(fixedDelayString = "${cache.local.pin-interval-millis:10000}")
+    public void refresh() {
+        Set<String> hotKeys = new LinkedHashSet<>();
+        for (HotLink hotLink : heavyHitterTracker.topK(cacheConfig.getLocal().getPinnedKeys())) {
+            hotKeys.add(hotLink.shortUrl());
+        }
+        List<UrlMapping> loaded = List.of();
+        List<String> missing = urlCache.missingLocally(hotKeys);
+        if (!missing.isEmpty()) {
+            try {
+                loaded = urlLookupDAO.findAllByShortUrl(missing);
+            } catch (DataAccessException e) {
+                logger.warn("Could not pre-admit {} hot keys: {}", missing.size(), e.getMessage());
+            }
+        }
+        urlCache.pin(hotKeys, loaded);
+        logger.debug("Pinned {} hot keys, pre-admitted {}", hotKeys.size(), loaded.size());
+    }
+}
@@ -0,0 +1,203 @@
+package ind.shubhamn.precisrest.cache;
+
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.cache.resp.RespClient;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second-level cache shared by all nodes, stored in a Redis-protocol server. Every operation is
+ * guarded by a {@link CircuitBreaker}: when the cache tier is down or slow, reads report a miss
+ * and writes are skipped, so callers fall back to the database instead of waiting on the cache.
+ *
+ * <p>Only created when {@code cache.shared.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.shared", name = "enabled", havingValue = "true")
+public class SharedUrlCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedUrlCache.class);
+
+    private final RespClient client;
+    private final CircuitBreaker circuitBreaker;
+    private final byte[] keyPrefix;
+    private final long defaultTtlMillis;
+
+    @Autowired
+    public SharedUrlCache(CacheConfig cacheConfig) {
+        this(
+                new RespClient(
+                        cacheConfig.getShared().getHost(),
+                        cacheConfig.getShared().getPort(),
+                        cacheConfig.getShared().getTimeoutMillis(),
+                        cacheConfig.getShared().getPoolSize(),
+                        cacheConfig.getShared().getMaxConnections(),
+                        cacheConfig.getShared().getBorrowTimeoutMillis()),
+                new CircuitBreaker(
+                        cacheConfig.getShared().getFailureThreshold(),
+                        cacheConfig.getShared().getOpenMillis(),
+                        cacheConfig.getShared().getSlowCallMillis()),
+                cacheConfig.getShared().getKeyPrefix(),
+                cacheConfig.getShared().getTtlSeconds() * 1000);
+    }
+
+    SharedUrlCache(
+            RespClient client,
+            CircuitBreaker circuitBreaker,
+            String keyPrefix,
+            long defaultTtlMillis) {
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+        this.keyPrefix = keyPrefix.getBytes(StandardCharsets.UTF_8);
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    /**
+     * @param shortUrl the short URL identifier
+     * @return the cached mapping, or null on a miss or when the cache tier is unavailable
+     */
+    public UrlMapping get(String shortUrl) {
+        if (!circuitBreaker.tryAcquire()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] value = client.get(key(shortUrl));
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            return value != null ? UrlMappingCodec.decode(shortUrl, value) : null;
+        } catch (IOException | RuntimeException e) {
+            onFailure("GET", e);
+            return null;
+        }
+    }
+
+    /**
+     * Pipelined multi-get.
+     *
+     * @param shortUrls the short URL identifiers
+     * @return the cached mappings keyed by short URL; misses are absent
+     */
+    public Map<String, UrlMapping> getAll(Collection<String> shortUrls) {
+        Map<String, UrlMapping> found = new HashMap<>();
+        if (shortUrls.isEmpty() || !circuitBreaker.tryAcquire()) {
+            return found;
+        }
+        List<String> codes = new ArrayList<>(shortUrls);
+        List<byte[]> keys = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            keys.add(key(code));
+        }
+        long start = System.nanoTime();
+        try {
+            List<byte[]> values = client.mget(keys);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            for (int i = 0; i < codes.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    found.put(codes.get(i), UrlMappingCodec.decode(codes.get(i), value));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            onFailure("MGET", e);
+        }
+        return found;
+    }
+
+    public void put(UrlMapping mapping) {
+        putAll(List.of(mapping));
+    }
+
+    /**
+     * Stores mappings with a TTL derived from {@code expiresAt} (capped at the configured default
+     * TTL). Mappings that have already expired are not written.
+     */
+    public void putAll(Collection<UrlMapping> mappings) {
+        if (mappings.isEmpty() || !circuitBreaker.tryAcquire()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<byte[]> keys = new ArrayList<>(mappings.size());
+        List<byte[]> values = new ArrayList<>(mappings.size());
+        long[] ttls = new long[mappings.size()];
+        for (UrlMapping mapping : mappings) {
+            long ttl = ttlMillis(mapping, now);
+            if (ttl > 0) {
+                ttls[keys.size()] = ttl;
+                keys.add(key(mapping.shortUrl()));
+                values.add(UrlMappingCodec.encode(mapping));
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            client.setAll(keys, values, ttls);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            onFailure("SET", e);
+        }
+    }
+
+    public void evictAll(Collection<String> shortUrls) {
+        if (shortUrls.isEmpty() || !circuitBreaker.tryAcquire()) {
+            return;
+        }
+        List<byte[]> keys = new ArrayList<>(shortUrls.size());
+        for (String code : shortUrls) {
+            keys.add(key(code));
+        }
+        long start = System.nanoTime();
+        try {
+            client.del(keys);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            onFailure("DEL", e);
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    long ttlMillis(UrlMapping mapping, LocalDateTime now) {
+        if (mapping.expiresAt() == null) {
+            return defaultTtlMillis;
+        }
+        long untilExpiry = Duration.between(now, mapping.expiresAt()).toMillis();
+        return Math.min(untilExpiry, defaultTtlMillis);
+    }
+
+    private byte[] key(String shortUrl) {
+        byte[] code = shortUrl.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[keyPrefix.length + code.length];
+        System.arraycopy(keyPrefix, 0, key, 0, keyPrefix.length);
+        System.arraycopy(code, 0, key, keyPrefix.length, code.length);
+        return key;
+    }
+
+    private void onFailure(String command, Exception e) {
+        circuitBreaker.onFailure();
+        logger.warn(
+                "Shared cache {} failed, falling back to database: circuit={}, error={}",
+                command,
+                circuitBreaker.getState(),
+                e.toString());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        client.close();
+    }
+}
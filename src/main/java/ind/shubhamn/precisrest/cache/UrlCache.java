@@ -0,0 +1,223 @@
+package ind.shubhamn.precisrest.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Two-tier cache in front of the URL lookup path: a bounded in-process near-cache (L1) backed by
+ * the optional {@link SharedUrlCache} (L2) when {@code cache.shared.enabled=true}. L2 hits are
+ * promoted into L1. Entries never outlive their {@code expiresAt}.
+ *
+ * <p>Keys reported hot by {@link HotKeyWarmer} are pinned: they weigh nothing, so size-based
+ * eviction never removes them and they never push other entries out. They still expire.
+ */
+@Component
+public class UrlCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlCache.class);
+
+    private final Cache<String, UrlMapping> local;
+
+    private final SharedUrlCache shared;
+
+    private volatile Set<String> pinned = Set.of();
+
+    @Autowired
+    public UrlCache(CacheConfig cacheConfig, @Autowired(required = false) SharedUrlCache shared) {
+        this(
+                cacheConfig.getLocal().getMaximumSize(),
+                cacheConfig.getLocal().getTtlSeconds(),
+                shared);
+    }
+
+    UrlCache(long maximumSize, long ttlSeconds, SharedUrlCache shared) {
+        this.local =
+                Caffeine.newBuilder()
+                        .maximumWeight(maximumSize)
+                        .<String, UrlMapping>weigher(
+                                (key, value) -> pinned.contains(key) ? 0 : 1)
+                        .expireAfter(new MappingExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                        .build();
+        this.shared = shared;
+        logger.info(
+                "URL cache configured: localMaximumSize={}, localTtlSeconds={}, sharedTier={}",
+                maximumSize,
+                ttlSeconds,
+                shared != null);
+    }
+
+    /**
+     * @param shortUrl the short URL identifier
+     * @return the cached mapping from L1 or L2, or null on a miss
+     */
+    public UrlMapping getIfPresent(String shortUrl) {
+        UrlMapping mapping = local.getIfPresent(shortUrl);
+        if (mapping != null || shared == null) {
+            return mapping;
+        }
+        mapping = shared.get(shortUrl);
+        if (mapping != null) {
+            logger.trace("Shared cache hit, promoting to local cache: {}", shortUrl);
+            local.put(shortUrl, mapping);
+        }
+        return mapping;
+    }
+
+    /**
+     * Batch lookup: L1 first, then a single pipelined multi-get against L2 for the remainder.
+     *
+     * @param shortUrls the short URL identifiers
+     * @return the cached mappings keyed by short URL; misses are absent
+     */
+    public Map<String, UrlMapping> getAllPresent(Collection<String> shortUrls) {
+        Map<String, UrlMapping> found = new HashMap<>(local.getAllPresent(shortUrls));
+        if (shared == null || found.size() == shortUrls.size()) {
+            return found;
+        }
+        List<String> missing = new ArrayList<>(shortUrls.size() - found.size());
+        for (String shortUrl : shortUrls) {
+            if (!found.containsKey(shortUrl)) {
+                missing.add(shortUrl);
+            }
+        }
+        Map<String, UrlMapping> fromShared = shared.getAll(missing);
+        local.putAll(fromShared);
+        found.putAll(fromShared);
+        return found;
+    }
+
+    public void put(UrlMapping mapping) {
+        local.put(mapping.shortUrl(), mapping);
+        if (shared != null) {
+            shared.put(mapping);
+        }
+    }
+
+    public void putAll(Collection<UrlMapping> mappings) {
+        for (UrlMapping mapping : mappings) {
+            local.put(mapping.shortUrl(), mapping);
+        }
+        if (shared != null) {
+            shared.putAll(mappings);
+        }
+    }
+
+    /**
+     * Evicts the given keys from the local tier only; used when another node reports that its
+     * writes made them stale. The shared tier is kept current by the writing node itself.
+     *
+     * @param shortUrls the short URL identifiers to evict
+     */
+    public void invalidateLocal(Collection<String> shortUrls) {
+        local.invalidateAll(shortUrls);
+    }
+
+    /** Drops every local entry; the fallback when missed invalidations cannot be replayed. */
+    public void invalidateAllLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Replaces the set of pinned keys. Newly hot mappings are admitted into the local tier and the
+     * weight of entries entering or leaving the set is refreshed.
+     *
+     * @param hotKeys the keys to pin from now on
+     * @param loaded mappings of hot keys that were not cached locally
+     */
+    public void pin(Set<String> hotKeys, Collection<UrlMapping> loaded) {
+        Set<String> previouslyPinned = pinned;
+        pinned = Set.copyOf(hotKeys);
+        for (UrlMapping mapping : loaded) {
+            local.put(mapping.shortUrl(), mapping);
+        }
+        // Caffeine weighs an entry when it is written, so rewrite the ones whose weight changed
+        for (String key : hotKeys) {
+            if (!previouslyPinned.contains(key)) {
+                reweigh(key);
+            }
+        }
+        for (String key : previouslyPinned) {
+            if (!hotKeys.contains(key)) {
+                reweigh(key);
+            }
+        }
+    }
+
+    /**
+     * @param shortUrls the short URL identifiers
+     * @return those not currently held by the local tier
+     */
+    public List<String> missingLocally(Collection<String> shortUrls) {
+        List<String> missing = new ArrayList<>();
+        for (String shortUrl : shortUrls) {
+            if (local.policy().getIfPresentQuietly(shortUrl) == null) {
+                missing.add(shortUrl);
+            }
+        }
+        return missing;
+    }
+
+    private void reweigh(String key) {
+        UrlMapping mapping = local.policy().getIfPresentQuietly(key);
+        if (mapping != null) {
+            local.asMap().replace(key, mapping, mapping);
+        }
+    }
+
+    public long localSize() {
+        return local.estimatedSize();
+    }
+
+    void cleanUp() {
+        local.cleanUp();
+    }
+
+    /** Per-entry expiry: the configured TTL, shortened to the mapping's own expiresAt. */
+    private static final class MappingExpiry implements Expiry<String, UrlMapping> {
+
+        private final long ttlNanos;
+
+        MappingExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, UrlMapping value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return ttlNanos;
+            }
+            long untilExpiry =
+                    TimeUnit.MILLISECONDS.toNanos(
+                            Duration.between(LocalDateTime.now(), value.expiresAt()).toMillis());
+            return Math.max(0, Math.min(untilExpiry, ttlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String key, UrlMapping value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                String key, UrlMapping value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
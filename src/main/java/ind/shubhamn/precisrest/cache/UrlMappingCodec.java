@@ -0,0 +1,97 @@
+package ind.shubhamn.precisrest.cache;
+
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of a {@link UrlMapping} for the shared cache tier. The short URL is the
+ * cache key and is not repeated in the value.
+ *
+ * <pre>
+ * flags     1 byte   bit 0: createdAt present, bit 1: expiresAt present
+ * createdAt varlong epoch second (UTC, zig-zag) + varint nano, if present
+ * expiresAt varlong epoch second (UTC, zig-zag) + varint nano, if present
+ * longUrl   remaining bytes, UTF-8
+ * </pre>
+ */
+public final class UrlMappingCodec {
+
+    private static final int CREATED_AT = 1;
+    private static final int EXPIRES_AT = 2;
+
+    private UrlMappingCodec() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    public static byte[] encode(UrlMapping mapping) {
+        byte[] longUrl = mapping.longUrl().getBytes(StandardCharsets.UTF_8);
+        // flags + two timestamps of at most 10 + 5 bytes each
+        byte[] buffer = new byte[1 + 30 + longUrl.length];
+        int flags = 0;
+        int pos = 1;
+        if (mapping.createdAt() != null) {
+            flags |= CREATED_AT;
+            pos = writeTimestamp(buffer, pos, mapping.createdAt());
+        }
+        if (mapping.expiresAt() != null) {
+            flags |= EXPIRES_AT;
+            pos = writeTimestamp(buffer, pos, mapping.expiresAt());
+        }
+        buffer[0] = (byte) flags;
+        System.arraycopy(longUrl, 0, buffer, pos, longUrl.length);
+        int length = pos + longUrl.length;
+        if (length == buffer.length) {
+            return buffer;
+        }
+        byte[] encoded = new byte[length];
+        System.arraycopy(buffer, 0, encoded, 0, length);
+        return encoded;
+    }
+
+    public static UrlMapping decode(String shortUrl, byte[] value) {
+        int flags = value[0];
+        int[] pos = {1};
+        LocalDateTime createdAt = (flags & CREATED_AT) != 0 ? readTimestamp(value, pos) : null;
+        LocalDateTime expiresAt = (flags & EXPIRES_AT) != 0 ? readTimestamp(value, pos) : null;
+        String longUrl =
+                new String(value, pos[0], value.length - pos[0], StandardCharsets.UTF_8);
+        return new UrlMapping(shortUrl, longUrl, createdAt, expiresAt);
+    }
+
+    private static int writeTimestamp(byte[] buffer, int pos, LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        pos = writeVarLong(buffer, pos, (seconds << 1) ^ (seconds >> 63));
+        return writeVarLong(buffer, pos, timestamp.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(byte[] value, int[] pos) {
+        long zigzag = readVarLong(value, pos);
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        int nanos = (int) readVarLong(value, pos);
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static int writeVarLong(byte[] buffer, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static long readVarLong(byte[] value, int[] pos) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = value[pos[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+}
@@ -0,0 +1,241 @@
+package ind.shubhamn.precisrest.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for the URL lookup caches. {@code cache.local} configures the in-process
+ * near-cache, {@code cache.shared} the optional Redis-protocol cache tier shared by all nodes and
+ * {@code cache.invalidation} the PostgreSQL LISTEN/NOTIFY listener that evicts stale near-cache
+ * entries written by other nodes.
+ */
+@Configuration
+@ConfigurationProperties("cache")
+public class CacheConfig {
+
+    private Local local = new Local();
+    private Shared shared = new Shared();
+    private Invalidation invalidation = new Invalidation();
+
+    public Local getLocal() {
+        return local;
+    }
+
+    public void setLocal(Local local) {
+        this.local = local;
+    }
+
+    public Shared getShared() {
+        return shared;
+    }
+
+    public void setShared(Shared shared) {
+        this.shared = shared;
+    }
+
+    public Invalidation getInvalidation() {
+        return invalidation;
+    }
+
+    public void setInvalidation(Invalidation invalidation) {
+        this.invalidation = invalidation;
+    }
+
+    public static class Local {
+        private long maximumSize = 10_000;
+        private long ttlSeconds = 300;
+        private int pinnedKeys = 100;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public int getPinnedKeys() {
+            return pinnedKeys;
+        }
+
+        public void setPinnedKeys(int pinnedKeys) {
+            this.pinnedKeys = pinnedKeys;
+        }
+    }
+
+    public static class Shared {
+        private boolean enabled = false;
+        private String host = "localhost";
+        private int port = 6379;
+        private int timeoutMillis = 50;
+        private int poolSize = 8;
+        private int maxConnections = 64;
+        private long borrowTimeoutMillis = 20;
+        private long ttlSeconds = 3600;
+        private String keyPrefix = "precis:url:";
+        private int failureThreshold = 5;
+        private long openMillis = 5_000;
+        private long slowCallMillis = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(int timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public long getBorrowTimeoutMillis() {
+            return borrowTimeoutMillis;
+        }
+
+        public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+            this.borrowTimeoutMillis = borrowTimeoutMillis;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getOpenMillis() {
+            return openMillis;
+        }
+
+        public void setOpenMillis(long openMillis) {
+            this.openMillis = openMillis;
+        }
+
+        public long getSlowCallMillis() {
+            return slowCallMillis;
+        }
+
+        public void setSlowCallMillis(long slowCallMillis) {
+            this.slowCallMillis = slowCallMillis;
+        }
+    }
+
+    public static class Invalidation {
+        private boolean enabled = false;
+        private long pollMillis = 500;
+        private long batchWindowMillis = 50;
+        private long reconnectMillis = 2_000;
+        private int maxReplay = 10_000;
+        private long retentionMinutes = 60;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollMillis() {
+            return pollMillis;
+        }
+
+        public void setPollMillis(long pollMillis) {
+            this.pollMillis = pollMillis;
+        }
+
+        public long getBatchWindowMillis() {
+            return batchWindowMillis;
+        }
+
+        public void setBatchWindowMillis(long batchWindowMillis) {
+            this.batchWindowMillis = batchWindowMillis;
+        }
+
+        public long getReconnectMillis() {
+            return reconnectMillis;
+        }
+
+        public void setReconnectMillis(long reconnectMillis) {
+            this.reconnectMillis = reconnectMillis;
+        }
+
+        public int getMaxReplay() {
+            return maxReplay;
+        }
+
+        public void setMaxReplay(int maxReplay) {
+            this.maxReplay = maxReplay;
+        }
+
+        public long getRetentionMinutes() {
+            return retentionMinutes;
+        }
+
+        public void setRetentionMinutes(long retentionMinutes) {
+            this.retentionMinutes = retentionMinutes;
+        }
+    }
+}
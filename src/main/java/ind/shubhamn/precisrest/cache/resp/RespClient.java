@@ -0,0 +1,220 @@
+package ind.shubhamn.precisrest.cache.resp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal RESP client for the commands the shared URL cache needs (GET, MGET, SET PX, DEL). Keeps
+ * a bounded pool of idle connections; a connection that saw any I/O or protocol error is closed
+ * rather than returned, so a half-read reply can never leak into the next caller. At most {@code
+ * maxConnections} connections are in use at once; a caller that cannot get one within the borrow
+ * timeout fails with an {@link IOException} instead of opening yet another socket.
+ */
+public class RespClient implements Closeable {
+
+    private static final byte[] GET = RespConnection.ascii("GET");
+    private static final byte[] MGET = RespConnection.ascii("MGET");
+    private static final byte[] SET = RespConnection.ascii("SET");
+    private static final byte[] PX = RespConnection.ascii("PX");
+    private static final byte[] DEL = RespConnection.ascii("DEL");
+    private static final byte[] PING = RespConnection.ascii("PING");
+
+    /** Keys per MGET command; larger batches are split and the commands pipelined. */
+    static final int MGET_CHUNK_SIZE = 100;
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final BlockingQueue<RespConnection> idle;
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long borrowTimeoutMillis;
+
+    /**
+     * @param host the cache server host
+     * @param port the cache server port
+     * @param timeoutMillis connect and read timeout of each connection
+     * @param poolSize idle connections kept for reuse
+     * @param maxConnections connections that may be in use at once
+     * @param borrowTimeoutMillis how long a caller waits for a connection
+     */
+    public RespClient(
+            String host,
+            int port,
+            int timeoutMillis,
+            int poolSize,
+            int maxConnections,
+            long borrowTimeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(maxConnections);
+        this.maxConnections = maxConnections;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public String ping() throws IOException {
+        return (String) execute(PING);
+    }
+
+    public byte[] get(byte[] key) throws IOException {
+        return (byte[]) execute(GET, key);
+    }
+
+    /**
+     * Fetches many keys in as few round trips as possible. Keys are grouped into MGET commands of
+     * {@link #MGET_CHUNK_SIZE}, all commands are written before any reply is read.
+     *
+     * @param keys the keys to fetch
+     * @return values in key order, {@code null} for misses
+     */
+    public List<byte[]> mget(List<byte[]> keys) throws IOException {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        if (keys.isEmpty()) {
+            return values;
+        }
+        RespConnection connection = borrow();
+        boolean healthy = false;
+        try {
+            int chunks = 0;
+            for (int from = 0; from < keys.size(); from += MGET_CHUNK_SIZE) {
+                int to = Math.min(from + MGET_CHUNK_SIZE, keys.size());
+                byte[][] args = new byte[to - from + 1][];
+                args[0] = MGET;
+                for (int i = from; i < to; i++) {
+                    args[i - from + 1] = keys.get(i);
+                }
+                connection.write(args);
+                chunks++;
+            }
+            connection.flush();
+            for (int i = 0; i < chunks; i++) {
+                @SuppressWarnings("unchecked")
+                List<Object> reply = (List<Object>) connection.read();
+                for (Object value : reply) {
+                    values.add((byte[]) value);
+                }
+            }
+            healthy = true;
+            return values;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    /**
+     * Pipelines one {@code SET key value PX ttl} per entry.
+     *
+     * @param keys the keys
+     * @param values the values, aligned with keys
+     * @param ttlMillis per-entry time to live in milliseconds, aligned with keys
+     */
+    public void setAll(List<byte[]> keys, List<byte[]> values, long[] ttlMillis)
+            throws IOException {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RespConnection connection = borrow();
+        boolean healthy = false;
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                connection.write(
+                        SET, keys.get(i), values.get(i), PX, RespConnection.ascii(ttlMillis[i]));
+            }
+            connection.flush();
+            for (int i = 0; i < keys.size(); i++) {
+                connection.read();
+            }
+            healthy = true;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    public long del(List<byte[]> keys) throws IOException {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        byte[][] args = new byte[keys.size() + 1][];
+        args[0] = DEL;
+        for (int i = 0; i < keys.size(); i++) {
+            args[i + 1] = keys.get(i);
+        }
+        return (Long) execute(args);
+    }
+
+    private Object execute(byte[]... args) throws IOException {
+        RespConnection connection = borrow();
+        boolean healthy = false;
+        try {
+            connection.write(args);
+            connection.flush();
+            Object reply = connection.read();
+            healthy = true;
+            return reply;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private RespConnection borrow() throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a cache connection", e);
+        }
+        if (!acquired) {
+            throw new IOException(
+                    "All "
+                            + maxConnections
+                            + " cache connections busy for "
+                            + borrowTimeoutMillis
+                            + " ms");
+        }
+        RespConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return new RespConnection(host, port, timeoutMillis);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(RespConnection connection, boolean healthy) {
+        try {
+            if (!healthy || !idle.offer(connection)) {
+                try {
+                    connection.close();
+                } catch (IOException ignored) {
+                    // the connection is being discarded either way
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        RespConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+}
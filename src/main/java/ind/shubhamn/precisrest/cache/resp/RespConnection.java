@@ -0,0 +1,194 @@
+package ind.shubhamn.precisrest.cache.resp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single blocking connection speaking the Redis serialization protocol (RESP2). Commands are
+ * buffered by {@link #write(byte[]...)} and only sent on {@link #flush()}, so several commands can
+ * be pipelined before their replies are read back in order with {@link #read()}.
+ *
+ * <p>Not thread-safe; connections are handed out one caller at a time by {@link RespClient}.
+ */
+public class RespConnection implements Closeable {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final byte[] numberBuffer = new byte[20];
+
+    public RespConnection(String host, int port, int timeoutMillis) throws IOException {
+        socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            in = new BufferedInputStream(socket.getInputStream(), 8192);
+            out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Buffers one command as a RESP array of bulk strings.
+     *
+     * @param args the command name followed by its arguments
+     */
+    public void write(byte[]... args) throws IOException {
+        out.write('*');
+        writeNumber(args.length);
+        out.write(CRLF);
+        for (byte[] arg : args) {
+            out.write('$');
+            writeNumber(arg.length);
+            out.write(CRLF);
+            out.write(arg);
+            out.write(CRLF);
+        }
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Reads the next reply. Simple strings are returned as {@link String}, integers as {@link
+     * Long}, bulk strings as {@code byte[]}, arrays as {@link List} and nil replies as {@code
+     * null}.
+     *
+     * @return the decoded reply
+     * @throws RespException if the server replied with an error
+     */
+    public Object read() throws IOException {
+        int type = in.read();
+        switch (type) {
+            case '+':
+                return readLine();
+            case '-':
+                throw new RespException(readLine());
+            case ':':
+                return readLong();
+            case '$':
+                return readBulk();
+            case '*':
+                return readArray();
+            case -1:
+                throw new EOFException("Connection closed by cache server");
+            default:
+                throw new RespException("Unexpected RESP type byte: " + type);
+        }
+    }
+
+    private byte[] readBulk() throws IOException {
+        int length = (int) readLong();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = in.readNBytes(length);
+        if (value.length != length) {
+            throw new EOFException("Truncated bulk reply");
+        }
+        expectCrlf();
+        return value;
+    }
+
+    private List<Object> readArray() throws IOException {
+        int count = (int) readLong();
+        if (count < 0) {
+            return null;
+        }
+        List<Object> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(read());
+        }
+        return elements;
+    }
+
+    private long readLong() throws IOException {
+        long value = 0;
+        boolean negative = false;
+        int b = in.read();
+        if (b == '-') {
+            negative = true;
+            b = in.read();
+        }
+        while (b != '\r') {
+            if (b < '0' || b > '9') {
+                throw new RespException("Malformed RESP integer");
+            }
+            value = value * 10 + (b - '0');
+            b = in.read();
+        }
+        if (in.read() != '\n') {
+            throw new RespException("Malformed RESP line terminator");
+        }
+        return negative ? -value : value;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b = in.read();
+        while (b != '\r') {
+            if (b == -1) {
+                throw new EOFException("Connection closed by cache server");
+            }
+            line.append((char) b);
+            b = in.read();
+        }
+        if (in.read() != '\n') {
+            throw new RespException("Malformed RESP line terminator");
+        }
+        return line.toString();
+    }
+
+    private void expectCrlf() throws IOException {
+        if (in.read() != '\r' || in.read() != '\n') {
+            throw new RespException("Malformed RESP line terminator");
+        }
+    }
+
+    private void writeNumber(long value) throws IOException {
+        if (value == 0) {
+            out.write('0');
+            return;
+        }
+        int pos = numberBuffer.length;
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        while (remaining > 0) {
+            numberBuffer[--pos] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        if (negative) {
+            numberBuffer[--pos] = '-';
+        }
+        out.write(numberBuffer, pos, numberBuffer.length - pos);
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static byte[] ascii(long value) {
+        return ascii(Long.toString(value));
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,11 @@
+package ind.shubhamn.precisrest.cache.resp;
+
+import java.io.IOException;
+
+/** Raised for RESP protocol violations and for error replies sent back by the cache server. */
+public class RespException extends IOException {
+
+    public RespException(String message) {
+        super(message);
+    }
+}
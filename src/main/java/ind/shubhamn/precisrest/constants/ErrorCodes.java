@@ -23,4 +23,10 @@ public final class ErrorCodes {
 
     /** Error code for unexpected internal server errors */
     public static final String INTERNAL_SERVER_ERROR = "INTERNAL_SERVER_ERROR";
+
+    /** Error code when a backend is saturated and the request should be retried later */
+    public static final String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
+
+    /** Error code when a client has exceeded its request rate */
+    public static final String RATE_LIMITED = "RATE_LIMITED";
 }
@@ -0,0 +1,94 @@
+package ind.shubhamn.precisrest.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to {@code precis.click_counts}. Deltas are applied with a standard SQL {@code
+ * MERGE} (PostgreSQL 15+ and H2) sent as one JDBC batch.
+ */
+@Repository
+public class ClickCountDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickCountDAO.class);
+
+    static final String ADD_CLICKS_SQL =
+            "MERGE INTO precis.click_counts AS c"
+                    + " USING (VALUES (CAST(? AS VARCHAR(8)), CAST(? AS BIGINT)))"
+                    + " AS d (short_url, delta) ON c.short_url = d.short_url"
+                    + " WHEN MATCHED THEN UPDATE SET clicks = c.clicks + d.delta,"
+                    + " updated_at = CURRENT_TIMESTAMP"
+                    + " WHEN NOT MATCHED THEN INSERT (short_url, clicks, updated_at)"
+                    + " VALUES (d.short_url, d.delta, CURRENT_TIMESTAMP)";
+
+    static final String FIND_CLICKS_SQL =
+            "SELECT clicks FROM precis.click_counts WHERE short_url = ?";
+
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Autowired private DataSource dataSource;
+
+    /**
+     * Adds the given deltas to the persisted totals in one transaction.
+     *
+     * @param deltas clicks to add, keyed by short URL
+     */
+    @Transactional
+    public void addClicks(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        logger.trace("Flushing click deltas for {} short URLs", deltas.size());
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(ADD_CLICKS_SQL)) {
+            for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+                statement.setString(1, delta.getKey());
+                statement.setLong(2, delta.getValue());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw translate("addClicks", ADD_CLICKS_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @return the persisted click total, or 0 if nothing was flushed yet
+     */
+    public long findClicks(String shortUrl) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(FIND_CLICKS_SQL)) {
+            statement.setString(1, shortUrl);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw translate("findClicks", FIND_CLICKS_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private DataAccessException translate(String task, String sql, SQLException e) {
+        DataAccessException translated = exceptionTranslator.translate(task, sql, e);
+        return translated != null ? translated : new UncategorizedSQLException(task, sql, e);
+    }
+}
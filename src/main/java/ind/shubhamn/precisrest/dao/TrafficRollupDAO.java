@@ -0,0 +1,191 @@
+package ind.shubhamn.precisrest.dao;
+
+import ind.shubhamn.precisrest.model.TrafficBucket;
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to {@code precis.traffic_rollup}. A missing row is created with {@code ON
+ * CONFLICT DO NOTHING}, an existing one is merged with a locking read-modify-write, so several
+ * nodes can add to the same bucket; rows are always written in {@link TrafficBucket} order so
+ * concurrent flushes cannot deadlock.
+ */
+@Repository
+public class TrafficRollupDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficRollupDAO.class);
+
+    static final String LOCK_SQL =
+            "SELECT counts FROM precis.traffic_rollup"
+                    + " WHERE short_url = ? AND granularity = ? AND bucket_start = ? FOR UPDATE";
+
+    static final String UPDATE_SQL =
+            "UPDATE precis.traffic_rollup SET counts = ?, updated_at = CURRENT_TIMESTAMP"
+                    + " WHERE short_url = ? AND granularity = ? AND bucket_start = ?";
+
+    static final String INSERT_SQL =
+            "INSERT INTO precis.traffic_rollup (short_url, granularity, bucket_start, counts)"
+                    + " VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    static final String FIND_RANGE_SQL =
+            "SELECT bucket_start, counts FROM precis.traffic_rollup"
+                    + " WHERE short_url = ? AND granularity = ? AND bucket_start BETWEEN ? AND ?";
+
+    static final String DELETE_BEFORE_SQL =
+            "DELETE FROM precis.traffic_rollup WHERE granularity = ? AND bucket_start < ?";
+
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Autowired private DataSource dataSource;
+
+    /**
+     * Adds slot deltas to the persisted rows in one transaction, creating missing rows. A row
+     * inserted concurrently by another node makes the insert a no-op; the delta is then added to
+     * it under its row lock like to any existing row.
+     *
+     * @param deltas slot deltas keyed by row; each array has the granularity's slot count
+     */
+    @Transactional
+    public void addCounts(Map<TrafficBucket, int[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        logger.trace("Merging {} traffic rollup rows", deltas.size());
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL);
+                PreparedStatement lock = connection.prepareStatement(LOCK_SQL);
+                PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            for (Map.Entry<TrafficBucket, int[]> delta : new TreeMap<>(deltas).entrySet()) {
+                TrafficBucket bucket = delta.getKey();
+                bindKey(insert, 1, bucket);
+                insert.setBytes(4, encode(delta.getValue()));
+                if (insert.executeUpdate() > 0) {
+                    continue;
+                }
+                bindKey(lock, 1, bucket);
+                int[] counts;
+                try (ResultSet resultSet = lock.executeQuery()) {
+                    if (!resultSet.next()) {
+                        // pruned between the two statements; the caller retries on its next flush
+                        throw new EmptyResultDataAccessException(
+                                "Traffic rollup row disappeared: " + bucket, 1);
+                    }
+                    counts = decode(resultSet.getBytes(1), bucket.granularity());
+                }
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += delta.getValue()[i];
+                }
+                update.setBytes(1, encode(counts));
+                bindKey(update, 2, bucket);
+                update.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw translate("addCounts", INSERT_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Reads the rows of one link whose start lies in the given range.
+     *
+     * @param shortUrl The short URL identifier
+     * @param granularity the row type to read
+     * @param fromMinute first row start, in minutes since the epoch (UTC), inclusive
+     * @param toMinute last row start, in minutes since the epoch (UTC), inclusive
+     * @return slot counts keyed by row start minute
+     */
+    public Map<Long, int[]> findRange(
+            String shortUrl, TrafficGranularity granularity, long fromMinute, long toMinute) {
+        Map<Long, int[]> rows = new HashMap<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(FIND_RANGE_SQL)) {
+            statement.setString(1, shortUrl);
+            statement.setString(2, granularity.getRowCode());
+            statement.setObject(3, toDateTime(fromMinute));
+            statement.setObject(4, toDateTime(toMinute));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    LocalDateTime start = resultSet.getObject(1, LocalDateTime.class);
+                    rows.put(
+                            start.toEpochSecond(ZoneOffset.UTC) / 60,
+                            decode(resultSet.getBytes(2), granularity));
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw translate("findRange", FIND_RANGE_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * @param granularity the row type to prune
+     * @param beforeMinute rows starting before this minute since the epoch (UTC) are deleted
+     * @return the number of deleted rows
+     */
+    public int deleteBefore(TrafficGranularity granularity, long beforeMinute) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_BEFORE_SQL)) {
+            statement.setString(1, granularity.getRowCode());
+            statement.setObject(2, toDateTime(beforeMinute));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw translate("deleteBefore", DELETE_BEFORE_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void bindKey(PreparedStatement statement, int index, TrafficBucket bucket)
+            throws SQLException {
+        statement.setString(index, bucket.shortUrl());
+        statement.setString(index + 1, bucket.granularity().getRowCode());
+        statement.setObject(index + 2, toDateTime(bucket.startMinute()));
+    }
+
+    private DataAccessException translate(String task, String sql, SQLException e) {
+        DataAccessException translated = exceptionTranslator.translate(task, sql, e);
+        return translated != null ? translated : new UncategorizedSQLException(task, sql, e);
+    }
+
+    static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    static byte[] encode(int[] counts) {
+        ByteBuffer buffer = ByteBuffer.allocate(counts.length * Integer.BYTES);
+        buffer.asIntBuffer().put(counts);
+        return buffer.array();
+    }
+
+    static int[] decode(byte[] bytes, TrafficGranularity granularity) {
+        int[] counts = new int[granularity.getSlotsPerRow()];
+        int slots = Math.min(counts.length, bytes.length / Integer.BYTES);
+        ByteBuffer.wrap(bytes).asIntBuffer().get(counts, 0, slots);
+        return counts;
+    }
+}
@@ -0,0 +1,157 @@
+package ind.shubhamn.precisrest.dao;
+
+import ind.shubhamn.precisrest.analytics.HyperLogLog;
+import ind.shubhamn.precisrest.model.VisitorBucket;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to {@code precis.unique_visitors}. Missing rows are created with {@code ON
+ * CONFLICT DO NOTHING} and existing ones merged with a locking read-modify-write in {@link
+ * VisitorBucket} order, like {@link TrafficRollupDAO}; because the merge is a register-wise
+ * maximum, re-sending a sketch never inflates the estimate.
+ */
+@Repository
+public class UniqueVisitorDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueVisitorDAO.class);
+
+    static final String LOCK_SQL =
+            "SELECT sketch FROM precis.unique_visitors"
+                    + " WHERE short_url = ? AND bucket_day = ? FOR UPDATE";
+
+    static final String UPDATE_SQL =
+            "UPDATE precis.unique_visitors SET sketch = ?, updated_at = CURRENT_TIMESTAMP"
+                    + " WHERE short_url = ? AND bucket_day = ?";
+
+    static final String INSERT_SQL =
+            "INSERT INTO precis.unique_visitors (short_url, bucket_day, sketch) VALUES (?, ?, ?)"
+                    + " ON CONFLICT DO NOTHING";
+
+    static final String FIND_RANGE_SQL =
+            "SELECT sketch FROM precis.unique_visitors"
+                    + " WHERE short_url = ? AND bucket_day BETWEEN ? AND ?";
+
+    static final String DELETE_BEFORE_SQL =
+            "DELETE FROM precis.unique_visitors WHERE bucket_day < ?";
+
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Autowired private DataSource dataSource;
+
+    /**
+     * Merges sketches into the persisted rows in one transaction, creating missing rows. A row
+     * inserted concurrently by another node makes the insert a no-op; the sketch is then merged
+     * into it under its row lock.
+     *
+     * @param sketches serialized sketches keyed by link and day
+     */
+    @Transactional
+    public void mergeSketches(Map<VisitorBucket, byte[]> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        logger.trace("Merging {} unique visitor sketches", sketches.size());
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL);
+                PreparedStatement lock = connection.prepareStatement(LOCK_SQL);
+                PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            for (Map.Entry<VisitorBucket, byte[]> sketch : new TreeMap<>(sketches).entrySet()) {
+                VisitorBucket bucket = sketch.getKey();
+                insert.setString(1, bucket.shortUrl());
+                insert.setObject(2, bucket.day());
+                insert.setBytes(3, sketch.getValue());
+                if (insert.executeUpdate() > 0) {
+                    continue;
+                }
+                lock.setString(1, bucket.shortUrl());
+                lock.setObject(2, bucket.day());
+                byte[] registers;
+                try (ResultSet resultSet = lock.executeQuery()) {
+                    if (!resultSet.next()) {
+                        // pruned between the two statements; the caller retries on its next flush
+                        throw new EmptyResultDataAccessException(
+                                "Unique visitor row disappeared: " + bucket, 1);
+                    }
+                    registers = resultSet.getBytes(1);
+                }
+                HyperLogLog.mergeRegisters(registers, sketch.getValue());
+                update.setBytes(1, registers);
+                update.setString(2, bucket.shortUrl());
+                update.setObject(3, bucket.day());
+                update.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw translate("mergeSketches", INSERT_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the persisted daily sketches in the range
+     */
+    public List<byte[]> findSketches(String shortUrl, LocalDate from, LocalDate to) {
+        List<byte[]> sketches = new ArrayList<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(FIND_RANGE_SQL)) {
+            statement.setString(1, shortUrl);
+            statement.setObject(2, from);
+            statement.setObject(3, to);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    sketches.add(resultSet.getBytes(1));
+                }
+            }
+            return sketches;
+        } catch (SQLException e) {
+            throw translate("findSketches", FIND_RANGE_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * @param day sketches of earlier days are deleted
+     * @return the number of deleted rows
+     */
+    public int deleteBefore(LocalDate day) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_BEFORE_SQL)) {
+            statement.setObject(1, day);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw translate("deleteBefore", DELETE_BEFORE_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private DataAccessException translate(String task, String sql, SQLException e) {
+        DataAccessException translated = exceptionTranslator.translate(task, sql, e);
+        return translated != null ? translated : new UncategorizedSQLException(task, sql, e);
+    }
+}
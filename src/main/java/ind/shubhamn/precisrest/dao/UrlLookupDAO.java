@@ -0,0 +1,139 @@
+package ind.shubhamn.precisrest.dao;
+
+import ind.shubhamn.precisrest.jfr.DaoQueryEvent;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC read path for short URL resolution. Bypasses Spring Data query derivation, the
+ * EntityManager and entity hydration, and maps the row straight into an immutable {@link
+ * UrlMapping}.
+ *
+ * <p>The SQL text is a constant so the pooled connection's driver-side statement cache reuses the
+ * same prepared statement (the PostgreSQL driver switches to a named server-side statement after
+ * {@code prepareThreshold} executions). Writes and admin operations stay on {@link
+ * UrlShortenerDAO}.
+ */
+@Repository
+public class UrlLookupDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlLookupDAO.class);
+
+    static final String FIND_BY_SHORT_URL_SQL =
+            "SELECT short_url, long_url, created_at, expires_at"
+                    + " FROM precis.url_shorten WHERE short_url = ?";
+
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Autowired private DataSource dataSource;
+
+    /**
+     * Looks up a single mapping by its short URL.
+     *
+     * @param shortUrl The short URL identifier
+     * @return the mapping, or empty if no row exists
+     */
+    public Optional<UrlMapping> findByShortUrl(String shortUrl) {
+        logger.trace("JDBC lookup for short URL: {}", shortUrl);
+
+        DaoQueryEvent event = new DaoQueryEvent();
+        event.begin();
+        int rows = 0;
+        boolean failed = true;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(FIND_BY_SHORT_URL_SQL)) {
+            statement.setString(1, shortUrl);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                failed = false;
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                rows = 1;
+                return Optional.of(mapRow(resultSet));
+            }
+        } catch (SQLException e) {
+            failed = true;
+            throw translate("findByShortUrl", FIND_BY_SHORT_URL_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            event.finish("findByShortUrl", shortUrl, rows, failed);
+        }
+    }
+
+    /**
+     * Looks up many mappings in one round trip.
+     *
+     * @param shortUrls The short URL identifiers
+     * @return the mappings found; unknown short URLs are absent
+     */
+    public List<UrlMapping> findAllByShortUrl(Collection<String> shortUrls) {
+        List<UrlMapping> mappings = new ArrayList<>(shortUrls.size());
+        if (shortUrls.isEmpty()) {
+            return mappings;
+        }
+        logger.trace("JDBC batch lookup for {} short URLs", shortUrls.size());
+
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT short_url, long_url, created_at, expires_at"
+                                + " FROM precis.url_shorten WHERE short_url IN (");
+        for (int i = 0; i < shortUrls.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        DaoQueryEvent event = new DaoQueryEvent();
+        event.begin();
+        boolean failed = true;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int parameterIndex = 1;
+            for (String shortUrl : shortUrls) {
+                statement.setString(parameterIndex++, shortUrl);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    mappings.add(mapRow(resultSet));
+                }
+            }
+            failed = false;
+            return mappings;
+        } catch (SQLException e) {
+            throw translate("findAllByShortUrl", sql.toString(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            event.finish("findAllByShortUrl", null, mappings.size(), failed);
+        }
+    }
+
+    private DataAccessException translate(String task, String sql, SQLException e) {
+        DataAccessException translated = exceptionTranslator.translate(task, sql, e);
+        return translated != null ? translated : new UncategorizedSQLException(task, sql, e);
+    }
+
+    static UrlMapping mapRow(ResultSet resultSet) throws SQLException {
+        return new UrlMapping(
+                resultSet.getString(1),
+                resultSet.getString(2),
+                resultSet.getObject(3, LocalDateTime.class),
+                resultSet.getObject(4, LocalDateTime.class));
+    }
+}
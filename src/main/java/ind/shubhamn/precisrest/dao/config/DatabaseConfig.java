@@ -9,6 +9,13 @@ public class DatabaseConfig {
     private String url;
     private String username;
     private String password;
+    private int maximumPoolSize = 10;
+    private boolean bulkheadEnabled = true;
+    // 0 sizes the bulkhead to the pool
+    private int bulkheadMaxConcurrent = 0;
+    private long bulkheadTimeoutMillis = 1_000;
+    // echoes every statement to stdout, synchronously; for local debugging only
+    private boolean showSql = false;
 
     public String getUrl() {
         return url;
@@ -33,4 +40,44 @@ public class DatabaseConfig {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public boolean isBulkheadEnabled() {
+        return bulkheadEnabled;
+    }
+
+    public void setBulkheadEnabled(boolean bulkheadEnabled) {
+        this.bulkheadEnabled = bulkheadEnabled;
+    }
+
+    public int getBulkheadMaxConcurrent() {
+        return bulkheadMaxConcurrent;
+    }
+
+    public void setBulkheadMaxConcurrent(int bulkheadMaxConcurrent) {
+        this.bulkheadMaxConcurrent = bulkheadMaxConcurrent;
+    }
+
+    public long getBulkheadTimeoutMillis() {
+        return bulkheadTimeoutMillis;
+    }
+
+    public void setBulkheadTimeoutMillis(long bulkheadTimeoutMillis) {
+        this.bulkheadTimeoutMillis = bulkheadTimeoutMillis;
+    }
+
+    public boolean isShowSql() {
+        return showSql;
+    }
+
+    public void setShowSql(boolean showSql) {
+        this.showSql = showSql;
+    }
 }
@@ -1,5 +1,9 @@
 package ind.shubhamn.precisrest.dao.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.persistence.EntityManagerFactory;
 import java.util.Properties;
 import javax.sql.DataSource;
@@ -9,7 +13,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -25,12 +28,45 @@ public class JpaConfiguration {
     @Bean
     @Primary
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        dataSource.setUrl(databaseConfig.getUrl());
+        // Pooled so that physical connections (and the driver's prepared statement cache on
+        // each of them) are reused across requests. The driver is resolved from the JDBC URL.
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("precis-pool");
+        dataSource.setJdbcUrl(databaseConfig.getUrl());
         dataSource.setUsername(databaseConfig.getUsername());
         dataSource.setPassword(databaseConfig.getPassword());
-        return dataSource;
+        dataSource.setMaximumPoolSize(databaseConfig.getMaximumPoolSize());
+        if (!databaseConfig.isBulkheadEnabled()) {
+            return dataSource;
+        }
+        // Request threads may be virtual and effectively unbounded; cap how many of them hold a
+        // connection at once and fail the overflow fast instead of queueing on the pool
+        int maxConcurrent = databaseConfig.getBulkheadMaxConcurrent();
+        if (maxConcurrent <= 0) {
+            maxConcurrent = databaseConfig.getMaximumPoolSize();
+        }
+        return new BulkheadDataSource(
+                dataSource, maxConcurrent, databaseConfig.getBulkheadTimeoutMillis());
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                Gauge.builder(
+                                "db.bulkhead.available",
+                                bulkhead,
+                                BulkheadDataSource::getAvailablePermits)
+                        .description("Database permits not currently held")
+                        .register(registry);
+                FunctionCounter.builder(
+                                "db.bulkhead.rejected",
+                                bulkhead,
+                                BulkheadDataSource::getRejectedCount)
+                        .description("Connection requests rejected after waiting for a permit")
+                        .register(registry);
+            }
+        };
     }
 
     @Bean(initMethod = "migrate")
@@ -55,7 +91,7 @@ public class JpaConfiguration {
         HibernateJpaVendorAdapter jpaVendorAdapter = new HibernateJpaVendorAdapter();
         jpaVendorAdapter.setDatabase(Database.POSTGRESQL);
         jpaVendorAdapter.setGenerateDdl(true);
-        jpaVendorAdapter.setShowSql(true);
+        jpaVendorAdapter.setShowSql(databaseConfig.isShowSql());
         return jpaVendorAdapter;
     }
 
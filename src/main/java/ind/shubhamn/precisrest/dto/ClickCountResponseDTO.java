@@ -0,0 +1,15 @@
+package ind.shubhamn.precisrest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for the response when retrieving the click total of a short URL. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClickCountResponseDTO {
+
+    private String shortUrl;
+    private long clicks;
+}
@@ -0,0 +1,22 @@
+package ind.shubhamn.precisrest.dto;
+
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for requesting the traffic time series of a short URL. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficRequestDTO {
+
+    @NotBlank(message = "Short URL cannot be empty")
+    @Size(max = 8, message = "Short URL cannot exceed 8 characters")
+    private String shortUrl;
+
+    /** MINUTE (last 24 hours, the default) or HOUR (last 30 days). */
+    private TrafficGranularity granularity;
+}
@@ -0,0 +1,22 @@
+package ind.shubhamn.precisrest.dto;
+
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for the response when retrieving the traffic time series of a short URL. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficResponseDTO {
+
+    private String shortUrl;
+    private TrafficGranularity granularity;
+
+    /** UTC start of the first slot; each following slot is one granularity unit later. */
+    private LocalDateTime start;
+
+    private long[] counts;
+}
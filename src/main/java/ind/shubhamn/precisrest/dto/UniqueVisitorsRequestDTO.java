@@ -0,0 +1,39 @@
+package ind.shubhamn.precisrest.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for requesting the unique visitor estimate of a short URL over a range of UTC days. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueVisitorsRequestDTO {
+
+    /** Longest range a single request may merge, in days. */
+    public static final int MAX_RANGE_DAYS = 366;
+
+    @NotBlank(message = "Short URL cannot be empty")
+    @Size(max = 8, message = "Short URL cannot exceed 8 characters")
+    private String shortUrl;
+
+    /** First day, inclusive; defaults to 29 days before {@code to}. */
+    private LocalDate from;
+
+    /** Last day, inclusive; defaults to today (UTC). */
+    private LocalDate to;
+
+    @AssertTrue(message = "Date range must not be reversed or exceed 366 days")
+    public boolean isRangeValid() {
+        if (from == null || to == null) {
+            return true;
+        }
+        long days = ChronoUnit.DAYS.between(from, to);
+        return days >= 0 && days < MAX_RANGE_DAYS;
+    }
+}
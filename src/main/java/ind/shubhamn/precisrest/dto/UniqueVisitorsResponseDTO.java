@@ -0,0 +1,20 @@
+package ind.shubhamn.precisrest.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for the response when retrieving the unique visitor estimate of a short URL. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueVisitorsResponseDTO {
+
+    private String shortUrl;
+    private LocalDate from;
+    private LocalDate to;
+
+    /** HyperLogLog estimate, within about 1.6% of the true count. */
+    private long uniqueVisitors;
+}
@@ -0,0 +1,13 @@
+package ind.shubhamn.precisrest.eventlog;
+
+/**
+ * One resolution of a short URL as written to the click event log.
+ *
+ * @param timestampMillis epoch milliseconds of the resolution
+ * @param shortUrl the requested short URL identifier
+ * @param referrer the Referer header, may be null
+ * @param userAgentHash 64-bit hash of the User-Agent header
+ * @param status the HTTP status returned to the client
+ */
+public record ClickEvent(
+        long timestampMillis, String shortUrl, String referrer, long userAgentHash, int status) {}
@@ -0,0 +1,178 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Fixed-layout binary encoding of {@link ClickEvent}s in click log segments. Every segment starts
+ * with a {@value #HEADER_SIZE}-byte header followed by {@value #RECORD_SIZE}-byte records, so the
+ * n-th record of a segment sits at a known offset and a torn write only ever affects the tail.
+ *
+ * <pre>
+ * header
+ *   magic          4 bytes  "PCLK"
+ *   version        2 bytes
+ *   record size    2 bytes
+ *   created        8 bytes  epoch millis
+ * record
+ *   timestamp      8 bytes  epoch millis
+ *   ua hash        8 bytes
+ *   status         2 bytes
+ *   referrer size  2 bytes
+ *   short URL      8 bytes  UTF-8, zero padded
+ *   referrer     228 bytes  UTF-8, truncated on a character boundary, zero padded
+ * </pre>
+ *
+ * All numbers are big-endian.
+ */
+public final class ClickEventCodec {
+
+    public static final int MAGIC = 0x50434C4B;
+
+    public static final short VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final int RECORD_SIZE = 256;
+
+    static final int SHORT_URL_BYTES = 8;
+
+    static final int REFERRER_BYTES = RECORD_SIZE - 28;
+
+    private ClickEventCodec() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    public static void writeHeader(ByteBuffer buffer, long createdMillis) {
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+        buffer.putLong(createdMillis);
+    }
+
+    /**
+     * @param buffer positioned at a segment header
+     * @return the segment's creation time in epoch milliseconds
+     * @throws IllegalArgumentException if the header is not a supported click log header
+     */
+    public static long readHeader(ByteBuffer buffer) {
+        int magic = buffer.getInt();
+        short version = buffer.getShort();
+        short recordSize = buffer.getShort();
+        if (magic != MAGIC || version != VERSION || recordSize != RECORD_SIZE) {
+            throw new IllegalArgumentException(
+                    "Not a version " + VERSION + " click log segment (magic=" + magic + ")");
+        }
+        return buffer.getLong();
+    }
+
+    /** Writes one record of exactly {@value #RECORD_SIZE} bytes at the buffer's position. */
+    public static void encode(ClickEvent event, ByteBuffer buffer) {
+        byte[] referrer = truncate(event.referrer(), REFERRER_BYTES);
+        buffer.putLong(event.timestampMillis());
+        buffer.putLong(event.userAgentHash());
+        buffer.putShort((short) event.status());
+        buffer.putShort((short) referrer.length);
+        putPadded(buffer, truncate(event.shortUrl(), SHORT_URL_BYTES), SHORT_URL_BYTES);
+        putPadded(buffer, referrer, REFERRER_BYTES);
+    }
+
+    /** Reads one record at the buffer's position. */
+    public static ClickEvent decode(ByteBuffer buffer) {
+        long timestampMillis = buffer.getLong();
+        long userAgentHash = buffer.getLong();
+        int status = buffer.getShort() & 0xFFFF;
+        int referrerLength = buffer.getShort() & 0xFFFF;
+
+        byte[] shortUrl = new byte[SHORT_URL_BYTES];
+        buffer.get(shortUrl);
+        int shortUrlLength = 0;
+        while (shortUrlLength < SHORT_URL_BYTES && shortUrl[shortUrlLength] != 0) {
+            shortUrlLength++;
+        }
+        byte[] referrer = new byte[REFERRER_BYTES];
+        buffer.get(referrer);
+
+        return new ClickEvent(
+                timestampMillis,
+                new String(shortUrl, 0, shortUrlLength, StandardCharsets.UTF_8),
+                referrerLength > 0
+                        ? new String(referrer, 0, referrerLength, StandardCharsets.UTF_8)
+                        : null,
+                userAgentHash,
+                status);
+    }
+
+    /**
+     * Appends the event as one line of NDJSON, including the trailing newline.
+     *
+     * @param event the event
+     * @param out the builder to append to
+     */
+    public static void appendJson(ClickEvent event, StringBuilder out) {
+        out.append("{\"timestamp\":\"")
+                .append(Instant.ofEpochMilli(event.timestampMillis()))
+                .append("\",\"shortUrl\":");
+        appendJsonString(event.shortUrl(), out);
+        out.append(",\"referrer\":");
+        if (event.referrer() == null) {
+            out.append("null");
+        } else {
+            appendJsonString(event.referrer(), out);
+        }
+        out.append(",\"uaHash\":\"")
+                .append(Long.toHexString(event.userAgentHash()))
+                .append("\",\"status\":")
+                .append(event.status())
+                .append("}\n");
+    }
+
+    private static void appendJsonString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static byte[] truncate(String value, int maxBytes) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int length = maxBytes;
+        // step back over continuation bytes so a multi-byte character is not split
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        byte[] truncated = new byte[length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+        return truncated;
+    }
+
+    private static void putPadded(ByteBuffer buffer, byte[] value, int size) {
+        buffer.put(value);
+        for (int i = value.length; i < size; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+}
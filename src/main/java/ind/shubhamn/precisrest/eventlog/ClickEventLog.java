@@ -0,0 +1,291 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import ind.shubhamn.precisrest.analytics.VisitorFingerprint;
+import ind.shubhamn.precisrest.eventlog.config.ClickEventLogConfig;
+import ind.shubhamn.precisrest.pipeline.ResolutionEvent;
+import ind.shubhamn.precisrest.pipeline.ResolutionHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only log of every resolution, kept on local disk for offline analytics instead of in
+ * PostgreSQL. Events arriving from the resolution pipeline are only offered to a bounded queue;
+ * when it is full the event is dropped and counted, so a slow disk never stalls the pipeline. A
+ * single writer thread drains the queue in batches, appends fixed-size records ({@link
+ * ClickEventCodec}) to the current segment through a {@link FileChannel} and forces it to disk at
+ * most once per {@code click-log.force-interval-millis}. Segments roll over by size and by age.
+ *
+ * <p>Segments are named {@code clicks-<created millis>-<sequence>.seg}, so they sort in write
+ * order; {@link ClickEventLogReader} reads them back.
+ */
+@Component
+public class ClickEventLog implements SmartLifecycle, ResolutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickEventLog.class);
+
+    static final String SEGMENT_PREFIX = "clicks-";
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final ClickEventLogConfig config;
+
+    private final Path directory;
+
+    private final BlockingQueue<ClickEvent> queue;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean accepting;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    // only touched by the writer thread once started
+    private final ByteBuffer buffer;
+    private FileChannel segment;
+    private long segmentSize;
+    private long segmentCreatedMillis;
+    private int segmentSequence;
+    private boolean unforced;
+    private long lastForceNanos;
+
+    @Autowired
+    public ClickEventLog(ClickEventLogConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.directory = Path.of(config.getDirectory());
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.buffer =
+                ByteBuffer.allocateDirect(config.getBatchSize() * ClickEventCodec.RECORD_SIZE);
+        this.accepting = config.isEnabled();
+
+        FunctionCounter.builder("click.log.dropped", dropped, LongAdder::sum)
+                .description("Click events dropped because the writer queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("click.log.failed", failed, LongAdder::sum)
+                .description("Click events lost to segment write errors")
+                .register(meterRegistry);
+        Gauge.builder("click.log.queue.size", queue, BlockingQueue::size)
+                .description("Click events waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    /** Queues every resolution, found or not, for the log. */
+    @Override
+    public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+        if (!accepting) {
+            return;
+        }
+        append(
+                new ClickEvent(
+                        event.getTimestampMillis(),
+                        event.getShortUrl(),
+                        event.getReferrer(),
+                        VisitorFingerprint.userAgentHash(event.getUserAgent()),
+                        event.getStatus()));
+    }
+
+    /**
+     * @param event The event to queue
+     * @return false if the log is disabled or stopped, or the event was dropped
+     */
+    public boolean append(ClickEvent event) {
+        if (!accepting) {
+            return false;
+        }
+        if (queue.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled()) {
+            logger.info("Click event log disabled");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "click-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Click event log writing to {}", directory.toAbsolutePath());
+    }
+
+    /** Stops accepting events and waits for the writer to drain the queue and close its segment. */
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        // No interrupt: interrupting a thread inside FileChannel I/O closes the channel
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops after the resolution pipeline, which still feeds this log while it drains. */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void run() {
+        List<ClickEvent> batch = new ArrayList<>(config.getBatchSize());
+        long forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getForceIntervalMillis());
+        try {
+            while (running || !queue.isEmpty()) {
+                ClickEvent first =
+                        queue.poll(config.getForceIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, config.getBatchSize() - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                if (unforced && System.nanoTime() - lastForceNanos >= forceIntervalNanos) {
+                    force();
+                }
+                if (segment != null
+                        && System.currentTimeMillis() - segmentCreatedMillis
+                                >= config.getSegmentMillis()) {
+                    closeSegment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void write(List<ClickEvent> batch) {
+        int written = 0;
+        try {
+            while (written < batch.size()) {
+                if (segment != null
+                        && segmentSize + ClickEventCodec.RECORD_SIZE > config.getSegmentBytes()) {
+                    closeSegment();
+                }
+                if (segment == null) {
+                    openSegment();
+                }
+                // a batch may straddle two segments; always fit at least one record
+                long room = (config.getSegmentBytes() - segmentSize) / ClickEventCodec.RECORD_SIZE;
+                int end = (int) Math.min(batch.size(), written + Math.max(1, room));
+                buffer.clear();
+                for (int i = written; i < end; i++) {
+                    ClickEventCodec.encode(batch.get(i), buffer);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    segmentSize += segment.write(buffer);
+                }
+                written = end;
+                unforced = true;
+            }
+        } catch (IOException e) {
+            failed.add(batch.size() - written);
+            logger.error(
+                    "Could not append {} click events: {}", batch.size() - written, e.getMessage());
+            // Start over in a fresh segment rather than appending after a partial record
+            abandonSegment();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(directory);
+        segmentCreatedMillis = System.currentTimeMillis();
+        Path path =
+                directory.resolve(
+                        String.format(
+                                "%s%013d-%04d%s",
+                                SEGMENT_PREFIX,
+                                segmentCreatedMillis,
+                                segmentSequence++ % 10_000,
+                                SEGMENT_SUFFIX));
+        segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(ClickEventCodec.HEADER_SIZE);
+        ClickEventCodec.writeHeader(header, segmentCreatedMillis);
+        header.flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segmentSize = ClickEventCodec.HEADER_SIZE;
+        lastForceNanos = System.nanoTime();
+        logger.debug("Opened click log segment {}", path);
+    }
+
+    private void force() {
+        try {
+            segment.force(false);
+            unforced = false;
+        } catch (IOException e) {
+            logger.warn("Could not force click log segment to disk: {}", e.getMessage());
+        }
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        if (unforced) {
+            force();
+        }
+        abandonSegment();
+    }
+
+    private void abandonSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            logger.warn("Could not close click log segment: {}", e.getMessage());
+        }
+        segment = null;
+        unforced = false;
+    }
+}
@@ -0,0 +1,58 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line dump of click log segments:
+ *
+ * <pre>
+ * java -cp precis-rest.jar \
+ *     -Dloader.main=ind.shubhamn.precisrest.eventlog.ClickEventLogCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     [--raw] &lt;segment|directory&gt;...
+ * </pre>
+ *
+ * Prints NDJSON to standard output, or with {@code --raw} concatenates the segment files as they
+ * are, which is served by {@code transferTo} straight from the page cache.
+ */
+public final class ClickEventLogCli {
+
+    private ClickEventLogCli() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean raw = false;
+        List<Path> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--raw")) {
+                raw = true;
+            } else {
+                paths.add(Path.of(arg));
+            }
+        }
+        if (paths.isEmpty()) {
+            System.err.println("Usage: ClickEventLogCli [--raw] <segment|directory>...");
+            System.exit(2);
+        }
+
+        // A FileChannel on stdout lets transferTo use sendfile/copy_file_range
+        FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel();
+        for (Path path : paths) {
+            for (Path segment : ClickEventLogReader.segments(path)) {
+                if (raw) {
+                    ClickEventLogReader.transferRaw(segment, out);
+                } else {
+                    ClickEventLogReader.writeNdjson(segment, out);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads click log segments written by {@link ClickEventLog}, either decoded into NDJSON or copied
+ * verbatim. Verbatim copies use {@link FileChannel#transferTo}, which the kernel can serve without
+ * copying the bytes through the JVM when the target is a file or socket.
+ *
+ * <p>A segment may still be open for writing; a trailing partial record is ignored.
+ */
+public final class ClickEventLogReader {
+
+    private static final int RECORDS_PER_READ = 1_024;
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    private ClickEventLogReader() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param path a segment file or a directory of segments
+     * @return the segments, oldest first
+     */
+    public static List<Path> segments(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(ClickEventLogReader::isSegment).sorted().toList();
+        }
+    }
+
+    /**
+     * Decodes every complete record of a segment.
+     *
+     * @param segment the segment file
+     * @param consumer receives the events in write order
+     * @return the number of events read
+     * @throws IllegalArgumentException if the file is not a click log segment
+     */
+    public static long forEach(Path segment, Consumer<ClickEvent> consumer) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(ClickEventCodec.HEADER_SIZE);
+            if (readFully(channel, header) < ClickEventCodec.HEADER_SIZE) {
+                return 0;
+            }
+            header.flip();
+            ClickEventCodec.readHeader(header);
+
+            ByteBuffer buffer =
+                    ByteBuffer.allocateDirect(RECORDS_PER_READ * ClickEventCodec.RECORD_SIZE);
+            while (readFully(channel, buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= ClickEventCodec.RECORD_SIZE) {
+                    consumer.accept(ClickEventCodec.decode(buffer));
+                    count++;
+                }
+                if (buffer.hasRemaining()) {
+                    // torn tail of a segment that is still being written
+                    break;
+                }
+                buffer.clear();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes a segment as NDJSON, one event per line.
+     *
+     * @param segment the segment file
+     * @param out the channel to write to
+     * @return the number of events written
+     */
+    public static long writeNdjson(Path segment, WritableByteChannel out) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        long count;
+        try {
+            count =
+                    forEach(
+                            segment,
+                            event -> {
+                                ClickEventCodec.appendJson(event, lines);
+                                if (lines.length() >= FLUSH_CHARS) {
+                                    flush(lines, out);
+                                }
+                            });
+            flush(lines, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
+    /**
+     * Copies a segment byte for byte, header included, with {@link FileChannel#transferTo}.
+     *
+     * @param segment the segment file
+     * @param out the channel to write to
+     * @return the number of bytes copied
+     */
+    public static long transferRaw(Path segment, WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    private static void flush(StringBuilder lines, WritableByteChannel out) {
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        lines.setLength(0);
+        try {
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(ClickEventLog.SEGMENT_PREFIX)
+                && name.endsWith(ClickEventLog.SEGMENT_SUFFIX);
+    }
+
+    static List<ClickEvent> readAll(Path path) throws IOException {
+        List<ClickEvent> events = new ArrayList<>();
+        for (Path segment : segments(path)) {
+            forEach(segment, events::add);
+        }
+        return events;
+    }
+}
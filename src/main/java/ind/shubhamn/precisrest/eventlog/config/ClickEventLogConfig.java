@@ -0,0 +1,78 @@
+package ind.shubhamn.precisrest.eventlog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for the append-only click event log: where segments are written, when
+ * they roll over, how often they are forced to disk and how many events may queue up before new
+ * ones are dropped.
+ */
+@Configuration
+@ConfigurationProperties("click-log")
+public class ClickEventLogConfig {
+
+    private boolean enabled = false;
+    private String directory = "click-log";
+    private int queueCapacity = 65_536;
+    private int batchSize = 1_024;
+    private long segmentBytes = 64L * 1024 * 1024;
+    private long segmentMillis = 3_600_000;
+    private long forceIntervalMillis = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public void setSegmentBytes(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public long getSegmentMillis() {
+        return segmentMillis;
+    }
+
+    public void setSegmentMillis(long segmentMillis) {
+        this.segmentMillis = segmentMillis;
+    }
+
+    public long getForceIntervalMillis() {
+        return forceIntervalMillis;
+    }
+
+    public void setForceIntervalMillis(long forceIntervalMillis) {
+        this.forceIntervalMillis = forceIntervalMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package ind.shubhamn.precisrest.exception;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Thrown when the database bulkhead has no permit to hand out within its timeout. Transient: the
+ * same call may succeed once in-flight queries finish.
+ */
+public class DatabaseBusyException extends TransientDataAccessResourceException {
+
+    public DatabaseBusyException(int permits, long timeoutMillis) {
+        super(
+                "All "
+                        + permits
+                        + " database permits are in use; gave up after "
+                        + timeoutMillis
+                        + " ms");
+    }
+}
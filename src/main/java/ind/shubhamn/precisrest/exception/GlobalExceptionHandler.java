@@ -6,8 +6,10 @@ import ind.shubhamn.precisrest.rest.ResponseEntityHelper;
 import java.util.NoSuchElementException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +24,8 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /**
      * Handles ShortUrlAlreadyExistsException when a custom alias is already in use.
      *
@@ -90,6 +94,25 @@ public class GlobalExceptionHandler {
                 ErrorCodes.VALIDATION_ERROR, message.toString(), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles ShortUrlNotFoundException when a short URL is unknown. Unknown short URLs are
+     * ordinary client traffic on the resolve path, so this only logs below INFO.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse and HTTP 404 Not Found status
+     */
+    @ExceptionHandler(ShortUrlNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleShortUrlNotFound(ShortUrlNotFoundException ex) {
+
+        logger.debug(
+                "Short URL not found: errorCode={}, message={}",
+                ErrorCodes.NOT_FOUND,
+                ex.getMessage());
+
+        return ResponseEntityHelper.failureResponseEntity(
+                ex, ErrorCodes.NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Handles NoSuchElementException when a requested resource is not found.
      *
@@ -106,14 +129,53 @@ public class GlobalExceptionHandler {
                 ErrorCodes.NOT_FOUND,
                 ex.getMessage());
 
-        logger.info("Requested resource not found, returning 404 Not Found");
-
-        logger.warn("Client requested non-existent resource: errorCode={}", ErrorCodes.NOT_FOUND);
-
         return ResponseEntityHelper.failureResponseEntity(
                 ex, ErrorCodes.NOT_FOUND, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles DatabaseBusyException when the database bulkhead rejected the request.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse, a Retry-After header and HTTP 503 status
+     */
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseBusy(DatabaseBusyException ex) {
+
+        logger.debug(
+                "Database bulkhead rejected request: errorCode={}, message={}",
+                ErrorCodes.SERVICE_UNAVAILABLE,
+                ex.getMessage());
+
+        logger.warn("Database saturated, returning 503 Service Unavailable");
+
+        ResponseEntity<ErrorResponse> response =
+                ResponseEntityHelper.failureResponseEntity(
+                        ex, ErrorCodes.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles CannotCreateTransactionException. Transactional service methods take their
+     * connection when the transaction begins, so a bulkhead rejection arrives wrapped in this
+     * exception.
+     *
+     * @param ex The exception
+     * @return HTTP 503 if the database bulkhead was saturated, otherwise HTTP 500
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(
+            CannotCreateTransactionException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBusyException busy) {
+                return handleDatabaseBusy(busy);
+            }
+        }
+        return handleGenericException(ex);
+    }
+
     /**
      * Handles all other uncaught exceptions.
      *
@@ -0,0 +1,20 @@
+package ind.shubhamn.precisrest.exception;
+
+/**
+ * Thrown when a short URL does not exist. Unknown codes are routine client traffic, so one shared
+ * instance without a stack trace is thrown rather than allocating an exception and walking the
+ * stack on every miss. Being shared, it carries no cause and no request-specific message, and
+ * suppression is disabled so that nothing can be attached to it across requests.
+ */
+public final class ShortUrlNotFoundException extends RuntimeException {
+
+    private static final ShortUrlNotFoundException INSTANCE = new ShortUrlNotFoundException();
+
+    private ShortUrlNotFoundException() {
+        super("Short URL not found", null, false, false);
+    }
+
+    public static ShortUrlNotFoundException get() {
+        return INSTANCE;
+    }
+}
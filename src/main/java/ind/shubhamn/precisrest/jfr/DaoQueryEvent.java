@@ -0,0 +1,48 @@
+package ind.shubhamn.precisrest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One database operation on the URL table, including the wait for a pooled connection. Shown next
+ * to JDBC socket reads and monitor waits in the same recording, it separates time spent in the
+ * database from time spent queueing for it.
+ */
+@Name("precis.DaoQuery")
+@Label("DAO Query")
+@Category({"Precis", "Database"})
+@Description("A query or write issued by the DAO layer")
+@Enabled(false)
+@StackTrace(false)
+public class DaoQueryEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Short URL")
+    @Description("The key for single-row operations, null for batches")
+    public String shortUrl;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+
+    /** Ends the event and commits it if recording is enabled and the threshold is exceeded. */
+    public void finish(String operation, String shortUrl, int rows, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.shortUrl = shortUrl;
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ind.shubhamn.precisrest.jfr;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/jfr}) controlling one JDK Flight Recorder recording with the
+ * JDK's {@code default} settings plus {@code jfr/precis.jfc}, so the application's events land in
+ * the same file as GC, lock and I/O events.
+ *
+ * <ul>
+ *   <li>{@code POST /actuator/jfr} starts a recording, optionally with {@code maxAgeSeconds}.
+ *   <li>{@code GET /actuator/jfr} reports its state.
+ *   <li>{@code GET /actuator/jfr/download} dumps it, running or stopped, as a {@code .jfr} file.
+ *   <li>{@code DELETE /actuator/jfr} stops it; the data stays downloadable until the next start.
+ * </ul>
+ *
+ * Environment variables, system properties and JVM arguments are left out of the recording, since
+ * they carry credentials such as {@code DATABASE_PASSWORD}.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+
+    static final String SETTINGS = "jfr/precis.jfc";
+
+    private static final String[] SENSITIVE_EVENTS = {
+        "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation"
+    };
+
+    private Recording recording;
+
+    private Path dumpFile;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@OptionalParameter Long maxAgeSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        discard();
+        recording = new Recording(settings());
+        recording.setName("precis");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds != null ? maxAgeSeconds : 600));
+        recording.start();
+        logger.info(
+                "Flight recording {} started: maxAge={}", recording.getId(), recording.getMaxAge());
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Flight recording {} stopped", recording.getId());
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file)
+            throws IOException {
+        if (!"download".equals(file)
+                || recording == null
+                || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        deleteDumpFile();
+        dumpFile = Files.createTempFile("precis-", ".jfr");
+        recording.dump(dumpFile);
+        return new WebEndpointResponse<>(new FileSystemResource(dumpFile));
+    }
+
+    static Map<String, String> settings() {
+        Map<String, String> settings;
+        try (Reader reader =
+                new InputStreamReader(
+                        new ClassPathResource(SETTINGS).getInputStream(),
+                        StandardCharsets.UTF_8)) {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid " + SETTINGS, e);
+        }
+        for (String event : SENSITIVE_EVENTS) {
+            settings.put(event + "#enabled", "false");
+        }
+        return settings;
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteDumpFile();
+    }
+
+    private void deleteDumpFile() {
+        if (dumpFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(dumpFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete flight recording dump {}", dumpFile, e);
+        }
+        dumpFile = null;
+    }
+}
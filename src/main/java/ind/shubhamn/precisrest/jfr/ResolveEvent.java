@@ -0,0 +1,40 @@
+package ind.shubhamn.precisrest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One {@code UrlShortenerService.getLongUrl} call: a cache hit, or a database lookup. */
+@Name("precis.Resolve")
+@Label("Resolve")
+@Category({"Precis", "URL"})
+@Description("A short URL resolved to its long URL")
+@Enabled(false)
+@StackTrace(false)
+public class ResolveEvent extends Event {
+
+    @Label("Short URL")
+    public String shortUrl;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Outcome")
+    @Description("found or not_found")
+    public String outcome;
+
+    /** Ends the event and commits it if recording is enabled and the threshold is exceeded. */
+    public void finish(String shortUrl, boolean cacheHit, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.shortUrl = shortUrl;
+            this.cacheHit = cacheHit;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ind.shubhamn.precisrest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code UrlShortenerService.shortenUrl} call, from entry to return. The transaction commit
+ * happens after the method returns and is not included.
+ */
+@Name("precis.Shorten")
+@Label("Shorten")
+@Category({"Precis", "URL"})
+@Description("A short URL created through the REST API")
+@Enabled(false)
+@StackTrace(false)
+public class ShortenEvent extends Event {
+
+    @Label("Short URL")
+    public String shortUrl;
+
+    @Label("Custom Alias")
+    public boolean customAlias;
+
+    @Label("Outcome")
+    @Description("created, alias_exists or error")
+    public String outcome;
+
+    /** Ends the event and commits it if recording is enabled and the threshold is exceeded. */
+    public void finish(String shortUrl, boolean customAlias, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.shortUrl = shortUrl;
+            this.customAlias = customAlias;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ind.shubhamn.precisrest.limit;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.dto.ErrorResponse;
+import ind.shubhamn.precisrest.limit.ConcurrencyLimiter.Priority;
+import ind.shubhamn.precisrest.limit.config.ConcurrencyLimitConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Load shedding in front of the REST API. Requests beyond the adaptive {@link ConcurrencyLimiter}
+ * are answered at once with {@code 503} and {@code Retry-After} instead of queueing behind a slow
+ * database until they time out. Resolves are high priority; shortens and other API calls only get
+ * {@code concurrency-limit.shorten-share} of the limit.
+ *
+ * <p>Ordered ahead of {@code RequestLoggingFilter} so a shed request costs as little as possible.
+ * Actuator and other non-API paths are never limited.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    static final String API_PREFIX = "/app/rest/";
+
+    static final String RESOLVE_PATH = API_PREFIX + "long";
+
+    private final ConcurrencyLimitConfig config;
+
+    private final ConcurrencyLimiter limiter;
+
+    private final JsonMapper jsonMapper;
+
+    @Autowired
+    public ConcurrencyLimitFilter(
+            ConcurrencyLimitConfig config, MeterRegistry meterRegistry, JsonMapper jsonMapper) {
+        this.config = config;
+        this.jsonMapper = jsonMapper;
+        this.limiter =
+                new ConcurrencyLimiter(
+                        new VegasLimit(
+                                config.getInitialLimit(),
+                                config.getMinLimit(),
+                                config.getMaxLimit(),
+                                TimeUnit.MILLISECONDS.toNanos(config.getProbeIntervalMillis())),
+                        config.getShortenShare());
+
+        Gauge.builder("http.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent API requests")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", limiter, ConcurrencyLimiter::getInflight)
+                .description("API requests currently admitted")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            FunctionCounter.builder(
+                            "http.concurrency.rejected",
+                            limiter,
+                            l -> l.getRejectedCount(priority))
+                    .tag("priority", priority.name().toLowerCase())
+                    .description("API requests shed because the concurrency limit was reached")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority =
+                request.getRequestURI().equals(RESOLVE_PATH) ? Priority.HIGH : Priority.LOW;
+        long startNanos = limiter.tryAcquire(priority);
+        if (startNanos < 0) {
+            reject(request, response);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed) {
+                // The database bulkhead answers 503 when it is saturated
+                boolean dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+                limiter.release(startNanos, dropped);
+            } else {
+                // An exception escaping the chain is neither a latency sample nor an overload
+                limiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        logger.debug(
+                "Shedding request: uri={}, limit={}", request.getRequestURI(), limiter.getLimit());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(
+                response.getOutputStream(),
+                new ErrorResponse(
+                        ErrorCodes.SERVICE_UNAVAILABLE,
+                        "Server is at capacity, please retry",
+                        HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,86 @@
+package ind.shubhamn.precisrest.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while fewer than the {@link VegasLimit} are in flight. Low-priority requests
+ * may only fill {@code lowPriorityShare} of the limit, so the remainder is always available to
+ * high-priority ones.
+ */
+public class ConcurrencyLimiter {
+
+    public enum Priority {
+        HIGH,
+        LOW
+    }
+
+    private final VegasLimit limit;
+
+    private final double lowPriorityShare;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final LongAdder rejectedHigh = new LongAdder();
+
+    private final LongAdder rejectedLow = new LongAdder();
+
+    public ConcurrencyLimiter(VegasLimit limit, double lowPriorityShare) {
+        this.limit = limit;
+        this.lowPriorityShare = lowPriorityShare;
+    }
+
+    /**
+     * @param priority the request's priority
+     * @return the admission time in {@link System#nanoTime()} units to pass to {@link
+     *     #release}, or -1 if the request is rejected
+     */
+    public long tryAcquire(Priority priority) {
+        int currentLimit = limit.getLimit();
+        int cap =
+                priority == Priority.HIGH
+                        ? currentLimit
+                        : Math.max(1, (int) (currentLimit * lowPriorityShare));
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= cap) {
+                (priority == Priority.HIGH ? rejectedHigh : rejectedLow).increment();
+                return -1;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends an admitted request and feeds its latency into the limit.
+     *
+     * @param startNanos the value returned by {@link #tryAcquire}
+     * @param dropped whether the request failed because something downstream was overloaded
+     */
+    public void release(long startNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+        long now = System.nanoTime();
+        limit.onSample(now, now - startNanos, current, dropped);
+    }
+
+    /**
+     * Ends an admitted request without feeding it into the limit, for requests that failed in a
+     * way that says nothing about latency or downstream overload.
+     */
+    public void releaseWithoutSample() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount(Priority priority) {
+        return (priority == Priority.HIGH ? rejectedHigh : rejectedLow).sum();
+    }
+}
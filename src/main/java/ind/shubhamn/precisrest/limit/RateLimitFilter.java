@@ -0,0 +1,193 @@
+package ind.shubhamn.precisrest.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.dto.ErrorResponse;
+import ind.shubhamn.precisrest.limit.config.RateLimitConfig;
+import ind.shubhamn.precisrest.limit.config.RateLimitConfig.Tier;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Per-client rate limit on {@code POST /app/rest/shorten}. Each client gets a {@link TokenBucket}
+ * sized by its tier; a request without a token is answered with {@code 429} and {@code
+ * Retry-After}. Every limited response carries {@code RateLimit-Limit}, {@code
+ * RateLimit-Remaining} and {@code RateLimit-Reset}.
+ *
+ * <p>Clients are identified by the authenticated principal when there is one, otherwise by the
+ * remote address. {@code X-Forwarded-For} is not read here: any client can send one, and a fresh
+ * value per request would get a fresh bucket. Behind proxies, {@code
+ * server.forward-headers-strategy} resolves the remote address to the rightmost hop not from a
+ * trusted proxy. Buckets live in a size-bounded Caffeine cache, so spraying requests from many
+ * addresses costs at most {@code rate-limit.max-clients} buckets. A bucket idle for its tier's
+ * full refill time is expired: by then it is full, so recreating it changes nothing.
+ *
+ * <p>Ordered ahead of {@link ConcurrencyLimitFilter} so throttled requests never take a
+ * concurrency slot.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    static final String SHORTEN_PATH = ConcurrencyLimitFilter.API_PREFIX + "shorten";
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimitConfig config;
+
+    private final JsonMapper jsonMapper;
+
+    private final Map<String, Tier> tiers;
+
+    private final Map<String, LongAdder> rejected = new HashMap<>();
+
+    private final Cache<String, ClientBucket> buckets;
+
+    @Autowired
+    public RateLimitFilter(
+            RateLimitConfig config, MeterRegistry meterRegistry, JsonMapper jsonMapper) {
+        this.config = config;
+        this.jsonMapper = jsonMapper;
+        this.tiers = Map.copyOf(config.getTiers());
+        validateTiers();
+
+        long longestRefillNanos = 0;
+        for (Map.Entry<String, Tier> entry : tiers.entrySet()) {
+            Tier tier = entry.getValue();
+            // building a bucket also rejects a misconfigured tier at startup
+            longestRefillNanos =
+                    Math.max(
+                            longestRefillNanos,
+                            new TokenBucket(tier.getCapacity(), tier.getRefillPerSecond())
+                                    .getRefillNanos());
+            LongAdder counter = new LongAdder();
+            rejected.put(entry.getKey(), counter);
+            FunctionCounter.builder("http.ratelimit.rejected", counter, LongAdder::sum)
+                    .tag("tier", entry.getKey())
+                    .description("Shorten requests rejected by the per-client rate limit")
+                    .register(meterRegistry);
+        }
+        this.buckets =
+                Caffeine.newBuilder()
+                        .maximumSize(config.getMaxClients())
+                        .expireAfterAccess(longestRefillNanos, TimeUnit.NANOSECONDS)
+                        .build();
+
+        Gauge.builder("http.ratelimit.clients", buckets, Cache::estimatedSize)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+        logger.info(
+                "Rate limit configured: tiers={}, maxClients={}",
+                tiers.keySet(),
+                config.getMaxClients());
+    }
+
+    private void validateTiers() {
+        checkTier("default-tier", config.getDefaultTier());
+        checkTier("authenticated-tier", config.getAuthenticatedTier());
+        config.getClients().forEach((client, tier) -> checkTier("clients." + client, tier));
+    }
+
+    private void checkTier(String property, String tier) {
+        if (!tiers.containsKey(tier)) {
+            throw new IllegalStateException(
+                    "rate-limit." + property + " names unknown tier '" + tier + "'");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().equals(SHORTEN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        String client = principal != null ? principal.getName() : request.getRemoteAddr();
+        String key = (principal != null ? "principal:" : "ip:") + client;
+        ClientBucket bucket = buckets.get(key, k -> newBucket(client, principal != null));
+
+        long now = System.nanoTime();
+        boolean admitted = bucket.tokens().tryAcquire(now);
+        response.setHeader(LIMIT_HEADER, String.valueOf(bucket.tokens().getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.tokens().getRemaining(now)));
+        response.setHeader(
+                RESET_HEADER, String.valueOf(toSeconds(bucket.tokens().getNanosUntilFull(now))));
+        if (admitted) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(bucket.tier()).increment();
+        logger.debug("Rate limiting shorten: client={}, tier={}", key, bucket.tier());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(
+                HttpHeaders.RETRY_AFTER,
+                String.valueOf(
+                        Math.max(1, toSeconds(bucket.tokens().getNanosUntilNextToken(now)))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(
+                response.getOutputStream(),
+                new ErrorResponse(
+                        ErrorCodes.RATE_LIMITED,
+                        "Too many shorten requests, please retry later",
+                        HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private ClientBucket newBucket(String client, boolean authenticated) {
+        String tierName =
+                config.getClients()
+                        .getOrDefault(
+                                client,
+                                authenticated
+                                        ? config.getAuthenticatedTier()
+                                        : config.getDefaultTier());
+        Tier tier = tiers.get(tierName);
+        return new ClientBucket(
+                tierName, new TokenBucket(tier.getCapacity(), tier.getRefillPerSecond()));
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    long getTrackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private record ClientBucket(String tier, TokenBucket tokens) {}
+}
@@ -0,0 +1,91 @@
+package ind.shubhamn.precisrest.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding at most {@code capacity} tokens and refilling at a fixed rate.
+ *
+ * <p>Implemented as the generic cell rate algorithm: instead of a token count and a refill
+ * timestamp, the bucket stores one value, the time at which it would be full again (the
+ * theoretical arrival time). Taking a token pushes that time one emission interval further; a
+ * token is available while the push stays within {@code capacity} intervals of now. The update is
+ * a single compare-and-set, and an idle bucket needs no background refill.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstNanos;
+
+    // nanoTime may be negative, so "never used" has to sort below every possible now
+    private final AtomicLong fullAtNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid token bucket: capacity="
+                            + capacity
+                            + ", refillPerSecond="
+                            + refillPerSecond);
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = emissionIntervalNanos * capacity;
+    }
+
+    /**
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return whether a token was taken
+     */
+    public boolean tryAcquire(long nowNanos) {
+        long fullAt;
+        long next;
+        do {
+            fullAt = fullAtNanos.get();
+            next = Math.max(fullAt, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+        } while (!fullAtNanos.compareAndSet(fullAt, next));
+        return true;
+    }
+
+    /**
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return tokens left
+     */
+    public int getRemaining(long nowNanos) {
+        long backlog = Math.max(fullAtNanos.get(), nowNanos) - nowNanos;
+        return (int) Math.max(0, (burstNanos - backlog) / emissionIntervalNanos);
+    }
+
+    /**
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return nanoseconds until the next token is available, 0 if one is available now
+     */
+    public long getNanosUntilNextToken(long nowNanos) {
+        long fullAt = Math.max(fullAtNanos.get(), nowNanos);
+        return Math.max(0, fullAt + emissionIntervalNanos - burstNanos - nowNanos);
+    }
+
+    /**
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return nanoseconds until the bucket is full again
+     */
+    public long getNanosUntilFull(long nowNanos) {
+        return Math.max(fullAtNanos.get(), nowNanos) - nowNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return how long an empty bucket takes to refill completely
+     */
+    public long getRefillNanos() {
+        return burstNanos;
+    }
+}
@@ -0,0 +1,109 @@
+package ind.shubhamn.precisrest.limit;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Concurrency limit driven by observed latency, after TCP Vegas. The lowest latency seen is taken
+ * as the no-load latency, and every completed request estimates how many requests are queueing:
+ * {@code limit * (1 - noLoadRtt / rtt)}.
+ *
+ * <ul>
+ *   <li>Hardly any queue: the limit grows.
+ *   <li>A queue beyond {@code 6 * log10(limit)}: it shrinks by {@code log10(limit)}.
+ *   <li>A dropped request (overload reported downstream): it backs off by 10%.
+ * </ul>
+ *
+ * Once per {@code probeIntervalNanos} (jittered) the baseline is replaced by the lowest latency
+ * seen since the previous probe, so a lasting change in the backend's speed is eventually accepted.
+ * Under sustained overload that minimum is itself inflated by queueing, so each probe lets the
+ * limit ratchet up a little; probing on a timer rather than per sample keeps that drift slow. The
+ * limit is clamped to {@code [minLimit, maxLimit]}; reads are lock-free.
+ */
+public class VegasLimit {
+
+    static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long probeIntervalNanos;
+
+    // guarded by this
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private long nextProbeNanos;
+
+    private volatile int limit;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, long probeIntervalNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException(
+                    "Invalid limit bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeIntervalNanos = probeIntervalNanos;
+        update(initialLimit);
+        scheduleProbe(System.nanoTime());
+    }
+
+    /**
+     * @return the current limit on concurrent requests
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Feeds one completed request into the estimate.
+     *
+     * @param nowNanos the completion time in {@link System#nanoTime()} units
+     * @param rttNanos how long the request took
+     * @param inflight requests in flight when it completed, itself included
+     * @param dropped whether it failed because something downstream was overloaded
+     */
+    public synchronized void onSample(
+            long nowNanos, long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            update(estimatedLimit * DROP_BACKOFF);
+            return;
+        }
+        long rtt = Math.max(1, rttNanos);
+        windowMinRttNanos = Math.min(windowMinRttNanos, rtt);
+        if (nowNanos - nextProbeNanos >= 0) {
+            noLoadRttNanos = windowMinRttNanos;
+            scheduleProbe(nowNanos);
+            return;
+        }
+        if (noLoadRttNanos == 0 || rtt < noLoadRttNanos) {
+            noLoadRttNanos = rtt;
+            return;
+        }
+        // Well below the limit the latency says nothing about whether the limit is too low
+        if (inflight * 2 < estimatedLimit) {
+            return;
+        }
+
+        double queue = Math.ceil(estimatedLimit * (1 - (double) noLoadRttNanos / rtt));
+        double log = Math.max(1, Math.log10(estimatedLimit));
+        if (queue <= log) {
+            update(estimatedLimit + 6 * log);
+        } else if (queue < 3 * log) {
+            update(estimatedLimit + log);
+        } else if (queue > 6 * log) {
+            update(estimatedLimit - log);
+        }
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    private void scheduleProbe(long nowNanos) {
+        windowMinRttNanos = Long.MAX_VALUE;
+        // jittered so that nodes started together do not probe in lockstep
+        double jitter = ThreadLocalRandom.current().nextDouble(0.5, 1.0);
+        nextProbeNanos = nowNanos + (long) (probeIntervalNanos * jitter);
+    }
+}
@@ -0,0 +1,79 @@
+package ind.shubhamn.precisrest.limit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for the adaptive concurrency limit in front of the REST API: the bounds
+ * the limit moves within, how often its latency baseline is re-probed, and the share of it that
+ * shorten requests may use (the rest is kept for resolves).
+ */
+@Configuration
+@ConfigurationProperties("concurrency-limit")
+public class ConcurrencyLimitConfig {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 1_000;
+    // how often the no-load latency baseline is re-measured
+    private long probeIntervalMillis = 60_000;
+    private double shortenShare = 0.8;
+    private long retryAfterSeconds = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public long getProbeIntervalMillis() {
+        return probeIntervalMillis;
+    }
+
+    public void setProbeIntervalMillis(long probeIntervalMillis) {
+        this.probeIntervalMillis = probeIntervalMillis;
+    }
+
+    public double getShortenShare() {
+        return shortenShare;
+    }
+
+    public void setShortenShare(double shortenShare) {
+        this.shortenShare = shortenShare;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,106 @@
+package ind.shubhamn.precisrest.limit.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for per-client rate limiting of the shorten endpoint. Each tier is a token
+ * bucket ({@code capacity} tokens, refilled at {@code refill-per-second}). Authenticated callers
+ * get {@code authenticated-tier}, anonymous ones {@code default-tier}; {@code clients} assigns
+ * other tiers to individual principal names or client IPs.
+ */
+@Configuration
+@ConfigurationProperties("rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    // buckets kept at most; least valuable ones are evicted beyond this
+    private long maxClients = 100_000;
+    private String defaultTier = "anonymous";
+    private String authenticatedTier = "authenticated";
+    private Map<String, Tier> tiers = new HashMap<>();
+    private Map<String, String> clients = new HashMap<>();
+
+    public RateLimitConfig() {
+        tiers.put("anonymous", new Tier(20, 1));
+        tiers.put("authenticated", new Tier(100, 10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(long maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public String getDefaultTier() {
+        return defaultTier;
+    }
+
+    public void setDefaultTier(String defaultTier) {
+        this.defaultTier = defaultTier;
+    }
+
+    public String getAuthenticatedTier() {
+        return authenticatedTier;
+    }
+
+    public void setAuthenticatedTier(String authenticatedTier) {
+        this.authenticatedTier = authenticatedTier;
+    }
+
+    public Map<String, Tier> getTiers() {
+        return tiers;
+    }
+
+    public void setTiers(Map<String, Tier> tiers) {
+        this.tiers = tiers;
+    }
+
+    public Map<String, String> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, String> clients) {
+        this.clients = clients;
+    }
+
+    public static class Tier {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Tier() {}
+
+        public Tier(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
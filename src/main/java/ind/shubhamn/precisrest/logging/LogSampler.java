@@ -0,0 +1,36 @@
+package ind.shubhamn.precisrest.logging;
+
+import ind.shubhamn.precisrest.logging.config.LogSamplingConfig;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a routine event is logged, so that high-volume success lines can be thinned out
+ * while failures are always kept: callers log unconditionally on error and consult {@link
+ * #sample} otherwise. Sampling is random rather than counter-based, which keeps request threads
+ * from contending on a shared counter.
+ */
+@Component
+public class LogSampler {
+
+    /** Completed API requests, logged by {@link RequestLoggingFilter} */
+    public static final String REQUEST = "request";
+
+    private final Map<String, Integer> rates;
+
+    @Autowired
+    public LogSampler(LogSamplingConfig config) {
+        this.rates = Map.copyOf(config.getRates());
+    }
+
+    /**
+     * @param category the event category, a key of {@code log-sampling.rates}
+     * @return whether this event should be logged
+     */
+    public boolean sample(String category) {
+        int rate = rates.getOrDefault(category, 1);
+        return rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+}
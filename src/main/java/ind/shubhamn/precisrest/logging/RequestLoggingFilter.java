@@ -1,20 +1,46 @@
 package ind.shubhamn.precisrest.logging;
 
+import ind.shubhamn.precisrest.service.RequestStageTimes;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
- * Request logging filter with correlation ID support Logs all incoming requests and responses with
- * timing information
+ * Request logging filter with correlation ID support. Logs one line per completed request with
+ * its status and timing: always for error responses, and for successful ones as sampled by the
+ * {@code request} category of {@link LogSampler}.
+ *
+ * <p>Every request's latency is also recorded in the {@code http.request.latency} timer, tagged
+ * with the matched route template (not the raw URI, to keep cardinality bounded), method (any
+ * non-standard one as {@code OTHER}, for the same reason) and status. The timer publishes a
+ * percentile histogram with SLO buckets for Prometheus; when tracing is active the trace ID is
+ * attached to the buckets as an exemplar.
+ *
+ * <p>Requests slow enough to be among the slowest of the current window are handed to the {@link
+ * SlowRequestTracker} together with their {@link RequestStageTimes} breakdown; for the others that
+ * check is a single comparison.
  */
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
@@ -23,17 +49,51 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
+    static final String LATENCY_METRIC = "http.request.latency";
+
+    private static final Set<String> STANDARD_METHODS =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE", "CONNECT");
+
+    private static final Duration[] SLO_BOUNDARIES = {
+        Duration.ofMillis(5),
+        Duration.ofMillis(10),
+        Duration.ofMillis(25),
+        Duration.ofMillis(50),
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1)
+    };
+
+    private final LogSampler logSampler;
+
+    private final MeterRegistry meterRegistry;
+
+    private final SlowRequestTracker slowRequestTracker;
+
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestLoggingFilter(
+            LogSampler logSampler,
+            MeterRegistry meterRegistry,
+            SlowRequestTracker slowRequestTracker) {
+        this.logSampler = logSampler;
+        this.meterRegistry = meterRegistry;
+        this.slowRequestTracker = slowRequestTracker;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         // Generate or extract correlation ID
         String correlationId = request.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = newCorrelationId();
         }
 
         // Add correlation ID to MDC for logging
@@ -42,42 +102,116 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         // Add correlation ID to response header
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
 
+        RequestStageTimes.begin();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
         try {
-            // Log request
-            logger.info(
-                    "Incoming request: method={}, uri={}, remoteAddr={}, correlationId={}",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    getClientIP(request),
-                    correlationId);
-
-            // Process request
             filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            String route = route(request, status);
+            timers.computeIfAbsent(
+                            new TimerKey(route, method(request), status), this::registerTimer)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            if (slowRequestTracker.qualifies(durationNanos)) {
+                slowRequestTracker.offer(
+                        durationNanos,
+                        new SlowRequest(
+                                Instant.now(),
+                                request.getMethod(),
+                                route,
+                                status,
+                                durationNanos / 1e6,
+                                correlationId,
+                                stageMillis(RequestStageTimes.current())));
+            }
+            // A single line per request, written after the fact so the status decides whether
+            // it is sampled; an exception escaping the chain is logged as a 500
+            if ((status >= 400 || logSampler.sample(LogSampler.REQUEST))
+                    && logger.isInfoEnabled()) {
+                logger.info(
+                        "Request completed: method={}, uri={}, status={}, duration={}ms,"
+                                + " remoteAddr={}, correlationId={}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        status,
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                        getClientIP(request),
+                        correlationId);
+            }
+            // Clean up MDC and the stage times
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+            RequestStageTimes.end();
+        }
+    }
 
-            // Calculate duration
-            long duration = System.currentTimeMillis() - startTime;
+    private static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        // No handler matched; grouping these keeps scanners from minting a series per URI
+        return status == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
 
-            // Log response
-            logger.info(
-                    "Outgoing response: method={}, uri={}, status={}, duration={}ms,"
-                            + " correlationId={}",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    response.getStatus(),
-                    duration,
-                    correlationId);
+    private static String method(HttpServletRequest request) {
+        String method = request.getMethod();
+        return method != null && STANDARD_METHODS.contains(method) ? method : "OTHER";
+    }
 
-        } finally {
-            // Clean up MDC
-            MDC.remove(CORRELATION_ID_MDC_KEY);
+    private static Map<String, Double> stageMillis(long[] stageNanos) {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        if (stageNanos != null) {
+            for (Stage stage : Stage.values()) {
+                if (stageNanos[stage.ordinal()] > 0) {
+                    stages.put(stage.getTag(), stageNanos[stage.ordinal()] / 1e6);
+                }
+            }
         }
+        return stages;
     }
 
-    private String getClientIP(HttpServletRequest request) {
+    private Timer registerTimer(TimerKey key) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Latency of HTTP requests by route")
+                .tag("route", key.route())
+                .tag("method", key.method())
+                .tag("status", String.valueOf(key.status()))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLO_BOUNDARIES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A random (version 4) UUID drawn from {@link ThreadLocalRandom} rather than the shared {@code
+     * SecureRandom} behind {@link UUID#randomUUID()}: correlation IDs need to be unique, not
+     * unpredictable, and this never blocks or contends.
+     *
+     * @return a new correlation ID
+     */
+    static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private record TimerKey(String route, String method, int status) {}
+
+    /**
+     * Resolves the originating client address: the first X-Forwarded-For entry when behind a
+     * proxy, the socket peer otherwise.
+     *
+     * @param request the current request
+     * @return the client IP address
+     */
+    public static String getClientIP(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null) {
             return request.getRemoteAddr();
         }
-        return xfHeader.split(",")[0];
+        int comma = xfHeader.indexOf(',');
+        return comma < 0 ? xfHeader : xfHeader.substring(0, comma);
     }
 }
@@ -0,0 +1,24 @@
+package ind.shubhamn.precisrest.logging;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One of the slowest requests of a window, as kept by the {@link SlowRequestTracker}.
+ *
+ * @param timestamp when the request completed
+ * @param method the HTTP method
+ * @param route the matched route template, or NOT_FOUND / UNKNOWN
+ * @param status the response status
+ * @param durationMillis total time in the filter chain
+ * @param correlationId the request's correlation ID, to find its log lines and trace
+ * @param stageMillis time per shorten/resolve stage, for the stages the request went through
+ */
+public record SlowRequest(
+        Instant timestamp,
+        String method,
+        String route,
+        int status,
+        double durationMillis,
+        String correlationId,
+        Map<String, Double> stageMillis) {}
@@ -0,0 +1,137 @@
+package ind.shubhamn.precisrest.logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The slowest {@code capacity} requests of the current and the previous window. Each window is a
+ * fixed array of slots; a request slower than the fastest one held replaces it with a CAS, so
+ * recording never locks.
+ *
+ * <p>Requests that do not qualify cost one volatile read and a comparison in {@link #qualifies}:
+ * each window keeps the duration to beat, which only rises while the window is current (a slot is
+ * only ever replaced by a slower request), so a stale read merely lets a request through to the
+ * CAS loop, never turns away one that belongs in the window.
+ */
+@Component
+public class SlowRequestTracker {
+
+    private final int capacity;
+
+    private volatile Window current;
+
+    private volatile Window previous;
+
+    @Autowired
+    public SlowRequestTracker(@Value("${slow-requests.capacity:10}") int capacity) {
+        this.capacity = capacity;
+        this.current = new Window(capacity);
+        this.previous = new Window(capacity);
+    }
+
+    /**
+     * @param durationNanos how long the request took
+     * @return whether the request may be among the slowest of the window, and should be offered
+     */
+    public boolean qualifies(long durationNanos) {
+        return durationNanos > current.threshold;
+    }
+
+    /**
+     * Adds a request to the current window if it is slower than the fastest one held.
+     *
+     * @param durationNanos how long the request took
+     * @param request the request's details
+     */
+    public void offer(long durationNanos, SlowRequest request) {
+        current.offer(new Entry(durationNanos, request));
+    }
+
+    /** @return the slowest requests of the window in progress, slowest first */
+    public List<SlowRequest> current() {
+        return current.snapshot();
+    }
+
+    /** @return the slowest requests of the last complete window, slowest first */
+    public List<SlowRequest> previous() {
+        return previous.snapshot();
+    }
+
+    /** Starts a new window; the current one becomes the previous. */
+    @Scheduled(fixedRateString = "${slow-requests.window-millis:60000}")
+    public void rotate() {
+        previous = current;
+        current = new Window(capacity);
+    }
+
+    private record Entry(long durationNanos, SlowRequest request) {}
+
+    private static final class Window {
+
+        private final AtomicReferenceArray<Entry> slots;
+
+        // fastest duration held once every slot is filled, 0 until then
+        private volatile long threshold;
+
+        Window(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void offer(Entry entry) {
+            while (true) {
+                int fastestIndex = -1;
+                Entry fastest = null;
+                long fastestNanos = Long.MAX_VALUE;
+                for (int i = 0; i < slots.length(); i++) {
+                    Entry slot = slots.get(i);
+                    long nanos = slot == null ? -1 : slot.durationNanos();
+                    if (nanos < fastestNanos) {
+                        fastestIndex = i;
+                        fastest = slot;
+                        fastestNanos = nanos;
+                    }
+                }
+                if (fastestIndex < 0 || entry.durationNanos() <= fastestNanos) {
+                    // overtaken by slower requests while this one was being prepared
+                    return;
+                }
+                if (slots.compareAndSet(fastestIndex, fastest, entry)) {
+                    updateThreshold();
+                    return;
+                }
+            }
+        }
+
+        private void updateThreshold() {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < slots.length(); i++) {
+                Entry slot = slots.get(i);
+                if (slot == null) {
+                    return;
+                }
+                min = Math.min(min, slot.durationNanos());
+            }
+            // a concurrent update may land first with a higher value; the lower one written
+            // here is still a valid, merely looser, bound
+            threshold = min;
+        }
+
+        List<SlowRequest> snapshot() {
+            List<Entry> entries = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                Entry slot = slots.get(i);
+                if (slot != null) {
+                    entries.add(slot);
+                }
+            }
+            entries.sort(Comparator.comparingLong(Entry::durationNanos).reversed());
+            return entries.stream().map(Entry::request).toList();
+        }
+    }
+}
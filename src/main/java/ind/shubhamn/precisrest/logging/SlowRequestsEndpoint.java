@@ -0,0 +1,29 @@
+package ind.shubhamn.precisrest.logging;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/slowrequests}) listing the slowest requests of the current
+ * and the previous window.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    @Autowired private SlowRequestTracker slowRequestTracker;
+
+    @ReadOperation
+    public SlowRequests slowRequests() {
+        return new SlowRequests(slowRequestTracker.current(), slowRequestTracker.previous());
+    }
+
+    /**
+     * @param current the window in progress, slowest first
+     * @param previous the last complete window, slowest first
+     */
+    public record SlowRequests(List<SlowRequest> current, List<SlowRequest> previous) {}
+}
@@ -0,0 +1,25 @@
+package ind.shubhamn.precisrest.logging.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sampling rates for routine log events, keyed by category. A rate of N keeps about one event in
+ * N; categories that are not listed, or have a rate of 1 or less, are always logged.
+ */
+@Configuration
+@ConfigurationProperties("log-sampling")
+public class LogSamplingConfig {
+
+    private Map<String, Integer> rates = new HashMap<>();
+
+    public Map<String, Integer> getRates() {
+        return rates;
+    }
+
+    public void setRates(Map<String, Integer> rates) {
+        this.rates = rates;
+    }
+}
@@ -4,6 +4,7 @@ import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
 import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
 import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -39,6 +40,19 @@ public interface UrlMapper {
     @Mapping(target = "expiresAt", source = "expiresAt")
     ShortenUrlResponseDTO toShortenUrlResponseDto(ShortenedUrl entity);
 
+    /**
+     * Maps the immutable UrlMapping read model to ShortenUrlResponseDTO. Used by the reactive
+     * variant, whose R2DBC write path returns the stored row rather than a JPA entity.
+     *
+     * @param urlMapping the read model
+     * @return the response DTO
+     */
+    @Mapping(target = "shortUrl", source = "shortUrl")
+    @Mapping(target = "longUrl", source = "longUrl")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "expiresAt", source = "expiresAt")
+    ShortenUrlResponseDTO toShortenUrlResponseDto(UrlMapping urlMapping);
+
     /**
      * Maps ShortenedUrl entity to GetLongUrlResponseDTO. Used when retrieving the original URL.
      *
@@ -50,4 +64,17 @@ public interface UrlMapper {
     @Mapping(target = "createdAt", source = "createdAt")
     @Mapping(target = "expiresAt", source = "expiresAt")
     GetLongUrlResponseDTO toGetLongUrlResponseDto(ShortenedUrl entity);
+
+    /**
+     * Maps the immutable UrlMapping read model to GetLongUrlResponseDTO. Used by the JDBC lookup
+     * path when retrieving the original URL.
+     *
+     * @param urlMapping the read model
+     * @return the response DTO
+     */
+    @Mapping(target = "shortUrl", source = "shortUrl")
+    @Mapping(target = "longUrl", source = "longUrl")
+    @Mapping(target = "createdAt", source = "createdAt")
+    @Mapping(target = "expiresAt", source = "expiresAt")
+    GetLongUrlResponseDTO toGetLongUrlResponseDto(UrlMapping urlMapping);
 }
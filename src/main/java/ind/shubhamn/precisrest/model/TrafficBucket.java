@@ -0,0 +1,45 @@
+package ind.shubhamn.precisrest.model;
+
+import java.util.Comparator;
+
+/**
+ * Identifies one traffic rollup row.
+ *
+ * @param shortUrl the short URL identifier
+ * @param granularity the resolution of the row's slots
+ * @param startMinute start of the row in minutes since the epoch (UTC), aligned to the row width
+ */
+public record TrafficBucket(String shortUrl, TrafficGranularity granularity, long startMinute)
+        implements Comparable<TrafficBucket> {
+
+    private static final Comparator<TrafficBucket> ORDER =
+            Comparator.comparing(TrafficBucket::shortUrl)
+                    .thenComparing(TrafficBucket::granularity)
+                    .thenComparingLong(TrafficBucket::startMinute);
+
+    /**
+     * @param shortUrl the short URL identifier
+     * @param granularity the resolution of the row's slots
+     * @param minute any minute since the epoch (UTC)
+     * @return the row containing that minute
+     */
+    public static TrafficBucket containing(
+            String shortUrl, TrafficGranularity granularity, long minute) {
+        long rowMinutes = granularity.getRowMinutes();
+        return new TrafficBucket(
+                shortUrl, granularity, Math.floorDiv(minute, rowMinutes) * rowMinutes);
+    }
+
+    /**
+     * @param minute a minute since the epoch (UTC) inside this row
+     * @return the index of the slot counting that minute
+     */
+    public int slotOf(long minute) {
+        return (int) ((minute - startMinute) / granularity.getSlotMinutes());
+    }
+
+    @Override
+    public int compareTo(TrafficBucket other) {
+        return ORDER.compare(this, other);
+    }
+}
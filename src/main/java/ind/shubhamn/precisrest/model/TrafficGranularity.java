@@ -0,0 +1,51 @@
+package ind.shubhamn.precisrest.model;
+
+/**
+ * Resolution of a per-link traffic time series. Each granularity is persisted as rollup rows that
+ * hold one fixed-size array of slot counts: per-minute counts in hourly rows and per-hour counts in
+ * daily rows.
+ */
+public enum TrafficGranularity {
+
+    /** Per-minute counts for the last day, stored as hourly rows of 60 slots. */
+    MINUTE("H", 60, 1, 24 * 60),
+
+    /** Per-hour counts for the last 30 days, stored as daily rows of 24 slots. */
+    HOUR("D", 24, 60, 30 * 24);
+
+    private final String rowCode;
+    private final int slotsPerRow;
+    private final int slotMinutes;
+    private final int seriesLength;
+
+    TrafficGranularity(String rowCode, int slotsPerRow, int slotMinutes, int seriesLength) {
+        this.rowCode = rowCode;
+        this.slotsPerRow = slotsPerRow;
+        this.slotMinutes = slotMinutes;
+        this.seriesLength = seriesLength;
+    }
+
+    /** Value of the {@code granularity} column of the rollup rows. */
+    public String getRowCode() {
+        return rowCode;
+    }
+
+    public int getSlotsPerRow() {
+        return slotsPerRow;
+    }
+
+    /** Width of one slot in minutes. */
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /** Width of one rollup row in minutes. */
+    public int getRowMinutes() {
+        return slotMinutes * slotsPerRow;
+    }
+
+    /** Number of slots returned by a time series query. */
+    public int getSeriesLength() {
+        return seriesLength;
+    }
+}
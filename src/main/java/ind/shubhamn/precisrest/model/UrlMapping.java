@@ -0,0 +1,35 @@
+package ind.shubhamn.precisrest.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read-side view of a short URL mapping. Returned by the JDBC lookup path so that
+ * resolving a short URL does not go through entity hydration, the persistence context or dirty
+ * checking. Writes still go through the {@link ShortenedUrl} JPA entity.
+ *
+ * @param shortUrl the short URL identifier
+ * @param longUrl the original long URL
+ * @param createdAt when the mapping was created
+ * @param expiresAt optional expiration timestamp, {@code null} if the mapping never expires
+ */
+public record UrlMapping(
+        String shortUrl, String longUrl, LocalDateTime createdAt, LocalDateTime expiresAt) {
+
+    /**
+     * Creates the read-side view of a persisted entity.
+     *
+     * @param entity the JPA entity
+     * @return the immutable mapping
+     */
+    public static UrlMapping of(ShortenedUrl entity) {
+        return new UrlMapping(
+                entity.getShortUrl(),
+                entity.getLongUrl(),
+                entity.getCreatedAt(),
+                entity.getExpiresAt());
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+    }
+}
@@ -0,0 +1,21 @@
+package ind.shubhamn.precisrest.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Identifies the unique visitor sketch of one link for one UTC day.
+ *
+ * @param shortUrl the short URL identifier
+ * @param day the UTC day the sketch covers
+ */
+public record VisitorBucket(String shortUrl, LocalDate day) implements Comparable<VisitorBucket> {
+
+    private static final Comparator<VisitorBucket> ORDER =
+            Comparator.comparing(VisitorBucket::shortUrl).thenComparing(VisitorBucket::day);
+
+    @Override
+    public int compareTo(VisitorBucket other) {
+        return ORDER.compare(this, other);
+    }
+}
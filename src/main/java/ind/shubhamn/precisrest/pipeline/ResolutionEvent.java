@@ -0,0 +1,63 @@
+package ind.shubhamn.precisrest.pipeline;
+
+/**
+ * Ring buffer slot describing one resolution request. Slots are preallocated and overwritten in
+ * place by {@link ResolutionPipeline#publish}, so handlers must copy whatever they keep beyond
+ * {@link ResolutionHandler#onEvent}.
+ */
+public final class ResolutionEvent {
+
+    private long timestampMillis;
+    private String shortUrl;
+    private int status;
+    private String clientIp;
+    private String userAgent;
+    private String referrer;
+
+    void set(
+            long timestampMillis,
+            String shortUrl,
+            int status,
+            String clientIp,
+            String userAgent,
+            String referrer) {
+        this.timestampMillis = timestampMillis;
+        this.shortUrl = shortUrl;
+        this.status = status;
+        this.clientIp = clientIp;
+        this.userAgent = userAgent;
+        this.referrer = referrer;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getShortUrl() {
+        return shortUrl;
+    }
+
+    /** @return the HTTP status returned to the client */
+    public int getStatus() {
+        return status;
+    }
+
+    /** @return true if the short URL was found, i.e. this was a click */
+    public boolean isResolved() {
+        return status == 200;
+    }
+
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    /** @return the User-Agent header, may be null */
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    /** @return the Referer header, may be null */
+    public String getReferrer() {
+        return referrer;
+    }
+}
@@ -0,0 +1,14 @@
+package ind.shubhamn.precisrest.pipeline;
+
+/**
+ * A consumer stage of the {@link ResolutionPipeline}. Each handler bean gets its own thread and
+ * sees every published event in order, independently of the other handlers.
+ */
+public interface ResolutionHandler {
+
+    /**
+     * @param event the event; only valid for the duration of the call
+     * @param endOfBatch true for the last event currently available, a good point to flush
+     */
+    void onEvent(ResolutionEvent event, boolean endOfBatch);
+}
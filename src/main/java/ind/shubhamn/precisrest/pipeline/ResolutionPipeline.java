@@ -0,0 +1,213 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import ind.shubhamn.precisrest.pipeline.config.PipelineConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Moves per-resolution side effects (click counts, traffic, visitors, heavy hitters, the click
+ * event log) off the request thread. The request thread claims a preallocated {@link
+ * ResolutionEvent} in a {@link RingBuffer}, fills it and returns; every {@link ResolutionHandler}
+ * bean consumes the events in batches on its own thread.
+ *
+ * <p>When the slowest stage is a whole ring behind, new events are dropped and counted rather than
+ * making the request wait. {@code pipeline.backlog} and the per-stage {@code pipeline.stage.lag}
+ * gauges show how close that is.
+ */
+@Component
+public class ResolutionPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolutionPipeline.class);
+
+    private final PipelineConfig config;
+
+    private final RingBuffer<ResolutionEvent> ringBuffer;
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder handlerErrors = new LongAdder();
+
+    private volatile boolean accepting = true;
+
+    private volatile boolean running;
+
+    @Autowired
+    public ResolutionPipeline(
+            PipelineConfig config, List<ResolutionHandler> handlers, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.ringBuffer =
+                new RingBuffer<>(
+                        config.getRingSize(),
+                        ResolutionEvent::new,
+                        WaitStrategy.of(config.getWaitStrategy()));
+        for (ResolutionHandler handler : handlers) {
+            Stage stage = new Stage(handler);
+            ringBuffer.addGatingSequence(stage.sequence);
+            stages.add(stage);
+            Gauge.builder("pipeline.stage.lag", stage, this::lag)
+                    .tag("stage", stage.name)
+                    .description("Events published but not yet processed by the stage")
+                    .register(meterRegistry);
+        }
+
+        FunctionCounter.builder("pipeline.published", published, LongAdder::sum)
+                .description("Resolution events handed to the pipeline")
+                .register(meterRegistry);
+        FunctionCounter.builder("pipeline.dropped", dropped, LongAdder::sum)
+                .description("Resolution events dropped because the ring buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("pipeline.handler.errors", handlerErrors, LongAdder::sum)
+                .description("Resolution events a stage failed to process")
+                .register(meterRegistry);
+        Gauge.builder("pipeline.backlog", ringBuffer, RingBuffer::getBacklog)
+                .description("Events the slowest stage has not processed yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands one resolution to the consumer stages without blocking.
+     *
+     * @param shortUrl The requested short URL identifier
+     * @param status The HTTP status returned to the client
+     * @param clientIp The client IP address
+     * @param userAgent The User-Agent header, may be null
+     * @param referrer The Referer header, may be null
+     * @return false if the event was dropped
+     */
+    public boolean publish(
+            String shortUrl, int status, String clientIp, String userAgent, String referrer) {
+        long sequence = accepting ? ringBuffer.tryNext() : -1;
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        try {
+            ringBuffer
+                    .get(sequence)
+                    .set(
+                            System.currentTimeMillis(),
+                            shortUrl,
+                            status,
+                            clientIp,
+                            userAgent,
+                            referrer);
+        } finally {
+            // a claimed sequence must always be published or every stage stalls on it
+            ringBuffer.publish(sequence);
+        }
+        published.increment();
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Stage stage : stages) {
+            stage.thread.start();
+        }
+        logger.info(
+                "Resolution pipeline started: ringSize={}, waitStrategy={}, stages={}",
+                ringBuffer.getSize(),
+                config.getWaitStrategy(),
+                stages.stream().map(stage -> stage.name).toList());
+    }
+
+    /** Stops accepting events and lets every stage drain what was already published. */
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        long deadline =
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getDrainTimeoutMillis());
+        for (Stage stage : stages) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                stage.thread.join(Math.max(1, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (stage.thread.isAlive()) {
+                logger.warn("Stage {} did not drain in time, lag {}", stage.name, lag(stage));
+                stage.thread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private double lag(Stage stage) {
+        return ringBuffer.getCursor() - stage.sequence.get();
+    }
+
+    private final class Stage implements Runnable {
+
+        private final ResolutionHandler handler;
+
+        private final String name;
+
+        private final Sequence sequence = new Sequence(-1);
+
+        private final Thread thread;
+
+        private Stage(ResolutionHandler handler) {
+            this.handler = handler;
+            this.name = ClassUtils.getUserClass(handler).getSimpleName();
+            this.thread = new Thread(this, "pipeline-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            WaitStrategy waitStrategy = ringBuffer.getWaitStrategy();
+            long next = sequence.get() + 1;
+            try {
+                while (true) {
+                    long available = ringBuffer.getHighestPublished(next);
+                    if (available < next) {
+                        if (!running) {
+                            return;
+                        }
+                        waitStrategy.waitFor(next, ringBuffer);
+                        continue;
+                    }
+                    for (long current = next; current <= available; current++) {
+                        try {
+                            handler.onEvent(ringBuffer.get(current), current == available);
+                        } catch (RuntimeException e) {
+                            handlerErrors.increment();
+                            logger.warn("Stage {} failed on an event: {}", name, e.getMessage());
+                        }
+                    }
+                    // frees the slots for producers in one store per batch
+                    sequence.set(available);
+                    next = available + 1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
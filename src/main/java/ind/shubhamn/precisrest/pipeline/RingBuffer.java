@@ -0,0 +1,148 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Disruptor-style ring of preallocated, reused event slots for many producers and any number of
+ * independent consumers.
+ *
+ * <p>Producers claim the next sequence with one CAS ({@link #tryNext()}), fill the slot in place
+ * and {@link #publish(long)} it. A claim fails instead of waiting when the slowest consumer is a
+ * whole ring behind, so producers never block. Because claims can be published out of order, each
+ * slot records the lap of the sequence last published into it; consumers read up to the first
+ * slot whose lap does not match yet ({@link #getHighestPublished(long)}).
+ *
+ * @param <E> the slot type; slots are created once and mutated by producers
+ */
+public final class RingBuffer<E> {
+
+    private final Object[] slots;
+
+    private final int mask;
+
+    private final int indexShift;
+
+    private final AtomicIntegerArray publishedLaps;
+
+    private final Sequence claimed = new Sequence(-1);
+
+    private final CopyOnWriteArrayList<Sequence> gatingSequences = new CopyOnWriteArrayList<>();
+
+    private final WaitStrategy waitStrategy;
+
+    // producers' cached minimum of the gating sequences; stale values only cause a re-read
+    private volatile long gatingCache = -1;
+
+    /**
+     * @param size number of slots, a power of two
+     * @param factory creates the preallocated slots
+     * @param waitStrategy how consumers wait for new events
+     */
+    public RingBuffer(int size, Supplier<E> factory, WaitStrategy waitStrategy) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring buffer size must be a power of two: " + size);
+        }
+        this.slots = new Object[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = factory.get();
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.publishedLaps = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedLaps.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Registers a consumer's progress; producers never claim a slot the consumer has not passed.
+     * Register consumers before the first publish.
+     */
+    public void addGatingSequence(Sequence sequence) {
+        gatingSequences.add(sequence);
+    }
+
+    /**
+     * Claims the next slot without blocking.
+     *
+     * @return the claimed sequence, or -1 if the ring is full
+     */
+    public long tryNext() {
+        long current;
+        long next;
+        do {
+            current = claimed.get();
+            next = current + 1;
+            long wrapPoint = next - slots.length;
+            if (wrapPoint > gatingCache) {
+                long minimum = getMinimumGatingSequence(current);
+                gatingCache = minimum;
+                if (wrapPoint > minimum) {
+                    return -1;
+                }
+            }
+        } while (!claimed.compareAndSet(current, next));
+        return next;
+    }
+
+    /**
+     * @param sequence a claimed or published sequence
+     * @return the slot for that sequence
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) slots[(int) sequence & mask];
+    }
+
+    /** Makes a claimed slot visible to consumers. */
+    public void publish(long sequence) {
+        publishedLaps.setRelease((int) sequence & mask, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * @param lowerBound the first sequence the caller has not consumed yet
+     * @return the highest sequence such that it and everything from {@code lowerBound} up to it
+     *     are published, or {@code lowerBound - 1} if {@code lowerBound} itself is not
+     */
+    public long getHighestPublished(long lowerBound) {
+        long upperBound = claimed.get();
+        for (long sequence = lowerBound; sequence <= upperBound; sequence++) {
+            if (publishedLaps.getAcquire((int) sequence & mask)
+                    != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return upperBound;
+    }
+
+    /** @return the highest claimed sequence, -1 before the first claim */
+    public long getCursor() {
+        return claimed.get();
+    }
+
+    public int getSize() {
+        return slots.length;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /** @return claimed slots the slowest consumer has not processed yet */
+    public long getBacklog() {
+        long cursor = claimed.get();
+        return cursor - getMinimumGatingSequence(cursor);
+    }
+
+    private long getMinimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
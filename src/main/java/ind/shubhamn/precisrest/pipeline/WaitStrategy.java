@@ -0,0 +1,139 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How an idle consumer waits for the producers. Strategies trade consumer CPU for hand-off
+ * latency; {@link #of(String)} maps the {@code pipeline.wait-strategy} setting to one.
+ *
+ * <ul>
+ *   <li>{@code blocking}: parks on a condition, producers signal it; lowest CPU use
+ *   <li>{@code sleeping}: spins, then yields, then parks briefly; no producer-side cost
+ *   <li>{@code yielding}: spins, then yields; low latency, burns a core when idle
+ *   <li>{@code busy-spin}: spins only; lowest latency, needs a dedicated core per consumer
+ * </ul>
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until {@code sequence} may have been published, or a bounded time has passed; callers
+     * re-check the ring buffer afterwards and loop.
+     *
+     * @param sequence the next sequence the consumer wants
+     * @param ringBuffer the ring buffer being consumed
+     */
+    void waitFor(long sequence, RingBuffer<?> ringBuffer) throws InterruptedException;
+
+    /** Called by producers after publishing. */
+    default void signalAllWhenBlocking() {}
+
+    static WaitStrategy of(String name) {
+        return switch (name) {
+            case "blocking" -> new Blocking();
+            case "sleeping" -> new Sleeping();
+            case "yielding" -> new Yielding();
+            case "busy-spin" -> new BusySpin();
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+
+    final class Blocking implements WaitStrategy {
+
+        private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition published = lock.newCondition();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        @Override
+        public void waitFor(long sequence, RingBuffer<?> ringBuffer)
+                throws InterruptedException {
+            waiters.incrementAndGet();
+            lock.lock();
+            try {
+                // re-check under the lock: a publish between the caller's check and here would
+                // otherwise be missed until the timeout
+                if (ringBuffer.getHighestPublished(sequence) < sequence) {
+                    published.awaitNanos(MAX_WAIT_NANOS);
+                }
+            } finally {
+                lock.unlock();
+                waiters.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            // producers only pay for the lock while some consumer is actually parked
+            if (waiters.get() > 0) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+
+        private static final int SPINS = 100;
+
+        private static final int YIELDS = 100;
+
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+        @Override
+        public void waitFor(long sequence, RingBuffer<?> ringBuffer) {
+            for (int i = 0; i < SPINS + YIELDS; i++) {
+                if (ringBuffer.getHighestPublished(sequence) >= sequence) {
+                    return;
+                }
+                if (i < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+
+        private static final int SPINS = 100;
+
+        @Override
+        public void waitFor(long sequence, RingBuffer<?> ringBuffer) {
+            for (int i = 0; i < SPINS; i++) {
+                if (ringBuffer.getHighestPublished(sequence) >= sequence) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            Thread.yield();
+        }
+    }
+
+    final class BusySpin implements WaitStrategy {
+
+        private static final int SPINS = 10_000;
+
+        @Override
+        public void waitFor(long sequence, RingBuffer<?> ringBuffer) {
+            for (int i = 0; i < SPINS; i++) {
+                if (ringBuffer.getHighestPublished(sequence) >= sequence) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
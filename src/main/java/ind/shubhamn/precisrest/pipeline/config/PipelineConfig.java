@@ -0,0 +1,42 @@
+package ind.shubhamn.precisrest.pipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for the resolution pipeline: ring buffer size, how idle consumer stages
+ * wait ({@code blocking}, {@code sleeping}, {@code yielding} or {@code busy-spin}) and how long
+ * shutdown waits for the stages to drain.
+ */
+@Configuration
+@ConfigurationProperties("pipeline")
+public class PipelineConfig {
+
+    private int ringSize = 16_384;
+    private String waitStrategy = "blocking";
+    private long drainTimeoutMillis = 5_000;
+
+    public int getRingSize() {
+        return ringSize;
+    }
+
+    public void setRingSize(int ringSize) {
+        this.ringSize = ringSize;
+    }
+
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(String waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public long getDrainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
+    public void setDrainTimeoutMillis(long drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+}
@@ -0,0 +1,115 @@
+package ind.shubhamn.precisrest.rest;
+
+import ind.shubhamn.precisrest.analytics.ClickCounter;
+import ind.shubhamn.precisrest.analytics.TrafficHistogram;
+import ind.shubhamn.precisrest.analytics.TrafficSeries;
+import ind.shubhamn.precisrest.analytics.UniqueVisitorCounter;
+import ind.shubhamn.precisrest.dto.AnalyticsRequestDTO;
+import ind.shubhamn.precisrest.dto.ClickCountResponseDTO;
+import ind.shubhamn.precisrest.dto.TrafficRequestDTO;
+import ind.shubhamn.precisrest.dto.TrafficResponseDTO;
+import ind.shubhamn.precisrest.dto.UniqueVisitorsRequestDTO;
+import ind.shubhamn.precisrest.dto.UniqueVisitorsResponseDTO;
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller exposing usage analytics for short URLs. */
+@RestController
+@RequestMapping("app/rest/analytics")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired private ClickCounter clickCounter;
+
+    @Autowired private TrafficHistogram trafficHistogram;
+
+    @Autowired private UniqueVisitorCounter uniqueVisitorCounter;
+
+    /**
+     * Retrieves the click total of a short URL, including clicks not yet flushed on this node.
+     *
+     * @param requestDto The request containing the short URL
+     * @return ResponseEntity with the click total
+     */
+    @PostMapping(value = "clicks")
+    public ResponseEntity<ClickCountResponseDTO> getClicks(
+            @Valid @RequestBody AnalyticsRequestDTO requestDto) {
+
+        logger.debug("Retrieving click count for: {}", requestDto.getShortUrl());
+
+        long clicks = clickCounter.getClicks(requestDto.getShortUrl());
+
+        return ResponseEntityHelper.successResponseEntity(
+                new ClickCountResponseDTO(requestDto.getShortUrl(), clicks));
+    }
+
+    /**
+     * Retrieves the traffic time series of a short URL: per minute for the last 24 hours or per
+     * hour for the last 30 days.
+     *
+     * @param requestDto The request containing the short URL and granularity
+     * @return ResponseEntity with the slot counts, oldest first
+     */
+    @PostMapping(value = "traffic")
+    public ResponseEntity<TrafficResponseDTO> getTraffic(
+            @Valid @RequestBody TrafficRequestDTO requestDto) {
+
+        TrafficGranularity granularity =
+                requestDto.getGranularity() != null
+                        ? requestDto.getGranularity()
+                        : TrafficGranularity.MINUTE;
+
+        logger.debug(
+                "Retrieving {} traffic series for: {}", granularity, requestDto.getShortUrl());
+
+        TrafficSeries series = trafficHistogram.getSeries(requestDto.getShortUrl(), granularity);
+
+        return ResponseEntityHelper.successResponseEntity(
+                new TrafficResponseDTO(
+                        series.shortUrl(), series.granularity(), series.start(), series.counts()));
+    }
+
+    /**
+     * Estimates the unique visitors of a short URL over a range of UTC days (the last 30 days by
+     * default) by merging the daily HyperLogLog sketches.
+     *
+     * @param requestDto The request containing the short URL and optional day range
+     * @return ResponseEntity with the estimate
+     */
+    @PostMapping(value = "visitors")
+    public ResponseEntity<UniqueVisitorsResponseDTO> getUniqueVisitors(
+            @Valid @RequestBody UniqueVisitorsRequestDTO requestDto) {
+
+        LocalDate to =
+                requestDto.getTo() != null ? requestDto.getTo() : LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = requestDto.getFrom() != null ? requestDto.getFrom() : to.minusDays(29);
+        if (from.isAfter(to)) {
+            from = to;
+        }
+        if (from.isBefore(to.minusDays(UniqueVisitorsRequestDTO.MAX_RANGE_DAYS - 1))) {
+            from = to.minusDays(UniqueVisitorsRequestDTO.MAX_RANGE_DAYS - 1);
+        }
+
+        logger.debug(
+                "Estimating unique visitors for {} from {} to {}",
+                requestDto.getShortUrl(),
+                from,
+                to);
+
+        long uniqueVisitors = uniqueVisitorCounter.estimate(requestDto.getShortUrl(), from, to);
+
+        return ResponseEntityHelper.successResponseEntity(
+                new UniqueVisitorsResponseDTO(requestDto.getShortUrl(), from, to, uniqueVisitors));
+    }
+}
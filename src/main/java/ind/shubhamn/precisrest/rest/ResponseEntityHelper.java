@@ -10,6 +10,9 @@ import org.springframework.http.ResponseEntity;
  * Helper class for creating standardized ResponseEntity objects for both success and error
  * responses. All controller methods and exception handlers should use this class to ensure
  * consistent response formatting.
+ *
+ * <p>Every request passes through here, so logging is kept below INFO and guarded: with those
+ * levels off no log arguments are boxed, formatted or collected into varargs arrays.
  */
 public class ResponseEntityHelper {
 
@@ -23,14 +26,14 @@ public class ResponseEntityHelper {
      * @return ResponseEntity with the body and 200 OK status
      */
     public static <T> ResponseEntity<T> successResponseEntity(T body) {
-        logger.trace(
-                "Creating success response entity with HTTP 200 OK, bodyType={}",
-                body != null ? body.getClass().getSimpleName() : "null");
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "Creating success response entity with HTTP 200 OK, bodyType={}",
+                    body != null ? body.getClass().getSimpleName() : "null");
+        }
 
         logger.debug("Success response created: status=200, body={}", body);
 
-        logger.info("Returning successful response with HTTP 200 OK");
-
         return ResponseEntity.ok(body);
     }
 
@@ -43,14 +46,16 @@ public class ResponseEntityHelper {
      * @return ResponseEntity with the body and specified status
      */
     public static <T> ResponseEntity<T> successResponseEntity(T body, HttpStatus status) {
-        logger.trace(
-                "Creating success response entity with custom status, status={}, bodyType={}",
-                status,
-                body != null ? body.getClass().getSimpleName() : "null");
-
-        logger.debug("Success response created: status={}, body={}", status.value(), body);
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "Creating success response entity with custom status, status={}, bodyType={}",
+                    status,
+                    body != null ? body.getClass().getSimpleName() : "null");
+        }
 
-        logger.info("Returning successful response with HTTP {}", status.value());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Success response created: status={}, body={}", status.value(), body);
+        }
 
         return ResponseEntity.status(status).body(body);
     }
@@ -82,28 +87,25 @@ public class ResponseEntityHelper {
     public static ResponseEntity<ErrorResponse> failureResponseEntity(
             Exception exception, String errorCode, HttpStatus status) {
 
-        logger.trace(
-                "Creating failure response entity: errorCode={}, status={}, exceptionType={}",
-                errorCode,
-                status,
-                exception.getClass().getSimpleName(),
-                exception);
-
-        logger.debug(
-                "Error details: errorCode={}, message={}, status={}",
-                errorCode,
-                exception.getMessage(),
-                status.value(),
-                exception);
-
-        if (status.is4xxClientError()) {
-            logger.warn(
-                    "Client error occurred: errorCode={}, status={}, message={}",
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "Creating failure response entity: errorCode={}, status={}, exceptionType={}",
                     errorCode,
+                    status,
+                    exception.getClass().getSimpleName(),
+                    exception);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Error details: errorCode={}, message={}, status={}",
+                    errorCode,
+                    exception.getMessage(),
                     status.value(),
-                    exception.getMessage());
+                    exception);
         }
 
+        // Client errors are logged by the exception handler that chose the status
         if (status.is5xxServerError()) {
             logger.error(
                     "Server error occurred: errorCode={}, status={}, message={}",
@@ -116,8 +118,6 @@ public class ResponseEntityHelper {
         ErrorResponse errorResponse =
                 new ErrorResponse(errorCode, exception.getMessage(), status.value());
 
-        logger.info("Returning error response: errorCode={}, status={}", errorCode, status.value());
-
         return ResponseEntity.status(status).body(errorResponse);
     }
 
@@ -133,27 +133,23 @@ public class ResponseEntityHelper {
     public static ResponseEntity<ErrorResponse> failureResponseEntity(
             String errorCode, String message, HttpStatus status) {
 
-        logger.trace(
-                "Creating failure response entity with custom message: errorCode={}, status={},"
-                        + " message={}",
-                errorCode,
-                status,
-                message);
-
-        logger.debug(
-                "Error details: errorCode={}, message={}, status={}",
-                errorCode,
-                message,
-                status.value());
-
-        if (status.is4xxClientError()) {
-            logger.warn(
-                    "Client error occurred: errorCode={}, status={}, message={}",
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "Creating failure response entity with custom message: errorCode={}, status={},"
+                            + " message={}",
                     errorCode,
-                    status.value(),
+                    status,
                     message);
         }
 
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Error details: errorCode={}, message={}, status={}",
+                    errorCode,
+                    message,
+                    status.value());
+        }
+
         if (status.is5xxServerError()) {
             logger.error(
                     "Server error occurred: errorCode={}, status={}, message={}",
@@ -164,8 +160,6 @@ public class ResponseEntityHelper {
 
         ErrorResponse errorResponse = new ErrorResponse(errorCode, message, status.value());
 
-        logger.info("Returning error response: errorCode={}, status={}", errorCode, status.value());
-
         return ResponseEntity.status(status).body(errorResponse);
     }
 }
@@ -4,27 +4,34 @@ import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
 import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
 import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
 import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.logging.RequestLoggingFilter;
 import ind.shubhamn.precisrest.mapper.UrlMapper;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.pipeline.ResolutionPipeline;
 import ind.shubhamn.precisrest.service.UrlShortenerService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.WebApplicationContext;
 
 /**
  * REST controller for URL shortening operations. All responses are created using
  * ResponseEntityHelper for consistency. Exceptions are handled by GlobalExceptionHandler.
+ *
+ * <p>A stateless singleton: per-request data only lives in method arguments, so no scoped proxy or
+ * controller instance is created per request.
  */
 @RestController
-@Scope(WebApplicationContext.SCOPE_REQUEST)
 @RequestMapping("app/rest")
 public class UrlShortenerController {
 
@@ -34,6 +41,8 @@ public class UrlShortenerController {
 
     @Autowired private UrlMapper urlMapper;
 
+    @Autowired private ResolutionPipeline resolutionPipeline;
+
     /**
      * Creates a shortened URL with optional custom alias.
      *
@@ -52,16 +61,12 @@ public class UrlShortenerController {
 
         logger.debug("Processing URL shortening request for: {}", requestDto.getLongUrl());
 
-        logger.info("Creating shortened URL for: {}", requestDto.getLongUrl());
-
         ShortenedUrl entity =
                 urlShortenerService.shortenUrl(
                         requestDto.getLongUrl(), requestDto.getCustomAlias());
 
         logger.debug("URL shortened successfully: shortUrl={}", entity.getShortUrl());
 
-        logger.info("Successfully created short URL: {}", entity.getShortUrl());
-
         ShortenUrlResponseDTO responseDto = urlMapper.toShortenUrlResponseDto(entity);
 
         logger.trace("Returning response: {}", responseDto);
@@ -73,28 +78,43 @@ public class UrlShortenerController {
      * Retrieves the original long URL from a shortened URL.
      *
      * @param requestDto The request containing the short URL
+     * @param request The servlet request, passed on to click analytics
      * @return ResponseEntity with the long URL details
      */
     @PostMapping(value = "long")
     public ResponseEntity<GetLongUrlResponseDTO> getLongUrl(
-            @Valid @RequestBody GetLongUrlRequestDTO requestDto) {
+            @Valid @RequestBody GetLongUrlRequestDTO requestDto, HttpServletRequest request) {
 
         logger.trace("Received get long URL request: shortUrl={}", requestDto.getShortUrl());
 
         logger.debug("Looking up long URL for short URL: {}", requestDto.getShortUrl());
 
-        logger.info("Retrieving long URL for: {}", requestDto.getShortUrl());
-
-        ShortenedUrl entity = urlShortenerService.getLongUrl(requestDto.getShortUrl());
+        UrlMapping urlMapping;
+        try {
+            urlMapping = urlShortenerService.getLongUrl(requestDto.getShortUrl());
+        } catch (ShortUrlNotFoundException e) {
+            publishResolution(requestDto.getShortUrl(), request, HttpStatus.NOT_FOUND);
+            throw e;
+        }
+        publishResolution(requestDto.getShortUrl(), request, HttpStatus.OK);
 
-        logger.debug("Found long URL: {}", entity.getLongUrl());
+        logger.debug("Found long URL: {}", urlMapping.longUrl());
 
-        logger.info("Successfully retrieved long URL for: {}", requestDto.getShortUrl());
-
-        GetLongUrlResponseDTO responseDto = urlMapper.toGetLongUrlResponseDto(entity);
+        GetLongUrlResponseDTO responseDto = urlMapper.toGetLongUrlResponseDto(urlMapping);
 
         logger.trace("Returning response: {}", responseDto);
 
         return ResponseEntityHelper.successResponseEntity(responseDto);
     }
+
+    /** Click side effects run on the pipeline's threads, not on this request thread. */
+    private void publishResolution(
+            String shortUrl, HttpServletRequest request, HttpStatus status) {
+        resolutionPipeline.publish(
+                shortUrl,
+                status.value(),
+                RequestLoggingFilter.getClientIP(request),
+                request.getHeader(HttpHeaders.USER_AGENT),
+                request.getHeader(HttpHeaders.REFERER));
+    }
 }
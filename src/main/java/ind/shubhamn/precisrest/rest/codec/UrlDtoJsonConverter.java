@@ -0,0 +1,210 @@
+package ind.shubhamn.precisrest.rest.codec;
+
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.json.JsonWriteFeature;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JSON converter for the URL request and response DTOs, registered ahead of the generic Jackson
+ * converter. Requests are read token by token from a streaming parser straight into the DTO
+ * constructors; responses are encoded by {@link Utf8JsonWriter} into one exactly sized array with
+ * pre-encoded property names, skipping reflective bean introspection and {@code DateTimeFormatter}.
+ *
+ * <p>The output has to stay identical to what the application's {@link JsonMapper} would write,
+ * so property order, slash escaping and unknown-property handling are taken from its settings.
+ * Every other type, error responses included, still goes through Jackson.
+ */
+@Component
+public class UrlDtoJsonConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final byte[] SHORT_URL = propertyName("shortUrl");
+    private static final byte[] LONG_URL = propertyName("longUrl");
+    private static final byte[] CREATED_AT = propertyName("createdAt");
+    private static final byte[] EXPIRES_AT = propertyName("expiresAt");
+
+    /** Braces, three commas and the four property names. */
+    private static final int FIXED_LENGTH =
+            5 + SHORT_URL.length + LONG_URL.length + CREATED_AT.length + EXPIRES_AT.length;
+
+    private final TokenStreamFactory tokenStreamFactory;
+
+    private final boolean sortProperties;
+
+    private final boolean escapeSlashes;
+
+    private final boolean failOnUnknownProperties;
+
+    @Autowired
+    public UrlDtoJsonConverter(JsonMapper jsonMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.tokenStreamFactory = jsonMapper.tokenStreamFactory();
+        this.sortProperties = jsonMapper.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY);
+        this.escapeSlashes = jsonMapper.isEnabled(JsonWriteFeature.ESCAPE_FORWARD_SLASHES);
+        this.failOnUnknownProperties =
+                jsonMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isRequest(clazz) || isResponse(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return isRequest(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return isResponse(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try (InputStream body = inputMessage.getBody();
+                JsonParser parser =
+                        tokenStreamFactory.createParser(ObjectReadContext.empty(), body)) {
+            return read(clazz, parser, inputMessage);
+        } catch (JacksonException e) {
+            throw new HttpMessageNotReadableException(
+                    "JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage)
+            throws IOException {
+        byte[] json = encode(body);
+        outputMessage.getHeaders().setContentLength(json.length);
+        outputMessage.getBody().write(json);
+    }
+
+    /**
+     * Encodes a response DTO exactly as the application's {@link JsonMapper} would.
+     *
+     * @param body a {@link GetLongUrlResponseDTO} or {@link ShortenUrlResponseDTO}
+     * @return the UTF-8 JSON document
+     */
+    byte[] encode(Object body) {
+        return switch (body) {
+            case GetLongUrlResponseDTO dto ->
+                    encode(
+                            dto.getShortUrl(),
+                            dto.getLongUrl(),
+                            dto.getCreatedAt(),
+                            dto.getExpiresAt());
+            case ShortenUrlResponseDTO dto ->
+                    encode(
+                            dto.getShortUrl(),
+                            dto.getLongUrl(),
+                            dto.getCreatedAt(),
+                            dto.getExpiresAt());
+            default ->
+                    throw new HttpMessageNotWritableException(
+                            "Cannot write " + body.getClass().getName());
+        };
+    }
+
+    private byte[] encode(
+            String shortUrl, String longUrl, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        int length =
+                FIXED_LENGTH
+                        + Utf8JsonWriter.measureString(shortUrl, escapeSlashes)
+                        + Utf8JsonWriter.measureString(longUrl, escapeSlashes)
+                        + Utf8JsonWriter.measureTimestamp(createdAt)
+                        + Utf8JsonWriter.measureTimestamp(expiresAt);
+        Utf8JsonWriter writer = new Utf8JsonWriter(length, escapeSlashes);
+        if (sortProperties) {
+            writer.raw('{').raw(CREATED_AT).timestamp(createdAt);
+            writer.raw(',').raw(EXPIRES_AT).timestamp(expiresAt);
+            writer.raw(',').raw(LONG_URL).string(longUrl);
+            writer.raw(',').raw(SHORT_URL).string(shortUrl).raw('}');
+        } else {
+            writer.raw('{').raw(SHORT_URL).string(shortUrl);
+            writer.raw(',').raw(LONG_URL).string(longUrl);
+            writer.raw(',').raw(CREATED_AT).timestamp(createdAt);
+            writer.raw(',').raw(EXPIRES_AT).timestamp(expiresAt).raw('}');
+        }
+        return writer.toByteArray();
+    }
+
+    private Object read(Class<?> clazz, JsonParser parser, HttpInputMessage inputMessage) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new HttpMessageNotReadableException(
+                    "Expected a JSON object for " + clazz.getSimpleName(), inputMessage);
+        }
+        String shortUrl = null;
+        String longUrl = null;
+        String customAlias = null;
+        boolean shorten = clazz == ShortenUrlRequestDTO.class;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (shorten && name.equals("longUrl")) {
+                longUrl = stringValue(parser, name, inputMessage);
+            } else if (shorten && name.equals("customAlias")) {
+                customAlias = stringValue(parser, name, inputMessage);
+            } else if (!shorten && name.equals("shortUrl")) {
+                shortUrl = stringValue(parser, name, inputMessage);
+            } else if (failOnUnknownProperties) {
+                throw new HttpMessageNotReadableException(
+                        "Unrecognized property \"" + name + "\" for " + clazz.getSimpleName(),
+                        inputMessage);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return shorten
+                ? new ShortenUrlRequestDTO(longUrl, customAlias)
+                : new GetLongUrlRequestDTO(shortUrl);
+    }
+
+    /** Strings, numbers and booleans all bind to a String property, as they do in Jackson. */
+    private static String stringValue(
+            JsonParser parser, String name, HttpInputMessage inputMessage) {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new HttpMessageNotReadableException(
+                    "Expected a string for \"" + name + "\" but found " + token, inputMessage);
+        }
+        return parser.getValueAsString();
+    }
+
+    private static boolean isRequest(Class<?> clazz) {
+        return clazz == ShortenUrlRequestDTO.class || clazz == GetLongUrlRequestDTO.class;
+    }
+
+    private static boolean isResponse(Class<?> clazz) {
+        return clazz == ShortenUrlResponseDTO.class || clazz == GetLongUrlResponseDTO.class;
+    }
+
+    private static byte[] propertyName(String name) {
+        return ('"' + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+}
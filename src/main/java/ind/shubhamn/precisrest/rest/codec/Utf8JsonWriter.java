@@ -0,0 +1,216 @@
+package ind.shubhamn.precisrest.rest.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes JSON scalars straight into a byte array that the caller sized with the matching {@code
+ * measure} methods, so a response is encoded with exactly one allocation.
+ *
+ * <p>Output matches Jackson's UTF-8 generator byte for byte: strings are raw UTF-8 with only
+ * {@code "}, {@code \}, control characters and optionally {@code /} escaped (two-character escapes
+ * where JSON has them, six-character unicode escapes with upper-case hex otherwise), and timestamps
+ * follow {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}. A lone surrogate is written as {@code ?},
+ * as {@link String#getBytes} would, where Jackson fails the whole response.
+ */
+final class Utf8JsonWriter {
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000
+    };
+
+    /** Escape for each ASCII character: 0 none, -1 unicode escape, otherwise the short escape. */
+    private static final byte[] ESCAPES = escapes(false);
+
+    private static final byte[] ESCAPES_WITH_SLASH = escapes(true);
+
+    private final byte[] buffer;
+
+    private final byte[] escapes;
+
+    private int position;
+
+    /**
+     * @param length the exact number of bytes that will be written
+     * @param escapeSlashes whether {@code /} is written as {@code \/}
+     */
+    Utf8JsonWriter(int length, boolean escapeSlashes) {
+        this.buffer = new byte[length];
+        this.escapes = escapeSlashes ? ESCAPES_WITH_SLASH : ESCAPES;
+    }
+
+    /** Bytes {@link #string} will write, quotes included. */
+    static int measureString(String value, boolean escapeSlashes) {
+        if (value == null) {
+            return NULL.length;
+        }
+        byte[] escapes = escapeSlashes ? ESCAPES_WITH_SLASH : ESCAPES;
+        int length = 2;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte escape = escapes[c];
+                length += escape == 0 ? 1 : escape < 0 ? 6 : 2;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < n
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /** Bytes {@link #timestamp} will write, quotes included. */
+    static int measureTimestamp(LocalDateTime value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        if (!isFourDigitYear(value)) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value).length() + 2;
+        }
+        // "yyyy-MM-ddTHH:mm:ss" plus the fraction, if any
+        int nano = value.getNano();
+        return nano == 0 ? 21 : 22 + fractionDigits(nano);
+    }
+
+    Utf8JsonWriter raw(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    Utf8JsonWriter raw(char c) {
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    Utf8JsonWriter string(String value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        byte[] out = buffer;
+        int p = position;
+        out[p++] = '"';
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte escape = escapes[c];
+                if (escape == 0) {
+                    out[p++] = (byte) c;
+                } else if (escape > 0) {
+                    out[p++] = '\\';
+                    out[p++] = escape;
+                } else {
+                    out[p++] = '\\';
+                    out[p++] = 'u';
+                    out[p++] = '0';
+                    out[p++] = '0';
+                    out[p++] = HEX[c >> 4];
+                    out[p++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                out[p++] = (byte) (0xC0 | (c >> 6));
+                out[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < n
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out[p++] = (byte) (0xF0 | (cp >> 18));
+                out[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                out[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                out[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[p++] = '?';
+            } else {
+                out[p++] = (byte) (0xE0 | (c >> 12));
+                out[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[p++] = '"';
+        position = p;
+        return this;
+    }
+
+    Utf8JsonWriter timestamp(LocalDateTime value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        if (!isFourDigitYear(value)) {
+            // expanded years are rare enough to leave to the formatter
+            return string(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+        raw('"');
+        digits(value.getYear(), 4).raw('-').digits(value.getMonthValue(), 2).raw('-');
+        digits(value.getDayOfMonth(), 2).raw('T').digits(value.getHour(), 2).raw(':');
+        digits(value.getMinute(), 2).raw(':').digits(value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            int count = fractionDigits(nano);
+            raw('.').digits(nano / POWERS_OF_TEN[9 - count], count);
+        }
+        return raw('"');
+    }
+
+    /** @return the encoded document; the writer must have been filled exactly */
+    byte[] toByteArray() {
+        if (position != buffer.length) {
+            throw new IllegalStateException(
+                    "Wrote " + position + " bytes into a " + buffer.length + " byte buffer");
+        }
+        return buffer;
+    }
+
+    private Utf8JsonWriter digits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+        return this;
+    }
+
+    /** Digits of a nano-of-second fraction once trailing zeros are dropped. */
+    private static int fractionDigits(int nano) {
+        int count = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            count--;
+        }
+        return count;
+    }
+
+    private static byte[] escapes(boolean escapeSlashes) {
+        byte[] escapes = new byte[128];
+        for (int c = 0; c < 0x20; c++) {
+            escapes[c] = -1;
+        }
+        escapes['"'] = '"';
+        escapes['\\'] = '\\';
+        escapes['\b'] = 'b';
+        escapes['\t'] = 't';
+        escapes['\n'] = 'n';
+        escapes['\f'] = 'f';
+        escapes['\r'] = 'r';
+        if (escapeSlashes) {
+            escapes['/'] = '/';
+        }
+        return escapes;
+    }
+
+    private static boolean isFourDigitYear(LocalDateTime value) {
+        return value.getYear() >= 0 && value.getYear() <= 9999;
+    }
+}
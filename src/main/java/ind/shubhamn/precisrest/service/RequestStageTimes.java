@@ -0,0 +1,46 @@
+package ind.shubhamn.precisrest.service;
+
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics.Stage;
+
+/**
+ * Per-request totals of the time spent in each {@link Stage}, so a slow request can be broken down
+ * after the fact. The request's thread owns the array: {@link #begin} creates it, {@link
+ * UrlShortenerMetrics#stop} adds to it, {@link #current} hands it to whoever finishes the request
+ * and {@link #end} drops it. Stages on another thread are not attributed.
+ *
+ * <p>Requests run on virtual threads that are each used once, so the array is not reused across
+ * requests; it is a few dozen bytes, and removing it at the end keeps a platform thread pool from
+ * holding one per thread.
+ */
+public final class RequestStageTimes {
+
+    private static final int STAGES = Stage.values().length;
+
+    private static final ThreadLocal<long[]> TIMES = new ThreadLocal<>();
+
+    private RequestStageTimes() {}
+
+    /** Starts collecting for a request on this thread. */
+    public static void begin() {
+        TIMES.set(new long[STAGES]);
+    }
+
+    static void add(Stage stage, long nanos) {
+        long[] times = TIMES.get();
+        if (times != null) {
+            times[stage.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * @return nanoseconds per stage ordinal since {@link #begin}, or null if not collecting
+     */
+    public static long[] current() {
+        return TIMES.get();
+    }
+
+    /** Stops collecting for the request on this thread. */
+    public static void end() {
+        TIMES.remove();
+    }
+}
@@ -0,0 +1,48 @@
+package ind.shubhamn.precisrest.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Derives auto-generated short URLs. Shared by the servlet and the reactive service, so both stacks
+ * agree on the code for a given long URL as long as both hash its {@link UrlCanonicalizer
+ * canonical form}.
+ *
+ * <p>Custom aliases share the alphabet and length of generated codes, so the first code of a URL
+ * may already be taken by an unrelated long URL (registered on purpose, or a real hash
+ * collision). Callers then probe the next {@code attempt}; the sequence is the same on every node
+ * and stack.
+ */
+public final class ShortUrlGenerator {
+
+    /** Codes tried per long URL before giving up. */
+    public static final int MAX_ATTEMPTS = 4;
+
+    private ShortUrlGenerator() {}
+
+    /**
+     * @param canonicalUrl the canonical long URL
+     * @return the first 8 characters of the unpadded URL-safe Base64 of its SHA-256
+     * @throws NoSuchAlgorithmException if SHA-256 is unavailable
+     */
+    public static String generate(String canonicalUrl) throws NoSuchAlgorithmException {
+        return generate(canonicalUrl, 0);
+    }
+
+    /**
+     * @param canonicalUrl the canonical long URL
+     * @param attempt 0 for the first choice, then 1 up to {@link #MAX_ATTEMPTS} - 1
+     * @return the code for that attempt; attempt 0 is {@link #generate(String)}, later ones hash
+     *     the URL with the attempt number appended after a newline, which no valid URL contains
+     * @throws NoSuchAlgorithmException if SHA-256 is unavailable
+     */
+    public static String generate(String canonicalUrl, int attempt)
+            throws NoSuchAlgorithmException {
+        String input = attempt == 0 ? canonicalUrl : canonicalUrl + '\n' + attempt;
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = messageDigest.digest(input.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 8);
+    }
+}
@@ -0,0 +1,357 @@
+package ind.shubhamn.precisrest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings long URLs that address the same resource to one spelling, so that they hash to the same
+ * short URL and share its row, cache entries and analytics. Always applied (RFC 3986, section
+ * 6.2.2 and 6.2.3):
+ *
+ * <ul>
+ *   <li>scheme and host in lower case
+ *   <li>an empty port, or the scheme's default one ({@code :80}, {@code :443}), dropped
+ *   <li>an empty path written as {@code /}
+ *   <li>percent-encoded unreserved characters ({@code %7E}) decoded, and the hex digits of the
+ *       remaining escapes in upper case
+ * </ul>
+ *
+ * Optionally, query parameters are stably sorted by name and tracking parameters are removed.
+ * Those rewrites are not guaranteed to leave the target unchanged, so they are reported as such in
+ * {@link CanonicalUrl#equivalent()}, and the caller keeps the original URL to redirect to.
+ *
+ * <p>A URL that needs no rewriting, the common case, is returned as the same instance after one
+ * pass over it; a builder is only created at the first character that changes. Results are
+ * memoized, so a long URL shortened over and over is canonicalized once.
+ */
+@Component
+public class UrlCanonicalizer {
+
+    /**
+     * @param value the canonical form, the same instance as the input if nothing changed
+     * @param equivalent whether the canonical form is guaranteed to address the same resource,
+     *     so that it can be redirected to instead of the original
+     */
+    public record CanonicalUrl(String value, boolean equivalent) {}
+
+    private static final String UPPER_HEX = "0123456789ABCDEF";
+
+    private final Cache<String, CanonicalUrl> memo;
+
+    private final boolean sortQueryParameters;
+
+    // lower case; exact names and, from "name*" entries, prefixes
+    private final String[] strippedNames;
+
+    private final String[] strippedPrefixes;
+
+    @Autowired
+    public UrlCanonicalizer(CanonicalizationConfig config) {
+        this.memo = Caffeine.newBuilder().maximumSize(config.getCacheSize()).build();
+        this.sortQueryParameters = config.isSortQueryParameters();
+        List<String> names = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String parameter : config.getStrippedParameters()) {
+            String name = parameter.trim().toLowerCase(Locale.ROOT);
+            if (name.endsWith("*")) {
+                prefixes.add(name.substring(0, name.length() - 1));
+            } else if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        this.strippedNames = names.toArray(String[]::new);
+        this.strippedPrefixes = prefixes.toArray(String[]::new);
+    }
+
+    /**
+     * @param url a long URL that passed validation
+     * @return its canonical form
+     */
+    public CanonicalUrl canonicalize(String url) {
+        return memo.get(url, this::compute);
+    }
+
+    CanonicalUrl compute(String url) {
+        int n = url.length();
+        int colon = url.indexOf(':');
+        if (colon <= 0 || !url.startsWith("//", colon + 1)) {
+            return new CanonicalUrl(url, true);
+        }
+        // Until out is created, the output so far is url.substring(0, i)
+        StringBuilder out = null;
+        for (int i = 0; i < colon; i++) {
+            out = appendLower(url, i, out);
+        }
+        int authorityStart = colon + 3;
+        if (out != null) {
+            out.append(url, colon, authorityStart);
+        }
+
+        int authorityEnd = authorityStart;
+        while (authorityEnd < n && !isAuthorityEnd(url.charAt(authorityEnd))) {
+            authorityEnd++;
+        }
+        int hostStart = url.lastIndexOf('@', authorityEnd - 1) + 1;
+        if (hostStart < authorityStart) {
+            hostStart = authorityStart;
+        }
+        if (out != null) {
+            out.append(url, authorityStart, hostStart);
+        }
+        int hostEnd = hostStart;
+        if (hostStart < authorityEnd && url.charAt(hostStart) == '[') {
+            int bracket = url.indexOf(']', hostStart);
+            hostEnd = bracket < 0 || bracket > authorityEnd ? authorityEnd : bracket + 1;
+        }
+        while (hostEnd < authorityEnd && url.charAt(hostEnd) != ':') {
+            hostEnd++;
+        }
+        for (int i = hostStart; i < hostEnd; i++) {
+            out = appendLower(url, i, out);
+        }
+        if (hostEnd < authorityEnd && isDefaultPort(url, colon, hostEnd + 1, authorityEnd)) {
+            out = start(out, url, 0, hostEnd);
+        } else if (out != null) {
+            out.append(url, hostEnd, authorityEnd);
+        }
+        if ((authorityEnd == n || url.charAt(authorityEnd) != '/') && isHttp(url, colon)) {
+            out = start(out, url, 0, authorityEnd);
+            out.append('/');
+        }
+
+        int queryMark = url.indexOf('?', authorityEnd);
+        int fragmentMark = url.indexOf('#', authorityEnd);
+        if (queryMark > fragmentMark && fragmentMark >= 0) {
+            queryMark = -1;
+        }
+        int fragmentStart = fragmentMark < 0 ? n : fragmentMark;
+        boolean equivalent = true;
+        if (queryMark < 0 || !rewritesQuery()) {
+            out = normalizeEscapes(url, authorityEnd, n, 0, out);
+        } else {
+            out = normalizeEscapes(url, authorityEnd, queryMark, 0, out);
+            int queryStart = queryMark + 1;
+            StringBuilder normalized =
+                    normalizeEscapes(url, queryStart, fragmentStart, queryStart, null);
+            String query =
+                    normalized == null
+                            ? url.substring(queryStart, fragmentStart)
+                            : normalized.toString();
+            String rewritten = rewriteQuery(query);
+            equivalent = rewritten.equals(query);
+            if (rewritten.isEmpty() && !query.isEmpty()) {
+                // every parameter was removed, and the '?' goes with them
+                out = start(out, url, 0, queryMark);
+            } else if (out != null
+                    || rewritten.length() != fragmentStart - queryStart
+                    || !url.startsWith(rewritten, queryStart)) {
+                out = start(out, url, 0, queryMark);
+                out.append('?').append(rewritten);
+            }
+            out = normalizeEscapes(url, fragmentStart, n, 0, out);
+        }
+        return new CanonicalUrl(out == null ? url : out.toString(), equivalent);
+    }
+
+    private boolean rewritesQuery() {
+        return sortQueryParameters || strippedNames.length > 0 || strippedPrefixes.length > 0;
+    }
+
+    /** Drops stripped and empty parameters, then stably sorts the rest by name if configured. */
+    private String rewriteQuery(String query) {
+        int count = 1;
+        for (int i = 0; i < query.length(); i++) {
+            if (query.charAt(i) == '&') {
+                count++;
+            }
+        }
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int[] nameEnds = new int[count];
+        int kept = 0;
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            int nameEnd = query.indexOf('=', start);
+            if (nameEnd < 0 || nameEnd > end) {
+                nameEnd = end;
+            }
+            if (end > start && !isStripped(query, start, nameEnd)) {
+                // insertion sort: parameters are few, and equal names keep their order
+                int slot = kept++;
+                while (sortQueryParameters
+                        && slot > 0
+                        && compareNames(query, starts[slot - 1], nameEnds[slot - 1], start, nameEnd)
+                                > 0) {
+                    starts[slot] = starts[slot - 1];
+                    ends[slot] = ends[slot - 1];
+                    nameEnds[slot] = nameEnds[slot - 1];
+                    slot--;
+                }
+                starts[slot] = start;
+                ends[slot] = end;
+                nameEnds[slot] = nameEnd;
+            }
+            start = end + 1;
+        }
+        StringBuilder rewritten = new StringBuilder(query.length());
+        for (int i = 0; i < kept; i++) {
+            if (i > 0) {
+                rewritten.append('&');
+            }
+            rewritten.append(query, starts[i], ends[i]);
+        }
+        return rewritten.toString();
+    }
+
+    private boolean isStripped(String query, int start, int end) {
+        int length = end - start;
+        for (String name : strippedNames) {
+            if (length == name.length() && query.regionMatches(true, start, name, 0, length)) {
+                return true;
+            }
+        }
+        for (String prefix : strippedPrefixes) {
+            if (length >= prefix.length()
+                    && query.regionMatches(true, start, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compareNames(String query, int start1, int end1, int start2, int end2) {
+        int length = Math.min(end1 - start1, end2 - start2);
+        for (int i = 0; i < length; i++) {
+            int diff = query.charAt(start1 + i) - query.charAt(start2 + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (end1 - start1) - (end2 - start2);
+    }
+
+    /**
+     * Copies {@code url[from, to)} with escapes of unreserved characters decoded and the hex
+     * digits of the others in upper case.
+     *
+     * @param base where the output starts in {@code url}, for creating it on the first change
+     * @param out the output, or null if it is still identical to {@code url[base, from)}
+     * @return the output, or null if it is still identical to {@code url[base, to)}
+     */
+    private static StringBuilder normalizeEscapes(
+            String url, int from, int to, int base, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = url.charAt(i);
+            if (c == '%' && i + 2 < to) {
+                char high = url.charAt(i + 1);
+                char low = url.charAt(i + 2);
+                int value = hex(high) << 4 | hex(low);
+                if (value >= 0) {
+                    if (isUnreserved(value)) {
+                        out = start(out, url, base, i);
+                        out.append((char) value);
+                    } else if (high != UPPER_HEX.charAt(value >> 4)
+                            || low != UPPER_HEX.charAt(value & 0xF)) {
+                        out = start(out, url, base, i);
+                        out.append('%')
+                                .append(UPPER_HEX.charAt(value >> 4))
+                                .append(UPPER_HEX.charAt(value & 0xF));
+                    } else if (out != null) {
+                        out.append(url, i, i + 3);
+                    }
+                    i += 2;
+                    continue;
+                }
+            }
+            if (out != null) {
+                out.append(c);
+            }
+        }
+        return out;
+    }
+
+    private static StringBuilder appendLower(String url, int i, StringBuilder out) {
+        char c = url.charAt(i);
+        if (c >= 'A' && c <= 'Z') {
+            out = start(out, url, 0, i);
+            out.append((char) (c + ('a' - 'A')));
+        } else if (out != null) {
+            out.append(c);
+        }
+        return out;
+    }
+
+    private static StringBuilder start(StringBuilder out, String url, int base, int i) {
+        if (out != null) {
+            return out;
+        }
+        return new StringBuilder(url.length()).append(url, base, i);
+    }
+
+    /** Whether {@code url[start, end)} is empty or the scheme's default port. */
+    private static boolean isDefaultPort(String url, int schemeEnd, int start, int end) {
+        if (start == end) {
+            return true;
+        }
+        if (end - start > 9) {
+            return false;
+        }
+        int port = 0;
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            port = port * 10 + (c - '0');
+        }
+        if (schemeEnd == 4) {
+            return port == 80 && isHttp(url, schemeEnd);
+        }
+        return port == 443 && isHttp(url, schemeEnd);
+    }
+
+    /** Whether the scheme {@code url[0, schemeEnd)} is http or https. */
+    private static boolean isHttp(String url, int schemeEnd) {
+        return (schemeEnd == 4 || schemeEnd == 5 && (url.charAt(4) | 0x20) == 's')
+                && url.regionMatches(true, 0, "http", 0, 4);
+    }
+
+    private static boolean isAuthorityEnd(char c) {
+        return c == '/' || c == '?' || c == '#';
+    }
+
+    // ALPHA / DIGIT / "-" / "." / "_" / "~"
+    private static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '.'
+                || c == '_'
+                || c == '~';
+    }
+
+    // negative enough that the combined value of an escape with it stays negative
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1 << 8;
+    }
+}
@@ -0,0 +1,100 @@
+package ind.shubhamn.precisrest.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.noop.NoopTimer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers for the stages of a shorten or resolve ({@code url.shortener.stage}) and the cache hit
+ * and miss counts of resolves ({@code url.cache.requests}).
+ *
+ * <p>Every meter is registered up front, so timing a stage is a field read, two {@link
+ * System#nanoTime()} calls and a record. A stage whose timer is denied by a meter filter (e.g.
+ * {@code management.metrics.enable.url.shortener.stage=false}) gets a no-op timer, and is then not
+ * timed at all: {@link #start} returns 0 without reading the clock. Timed stages are also added
+ * to the current request's {@link RequestStageTimes}.
+ */
+@Component
+public class UrlShortenerMetrics {
+
+    public enum Stage {
+        VALIDATE("validate"),
+        CANONICALIZE("canonicalize"),
+        GENERATE("generate"),
+        EXISTS_CHECK("exists_check"),
+        PERSIST("persist"),
+        LOOKUP("lookup");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final Timer[] timers = new Timer[Stage.values().length];
+
+    private final boolean[] enabled = new boolean[Stage.values().length];
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @Autowired
+    public UrlShortenerMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            Timer timer =
+                    Timer.builder("url.shortener.stage")
+                            .tag("stage", stage.tag)
+                            .description("Time spent in one stage of a shorten or resolve")
+                            .register(meterRegistry);
+            timers[stage.ordinal()] = timer;
+            enabled[stage.ordinal()] = !(timer instanceof NoopTimer);
+        }
+        FunctionCounter.builder("url.cache.requests", cacheHits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Resolves answered from the URL cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("url.cache.requests", cacheMisses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Resolves that had to read the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param stage the stage about to run
+     * @return the start time to pass to {@link #stop}
+     */
+    public long start(Stage stage) {
+        return enabled[stage.ordinal()] ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param stage the stage that finished
+     * @param startNanos the value returned by {@link #start}
+     */
+    public void stop(Stage stage, long startNanos) {
+        if (enabled[stage.ordinal()]) {
+            long nanos = System.nanoTime() - startNanos;
+            timers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            RequestStageTimes.add(stage, nanos);
+        }
+    }
+
+    public void cacheHits(int count) {
+        cacheHits.add(count);
+    }
+
+    public void cacheMisses(int count) {
+        cacheMisses.add(count);
+    }
+}
@@ -1,17 +1,30 @@
 package ind.shubhamn.precisrest.service;
 
+import ind.shubhamn.precisrest.cache.CacheInvalidationPublisher;
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.dao.UrlLookupDAO;
 import ind.shubhamn.precisrest.dao.UrlShortenerDAO;
 import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.jfr.DaoQueryEvent;
+import ind.shubhamn.precisrest.jfr.ResolveEvent;
+import ind.shubhamn.precisrest.jfr.ShortenEvent;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.service.UrlCanonicalizer.CanonicalUrl;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics.Stage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class UrlShortenerService {
@@ -20,47 +33,104 @@ public class UrlShortenerService {
 
     @Autowired private UrlShortenerDAO urlShortenerDAO;
 
+    @Autowired private UrlLookupDAO urlLookupDAO;
+
+    @Autowired private UrlCache urlCache;
+
+    @Autowired private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Autowired private UrlShortenerMetrics metrics;
+
+    @Autowired private UrlCanonicalizer urlCanonicalizer;
+
     /**
-     * Shortens a URL with a custom alias or a SHA-256 hash (auto-generated alias)
+     * Shortens a URL with a custom alias or a SHA-256 hash (auto-generated alias). The hash is
+     * taken over the canonical form of the URL, so spellings of the same URL share a short URL;
+     * the canonical form is also what is stored, unless the query was rewritten, in which case the
+     * URL is stored as given. A generated short URL whose row already holds another spelling of
+     * the same URL (one that only differs in a rewritten query) is returned as is rather than
+     * retargeted; one whose row holds a different URL, such as a custom alias registered under the
+     * code, is skipped for the next {@link ShortUrlGenerator} attempt.
      *
      * @param longUrl The URL to shorten
      * @param customAlias The custom alias to use as short URL (can be null for auto-generation)
      * @return The ShortenedUrl entity
      * @throws Exception if hashing fails
-     * @throws ShortUrlAlreadyExistsException if the custom alias is already in use
+     * @throws ShortUrlAlreadyExistsException if the custom alias is already in use, or every
+     *     generated short URL is taken by a different URL
      */
+    @Transactional(rollbackFor = Exception.class)
     public ShortenedUrl shortenUrl(String longUrl, String customAlias) throws Exception {
         logger.trace("shortenUrl called: longUrl={}, customAlias={}", longUrl, customAlias);
 
         logger.debug("Processing URL shortening: customAlias={}", customAlias);
 
-        if (customAlias == null || customAlias.trim().isEmpty()) {
-            logger.info("Generating auto-generated short URL using SHA-256 for: {}", longUrl);
-
-            logger.debug("Computing SHA-256 hash for URL");
-
-            byte[] encodedHash = getSHA256ByteArray(longUrl);
-            ShortenedUrl shortenedUrl = new ShortenedUrl();
-            String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(encodedHash);
-            String shortUrl = encoded.substring(0, 8);
+        boolean generated = customAlias == null || customAlias.trim().isEmpty();
+        ShortenEvent event = new ShortenEvent();
+        event.begin();
+        String shortUrl = generated ? null : customAlias;
+        String outcome = "error";
+        try {
+            ShortenedUrl saved = shorten(longUrl, customAlias, generated);
+            shortUrl = saved.getShortUrl();
+            outcome = "created";
+            return saved;
+        } catch (ShortUrlAlreadyExistsException e) {
+            outcome = "alias_exists";
+            throw e;
+        } finally {
+            event.finish(shortUrl, !generated, outcome);
+        }
+    }
 
-            logger.debug("Generated short URL: {}", shortUrl);
+    private ShortenedUrl shorten(String longUrl, String customAlias, boolean generated)
+            throws Exception {
+        long canonicalizeStart = metrics.start(Stage.CANONICALIZE);
+        CanonicalUrl canonical = urlCanonicalizer.canonicalize(longUrl);
+        metrics.stop(Stage.CANONICALIZE, canonicalizeStart);
+        String storedUrl = canonical.equivalent() ? canonical.value() : longUrl;
 
-            shortenedUrl.setShortUrl(shortUrl);
-            shortenedUrl.setLongUrl(longUrl);
+        if (generated) {
+            logger.debug("Generating auto-generated short URL using SHA-256 for: {}", longUrl);
 
-            logger.info("Saving auto-generated shortened URL: {}", shortUrl);
+            logger.debug("Computing SHA-256 hash for URL");
 
-            return saveShortenedUrl(shortenedUrl);
+            String shortUrl = null;
+            for (int attempt = 0; attempt < ShortUrlGenerator.MAX_ATTEMPTS; attempt++) {
+                long generateStart = metrics.start(Stage.GENERATE);
+                shortUrl = ShortUrlGenerator.generate(canonical.value(), attempt);
+                metrics.stop(Stage.GENERATE, generateStart);
+
+                Optional<ShortenedUrl> existing = findByShortUrl(shortUrl);
+                if (existing.isPresent() && !existing.get().getLongUrl().equals(storedUrl)) {
+                    if (sameTarget(existing.get().getLongUrl(), canonical)) {
+                        // Links already handed out must keep their target
+                        logger.debug("Short URL {} already maps to another spelling", shortUrl);
+                        return existing.get();
+                    }
+                    logger.warn("Short URL {} is taken by a different URL, probing on", shortUrl);
+                    continue;
+                }
+                ShortenedUrl shortenedUrl = new ShortenedUrl();
+
+                logger.debug("Generated short URL: {}", shortUrl);
+
+                shortenedUrl.setShortUrl(shortUrl);
+                shortenedUrl.setLongUrl(storedUrl);
+
+                logger.debug("Saving auto-generated shortened URL: {}", shortUrl);
+
+                return saveShortenedUrl(shortenedUrl);
+            }
+            throw new ShortUrlAlreadyExistsException(shortUrl);
         }
 
-        logger.info("Processing custom alias request: {}", customAlias);
+        logger.debug("Processing custom alias request: {}", customAlias);
 
         logger.debug("Checking if custom alias already exists: {}", customAlias);
 
         // Check if the custom alias already exists
-        Optional<ShortenedUrl> existing = urlShortenerDAO.findByShortUrl(customAlias);
-        if (existing.isPresent()) {
+        if (findByShortUrl(customAlias).isPresent()) {
             logger.warn("Custom alias already exists: {}", customAlias);
             throw new ShortUrlAlreadyExistsException(customAlias);
         }
@@ -70,22 +140,31 @@ public class UrlShortenerService {
         // Create new shortened URL with custom alias
         ShortenedUrl shortenedUrl = new ShortenedUrl();
         shortenedUrl.setShortUrl(customAlias);
-        shortenedUrl.setLongUrl(longUrl);
+        shortenedUrl.setLongUrl(storedUrl);
 
-        logger.info("Saving custom alias shortened URL: {}", customAlias);
+        logger.debug("Saving custom alias shortened URL: {}", customAlias);
 
         return saveShortenedUrl(shortenedUrl);
     }
 
-    private byte[] getSHA256ByteArray(String longUrl) throws NoSuchAlgorithmException {
-        logger.trace("Computing SHA-256 hash for: {}", longUrl);
-
-        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = messageDigest.digest(longUrl.getBytes(StandardCharsets.UTF_8));
-
-        logger.trace("SHA-256 hash computed successfully");
+    private boolean sameTarget(String existingUrl, CanonicalUrl canonical) {
+        return urlCanonicalizer.canonicalize(existingUrl).value().equals(canonical.value());
+    }
 
-        return hash;
+    private Optional<ShortenedUrl> findByShortUrl(String shortUrl) {
+        long existsStart = metrics.start(Stage.EXISTS_CHECK);
+        DaoQueryEvent query = new DaoQueryEvent();
+        query.begin();
+        Optional<ShortenedUrl> existing = Optional.empty();
+        boolean failed = true;
+        try {
+            existing = urlShortenerDAO.findByShortUrl(shortUrl);
+            failed = false;
+        } finally {
+            query.finish("findByShortUrl", shortUrl, existing.isPresent() ? 1 : 0, failed);
+        }
+        metrics.stop(Stage.EXISTS_CHECK, existsStart);
+        return existing;
     }
 
     private ShortenedUrl saveShortenedUrl(ShortenedUrl shortenedUrl) {
@@ -96,36 +175,123 @@ public class UrlShortenerService {
                 shortenedUrl.getShortUrl(),
                 shortenedUrl.getLongUrl());
 
-        ShortenedUrl saved = urlShortenerDAO.save(shortenedUrl);
+        long persistStart = metrics.start(Stage.PERSIST);
+        DaoQueryEvent query = new DaoQueryEvent();
+        query.begin();
+        ShortenedUrl saved = null;
+        try {
+            saved = urlShortenerDAO.save(shortenedUrl);
+        } finally {
+            query.finish("save", shortenedUrl.getShortUrl(), saved != null ? 1 : 0, saved == null);
+        }
+
+        // Other nodes may hold a stale copy if this save overwrote an existing mapping
+        cacheInvalidationPublisher.publish(List.of(saved.getShortUrl()));
+        UrlMapping mapping = UrlMapping.of(saved);
+        // The INSERT is only flushed at commit, so the persist stage runs until then
+        afterCommit(
+                () -> {
+                    metrics.stop(Stage.PERSIST, persistStart);
+                    urlCache.put(mapping);
+                });
 
-        logger.info("Successfully saved shortened URL: {}", saved.getShortUrl());
+        logger.debug("Successfully saved shortened URL: {}", saved.getShortUrl());
 
         return saved;
     }
 
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        // Populating before commit would let a rolled-back write leak into the caches
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
     /**
-     * Retrieves the original long URL from a short URL
+     * Retrieves the original long URL from a short URL. Checks the URL cache first and falls back
+     * to the plain JDBC read path rather than the JPA repository. Clicks are counted by the
+     * resolution pipeline, not here.
      *
      * @param shortUrl The short URL identifier
-     * @return The ShortenedUrl entity
-     * @throws NoSuchElementException if the short URL is not found
+     * @return The immutable UrlMapping
+     * @throws ShortUrlNotFoundException if the short URL is not found
      */
-    public ShortenedUrl getLongUrl(String shortUrl) {
+    public UrlMapping getLongUrl(String shortUrl) {
         logger.trace("getLongUrl called: shortUrl={}", shortUrl);
 
         logger.debug("Looking up long URL for: {}", shortUrl);
 
-        logger.info("Retrieving long URL for short URL: {}", shortUrl);
+        ResolveEvent event = new ResolveEvent();
+        event.begin();
+        UrlMapping cached = urlCache.getIfPresent(shortUrl);
+        if (cached != null) {
+            logger.debug("Cache hit for short URL: {}", shortUrl);
+            metrics.cacheHits(1);
+            event.finish(shortUrl, true, "found");
+            return cached;
+        }
+        metrics.cacheMisses(1);
 
-        Optional<ShortenedUrl> shortenedUrl = urlShortenerDAO.findByShortUrl(shortUrl);
+        long lookupStart = metrics.start(Stage.LOOKUP);
+        Optional<UrlMapping> urlMapping = urlLookupDAO.findByShortUrl(shortUrl);
+        metrics.stop(Stage.LOOKUP, lookupStart);
 
-        if (shortenedUrl.isEmpty()) {
-            logger.warn("Short URL not found: {}", shortUrl);
+        event.finish(shortUrl, false, urlMapping.isPresent() ? "found" : "not_found");
+        if (urlMapping.isEmpty()) {
+            logger.debug("Short URL not found: {}", shortUrl);
         } else {
-            logger.debug("Found long URL: {}", shortenedUrl.get().getLongUrl());
-            logger.info("Successfully retrieved long URL for: {}", shortUrl);
+            logger.debug("Found long URL: {}", urlMapping.get().longUrl());
+            urlCache.put(urlMapping.get());
         }
 
-        return shortenedUrl.orElseThrow();
+        return urlMapping.orElseThrow(ShortUrlNotFoundException::get);
+    }
+
+    /**
+     * Retrieves many mappings at once. Cache tiers are consulted with a single batch lookup each
+     * and only the remaining misses are read from the database.
+     *
+     * @param shortUrls The short URL identifiers
+     * @return the mappings found keyed by short URL; unknown short URLs are absent
+     */
+    public Map<String, UrlMapping> getLongUrls(Collection<String> shortUrls) {
+        logger.debug("Batch lookup for {} short URLs", shortUrls.size());
+
+        Map<String, UrlMapping> found = urlCache.getAllPresent(shortUrls);
+        metrics.cacheHits(found.size());
+        if (found.size() == shortUrls.size()) {
+            return found;
+        }
+        metrics.cacheMisses(shortUrls.size() - found.size());
+
+        List<String> missing = new ArrayList<>(shortUrls.size() - found.size());
+        for (String shortUrl : shortUrls) {
+            if (!found.containsKey(shortUrl)) {
+                missing.add(shortUrl);
+            }
+        }
+        long lookupStart = metrics.start(Stage.LOOKUP);
+        List<UrlMapping> fromDatabase = urlLookupDAO.findAllByShortUrl(missing);
+        metrics.stop(Stage.LOOKUP, lookupStart);
+        urlCache.putAll(fromDatabase);
+        for (UrlMapping mapping : fromDatabase) {
+            found.put(mapping.shortUrl(), mapping);
+        }
+
+        logger.debug(
+                "Batch lookup resolved {} of {} short URLs ({} from database)",
+                found.size(),
+                shortUrls.size(),
+                fromDatabase.size());
+
+        return found;
     }
 }
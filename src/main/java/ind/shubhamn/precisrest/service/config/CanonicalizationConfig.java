@@ -0,0 +1,46 @@
+package ind.shubhamn.precisrest.service.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for long URL canonicalization. Scheme and host case, default ports and
+ * percent-encoding are always normalized; sorting the query and stripping tracking parameters
+ * change what the target server receives, so each has to be switched on.
+ */
+@Configuration
+@ConfigurationProperties("canonicalization")
+public class CanonicalizationConfig {
+
+    private boolean sortQueryParameters = false;
+    // names compared without case; a trailing '*' matches any name with that prefix
+    private List<String> strippedParameters = new ArrayList<>();
+    // distinct long URLs whose canonical form is remembered
+    private long cacheSize = 10_000;
+
+    public boolean isSortQueryParameters() {
+        return sortQueryParameters;
+    }
+
+    public void setSortQueryParameters(boolean sortQueryParameters) {
+        this.sortQueryParameters = sortQueryParameters;
+    }
+
+    public List<String> getStrippedParameters() {
+        return strippedParameters;
+    }
+
+    public void setStrippedParameters(List<String> strippedParameters) {
+        this.strippedParameters = strippedParameters;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
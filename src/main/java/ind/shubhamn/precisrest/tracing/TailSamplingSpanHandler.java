@@ -0,0 +1,258 @@
+package ind.shubhamn.precisrest.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ind.shubhamn.precisrest.tracing.config.TailSamplingConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tail-based sampling in front of the span exporters. Tracing records every request while it is
+ * enabled (see {@code TracingConfiguration}); this handler runs first among the {@link
+ * SpanHandler}s and holds back each finished span until its local root span finishes. Then the
+ * whole trace is either replayed to the other handlers (the Zipkin reporter) or dropped:
+ *
+ * <ul>
+ *   <li>kept if any of its spans failed ({@code error}),
+ *   <li>kept if the root took at least {@code latency-threshold-millis} ({@code slow}),
+ *   <li>kept at random with probability {@code baseline-rate} ({@code baseline}),
+ *   <li>dropped otherwise.
+ * </ul>
+ *
+ * <p>Buffers live in a Caffeine cache bounded by {@code max-buffered-traces}, each holding at most
+ * {@code max-spans-per-trace} spans; traces whose root never finishes expire {@code
+ * trace-timeout-seconds} after their last buffered span. Spans that finish after their root follow
+ * the decision already made. A span is buffered and the root's buffer taken under the same map
+ * entry lock, so a span finishing on another thread as the root finishes is either replayed with
+ * the trace or follows its decision, never left in a buffer nobody replays.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    enum Decision {
+        ERROR(true),
+        SLOW(true),
+        BASELINE(true),
+        DROPPED(false);
+
+        final boolean keep;
+
+        Decision(boolean keep) {
+            this.keep = keep;
+        }
+    }
+
+    private final TailSamplingConfig config;
+
+    private final Supplier<List<SpanHandler>> downstreamSupplier;
+
+    private volatile List<SpanHandler> downstream;
+
+    private final long thresholdMicros;
+
+    private final Cache<Long, TraceBuffer> buffers;
+
+    private final Cache<Long, Boolean> decisions;
+
+    private final LongAdder[] decisionCounts = new LongAdder[Decision.values().length];
+
+    private final LongAdder evicted = new LongAdder();
+
+    private final LongAdder overflow = new LongAdder();
+
+    @Autowired
+    public TailSamplingSpanHandler(
+            TailSamplingConfig config,
+            MeterRegistry meterRegistry,
+            ObjectProvider<SpanHandler> spanHandlers) {
+        this(config, meterRegistry, () -> spanHandlers.orderedStream().toList());
+    }
+
+    TailSamplingSpanHandler(
+            TailSamplingConfig config,
+            MeterRegistry meterRegistry,
+            Supplier<List<SpanHandler>> downstreamSupplier) {
+        this.config = config;
+        this.downstreamSupplier = downstreamSupplier;
+        this.thresholdMicros = TimeUnit.MILLISECONDS.toMicros(config.getLatencyThresholdMillis());
+        this.buffers =
+                Caffeine.newBuilder()
+                        .maximumSize(config.getMaxBufferedTraces())
+                        .expireAfterWrite(config.getTraceTimeoutSeconds(), TimeUnit.SECONDS)
+                        .<Long, TraceBuffer>removalListener(
+                                (rootId, buffer, cause) -> {
+                                    if (cause.wasEvicted()) {
+                                        evicted.increment();
+                                    }
+                                })
+                        .build();
+        this.decisions =
+                Caffeine.newBuilder()
+                        .maximumSize(config.getMaxBufferedTraces())
+                        .expireAfterWrite(config.getTraceTimeoutSeconds(), TimeUnit.SECONDS)
+                        .build();
+
+        for (Decision decision : Decision.values()) {
+            LongAdder count = new LongAdder();
+            decisionCounts[decision.ordinal()] = count;
+            FunctionCounter.builder("tracing.tail.decisions", count, LongAdder::sum)
+                    .tag("decision", decision.name().toLowerCase())
+                    .description("Traces kept or dropped by tail sampling")
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("tracing.tail.evicted", evicted, LongAdder::sum)
+                .description("Undecided traces dropped for lack of buffer space or time")
+                .register(meterRegistry);
+        FunctionCounter.builder("tracing.tail.overflow", overflow, LongAdder::sum)
+                .description("Spans dropped because their trace hit max-spans-per-trace")
+                .register(meterRegistry);
+        Gauge.builder("tracing.tail.buffered", buffers, Cache::estimatedSize)
+                .description("Traces currently buffered awaiting their root span")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (!config.isEnabled() || cause == Cause.ABANDONED) {
+            return true;
+        }
+        long rootId = context.localRootId();
+        if (!context.isLocalRoot()) {
+            Boolean decided = decisions.getIfPresent(rootId);
+            if (decided != null) {
+                return decided;
+            }
+            // Buffered under the trace's entry lock, so the root cannot decide and take the
+            // buffer between the check above and the add
+            Boolean[] late = new Boolean[1];
+            buffers.asMap()
+                    .compute(
+                            rootId,
+                            (id, buffer) -> {
+                                late[0] = decisions.getIfPresent(id);
+                                if (late[0] != null) {
+                                    return buffer;
+                                }
+                                if (buffer == null) {
+                                    buffer = new TraceBuffer();
+                                }
+                                if (!buffer.add(context, span)) {
+                                    overflow.increment();
+                                }
+                                return buffer;
+                            });
+            return late[0] != null && late[0];
+        }
+
+        TraceBuffer[] taken = new TraceBuffer[1];
+        Decision[] decision = new Decision[1];
+        buffers.asMap()
+                .compute(
+                        rootId,
+                        (id, buffer) -> {
+                            taken[0] = buffer;
+                            decision[0] = decide(span, buffer);
+                            decisions.put(id, decision[0].keep);
+                            return null;
+                        });
+        decisionCounts[decision[0].ordinal()].increment();
+        if (decision[0].keep && taken[0] != null) {
+            taken[0].replay(downstream());
+        }
+        return decision[0].keep;
+    }
+
+    private Decision decide(MutableSpan root, TraceBuffer buffer) {
+        if (isError(root) || (buffer != null && buffer.error)) {
+            return Decision.ERROR;
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= thresholdMicros) {
+            return Decision.SLOW;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < config.getBaselineRate()) {
+            return Decision.BASELINE;
+        }
+        return Decision.DROPPED;
+    }
+
+    static boolean isError(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return true;
+        }
+        // Micrometer's HTTP server observations tag the status as "status", Brave's own as
+        // "http.status_code"
+        String status = span.tag("status");
+        if (status == null) {
+            status = span.tag("http.status_code");
+        }
+        return status != null && status.startsWith("5");
+    }
+
+    private List<SpanHandler> downstream() {
+        List<SpanHandler> handlers = downstream;
+        if (handlers == null) {
+            // Resolved on first use: the handlers include this bean, which is still being
+            // created when the constructor runs
+            handlers = new ArrayList<>(downstreamSupplier.get());
+            handlers.remove(this);
+            downstream = handlers;
+        }
+        return handlers;
+    }
+
+    long getDecisionCount(Decision decision) {
+        return decisionCounts[decision.ordinal()].sum();
+    }
+
+    long getBufferedTraces() {
+        buffers.cleanUp();
+        return buffers.estimatedSize();
+    }
+
+    private final class TraceBuffer {
+
+        private final List<TraceContext> contexts = new ArrayList<>();
+
+        private final List<MutableSpan> spans = new ArrayList<>();
+
+        private volatile boolean error;
+
+        synchronized boolean add(TraceContext context, MutableSpan span) {
+            if (isError(span)) {
+                error = true;
+            }
+            if (spans.size() >= config.getMaxSpansPerTrace()) {
+                return false;
+            }
+            contexts.add(context);
+            spans.add(span);
+            return true;
+        }
+
+        synchronized void replay(List<SpanHandler> handlers) {
+            for (int i = 0; i < spans.size(); i++) {
+                for (SpanHandler handler : handlers) {
+                    if (!handler.end(contexts.get(i), spans.get(i), Cause.FINISHED)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
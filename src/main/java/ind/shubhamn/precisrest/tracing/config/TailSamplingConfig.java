@@ -0,0 +1,71 @@
+package ind.shubhamn.precisrest.tracing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for tail-based trace sampling. Spans are buffered until their local root
+ * finishes; the trace is then exported if it failed, took at least {@code latency-threshold-millis}
+ * or falls in the {@code baseline-rate} random share, and dropped otherwise.
+ */
+@Configuration
+@ConfigurationProperties("tracing.tail-sampling")
+public class TailSamplingConfig {
+
+    private boolean enabled = true;
+    private long latencyThresholdMillis = 500;
+    private double baselineRate = 0.01;
+    // memory bound: at most maxBufferedTraces * maxSpansPerTrace spans are held
+    private long maxBufferedTraces = 10_000;
+    private int maxSpansPerTrace = 128;
+    // a trace whose root has not finished by then is given up
+    private long traceTimeoutSeconds = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    public void setLatencyThresholdMillis(long latencyThresholdMillis) {
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    public double getBaselineRate() {
+        return baselineRate;
+    }
+
+    public void setBaselineRate(double baselineRate) {
+        this.baselineRate = baselineRate;
+    }
+
+    public long getMaxBufferedTraces() {
+        return maxBufferedTraces;
+    }
+
+    public void setMaxBufferedTraces(long maxBufferedTraces) {
+        this.maxBufferedTraces = maxBufferedTraces;
+    }
+
+    public int getMaxSpansPerTrace() {
+        return maxSpansPerTrace;
+    }
+
+    public void setMaxSpansPerTrace(int maxSpansPerTrace) {
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    public long getTraceTimeoutSeconds() {
+        return traceTimeoutSeconds;
+    }
+
+    public void setTraceTimeoutSeconds(long traceTimeoutSeconds) {
+        this.traceTimeoutSeconds = traceTimeoutSeconds;
+    }
+}
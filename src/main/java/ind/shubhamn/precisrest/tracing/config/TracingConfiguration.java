@@ -0,0 +1,37 @@
+package ind.shubhamn.precisrest.tracing.config;
+
+import brave.sampler.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfiguration.class);
+
+    /**
+     * Head sampler for traces started here. Tail sampling can only pick from what was recorded, so
+     * while it is enabled every request is recorded; otherwise {@code
+     * management.tracing.sampling.probability} applies as usual. The decision travels downstream
+     * in the propagation headers, so services called with sampled=1 record and export every trace
+     * too, unless they sample at the tail themselves.
+     *
+     * @param tailSamplingConfig whether tail sampling is on
+     * @param probability head sampling probability without tail sampling
+     * @return the sampler replacing Spring Boot's probability sampler
+     */
+    @Bean
+    public Sampler braveSampler(
+            TailSamplingConfig tailSamplingConfig,
+            @Value("${management.tracing.sampling.probability:0.1}") float probability) {
+        if (tailSamplingConfig.isEnabled()) {
+            logger.info("Tail sampling enabled, recording every request");
+            return Sampler.ALWAYS_SAMPLE;
+        }
+        logger.info("Tail sampling disabled, head sampling at probability {}", probability);
+        return Sampler.create(probability);
+    }
+}
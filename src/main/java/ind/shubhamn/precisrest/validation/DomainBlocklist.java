@@ -0,0 +1,151 @@
+package ind.shubhamn.precisrest.validation;
+
+import ind.shubhamn.precisrest.validation.config.DomainBlocklistConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Domains that long URLs may not point to, read from {@code domain-blocklist.file} into a {@link
+ * DomainIndex}. The file is polled for a new modification time or size and reloaded in the
+ * background; the new index is built completely before it replaces the old one with a single
+ * volatile write, so validation never waits for a reload and never sees a half-loaded list. A
+ * reload that fails keeps the current list.
+ *
+ * <p>The file is memory-mapped while it is parsed, so it should be replaced by renaming a new file
+ * over it rather than rewritten in place.
+ */
+@Component
+public class DomainBlocklist {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainBlocklist.class);
+
+    private final DomainBlocklistConfig config;
+
+    private final Timer loadTimer;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder reloadFailures = new LongAdder();
+
+    private volatile DomainIndex index = DomainIndex.EMPTY;
+
+    // modification time and size of the file behind the current index; touched by reloads only
+    private long loadedModified = -1;
+
+    private long loadedSize = -1;
+
+    @Autowired
+    public DomainBlocklist(DomainBlocklistConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.loadTimer =
+                Timer.builder("url.blocklist.load")
+                        .description("Time to read the domain blocklist and build its index")
+                        .register(meterRegistry);
+        Gauge.builder("url.blocklist.domains", this, b -> b.index.size())
+                .description("Domains in the loaded blocklist")
+                .register(meterRegistry);
+        Gauge.builder("url.blocklist.memory", this, b -> b.index.sizeInBytes())
+                .description("Heap used by the loaded blocklist index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("url.blocklist.hits", hits, LongAdder::sum)
+                .description("Long URLs rejected because their domain is blocklisted")
+                .register(meterRegistry);
+        FunctionCounter.builder("url.blocklist.reload.failures", reloadFailures, LongAdder::sum)
+                .description("Blocklist reloads that failed and kept the previous list")
+                .register(meterRegistry);
+
+        if (config.isEnabled()) {
+            if (config.getFile() == null || config.getFile().isBlank()) {
+                throw new IllegalStateException(
+                        "domain-blocklist.enabled is set but domain-blocklist.file is not");
+            }
+            try {
+                load();
+            } catch (IOException e) {
+                throw new IllegalStateException(
+                        "Cannot read domain blocklist " + config.getFile(), e);
+            }
+        }
+    }
+
+    /**
+     * @param url text containing the host
+     * @param hostStart index of the host's first character
+     * @param hostEnd index after the host's last character
+     * @return whether the host is a blocked domain or a subdomain of one
+     */
+    public boolean isBlocked(CharSequence url, int hostStart, int hostEnd) {
+        if (!index.matches(url, hostStart, hostEnd)) {
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /** Reloads the blocklist if the file has changed since it was last read. */
+    @Scheduled(fixedDelayString = "${domain-blocklist.reload-interval-millis:30000}")
+    public synchronized void reloadIfChanged() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes =
+                    Files.readAttributes(Path.of(config.getFile()), BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().toMillis() == loadedModified
+                    && attributes.size() == loadedSize) {
+                return;
+            }
+            load();
+        } catch (IOException | RuntimeException e) {
+            reloadFailures.increment();
+            logger.warn(
+                    "Keeping the current domain blocklist, reload of {} failed",
+                    config.getFile(),
+                    e);
+        }
+    }
+
+    private void load() throws IOException {
+        Path file = Path.of(config.getFile());
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long start = System.nanoTime();
+        DomainIndex loaded = DomainIndex.read(file);
+        long elapsed = System.nanoTime() - start;
+        loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        index = loaded;
+        loadedModified = attributes.lastModifiedTime().toMillis();
+        loadedSize = attributes.size();
+        logger.info(
+                "Loaded domain blocklist {}: domains={}, bytes={}, elapsedMillis={}",
+                file,
+                loaded.size(),
+                loaded.sizeInBytes(),
+                elapsed / 1_000_000);
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getReloadFailureCount() {
+        return reloadFailures.sum();
+    }
+}
@@ -0,0 +1,419 @@
+package ind.shubhamn.precisrest.validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable set of blocked domains, matched against a host and all of its parent domains. A domain
+ * blocks itself and every subdomain: {@code evil.com} blocks {@code evil.com} and {@code
+ * a.b.evil.com}, but not {@code notevil.com}.
+ *
+ * <p>Domains are stored character-reversed ({@code moc.live}), so a host's parent domains are the
+ * prefixes of its reversed form that end at a label boundary, and are read straight off the host
+ * from right to left. The reversed domains are sorted and front-coded in blocks of {@value
+ * #BLOCK_SIZE}: a block starts with one domain in full, and every other entry keeps only what
+ * differs from its predecessor, so a feed of millions of domains takes a few bytes per domain.
+ *
+ * <p>A Bloom filter over the same reversed prefixes ({@value #BITS_PER_DOMAIN} bits per domain,
+ * {@value #HASHES} hashes, under 1% false positives) answers almost every lookup of a host that is
+ * not blocked; only when it says "maybe" is the sorted array binary-searched. Checking a host is
+ * one right-to-left pass over it plus, rarely, that search, and allocates nothing.
+ */
+final class DomainIndex {
+
+    static final DomainIndex EMPTY = new DomainIndex(new byte[0], new int[0], new long[1], 0);
+
+    static final int BLOCK_SIZE = 16;
+
+    static final int BITS_PER_DOMAIN = 10;
+
+    static final int HASHES = 7;
+
+    // the longest DNS name; longer lines are not domains and are skipped
+    private static final int MAX_DOMAIN_LENGTH = 253;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // per block: [length][domain], then per entry: [shared prefix length][suffix length][suffix]
+    private final byte[] data;
+
+    private final int[] blockOffsets;
+
+    private final long[] bloom;
+
+    private final int bloomMask;
+
+    private final int size;
+
+    private DomainIndex(byte[] data, int[] blockOffsets, long[] bloom, int size) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.bloom = bloom;
+        this.bloomMask = bloom.length * 64 - 1;
+        this.size = size;
+    }
+
+    /**
+     * Reads a blocklist file through a memory mapping, so a feed of hundreds of megabytes is
+     * parsed without being copied onto the heap first.
+     *
+     * @param file the blocklist
+     * @return the index of the domains in it
+     * @throws IOException if the file cannot be read
+     */
+    static DomainIndex read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(mapped);
+        }
+    }
+
+    /**
+     * Parses a blocklist: one domain per line. Blank lines and {@code #} comments are ignored,
+     * hosts-file lines ({@code 0.0.0.0 evil.com}) contribute their last field, and a leading
+     * {@code *.} or {@code .} is dropped since a domain always covers its subdomains. Entries are
+     * matched case-insensitively; lines that are not ASCII domain names are skipped.
+     *
+     * @param text the file contents, from the buffer's position to its limit
+     * @return the index of the domains found
+     */
+    static DomainIndex parse(ByteBuffer text) {
+        // Pass 1: normalized, reversed domains side by side in one pool
+        byte[] pool = new byte[Math.max(16, text.remaining() / 2)];
+        int poolSize = 0;
+        int[] starts = new int[1024];
+        int count = 0;
+        int limit = text.limit();
+        int lineStart = text.position();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && text.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int start = -1;
+            int end = -1;
+            // the last whitespace-separated field before any comment
+            for (int i = lineStart; i < lineEnd; i++) {
+                byte b = text.get(i);
+                if (b == '#') {
+                    break;
+                }
+                if (b == ' ' || b == '\t' || b == '\r') {
+                    continue;
+                }
+                if (i == lineStart || isBlank(text.get(i - 1))) {
+                    start = i;
+                }
+                end = i + 1;
+            }
+            lineStart = lineEnd + 1;
+            if (start < 0) {
+                continue;
+            }
+            if (end - start > 2 && text.get(start) == '*' && text.get(start + 1) == '.') {
+                start += 2;
+            }
+            while (start < end && text.get(start) == '.') {
+                start++;
+            }
+            while (end > start && text.get(end - 1) == '.') {
+                end--;
+            }
+            int length = end - start;
+            if (length == 0 || length > MAX_DOMAIN_LENGTH || !isDomain(text, start, end)) {
+                continue;
+            }
+            if (poolSize + length > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + length));
+            }
+            for (int i = 0; i < length; i++) {
+                pool[poolSize + i] = lower(text.get(end - 1 - i));
+            }
+            if (count + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[count++] = poolSize;
+            poolSize += length;
+            starts[count] = poolSize;
+        }
+        return build(pool, starts, count);
+    }
+
+    private static DomainIndex build(byte[] pool, int[] starts, int count) {
+        // Pass 2: sort entry ids by reversed domain, then front-code them without duplicates
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        order = sort(order, pool, starts);
+
+        // a power of two bits, so a hash picks its bit with a mask
+        int bits = Integer.highestOneBit(Math.max(64, count * BITS_PER_DOMAIN - 1)) * 2;
+        long[] bloom = new long[bits / 64];
+        byte[] data = new byte[Math.max(16, (starts[count] + 2 * count) / 2)];
+        int dataSize = 0;
+        int[] blockOffsets = new int[count / BLOCK_SIZE + 1];
+        int blocks = 0;
+        int unique = 0;
+        int previous = -1;
+        for (int id : order) {
+            int start = starts[id];
+            int length = starts[id + 1] - start;
+            int shared = 0;
+            if (previous >= 0) {
+                int previousStart = starts[previous];
+                int previousLength = starts[previous + 1] - previousStart;
+                int mismatch =
+                        Arrays.mismatch(
+                                pool,
+                                previousStart,
+                                previousStart + previousLength,
+                                pool,
+                                start,
+                                start + length);
+                if (mismatch < 0) {
+                    continue;
+                }
+                shared = mismatch;
+            }
+            if (dataSize + length + 2 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataSize + length + 2));
+            }
+            if (unique % BLOCK_SIZE == 0) {
+                blockOffsets[blocks++] = dataSize;
+                data[dataSize++] = (byte) length;
+                shared = 0;
+            } else {
+                data[dataSize++] = (byte) shared;
+                data[dataSize++] = (byte) (length - shared);
+            }
+            System.arraycopy(pool, start + shared, data, dataSize, length - shared);
+            dataSize += length - shared;
+            addToBloom(bloom, pool, start, length);
+            unique++;
+            previous = id;
+        }
+        return new DomainIndex(
+                Arrays.copyOf(data, dataSize), Arrays.copyOf(blockOffsets, blocks), bloom, unique);
+    }
+
+    /**
+     * @param host text containing the host
+     * @param start index of the host's first character
+     * @param end index after the host's last character
+     * @return whether the host or one of its parent domains is in the index
+     */
+    boolean matches(CharSequence host, int start, int end) {
+        if (size == 0) {
+            return false;
+        }
+        int length = end - start;
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ lower(host.charAt(end - 1 - i))) * FNV_PRIME;
+            // the reversed prefix ends at a label boundary: it is a parent domain, or the host
+            boolean boundary = i + 1 == length || host.charAt(end - 2 - i) == '.';
+            if (boundary && mightContain(hash) && contains(host, end, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return the number of distinct domains */
+    int size() {
+        return size;
+    }
+
+    /** @return the bytes held by the index */
+    long sizeInBytes() {
+        return data.length + 4L * blockOffsets.length + 8L * bloom.length;
+    }
+
+    private static void addToBloom(long[] bloom, byte[] pool, int start, int length) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ pool[start + i]) * FNV_PRIME;
+        }
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        int mask = bloom.length * 64 - 1;
+        for (int k = 0; k < HASHES; k++) {
+            int bit = (h1 + k * h2) & mask;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        for (int k = 0; k < HASHES; k++) {
+            int bit = (h1 + k * h2) & bloomMask;
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exact lookup of the reversed key made of the last {@code keyLength} characters of the host,
+     * read right to left: a binary search over the block heads, then a walk through one block
+     * that tracks how much of the key the current entry matches, without decoding entries.
+     */
+    private boolean contains(CharSequence host, int end, int keyLength) {
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            int offset = blockOffsets[mid];
+            if (compare(host, end, keyLength, offset + 1, data[offset] & 0xFF) < 0) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+        int offset = blockOffsets[low];
+        int entryLength = data[offset] & 0xFF;
+        int matched = commonPrefix(host, end, keyLength, offset + 1, entryLength, 0);
+        if (matched == keyLength && matched == entryLength) {
+            return true;
+        }
+        offset += 1 + entryLength;
+        int blockEnd = low + 1 < blockOffsets.length ? blockOffsets[low + 1] : data.length;
+        while (offset < blockEnd) {
+            int shared = data[offset] & 0xFF;
+            int suffixLength = data[offset + 1] & 0xFF;
+            int suffix = offset + 2;
+            offset = suffix + suffixLength;
+            if (shared > matched) {
+                // agrees with the previous entry beyond what matched the key, so still below it
+                continue;
+            }
+            if (shared < matched) {
+                // differs from the previous entry where that one still matched the key: above it
+                return false;
+            }
+            entryLength = shared + suffixLength;
+            matched = commonPrefix(host, end, keyLength, suffix - shared, entryLength, shared);
+            if (matched == keyLength) {
+                return matched == entryLength;
+            }
+            if (matched < entryLength
+                    && (data[suffix - shared + matched] & 0xFF) > key(host, end, matched)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /** Compares the reversed key with the stored domain at {@code offset}. */
+    private int compare(CharSequence host, int end, int keyLength, int offset, int length) {
+        int matched = commonPrefix(host, end, keyLength, offset, length, 0);
+        if (matched < keyLength && matched < length) {
+            return Integer.compare(key(host, end, matched), data[offset + matched] & 0xFF);
+        }
+        return Integer.compare(keyLength, length);
+    }
+
+    /**
+     * @param entry offset of the stored domain's first byte; only bytes from {@code from} are read
+     * @return how many leading bytes the key and the stored domain have in common, given that the
+     *     first {@code from} are known to match
+     */
+    private int commonPrefix(
+            CharSequence host, int end, int keyLength, int entry, int entryLength, int from) {
+        int limit = Math.min(keyLength, entryLength);
+        int i = from;
+        while (i < limit && key(host, end, i) == (data[entry + i] & 0xFF)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int key(CharSequence host, int end, int i) {
+        return lower(host.charAt(end - 1 - i)) & 0xFF;
+    }
+
+    // anything beyond ASCII becomes 0, which no stored domain contains
+    private static byte lower(int c) {
+        if (c >= 128) {
+            return 0;
+        }
+        return (byte) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean isDomain(ByteBuffer text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = text.get(i);
+            boolean ok =
+                    (b >= 'a' && b <= 'z')
+                            || (b >= 'A' && b <= 'Z')
+                            || (b >= '0' && b <= '9')
+                            || b == '-'
+                            || b == '.'
+                            || b == '_';
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** MurmurHash3 finalizer, so the two Bloom hash halves are independent enough. */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /** Bottom-up merge sort of entry ids by their reversed domain in the pool. */
+    private static int[] sort(int[] ids, byte[] pool, int[] starts) {
+        int n = ids.length;
+        int[] from = ids;
+        int[] to = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    if (left < mid
+                            && (right >= high
+                                    || compareEntries(pool, starts, from[left], from[right])
+                                            <= 0)) {
+                        to[k] = from[left++];
+                    } else {
+                        to[k] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        return from;
+    }
+
+    private static int compareEntries(byte[] pool, int[] starts, int a, int b) {
+        return Arrays.compareUnsigned(
+                pool, starts[a], starts[a + 1], pool, starts[b], starts[b + 1]);
+    }
+}
@@ -0,0 +1,136 @@
+package ind.shubhamn.precisrest.validation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over lowercase ASCII patterns, compiled into a full transition table so
+ * that matching is one array read per input character, whatever the number of patterns. Input is
+ * matched case-insensitively the way {@link String#toLowerCase()} would fold it: ASCII letters,
+ * plus the two non-ASCII characters that lowercase to ASCII (KELVIN SIGN to {@code k}, and LATIN
+ * CAPITAL LETTER I WITH DOT ABOVE to {@code i} followed by a combining dot).
+ */
+final class PatternAutomaton {
+
+    private static final int ALPHABET = 128;
+
+    private static final char KELVIN_SIGN = '\u212A';
+
+    private static final char CAPITAL_I_WITH_DOT = '\u0130';
+
+    // table[offset(state) + c], where offset(state) = state * ALPHABET
+    private final int[] table;
+
+    PatternAutomaton(List<String> patterns) {
+        int maxStates = 1;
+        for (String pattern : patterns) {
+            maxStates += pattern.length();
+        }
+        int[] trie = new int[maxStates * ALPHABET];
+        Arrays.fill(trie, -1);
+        boolean[] terminal = new boolean[maxStates];
+        int states = 1;
+        for (String pattern : patterns) {
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ALPHABET || (c >= 'A' && c <= 'Z')) {
+                    throw new IllegalArgumentException(
+                            "Pattern must be lowercase ASCII: " + pattern);
+                }
+                int index = state * ALPHABET + c;
+                if (trie[index] < 0) {
+                    trie[index] = states++;
+                }
+                state = trie[index];
+            }
+            terminal[state] = true;
+        }
+
+        // Breadth-first, so a state's failure link is complete before its children are visited
+        int[] failure = new int[states];
+        int[] transitions = Arrays.copyOf(trie, states * ALPHABET);
+        boolean[] matches = Arrays.copyOf(terminal, states);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = transitions[c];
+            if (child < 0) {
+                transitions[c] = 0;
+            } else {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int fallback = failure[state];
+            matches[state] |= matches[fallback];
+            for (int c = 0; c < ALPHABET; c++) {
+                int index = state * ALPHABET + c;
+                int child = transitions[index];
+                if (child < 0) {
+                    transitions[index] = transitions[fallback * ALPHABET + c];
+                } else {
+                    failure[child] = transitions[fallback * ALPHABET + c];
+                    queue.add(child);
+                }
+            }
+        }
+        for (int state = 0; state < states; state++) {
+            for (int c = 'A'; c <= 'Z'; c++) {
+                transitions[state * ALPHABET + c] = transitions[state * ALPHABET + c + 32];
+            }
+        }
+        // Entries hold the row offset of the target state, complemented (negative) when the
+        // target completes a pattern, so a step is one load and a match one sign test
+        table = new int[transitions.length];
+        for (int i = 0; i < transitions.length; i++) {
+            int target = transitions[i];
+            table[i] = matches[target] ? ~(target * ALPHABET) : target * ALPHABET;
+        }
+    }
+
+    /**
+     * @param state the current state, 0 at the start of the input; never a matching one
+     * @param c the next input character
+     * @return the state after {@code c}
+     */
+    int next(int state, char c) {
+        if (c < ALPHABET) {
+            return table[state + c];
+        }
+        if (c == KELVIN_SIGN) {
+            return table[state + 'k'];
+        }
+        if (c == CAPITAL_I_WITH_DOT) {
+            // lowercases to i and U+0307, and the combining dot breaks any partial match
+            int afterI = table[state + 'i'];
+            return afterI < 0 ? afterI : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * @param state a state returned by {@link #next}
+     * @return whether a pattern ends at this state
+     */
+    static boolean isMatch(int state) {
+        return state < 0;
+    }
+
+    /**
+     * @param text the text to search
+     * @return whether any pattern occurs in the text
+     */
+    boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (state < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,370 @@
+package ind.shubhamn.precisrest.validation;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Single-pass check that a string is an acceptable long URL: it parses as a {@link URI} with an
+ * {@code http} or {@code https} scheme and a server host, and contains none of the {@link
+ * #SUSPICIOUS_PATTERNS} in any letter case.
+ *
+ * <p>The answer is the same as parsing with {@code new URI(url)}, inspecting scheme and host and
+ * searching the lowercased string for each pattern, but the string is read once, left to right,
+ * and nothing is allocated. Each character advances the {@link PatternAutomaton} and a small state
+ * machine for the component it is in; the character classes, escapes and host grammar follow
+ * {@link URI}'s parser (RFC 2396 with its documented deviations), including its quirks, such as
+ * allowing unescaped non-ASCII characters in the user info, path, query and fragment. An authority
+ * containing an IPv6 literal is rare enough to be handed to {@link URI} itself.
+ */
+public final class UrlScanner {
+
+    static final List<String> SUSPICIOUS_PATTERNS =
+            List.of(
+                    "<script",
+                    "javascript:",
+                    "onerror=",
+                    "onload=",
+                    "eval(",
+                    "alert(",
+                    "document.cookie");
+
+    private static final PatternAutomaton PATTERNS = new PatternAutomaton(SUSPICIOUS_PATTERNS);
+
+    // Character classes, as the low (0-63) and high (64-127) bit masks of java.net.URI
+    private static final long L_DIGIT = 0x3FF000000000000L;
+    private static final long H_ALPHA = 0x7FFFFFE07FFFFFEL;
+    private static final long H_HEX = 0x7E0000007EL;
+    private static final long L_UNRESERVED = L_DIGIT | 0x678200000000L; // -_.!~*'()
+    private static final long H_UNRESERVED = H_ALPHA | 0x4000000080000000L;
+    private static final long L_RESERVED = 0xAC00985000000000L; // ;/?:@&=+$,[]
+    private static final long H_RESERVED = 0x28000001L;
+    private static final long L_URIC = L_RESERVED | L_UNRESERVED;
+    private static final long H_URIC = H_RESERVED | H_UNRESERVED;
+    private static final long L_PATH = L_UNRESERVED | 0x2C00985000000000L; // :@&=+$, ;/
+    private static final long H_PATH = H_UNRESERVED | 0x1L;
+    private static final long L_USERINFO = L_UNRESERVED | 0x2C00185000000000L; // ;:&=+$,
+    private static final long H_USERINFO = H_UNRESERVED;
+
+    // Bits of CLASSES, per ASCII character
+    private static final int PATH_CHAR = 1;
+    private static final int URIC = 2;
+    private static final int HEX = 4;
+
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            CLASSES[c] =
+                    (byte)
+                            ((match(c, L_PATH, H_PATH) ? PATH_CHAR : 0)
+                                    | (match(c, L_URIC, H_URIC) ? URIC : 0)
+                                    | (match(c, L_DIGIT, H_HEX) ? HEX : 0));
+        }
+    }
+
+    private UrlScanner() {}
+
+    /**
+     * @param url the candidate long URL
+     * @return whether the URL is a well-formed http(s) URL with a host and no suspicious pattern
+     */
+    public static boolean isAcceptable(String url) {
+        int n = url.length();
+        int schemeEnd = schemeEnd(url, n);
+        // "//" and a non-empty authority; anything else leaves URI without a host
+        if (schemeEnd < 0
+                || schemeEnd + 3 >= n
+                || url.charAt(schemeEnd + 1) != '/'
+                || url.charAt(schemeEnd + 2) != '/') {
+            return false;
+        }
+        int patternState = 0;
+        int authorityStart = schemeEnd + 3;
+        for (int i = 0; i < authorityStart; i++) {
+            patternState = PATTERNS.next(patternState, url.charAt(i));
+        }
+
+        // Authority: [userinfo@]host[:port]. Until the first '@' the characters may turn out to be
+        // user info or host, so both readings are tracked and the host one restarts at the '@'.
+        boolean atSeen = false;
+        boolean userInfoOk = true;
+        int userInfoEscape = 0;
+        long hostState = Host.START;
+        int i = authorityStart;
+        for (; i < n; i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            patternState = PATTERNS.next(patternState, c);
+            if (PatternAutomaton.isMatch(patternState)) {
+                return false;
+            }
+            if (c == '[' || c == ']') {
+                return isAcceptableUri(url);
+            }
+            if (c == '@' && !atSeen) {
+                if (!userInfoOk || userInfoEscape != 0) {
+                    return false;
+                }
+                atSeen = true;
+                hostState = Host.START;
+                continue;
+            }
+            if (!atSeen) {
+                if (userInfoEscape > 0) {
+                    userInfoOk &= match(c, L_DIGIT, H_HEX);
+                    userInfoEscape--;
+                } else if (c == '%') {
+                    userInfoEscape = 2;
+                } else {
+                    userInfoOk &= match(c, L_USERINFO, H_USERINFO) || isVisibleNonAscii(c);
+                }
+            }
+            hostState = Host.next(hostState, c);
+            if (hostState == Host.INVALID && (atSeen || !userInfoOk)) {
+                return false;
+            }
+        }
+        if (i == authorityStart || !Host.isAccepting(hostState)) {
+            return false;
+        }
+
+        // [path][?query][#fragment]; '%', and the '?' and '#' that start a component, are in
+        // neither character class and handled apart
+        int allowed = PATH_CHAR;
+        boolean fragment = false;
+        int escape = 0;
+        for (; i < n; i++) {
+            char c = url.charAt(i);
+            patternState = PATTERNS.next(patternState, c);
+            if (PatternAutomaton.isMatch(patternState)) {
+                return false;
+            }
+            if (c >= 128) {
+                if (escape > 0 || !isVisibleNonAscii(c)) {
+                    return false;
+                }
+                continue;
+            }
+            int classes = CLASSES[c];
+            if (escape > 0) {
+                if ((classes & HEX) == 0) {
+                    return false;
+                }
+                escape--;
+            } else if ((classes & allowed) == 0) {
+                if (c == '%') {
+                    escape = 2;
+                } else if (c == '?' && allowed == PATH_CHAR) {
+                    allowed = URIC;
+                } else if (c == '#' && !fragment) {
+                    allowed = URIC;
+                    fragment = true;
+                } else {
+                    return false;
+                }
+            }
+        }
+        return escape == 0;
+    }
+
+    /**
+     * @param url a URL that {@link #isAcceptable} accepts
+     * @return the index of the host's first character, or -1 for an IPv6 literal
+     */
+    static int hostStart(String url) {
+        int authorityStart = schemeEnd(url, url.length()) + 3;
+        int start = authorityStart;
+        for (int i = authorityStart; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            if (c == '@') {
+                start = i + 1;
+            } else if (c == '[') {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * @param url a URL that {@link #isAcceptable} accepts
+     * @param hostStart the result of {@link #hostStart}
+     * @return the index after the host's last character, without a trailing root '.'
+     */
+    static int hostEnd(String url, int hostStart) {
+        int end = hostStart;
+        while (end < url.length()) {
+            char c = url.charAt(end);
+            if (c == ':' || c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            end++;
+        }
+        return end > hostStart && url.charAt(end - 1) == '.' ? end - 1 : end;
+    }
+
+    /**
+     * @return the index of the ':' ending an {@code http} or {@code https} scheme in any case, or
+     *     -1
+     */
+    private static int schemeEnd(String url, int n) {
+        if (n < 5
+                || (url.charAt(0) | 0x20) != 'h'
+                || (url.charAt(1) | 0x20) != 't'
+                || (url.charAt(2) | 0x20) != 't'
+                || (url.charAt(3) | 0x20) != 'p') {
+            return -1;
+        }
+        int end = (url.charAt(4) | 0x20) == 's' ? 5 : 4;
+        return end < n && url.charAt(end) == ':' ? end : -1;
+    }
+
+    /** The same test on {@link URI}'s own parse, for IPv6 literals. */
+    private static boolean isAcceptableUri(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return false;
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            if (!scheme.equals("http") && !scheme.equals("https")) {
+                return false;
+            }
+        } catch (URISyntaxException e) {
+            return false;
+        }
+        return !PATTERNS.containsAny(url);
+    }
+
+    private static boolean match(char c, long lowMask, long highMask) {
+        if (c == 0) {
+            return false;
+        }
+        if (c < 64) {
+            return ((1L << c) & lowMask) != 0;
+        }
+        if (c < 128) {
+            return ((1L << (c - 64)) & highMask) != 0;
+        }
+        return false;
+    }
+
+    // URI accepts these unescaped wherever escapes are allowed
+    private static boolean isVisibleNonAscii(char c) {
+        return c > 128 && !Character.isSpaceChar(c) && !Character.isISOControl(c);
+    }
+
+    /**
+     * {@code host[:port]} as {@link URI} parses a server authority: an IPv4 address or a hostname,
+     * then an optional colon and decimal port. The state is packed into a long, flags in the low
+     * bits and the current IPv4 byte or port value in the high ones, so the scanner stays
+     * allocation-free.
+     */
+    private static final class Host {
+
+        static final long INVALID = -1;
+
+        static final long START = 0;
+
+        private static final long IN_PORT = 1;
+        // a label has been started, one is open, its first character was a letter, its last a '-'
+        private static final long HAD_LABEL = 1 << 1;
+        private static final long LABEL_OPEN = 1 << 2;
+        private static final long LABEL_ALPHA = 1 << 3;
+        private static final long LAST_DASH = 1 << 4;
+        // more than one label
+        private static final long MULTI_LABEL = 1 << 5;
+        private static final long NOT_HOSTNAME = 1 << 6;
+        private static final long NOT_IPV4 = 1 << 7;
+        // the current IPv4 byte has a digit
+        private static final long BYTE_DIGITS = 1 << 8;
+        private static final long DOT = 1 << 9;
+        private static final long DOTS = 3 * DOT;
+        private static final int VALUE_SHIFT = 32;
+        private static final long FLAGS = (1L << VALUE_SHIFT) - 1;
+
+        private Host() {}
+
+        static long next(long state, char c) {
+            if (state == INVALID) {
+                return INVALID;
+            }
+            long value = state >>> VALUE_SHIFT;
+            if ((state & IN_PORT) != 0) {
+                if (c < '0' || c > '9') {
+                    return INVALID;
+                }
+                // Integer.parseInt must accept the port, leading zeros and all
+                value = value * 10 + (c - '0');
+                return value > Integer.MAX_VALUE ? INVALID : withValue(state, value);
+            }
+            if (c == ':') {
+                return isHost(state) ? IN_PORT : INVALID;
+            }
+            boolean digit = c >= '0' && c <= '9';
+            boolean alpha = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            if (digit || alpha) {
+                if ((state & LABEL_OPEN) == 0) {
+                    if ((state & HAD_LABEL) != 0) {
+                        state |= MULTI_LABEL;
+                    }
+                    state = alpha ? state | LABEL_ALPHA : state & ~LABEL_ALPHA;
+                    state |= HAD_LABEL | LABEL_OPEN;
+                }
+                state &= ~LAST_DASH;
+                if (alpha) {
+                    return state | NOT_IPV4;
+                }
+                // capped: anything over 255 is as bad as an int overflow
+                return withValue(state | BYTE_DIGITS, Math.min(256, value * 10 + (c - '0')));
+            }
+            if (c == '-') {
+                if ((state & LABEL_OPEN) == 0) {
+                    state |= NOT_HOSTNAME;
+                }
+                return state | LAST_DASH | NOT_IPV4;
+            }
+            if (c == '.') {
+                if ((state & LABEL_OPEN) == 0 || (state & LAST_DASH) != 0) {
+                    state |= NOT_HOSTNAME;
+                }
+                if ((state & BYTE_DIGITS) == 0 || value > 255 || (state & DOTS) == DOTS) {
+                    state |= NOT_IPV4;
+                } else {
+                    state += DOT;
+                }
+                return withValue(state & ~(LABEL_OPEN | LAST_DASH | BYTE_DIGITS), 0);
+            }
+            return INVALID;
+        }
+
+        static boolean isAccepting(long state) {
+            return state != INVALID && ((state & IN_PORT) != 0 || isHost(state));
+        }
+
+        private static boolean isHost(long state) {
+            if ((state & NOT_IPV4) == 0
+                    && (state & DOTS) == DOTS
+                    && (state & BYTE_DIGITS) != 0
+                    && (state >>> VALUE_SHIFT) <= 255) {
+                return true;
+            }
+            if ((state & (NOT_HOSTNAME | LAST_DASH)) != 0 || (state & HAD_LABEL) == 0) {
+                return false;
+            }
+            // URI requires the last label of a dotted name to start with a letter, telling it
+            // apart from a malformed IPv4 address
+            return (state & MULTI_LABEL) == 0 || (state & LABEL_ALPHA) != 0;
+        }
+
+        private static long withValue(long state, long value) {
+            return (state & FLAGS) | (value << VALUE_SHIFT);
+        }
+    }
+}
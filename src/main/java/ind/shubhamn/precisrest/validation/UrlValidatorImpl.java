@@ -1,14 +1,22 @@
 package ind.shubhamn.precisrest.validation;
 
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics.Stage;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-/** Implementation of URL validator Validates URL format and checks for malicious patterns */
+/**
+ * Implementation of URL validator Validates URL format and checks for malicious patterns. The
+ * check itself is the single pass of {@link UrlScanner}; the host of an accepted URL is then
+ * looked up in the {@link DomainBlocklist}.
+ */
 @Component
 public class UrlValidatorImpl implements ConstraintValidator<UrlValidator, String> {
 
@@ -16,9 +24,12 @@ public class UrlValidatorImpl implements ConstraintValidator<UrlValidator, Strin
     private static final List<String> BLACKLISTED_SCHEMES =
             Arrays.asList("javascript", "data", "file", "vbscript");
 
-    // Blacklisted domains (example - expand as needed)
-    private static final List<String> BLACKLISTED_DOMAINS =
-            Arrays.asList("localhost", "127.0.0.1", "0.0.0.0");
+    // Absent where the validator is created outside the servlet application context
+    @Autowired(required = false)
+    private UrlShortenerMetrics metrics;
+
+    @Autowired(required = false)
+    private DomainBlocklist domainBlocklist;
 
     @Override
     public void initialize(UrlValidator constraintAnnotation) {
@@ -27,83 +38,72 @@ public class UrlValidatorImpl implements ConstraintValidator<UrlValidator, Strin
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (metrics == null) {
+            return validate(value, context);
+        }
+        long start = metrics.start(Stage.VALIDATE);
+        try {
+            return validate(value, context);
+        } finally {
+            metrics.stop(Stage.VALIDATE, start);
+        }
+    }
+
+    private boolean validate(String value, ConstraintValidatorContext context) {
         if (value == null || value.trim().isEmpty()) {
             return false;
         }
+        String message;
+        if (!UrlScanner.isAcceptable(value)) {
+            message = rejectionMessage(value);
+        } else if (isBlockedDomain(value)) {
+            message = "URL domain is not allowed";
+        } else {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+        return false;
+    }
+
+    private boolean isBlockedDomain(String value) {
+        if (domainBlocklist == null) {
+            return false;
+        }
+        int hostStart = UrlScanner.hostStart(value);
+        return hostStart >= 0
+                && domainBlocklist.isBlocked(
+                        value, hostStart, UrlScanner.hostEnd(value, hostStart));
+    }
 
+    /**
+     * Explains a rejection. Only rejected URLs get here, so parsing them again with {@link URI}
+     * to produce the specific message costs nothing on the common path.
+     */
+    private static String rejectionMessage(String value) {
         try {
             URI uri = new URI(value);
 
             // Ensure the URI has a scheme and host
             if (uri.getScheme() == null || uri.getHost() == null) {
-                context.disableDefaultConstraintViolation();
-                context.buildConstraintViolationWithTemplate(
-                                "URL must have a valid scheme and host")
-                        .addConstraintViolation();
-                return false;
+                return "URL must have a valid scheme and host";
             }
 
             // Check for blacklisted schemes
-            String scheme = uri.getScheme().toLowerCase();
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
             if (BLACKLISTED_SCHEMES.contains(scheme)) {
-                context.disableDefaultConstraintViolation();
-                context.buildConstraintViolationWithTemplate(
-                                "URL scheme '" + scheme + "' is not allowed")
-                        .addConstraintViolation();
-                return false;
+                return "URL scheme '" + scheme + "' is not allowed";
             }
 
             // Only allow HTTP and HTTPS
             if (!scheme.equals("http") && !scheme.equals("https")) {
-                context.disableDefaultConstraintViolation();
-                context.buildConstraintViolationWithTemplate("Only HTTP and HTTPS URLs are allowed")
-                        .addConstraintViolation();
-                return false;
-            }
-
-            // Check for blacklisted domains (optional - can be disabled for development)
-            String host = uri.getHost().toLowerCase();
-            // Uncomment to enable domain blacklist
-            // if (BLACKLISTED_DOMAINS.stream().anyMatch(host::contains)) {
-            //     context.disableDefaultConstraintViolation();
-            //     context.buildConstraintViolationWithTemplate(
-            //         "URL domain is not allowed"
-            //     ).addConstraintViolation();
-            //     return false;
-            // }
-
-            // Check for suspicious patterns
-            if (containsSuspiciousPatterns(value)) {
-                context.disableDefaultConstraintViolation();
-                context.buildConstraintViolationWithTemplate("URL contains suspicious patterns")
-                        .addConstraintViolation();
-                return false;
+                return "Only HTTP and HTTPS URLs are allowed";
             }
 
-            return true;
+            return "URL contains suspicious patterns";
 
         } catch (URISyntaxException e) {
-            context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate("Invalid URL format: " + e.getMessage())
-                    .addConstraintViolation();
-            return false;
+            return "Invalid URL format: " + e.getMessage();
         }
     }
-
-    private boolean containsSuspiciousPatterns(String url) {
-        String lowerUrl = url.toLowerCase();
-
-        // Check for common XSS patterns
-        List<String> suspiciousPatterns =
-                Arrays.asList(
-                        "<script",
-                        "javascript:",
-                        "onerror=",
-                        "onload=",
-                        "eval(",
-                        "alert(",
-                        "document.cookie");
-
-        return suspiciousPatterns.stream().anyMatch(lowerUrl::contains);
-    }
 }
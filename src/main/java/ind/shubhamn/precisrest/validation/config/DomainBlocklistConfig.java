@@ -0,0 +1,43 @@
+package ind.shubhamn.precisrest.validation.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Externalized settings for the domain blocklist. Long URLs whose host is listed in {@code file},
+ * or is a subdomain of a listed domain, are rejected; the file is checked for changes every {@code
+ * reload-interval-millis} and reloaded without interrupting validation.
+ */
+@Configuration
+@ConfigurationProperties("domain-blocklist")
+public class DomainBlocklistConfig {
+
+    private boolean enabled = false;
+    // one domain per line; hosts-file lines and # comments are accepted
+    private String file;
+    private long reloadIntervalMillis = 30_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public long getReloadIntervalMillis() {
+        return reloadIntervalMillis;
+    }
+
+    public void setReloadIntervalMillis(long reloadIntervalMillis) {
+        this.reloadIntervalMillis = reloadIntervalMillis;
+    }
+}
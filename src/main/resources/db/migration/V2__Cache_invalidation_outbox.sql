@@ -0,0 +1,18 @@
+-- Transactional outbox for cross-node cache invalidation
+-- Every write to precis.url_shorten inserts a row here in the same transaction and sends a
+-- NOTIFY on the precis_cache_invalidation channel. Nodes that missed notifications while their
+-- LISTEN connection was down replay this table on reconnect.
+
+CREATE TABLE IF NOT EXISTS precis.cache_invalidation (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    short_url VARCHAR(8) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Supports pruning of rows past the retention window
+CREATE INDEX IF NOT EXISTS idx_cache_invalidation_created_at ON precis.cache_invalidation(created_at);
+
+COMMENT ON TABLE precis.cache_invalidation IS 'Outbox of short URLs whose cached copies must be evicted on every node';
+COMMENT ON COLUMN precis.cache_invalidation.id IS 'Monotonic sequence used by listeners to detect missed notifications';
+COMMENT ON COLUMN precis.cache_invalidation.short_url IS 'Short URL whose mapping was written or deleted';
+COMMENT ON COLUMN precis.cache_invalidation.created_at IS 'Timestamp when the invalidation was recorded';
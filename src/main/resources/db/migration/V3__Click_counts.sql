@@ -0,0 +1,13 @@
+-- Per short URL click totals
+-- Maintained by batched upserts of in-memory deltas, never by one UPDATE per redirect
+
+CREATE TABLE IF NOT EXISTS precis.click_counts (
+    short_url VARCHAR(8) PRIMARY KEY,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE precis.click_counts IS 'Accumulated click totals per short URL';
+COMMENT ON COLUMN precis.click_counts.short_url IS 'Short URL identifier';
+COMMENT ON COLUMN precis.click_counts.clicks IS 'Total successful resolutions flushed so far';
+COMMENT ON COLUMN precis.click_counts.updated_at IS 'Timestamp of the last flush touching this row';
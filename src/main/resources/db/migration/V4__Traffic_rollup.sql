@@ -0,0 +1,23 @@
+-- Per short URL traffic histograms
+-- One row per link and time bucket holding a packed array of slot counts (big-endian 32-bit
+-- integers): hourly rows ('H') with 60 per-minute slots, daily rows ('D') with 24 per-hour slots.
+-- A time series query reads a primary key range instead of aggregating raw click rows.
+
+CREATE TABLE IF NOT EXISTS precis.traffic_rollup (
+    short_url VARCHAR(8) NOT NULL,
+    granularity CHAR(1) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    counts BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (short_url, granularity, bucket_start)
+);
+
+-- Supports pruning of rows past the query window
+CREATE INDEX IF NOT EXISTS idx_traffic_rollup_bucket_start ON precis.traffic_rollup(granularity, bucket_start);
+
+COMMENT ON TABLE precis.traffic_rollup IS 'Rolled-up per short URL traffic counts';
+COMMENT ON COLUMN precis.traffic_rollup.short_url IS 'Short URL identifier';
+COMMENT ON COLUMN precis.traffic_rollup.granularity IS 'H = hourly row of minute slots, D = daily row of hour slots';
+COMMENT ON COLUMN precis.traffic_rollup.bucket_start IS 'UTC start of the hour or day covered by the row';
+COMMENT ON COLUMN precis.traffic_rollup.counts IS 'Packed big-endian 32-bit slot counts';
+COMMENT ON COLUMN precis.traffic_rollup.updated_at IS 'Timestamp of the last flush touching this row';
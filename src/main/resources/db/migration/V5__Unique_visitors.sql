@@ -0,0 +1,20 @@
+-- Per short URL unique visitor sketches
+-- One HyperLogLog sketch (4096 one-byte registers) per link and UTC day. Sketches from several
+-- nodes are merged by register-wise maximum; a range estimate merges the daily sketches.
+
+CREATE TABLE IF NOT EXISTS precis.unique_visitors (
+    short_url VARCHAR(8) NOT NULL,
+    bucket_day DATE NOT NULL,
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (short_url, bucket_day)
+);
+
+-- Supports pruning of days past the retention window
+CREATE INDEX IF NOT EXISTS idx_unique_visitors_bucket_day ON precis.unique_visitors(bucket_day);
+
+COMMENT ON TABLE precis.unique_visitors IS 'Daily HyperLogLog sketches of visitor fingerprints per short URL';
+COMMENT ON COLUMN precis.unique_visitors.short_url IS 'Short URL identifier';
+COMMENT ON COLUMN precis.unique_visitors.bucket_day IS 'UTC day covered by the sketch';
+COMMENT ON COLUMN precis.unique_visitors.sketch IS 'HyperLogLog registers (precision 12)';
+COMMENT ON COLUMN precis.unique_visitors.updated_at IS 'Timestamp of the last flush touching this row';
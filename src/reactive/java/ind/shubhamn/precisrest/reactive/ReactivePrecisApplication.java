@@ -0,0 +1,57 @@
+package ind.shubhamn.precisrest.reactive;
+
+import ind.shubhamn.precisrest.cache.CacheInvalidationListener;
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.config.DatabaseConfig;
+import ind.shubhamn.precisrest.mapper.UrlMapper;
+import ind.shubhamn.precisrest.service.UrlCanonicalizer;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Entry point of the non-blocking variant: the same {@code app/rest} API served by WebFlux on
+ * Netty, reading and writing {@code precis.url_shorten} through R2DBC.
+ *
+ * <p>Only this package is component-scanned. Configuration, DTOs, validation, the mapper, long URL
+ * canonicalization and the local URL cache are shared with the servlet application; its
+ * controllers, JPA repositories, click analytics and the blocking Redis cache tier are not part of
+ * this variant.
+ */
+@SpringBootApplication
+@EnableScheduling
+@Import({
+    DatabaseConfig.class,
+    CacheConfig.class,
+    CanonicalizationConfig.class,
+    UrlCanonicalizer.class
+})
+public class ReactivePrecisApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactivePrecisApplication.class, args);
+    }
+
+    @Bean
+    public UrlMapper urlMapper() {
+        return Mappers.getMapper(UrlMapper.class);
+    }
+
+    @Bean
+    public UrlCache urlCache(CacheConfig cacheConfig) {
+        // Local tier only: a shared-tier lookup is a blocking socket read on the event loop
+        return new UrlCache(cacheConfig, null);
+    }
+
+    @Bean
+    public CacheInvalidationListener cacheInvalidationListener(
+            CacheConfig cacheConfig, DatabaseConfig databaseConfig, UrlCache urlCache) {
+        // Runs on its own thread over JDBC, so it stays off the event loop
+        return new CacheInvalidationListener(cacheConfig, databaseConfig, urlCache);
+    }
+}
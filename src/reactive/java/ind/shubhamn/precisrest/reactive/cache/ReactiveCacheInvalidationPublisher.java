@@ -0,0 +1,69 @@
+package ind.shubhamn.precisrest.reactive.cache;
+
+import ind.shubhamn.precisrest.cache.CacheInvalidationPublisher;
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC twin of {@link CacheInvalidationPublisher}: same outbox table, channel and payload format,
+ * so servlet and reactive nodes evict each other's stale entries. The outbox insert and the {@code
+ * NOTIFY} are one statement, and run in the caller's transaction when there is one.
+ */
+@Component
+public class ReactiveCacheInvalidationPublisher {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ReactiveCacheInvalidationPublisher.class);
+
+    static final String PUBLISH_SQL =
+            "WITH outbox AS (INSERT INTO precis.cache_invalidation (short_url)"
+                    + " VALUES (:shortUrl) RETURNING id)"
+                    + " SELECT pg_notify(:channel, id || ':' || :shortUrl) FROM outbox";
+
+    private static final String PRUNE_SQL =
+            "DELETE FROM precis.cache_invalidation WHERE created_at < :cutoff";
+
+    @Autowired private DatabaseClient databaseClient;
+
+    @Autowired private CacheConfig cacheConfig;
+
+    /**
+     * Records an invalidation for the given short URL and notifies listening nodes.
+     *
+     * @param shortUrl The short URL whose cached copies are stale
+     * @return completes once the statement has run
+     */
+    public Mono<Void> publish(String shortUrl) {
+        logger.debug("Publishing cache invalidation for: {}", shortUrl);
+        return databaseClient
+                .sql(PUBLISH_SQL)
+                .bind("shortUrl", shortUrl)
+                .bind("channel", CacheInvalidationPublisher.CHANNEL)
+                .then();
+    }
+
+    /** Deletes outbox rows older than the retention window; listeners replay only within it. */
+    @Scheduled(fixedDelayString = "${cache.invalidation.prune-interval-millis:300000}")
+    public Mono<Void> prune() {
+        long retentionMinutes = cacheConfig.getInvalidation().getRetentionMinutes();
+        return databaseClient
+                .sql(PRUNE_SQL)
+                .bind("cutoff", LocalDateTime.now().minusMinutes(retentionMinutes))
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(
+                        deleted -> {
+                            if (deleted > 0) {
+                                logger.debug("Pruned {} cache invalidation outbox rows", deleted);
+                            }
+                        })
+                .then();
+    }
+}
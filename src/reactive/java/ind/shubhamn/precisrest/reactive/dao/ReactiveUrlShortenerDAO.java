@@ -0,0 +1,102 @@
+package ind.shubhamn.precisrest.reactive.dao;
+
+import ind.shubhamn.precisrest.model.UrlMapping;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to {@code precis.url_shorten}. Rows are mapped straight into {@link UrlMapping};
+ * there is no entity or persistence context on this side.
+ *
+ * <p>Writes are single statements returning the stored row, so a shorten costs one round trip
+ * instead of the servlet side's lookup plus merge. The SQL is PostgreSQL-specific ({@code ON
+ * CONFLICT ... RETURNING}).
+ */
+@Repository
+public class ReactiveUrlShortenerDAO {
+
+    static final String FIND_BY_SHORT_URL_SQL =
+            "SELECT short_url, long_url, created_at, expires_at"
+                    + " FROM precis.url_shorten WHERE short_url = :shortUrl";
+
+    /**
+     * Mirrors the servlet side's merge: an existing row with the same long URL keeps its {@code
+     * created_at} and loses its expiry; one with a different long URL is not updated and returns
+     * nothing.
+     */
+    static final String UPSERT_SQL =
+            "INSERT INTO precis.url_shorten AS u (short_url, long_url, created_at)"
+                    + " VALUES (:shortUrl, :longUrl, :createdAt)"
+                    + " ON CONFLICT (short_url) DO UPDATE SET expires_at = NULL"
+                    + " WHERE u.long_url = EXCLUDED.long_url"
+                    + " RETURNING short_url, long_url, created_at, expires_at";
+
+    static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO precis.url_shorten (short_url, long_url, created_at)"
+                    + " VALUES (:shortUrl, :longUrl, :createdAt)"
+                    + " ON CONFLICT (short_url) DO NOTHING"
+                    + " RETURNING short_url, long_url, created_at, expires_at";
+
+    @Autowired private DatabaseClient databaseClient;
+
+    /**
+     * @param shortUrl The short URL identifier
+     * @return the mapping, or empty if no row exists
+     */
+    public Mono<UrlMapping> findByShortUrl(String shortUrl) {
+        return databaseClient
+                .sql(FIND_BY_SHORT_URL_SQL)
+                .bind("shortUrl", shortUrl)
+                .map(ReactiveUrlShortenerDAO::mapRow)
+                .one();
+    }
+
+    /**
+     * Stores a mapping, or renews the existing row with the same short URL. A row that maps the
+     * short URL to a different long URL is left as it is, so a link already handed out keeps its
+     * target; the caller decides whether that row is another spelling of its URL or a squatted
+     * code to probe past.
+     *
+     * @param shortUrl The short URL identifier
+     * @param longUrl The original long URL
+     * @return the stored row, or the existing one if it maps to a different long URL
+     */
+    public Mono<UrlMapping> upsert(String shortUrl, String longUrl) {
+        return write(UPSERT_SQL, shortUrl, longUrl)
+                .switchIfEmpty(Mono.defer(() -> findByShortUrl(shortUrl)));
+    }
+
+    /**
+     * Stores a mapping unless the short URL is already taken. Atomic, unlike a lookup followed by
+     * an insert.
+     *
+     * @param shortUrl The short URL identifier
+     * @param longUrl The original long URL
+     * @return the stored row, or empty if the short URL was already in use
+     */
+    public Mono<UrlMapping> insertIfAbsent(String shortUrl, String longUrl) {
+        return write(INSERT_IF_ABSENT_SQL, shortUrl, longUrl);
+    }
+
+    private Mono<UrlMapping> write(String sql, String shortUrl, String longUrl) {
+        return databaseClient
+                .sql(sql)
+                .bind("shortUrl", shortUrl)
+                .bind("longUrl", longUrl)
+                .bind("createdAt", LocalDateTime.now())
+                .map(ReactiveUrlShortenerDAO::mapRow)
+                .one();
+    }
+
+    static UrlMapping mapRow(Readable row) {
+        return new UrlMapping(
+                row.get(0, String.class),
+                row.get(1, String.class),
+                row.get(2, LocalDateTime.class),
+                row.get(3, LocalDateTime.class));
+    }
+}
@@ -0,0 +1,90 @@
+package ind.shubhamn.precisrest.reactive.dao.config;
+
+import ind.shubhamn.precisrest.dao.config.DatabaseConfig;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC counterpart of the servlet application's {@code JpaConfiguration}, driven by the same
+ * {@code database.*} settings. The JDBC URL is rewritten to its {@code r2dbc:} form.
+ */
+@Configuration
+public class R2dbcConfiguration {
+
+    @Autowired private DatabaseConfig databaseConfig;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        ConnectionFactoryOptions options =
+                ConnectionFactoryOptions.parse(toR2dbcUrl(databaseConfig.getUrl()))
+                        .mutate()
+                        .option(ConnectionFactoryOptions.USER, databaseConfig.getUsername())
+                        .option(ConnectionFactoryOptions.PASSWORD, databaseConfig.getPassword())
+                        .build();
+        // Requests queue for a connection instead of holding a thread, so the pool's acquire
+        // timeout is what bounds the wait; it plays the part of the servlet side's bulkhead
+        ConnectionPoolConfiguration configuration =
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                        .name("precis-r2dbc-pool")
+                        .maxSize(databaseConfig.getMaximumPoolSize())
+                        .maxAcquireTime(
+                                Duration.ofMillis(databaseConfig.getBulkheadTimeoutMillis()))
+                        .build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public ReactiveTransactionManager transactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(
+            ReactiveTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+
+    /** Same migrations as the servlet application; Flyway itself only speaks JDBC. */
+    @Bean(initMethod = "migrate")
+    public Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(
+                        databaseConfig.getUrl(),
+                        databaseConfig.getUsername(),
+                        databaseConfig.getPassword())
+                .locations("classpath:db/migration")
+                .schemas("precis")
+                .defaultSchema("precis")
+                .baselineOnMigrate(true)
+                .validateOnMigrate(true)
+                .load();
+    }
+
+    /**
+     * @param jdbcUrl a {@code jdbc:<driver>:...} URL
+     * @return the equivalent {@code r2dbc:<driver>:...} URL
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalArgumentException("Not a JDBC URL: " + jdbcUrl);
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+}
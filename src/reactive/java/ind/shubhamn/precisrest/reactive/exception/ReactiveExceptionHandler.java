@@ -0,0 +1,140 @@
+package ind.shubhamn.precisrest.reactive.exception;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.dto.ErrorResponse;
+import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.rest.ResponseEntityHelper;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+/**
+ * Maps errors from the reactive handlers to the same status codes, error codes and {@link
+ * ErrorResponse} bodies as the servlet application's {@code GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Handles ShortUrlAlreadyExistsException when a custom alias is already in use.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse and HTTP 409 Conflict status
+     */
+    @ExceptionHandler(ShortUrlAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleShortUrlAlreadyExists(
+            ShortUrlAlreadyExistsException ex) {
+        logger.debug("Custom alias conflict detected: {}", ex.getMessage());
+        return ResponseEntityHelper.failureResponseEntity(
+                ex, ErrorCodes.ALIAS_ALREADY_EXISTS, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles validation failures of {@code @Valid} request bodies.
+     *
+     * @param ex The validation exception
+     * @return ResponseEntity with ErrorResponse and HTTP 400 Bad Request status
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
+        StringBuilder message = new StringBuilder("Validation failed: ");
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            message.append(error.getField())
+                    .append(" - ")
+                    .append(error.getDefaultMessage())
+                    .append("; ");
+        }
+        logger.debug("Validation failed for request: {}", message);
+        return ResponseEntityHelper.failureResponseEntity(
+                ErrorCodes.VALIDATION_ERROR, message.toString(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles ShortUrlNotFoundException when a short URL is unknown.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse and HTTP 404 Not Found status
+     */
+    @ExceptionHandler(ShortUrlNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleShortUrlNotFound(ShortUrlNotFoundException ex) {
+        logger.debug("Short URL not found: {}", ex.getMessage());
+        return ResponseEntityHelper.failureResponseEntity(
+                ex, ErrorCodes.NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles NoSuchElementException when a requested resource is not found.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse and HTTP 404 Not Found status
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ErrorResponse> handleNoSuchElementException(NoSuchElementException ex) {
+        logger.debug("Resource not found: {}", ex.getMessage());
+        return ResponseEntityHelper.failureResponseEntity(
+                ex, ErrorCodes.NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles failures to obtain a connection. When the pool's acquire timeout expired the
+     * database is saturated, which is answered like a bulkhead rejection on the servlet side.
+     *
+     * @param ex The exception
+     * @return HTTP 503 with a Retry-After header if the pool was exhausted, otherwise HTTP 500
+     */
+    @ExceptionHandler({
+        DataAccessResourceFailureException.class,
+        CannotCreateTransactionException.class
+    })
+    public ResponseEntity<ErrorResponse> handleConnectionFailure(Exception ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcTimeoutException) {
+                logger.warn("Database saturated, returning 503 Service Unavailable");
+                ResponseEntity<ErrorResponse> response =
+                        ResponseEntityHelper.failureResponseEntity(
+                                ErrorCodes.SERVICE_UNAVAILABLE,
+                                "No database connection available, please retry",
+                                HttpStatus.SERVICE_UNAVAILABLE);
+                return ResponseEntity.status(response.getStatusCode())
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .body(response.getBody());
+            }
+        }
+        return handleGenericException(ex);
+    }
+
+    /**
+     * Handles all other uncaught exceptions.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with ErrorResponse and HTTP 500 Internal Server Error status
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        logger.error(
+                "Unhandled exception occurred: errorCode={}, exceptionType={}, message={}",
+                ErrorCodes.INTERNAL_SERVER_ERROR,
+                ex.getClass().getName(),
+                ex.getMessage(),
+                ex);
+        return ResponseEntityHelper.failureResponseEntity(
+                ErrorCodes.INTERNAL_SERVER_ERROR,
+                "An unexpected error occurred: " + ex.getMessage(),
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,61 @@
+package ind.shubhamn.precisrest.reactive.rest;
+
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import ind.shubhamn.precisrest.mapper.UrlMapper;
+import ind.shubhamn.precisrest.reactive.service.ReactiveUrlShortenerService;
+import ind.shubhamn.precisrest.rest.ResponseEntityHelper;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handlers for the same endpoints, request and response bodies as the servlet
+ * application's {@code UrlShortenerController}. Handlers assemble a pipeline and return at once;
+ * nothing here may block the event loop. Exceptions are handled by ReactiveExceptionHandler.
+ */
+@RestController
+@RequestMapping("app/rest")
+public class ReactiveUrlShortenerController {
+
+    @Autowired private ReactiveUrlShortenerService urlShortenerService;
+
+    @Autowired private UrlMapper urlMapper;
+
+    /**
+     * Creates a shortened URL with optional custom alias.
+     *
+     * @param requestDto The request containing longUrl and optional customAlias
+     * @return the shortened URL details
+     */
+    @PostMapping(value = "shorten")
+    public Mono<ResponseEntity<ShortenUrlResponseDTO>> createShortenedUrl(
+            @Valid @RequestBody ShortenUrlRequestDTO requestDto) {
+        return urlShortenerService
+                .shortenUrl(requestDto.getLongUrl(), requestDto.getCustomAlias())
+                .map(urlMapper::toShortenUrlResponseDto)
+                .map(ResponseEntityHelper::successResponseEntity);
+    }
+
+    /**
+     * Retrieves the original long URL from a shortened URL.
+     *
+     * @param requestDto The request containing the short URL
+     * @return the long URL details
+     */
+    @PostMapping(value = "long")
+    public Mono<ResponseEntity<GetLongUrlResponseDTO>> getLongUrl(
+            @Valid @RequestBody GetLongUrlRequestDTO requestDto) {
+        return urlShortenerService
+                .getLongUrl(requestDto.getShortUrl())
+                .map(urlMapper::toGetLongUrlResponseDto)
+                .map(ResponseEntityHelper::successResponseEntity);
+    }
+}
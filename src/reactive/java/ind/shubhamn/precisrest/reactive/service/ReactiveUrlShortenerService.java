@@ -0,0 +1,129 @@
+package ind.shubhamn.precisrest.reactive.service;
+
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.reactive.cache.ReactiveCacheInvalidationPublisher;
+import ind.shubhamn.precisrest.reactive.dao.ReactiveUrlShortenerDAO;
+import ind.shubhamn.precisrest.service.ShortUrlGenerator;
+import ind.shubhamn.precisrest.service.UrlCanonicalizer;
+import ind.shubhamn.precisrest.service.UrlCanonicalizer.CanonicalUrl;
+import java.security.NoSuchAlgorithmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet application's {@code UrlShortenerService}. Long URLs go
+ * through the same {@link UrlCanonicalizer} and short URLs through the same {@link
+ * ShortUrlGenerator}, so both stacks agree on the code for a given long URL.
+ */
+@Service
+public class ReactiveUrlShortenerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUrlShortenerService.class);
+
+    @Autowired private ReactiveUrlShortenerDAO urlShortenerDAO;
+
+    @Autowired private ReactiveCacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Autowired private UrlCache urlCache;
+
+    @Autowired private TransactionalOperator transactionalOperator;
+
+    @Autowired private UrlCanonicalizer urlCanonicalizer;
+
+    /**
+     * Shortens a URL with a custom alias or a SHA-256 hash (auto-generated alias). The hash is
+     * taken over the canonical form of the URL, which is also what is stored unless the query was
+     * rewritten. A generated short URL whose row holds another spelling of the same URL is not
+     * retargeted; one whose row holds a different URL is skipped for the next {@link
+     * ShortUrlGenerator} attempt, as on the servlet side.
+     *
+     * @param longUrl The URL to shorten
+     * @param customAlias The custom alias to use as short URL (can be null for auto-generation)
+     * @return the stored mapping, or a {@link ShortUrlAlreadyExistsException} error if the custom
+     *     alias is already in use or every generated short URL is taken by a different URL
+     */
+    public Mono<UrlMapping> shortenUrl(String longUrl, String customAlias) {
+        CanonicalUrl canonical = urlCanonicalizer.canonicalize(longUrl);
+        String storedUrl = canonical.equivalent() ? canonical.value() : longUrl;
+        Mono<UrlMapping> write;
+        if (customAlias == null || customAlias.trim().isEmpty()) {
+            write = upsertGenerated(canonical, storedUrl, 0);
+        } else {
+            write =
+                    urlShortenerDAO
+                            .insertIfAbsent(customAlias, storedUrl)
+                            .switchIfEmpty(
+                                    Mono.error(
+                                            () -> new ShortUrlAlreadyExistsException(customAlias)));
+        }
+
+        // Other nodes may hold a stale copy if this write overwrote an existing mapping
+        return write.flatMap(
+                        saved ->
+                                cacheInvalidationPublisher
+                                        .publish(saved.shortUrl())
+                                        .thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                // Downstream of the transaction, so only committed mappings are cached
+                .doOnNext(
+                        saved -> {
+                            urlCache.put(saved);
+                            logger.info("Successfully saved shortened URL: {}", saved.shortUrl());
+                        });
+    }
+
+    private Mono<UrlMapping> upsertGenerated(
+            CanonicalUrl canonical, String storedUrl, int attempt) {
+        String shortUrl;
+        try {
+            shortUrl = ShortUrlGenerator.generate(canonical.value(), attempt);
+        } catch (NoSuchAlgorithmException e) {
+            return Mono.error(e);
+        }
+        logger.debug("Generated short URL: {}", shortUrl);
+        return urlShortenerDAO
+                .upsert(shortUrl, storedUrl)
+                .flatMap(
+                        row -> {
+                            if (row.longUrl().equals(storedUrl) || sameTarget(row, canonical)) {
+                                return Mono.just(row);
+                            }
+                            logger.warn(
+                                    "Short URL {} is taken by a different URL, probing on",
+                                    shortUrl);
+                            if (attempt + 1 == ShortUrlGenerator.MAX_ATTEMPTS) {
+                                return Mono.error(new ShortUrlAlreadyExistsException(shortUrl));
+                            }
+                            return upsertGenerated(canonical, storedUrl, attempt + 1);
+                        });
+    }
+
+    private boolean sameTarget(UrlMapping row, CanonicalUrl canonical) {
+        return urlCanonicalizer.canonicalize(row.longUrl()).value().equals(canonical.value());
+    }
+
+    /**
+     * Retrieves the original long URL from a short URL, checking the local URL cache first.
+     *
+     * @param shortUrl The short URL identifier
+     * @return the mapping, or a {@link ShortUrlNotFoundException} error if the short URL is unknown
+     */
+    public Mono<UrlMapping> getLongUrl(String shortUrl) {
+        UrlMapping cached = urlCache.getIfPresent(shortUrl);
+        if (cached != null) {
+            logger.debug("Cache hit for short URL: {}", shortUrl);
+            return Mono.just(cached);
+        }
+        return urlShortenerDAO
+                .findByShortUrl(shortUrl)
+                .doOnNext(urlCache::put)
+                .switchIfEmpty(Mono.error(ShortUrlNotFoundException::get));
+    }
+}
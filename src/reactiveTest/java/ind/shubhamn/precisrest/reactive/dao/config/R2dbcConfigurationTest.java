@@ -0,0 +1,28 @@
+package ind.shubhamn.precisrest.reactive.dao.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class R2dbcConfigurationTest {
+
+    @Test
+    public void toR2dbcUrlKeepsHostDatabaseAndParametersTest() {
+        // Act
+        String url =
+                R2dbcConfiguration.toR2dbcUrl(
+                        "jdbc:postgresql://db.internal:5433/precis?sslmode=require");
+
+        // Assert
+        assertEquals("r2dbc:postgresql://db.internal:5433/precis?sslmode=require", url);
+    }
+
+    @Test
+    public void toR2dbcUrlRejectsNonJdbcUrlTest() {
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> R2dbcConfiguration.toR2dbcUrl("postgresql://localhost/precis"));
+        assertThrows(IllegalArgumentException.class, () -> R2dbcConfiguration.toR2dbcUrl(null));
+    }
+}
@@ -0,0 +1,170 @@
+package ind.shubhamn.precisrest.reactive.rest;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.mapper.UrlMapper;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.reactive.exception.ReactiveExceptionHandler;
+import ind.shubhamn.precisrest.reactive.service.ReactiveUrlShortenerService;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUrlShortenerControllerTest {
+
+    @Mock private ReactiveUrlShortenerService urlShortenerService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReactiveUrlShortenerController controller = new ReactiveUrlShortenerController();
+        ReflectionTestUtils.setField(controller, "urlShortenerService", urlShortenerService);
+        ReflectionTestUtils.setField(controller, "urlMapper", Mappers.getMapper(UrlMapper.class));
+        webTestClient =
+                WebTestClient.bindToController(controller)
+                        .controllerAdvice(new ReactiveExceptionHandler())
+                        .build();
+    }
+
+    @Test
+    public void createShortenedUrlTest() {
+        // Arrange
+        UrlMapping stored =
+                new UrlMapping("JT0UJwME", "http://www.google.com", LocalDateTime.now(), null);
+        when(urlShortenerService.shortenUrl(anyString(), isNull())).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/shorten")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"longUrl\":\"http://www.google.com\"}")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.shortUrl")
+                .isEqualTo("JT0UJwME")
+                .jsonPath("$.longUrl")
+                .isEqualTo("http://www.google.com");
+    }
+
+    @Test
+    public void createShortenedUrlWithInvalidUrlTest() {
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/shorten")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"longUrl\":\"javascript:alert(1)\"}")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo(ErrorCodes.VALIDATION_ERROR);
+    }
+
+    @Test
+    public void createShortenedUrlWithTakenAliasTest() {
+        // Arrange
+        when(urlShortenerService.shortenUrl(anyString(), anyString()))
+                .thenReturn(Mono.error(new ShortUrlAlreadyExistsException("taken")));
+
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/shorten")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"longUrl\":\"https://www.example.com\",\"customAlias\":\"taken\"}")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo(ErrorCodes.ALIAS_ALREADY_EXISTS);
+    }
+
+    @Test
+    public void getLongUrlTest() {
+        // Arrange
+        UrlMapping stored = new UrlMapping("abc123", "https://www.example.com", null, null);
+        when(urlShortenerService.getLongUrl("abc123")).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/long")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"shortUrl\":\"abc123\"}")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.longUrl")
+                .isEqualTo("https://www.example.com");
+    }
+
+    @Test
+    public void getLongUrlNotFoundTest() {
+        // Arrange
+        when(urlShortenerService.getLongUrl("missing"))
+                .thenReturn(Mono.error(ShortUrlNotFoundException.get()));
+
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/long")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"shortUrl\":\"missing\"}")
+                .exchange()
+                .expectStatus()
+                .isNotFound()
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo(ErrorCodes.NOT_FOUND);
+    }
+
+    @Test
+    public void getLongUrlWhenPoolExhaustedTest() {
+        // Arrange
+        when(urlShortenerService.getLongUrl("abc123"))
+                .thenReturn(
+                        Mono.error(
+                                new DataAccessResourceFailureException(
+                                        "Failed to obtain R2DBC Connection",
+                                        new R2dbcTimeoutException("acquire timed out"))));
+
+        // Act & Assert
+        webTestClient
+                .post()
+                .uri("/app/rest/long")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"shortUrl\":\"abc123\"}")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(503)
+                .expectHeader()
+                .valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo(ErrorCodes.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,189 @@
+package ind.shubhamn.precisrest.reactive.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.reactive.cache.ReactiveCacheInvalidationPublisher;
+import ind.shubhamn.precisrest.reactive.dao.ReactiveUrlShortenerDAO;
+import ind.shubhamn.precisrest.service.UrlCanonicalizer;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ReactiveUrlShortenerServiceTest {
+
+    @InjectMocks private ReactiveUrlShortenerService urlShortenerService;
+
+    @Mock private ReactiveUrlShortenerDAO urlShortenerDAO;
+
+    @Mock private ReactiveCacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Mock private UrlCache urlCache;
+
+    @Mock private TransactionalOperator transactionalOperator;
+
+    @Spy
+    private UrlCanonicalizer urlCanonicalizer =
+            new UrlCanonicalizer(new CanonicalizationConfig());
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<UrlMapping>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheInvalidationPublisher.publish(anyString())).thenReturn(Mono.empty());
+        when(urlShortenerDAO.upsert(anyString(), anyString()))
+                .thenAnswer(
+                        invocation ->
+                                Mono.just(
+                                        new UrlMapping(
+                                                invocation.getArgument(0),
+                                                invocation.getArgument(1),
+                                                LocalDateTime.now(),
+                                                null)));
+    }
+
+    @Test
+    public void shortenUrlMatchesServletShortUrlTest() {
+        // Arrange
+        String longUrl = "http://www.google.com/";
+
+        // Act & Assert: the code the servlet service derives for the same URL
+        StepVerifier.create(urlShortenerService.shortenUrl(longUrl, null))
+                .assertNext(
+                        mapping -> {
+                            assertEquals("3QFK9e1r", mapping.shortUrl());
+                            assertEquals(longUrl, mapping.longUrl());
+                        })
+                .verifyComplete();
+        verify(urlShortenerDAO).upsert(eq("3QFK9e1r"), eq(longUrl));
+    }
+
+    @Test
+    public void shortenUrlMatchesServletShortUrlForNonCanonicalUrlTest() {
+        // Act & Assert: the code and stored URL of the servlet service for the same spelling
+        StepVerifier.create(urlShortenerService.shortenUrl("HTTP://Example.COM:80/%7Ea", null))
+                .assertNext(
+                        mapping -> {
+                            assertEquals("7BeVd3DS", mapping.shortUrl());
+                            assertEquals("http://example.com/~a", mapping.longUrl());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    public void shortenUrlProbesPastSquattedAliasTest() {
+        // Arrange: the victim URL's first code registered as a custom alias for another URL
+        String victim = "https://victim.example/pay";
+        UrlMapping squatted =
+                new UrlMapping("K2u95Q5L", "https://evil.example/", LocalDateTime.now(), null);
+        when(urlShortenerDAO.upsert("K2u95Q5L", victim)).thenReturn(Mono.just(squatted));
+
+        // Act & Assert: the servlet service's second code for the same URL
+        StepVerifier.create(urlShortenerService.shortenUrl(victim, null))
+                .assertNext(
+                        mapping -> {
+                            assertEquals("LQ0dzRkg", mapping.shortUrl());
+                            assertEquals(victim, mapping.longUrl());
+                        })
+                .verifyComplete();
+        verify(cacheInvalidationPublisher, never()).publish("K2u95Q5L");
+    }
+
+    @Test
+    public void shortenUrlPublishesInvalidationAndCachesTest() {
+        // Arrange
+        String longUrl = "https://www.example.com/";
+
+        // Act
+        UrlMapping saved = urlShortenerService.shortenUrl(longUrl, null).block();
+
+        // Assert
+        assertNotNull(saved);
+        verify(cacheInvalidationPublisher).publish(saved.shortUrl());
+        verify(urlCache).put(saved);
+    }
+
+    @Test
+    public void shortenUrlWithCustomAliasTest() {
+        // Arrange
+        String longUrl = "https://www.example.com/";
+        UrlMapping stored = new UrlMapping("my-link", longUrl, LocalDateTime.now(), null);
+        when(urlShortenerDAO.insertIfAbsent("my-link", longUrl)).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        StepVerifier.create(urlShortenerService.shortenUrl(longUrl, "my-link"))
+                .expectNext(stored)
+                .verifyComplete();
+        verify(urlShortenerDAO, never()).upsert(anyString(), anyString());
+    }
+
+    @Test
+    public void shortenUrlWithTakenCustomAliasTest() {
+        // Arrange
+        when(urlShortenerDAO.insertIfAbsent("taken", "https://www.example.com/"))
+                .thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(urlShortenerService.shortenUrl("https://www.example.com/", "taken"))
+                .expectError(ShortUrlAlreadyExistsException.class)
+                .verify();
+        verify(cacheInvalidationPublisher, never()).publish(anyString());
+        verify(urlCache, never()).put(any(UrlMapping.class));
+    }
+
+    @Test
+    public void getLongUrlFromCacheTest() {
+        // Arrange
+        UrlMapping cached = new UrlMapping("abc123", "https://www.example.com/", null, null);
+        when(urlCache.getIfPresent("abc123")).thenReturn(cached);
+
+        // Act & Assert
+        StepVerifier.create(urlShortenerService.getLongUrl("abc123"))
+                .expectNext(cached)
+                .verifyComplete();
+        verify(urlShortenerDAO, never()).findByShortUrl(anyString());
+    }
+
+    @Test
+    public void getLongUrlFromDatabaseCachesResultTest() {
+        // Arrange
+        UrlMapping stored = new UrlMapping("abc123", "https://www.example.com/", null, null);
+        when(urlShortenerDAO.findByShortUrl("abc123")).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        StepVerifier.create(urlShortenerService.getLongUrl("abc123"))
+                .expectNext(stored)
+                .verifyComplete();
+        verify(urlCache).put(stored);
+    }
+
+    @Test
+    public void getLongUrlNotFoundTest() {
+        // Arrange
+        when(urlShortenerDAO.findByShortUrl("missing")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(urlShortenerService.getLongUrl("missing"))
+                .expectErrorMatches(error -> error == ShortUrlNotFoundException.get())
+                .verify();
+    }
+}
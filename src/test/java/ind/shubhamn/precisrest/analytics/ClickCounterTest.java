@@ -0,0 +1,140 @@
+package ind.shubhamn.precisrest.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ind.shubhamn.precisrest.dao.ClickCountDAO;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+public class ClickCounterTest {
+
+    @InjectMocks private ClickCounter clickCounter;
+
+    @Mock private ClickCountDAO clickCountDAO;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void flushWritesDeltasInOneBatch() {
+        // Arrange
+        clickCounter.record("abc");
+        clickCounter.record("abc");
+        clickCounter.record("xyz");
+
+        // Act
+        clickCounter.flush();
+
+        // Assert
+        verify(clickCountDAO).addClicks(Map.of("abc", 2L, "xyz", 1L));
+    }
+
+    @Test
+    public void flushSkipsAndEvictsIdleCounters() {
+        // Arrange
+        clickCounter.record("abc");
+        clickCounter.flush();
+
+        // Act: nothing recorded since the last flush
+        clickCounter.flush();
+
+        // Assert
+        verify(clickCountDAO).addClicks(Map.of("abc", 1L));
+        assertEquals(0, clickCounter.pendingSize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clickRacingIdleEvictionIsNotLost() throws Exception {
+        // Arrange
+        int clicks = 2_000;
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(
+                        invocation -> {
+                            ((Map<String, Long>) invocation.getArgument(0))
+                                    .values()
+                                    .forEach(flushed::addAndGet);
+                            return null;
+                        })
+                .when(clickCountDAO)
+                .addClicks(any());
+        ExecutorService clickThread = Executors.newSingleThreadExecutor();
+
+        // Act: each click lands while a flush finds its counter idle and evicts it
+        try {
+            for (int i = 0; i < clicks; i++) {
+                clickCounter.record("abc");
+                clickCounter.flush();
+                CountDownLatch started = new CountDownLatch(1);
+                Future<?> clicked =
+                        clickThread.submit(
+                                () -> {
+                                    started.countDown();
+                                    clickCounter.record("abc");
+                                });
+                started.await();
+                clickCounter.flush();
+                clicked.get();
+            }
+            clickCounter.flush();
+        } finally {
+            clickThread.shutdown();
+        }
+
+        // Assert
+        assertEquals(2L * clicks, flushed.get());
+    }
+
+    @Test
+    public void failedFlushKeepsDeltasForNextFlush() {
+        // Arrange
+        clickCounter.record("abc");
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(clickCountDAO)
+                .addClicks(Map.of("abc", 1L));
+        clickCounter.flush();
+        clickCounter.record("abc");
+        doThrow(new DataAccessResourceFailureException("still down"))
+                .when(clickCountDAO)
+                .addClicks(any());
+
+        // Act
+        clickCounter.flush();
+
+        // Assert
+        verify(clickCountDAO).addClicks(Map.of("abc", 2L));
+    }
+
+    @Test
+    public void getClicksMergesPersistedAndPending() {
+        // Arrange
+        when(clickCountDAO.findClicks("abc")).thenReturn(40L);
+        clickCounter.record("abc");
+        clickCounter.record("abc");
+
+        // Act
+        long clicks = clickCounter.getClicks("abc");
+
+        // Assert
+        assertEquals(42, clicks);
+        verify(clickCountDAO, never()).addClicks(any());
+    }
+}
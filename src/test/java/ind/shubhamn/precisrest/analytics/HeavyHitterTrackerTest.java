@@ -0,0 +1,78 @@
+package ind.shubhamn.precisrest.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HeavyHitterTrackerTest {
+
+    private HeavyHitterTracker heavyHitterTracker;
+
+    @BeforeEach
+    public void setup() {
+        heavyHitterTracker = new HeavyHitterTracker(3, 60_000);
+    }
+
+    @Test
+    public void skewedStreamRanksHeavyHittersFirst() {
+        // Arrange: three hot links over a long tail of one-off resolutions
+        for (int i = 0; i < 2_000; i++) {
+            heavyHitterTracker.record("tail" + i);
+            if (i % 2 == 0) {
+                heavyHitterTracker.record("hot1");
+            }
+            if (i % 4 == 0) {
+                heavyHitterTracker.record("hot2");
+            }
+            if (i % 8 == 0) {
+                heavyHitterTracker.record("hot3");
+            }
+        }
+
+        // Act
+        List<HotLink> top = heavyHitterTracker.topK();
+
+        // Assert
+        assertEquals(
+                List.of("hot1", "hot2", "hot3"), top.stream().map(HotLink::shortUrl).toList());
+        assertTrue(top.get(0).estimatedCount() >= 1_000);
+        assertTrue(top.get(0).ratePerSecond() > 0);
+    }
+
+    @Test
+    public void topKHonoursLimit() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            heavyHitterTracker.record("a");
+        }
+        heavyHitterTracker.record("b");
+
+        // Act
+        List<HotLink> top = heavyHitterTracker.topK(1);
+
+        // Assert
+        assertEquals(1, top.size());
+        assertEquals("a", top.get(0).shortUrl());
+        assertEquals(10, top.get(0).estimatedCount());
+    }
+
+    @Test
+    public void rotationDropsLinksThatWentQuiet() {
+        // Arrange
+        heavyHitterTracker.record("quiet");
+        heavyHitterTracker.record("busy");
+
+        // Act: "quiet" sees no traffic for two whole windows
+        heavyHitterTracker.rotate();
+        heavyHitterTracker.record("busy");
+        heavyHitterTracker.rotate();
+
+        // Assert
+        List<HotLink> top = heavyHitterTracker.topK();
+        assertEquals(List.of("busy"), top.stream().map(HotLink::shortUrl).toList());
+        assertEquals(1, heavyHitterTracker.estimate("busy"));
+        assertEquals(0, heavyHitterTracker.estimate("quiet"));
+    }
+}
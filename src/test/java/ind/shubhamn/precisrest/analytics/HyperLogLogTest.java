@@ -0,0 +1,67 @@
+package ind.shubhamn.precisrest.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void estimateIsWithinErrorBounds() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act: every visitor twice
+        for (int i = 0; i < 200_000; i++) {
+            long fingerprint = VisitorFingerprint.of("10.0." + (i >> 8) + "." + (i & 255), "UA");
+            sketch.add(fingerprint);
+            sketch.add(fingerprint);
+        }
+
+        // Assert: 5% is three standard errors
+        long estimate = sketch.estimate();
+        assertTrue(Math.abs(estimate - 200_000) < 10_000, "estimate was " + estimate);
+    }
+
+    @Test
+    public void smallCardinalitiesAreExact() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            sketch.add(VisitorFingerprint.of("192.168.0." + i, null));
+        }
+
+        // Assert
+        assertEquals(20, sketch.estimate());
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    public void mergeEstimatesTheUnionAndIsIdempotent() {
+        // Arrange
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            first.add(VisitorFingerprint.of("a" + i, null));
+            second.add(VisitorFingerprint.of("a" + (i + 25_000), null));
+        }
+
+        // Act: merge the persisted form twice
+        byte[] persisted = second.toByteArray();
+        first.merge(HyperLogLog.fromByteArray(persisted));
+        long once = first.estimate();
+        first.merge(HyperLogLog.fromByteArray(persisted));
+
+        // Assert
+        assertEquals(HyperLogLog.REGISTERS, persisted.length);
+        assertTrue(Math.abs(once - 75_000) < 3_750, "estimate was " + once);
+        assertEquals(once, first.estimate());
+    }
+
+    @Test
+    public void fromByteArrayRejectsWrongSize() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[16]));
+    }
+}
@@ -0,0 +1,242 @@
+package ind.shubhamn.precisrest.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ind.shubhamn.precisrest.dao.TrafficRollupDAO;
+import ind.shubhamn.precisrest.model.TrafficBucket;
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TrafficHistogramTest {
+
+    private static final long MINUTE = Instant.parse("2025-01-01T10:05:00Z").getEpochSecond() / 60;
+
+    @InjectMocks private TrafficHistogram trafficHistogram;
+
+    @Mock private TrafficRollupDAO trafficRollupDAO;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        at(MINUTE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushRollsCompletedMinutesIntoHourlyAndDailyRows() {
+        // Arrange
+        trafficHistogram.record("abc");
+        trafficHistogram.record("abc");
+        at(MINUTE + 1);
+        trafficHistogram.record("abc");
+        at(MINUTE + 2);
+
+        // Act
+        trafficHistogram.flush();
+
+        // Assert
+        ArgumentCaptor<Map<TrafficBucket, int[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(trafficRollupDAO).addCounts(captor.capture());
+        Map<TrafficBucket, int[]> deltas = captor.getValue();
+        assertEquals(2, deltas.size());
+        int[] hourly =
+                deltas.get(TrafficBucket.containing("abc", TrafficGranularity.MINUTE, MINUTE));
+        assertEquals(2, hourly[5]);
+        assertEquals(1, hourly[6]);
+        int[] daily = deltas.get(TrafficBucket.containing("abc", TrafficGranularity.HOUR, MINUTE));
+        assertEquals(3, daily[10]);
+    }
+
+    @Test
+    public void flushEvictsIdleLinks() {
+        // Arrange
+        trafficHistogram.record("abc");
+        at(MINUTE + 1);
+        trafficHistogram.record("xyz");
+
+        // Act
+        trafficHistogram.flush();
+
+        // Assert: "abc" is fully drained, "xyz" is still counting the current minute
+        assertEquals(1, trafficHistogram.activeLinks());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clickRacingIdleEvictionIsNotLost() throws Exception {
+        // Arrange
+        int clicks = 2_000;
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(
+                        invocation -> {
+                            ((Map<TrafficBucket, int[]>) invocation.getArgument(0))
+                                    .forEach(
+                                            (bucket, slots) -> {
+                                                if (bucket.granularity()
+                                                        == TrafficGranularity.MINUTE) {
+                                                    for (int count : slots) {
+                                                        flushed.addAndGet(count);
+                                                    }
+                                                }
+                                            });
+                            return null;
+                        })
+                .when(trafficRollupDAO)
+                .addCounts(any());
+        ExecutorService clickThread = Executors.newSingleThreadExecutor();
+
+        // Act: each click lands while a flush finds its link idle and evicts the ring
+        try {
+            for (int i = 0; i < clicks; i++) {
+                at(MINUTE + 2L * i);
+                trafficHistogram.record("abc");
+                at(MINUTE + 2L * i + 1);
+                CountDownLatch started = new CountDownLatch(1);
+                Future<?> clicked =
+                        clickThread.submit(
+                                () -> {
+                                    started.countDown();
+                                    trafficHistogram.record("abc");
+                                });
+                started.await();
+                trafficHistogram.flush();
+                clicked.get();
+            }
+            trafficHistogram.shutdown();
+        } finally {
+            clickThread.shutdown();
+        }
+
+        // Assert
+        assertEquals(2L * clicks, flushed.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failedFlushIsRetried() {
+        // Arrange
+        trafficHistogram.record("abc");
+        at(MINUTE + 1);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doNothing()
+                .when(trafficRollupDAO)
+                .addCounts(any());
+        trafficHistogram.flush();
+
+        // Act
+        trafficHistogram.flush();
+
+        // Assert
+        ArgumentCaptor<Map<TrafficBucket, int[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(trafficRollupDAO, times(2)).addCounts(captor.capture());
+        List<Map<TrafficBucket, int[]>> calls = captor.getAllValues();
+        assertEquals(2, calls.get(1).size());
+    }
+
+    @Test
+    public void seriesMergesPersistedRowsWithUndrainedMinutes() {
+        // Arrange
+        long hourStart = MINUTE - 5;
+        int[] persisted = new int[60];
+        persisted[0] = 4;
+        when(trafficRollupDAO.findRange(
+                        eq("abc"), eq(TrafficGranularity.MINUTE), anyLong(), anyLong()))
+                .thenReturn(Map.of(hourStart, persisted));
+        trafficHistogram.record("abc");
+        trafficHistogram.record("abc");
+
+        // Act
+        TrafficSeries series = trafficHistogram.getSeries("abc", TrafficGranularity.MINUTE);
+
+        // Assert
+        long[] counts = series.counts();
+        assertEquals(24 * 60, counts.length);
+        assertEquals(2, counts[counts.length - 1]);
+        assertEquals(4, counts[counts.length - 6]);
+        assertEquals(MINUTE - counts.length + 1, series.startMinute());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failedFlushDropsOldestRowsOverTheCap() {
+        // Arrange
+        ReflectionTestUtils.setField(trafficHistogram, "maxUnsavedRows", 2);
+        trafficHistogram.record("abc");
+        trafficHistogram.record("xyz");
+        at(MINUTE + 1);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doNothing()
+                .when(trafficRollupDAO)
+                .addCounts(any());
+        trafficHistogram.flush();
+
+        // Act
+        trafficHistogram.flush();
+
+        // Assert: the hourly rows end before the daily ones and go first
+        assertEquals(2, trafficHistogram.droppedRows());
+        ArgumentCaptor<Map<TrafficBucket, int[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(trafficRollupDAO, times(2)).addCounts(captor.capture());
+        Map<TrafficBucket, int[]> retried = captor.getAllValues().get(1);
+        assertEquals(2, retried.size());
+        assertTrue(
+                retried.containsKey(
+                        TrafficBucket.containing("abc", TrafficGranularity.HOUR, MINUTE)));
+        assertTrue(
+                retried.containsKey(
+                        TrafficBucket.containing("xyz", TrafficGranularity.HOUR, MINUTE)));
+    }
+
+    @Test
+    public void seriesIncludesUnsavedDeltas() {
+        // Arrange
+        trafficHistogram.record("abc");
+        trafficHistogram.record("abc");
+        at(MINUTE + 1);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(trafficRollupDAO)
+                .addCounts(any());
+        trafficHistogram.flush();
+        trafficHistogram.record("abc");
+
+        // Act
+        TrafficSeries minutes = trafficHistogram.getSeries("abc", TrafficGranularity.MINUTE);
+        TrafficSeries hours = trafficHistogram.getSeries("abc", TrafficGranularity.HOUR);
+
+        // Assert
+        long[] counts = minutes.counts();
+        assertEquals(2, counts[counts.length - 2]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(3, hours.counts()[hours.counts().length - 1]);
+    }
+
+    private void at(long minute) {
+        trafficHistogram.setClock(
+                Clock.fixed(Instant.ofEpochSecond(minute * 60 + 30), ZoneOffset.UTC));
+    }
+}
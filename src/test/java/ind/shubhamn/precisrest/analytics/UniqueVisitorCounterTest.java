@@ -0,0 +1,160 @@
+package ind.shubhamn.precisrest.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ind.shubhamn.precisrest.dao.UniqueVisitorDAO;
+import ind.shubhamn.precisrest.model.VisitorBucket;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class UniqueVisitorCounterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    @InjectMocks private UniqueVisitorCounter uniqueVisitorCounter;
+
+    @Mock private UniqueVisitorDAO uniqueVisitorDAO;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        uniqueVisitorCounter.setClock(
+                Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushSendsChangedSketchesThenDropsIdleOnes() {
+        // Arrange
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.of("10.0.0.1", "UA"));
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.UNKNOWN);
+
+        // Act
+        uniqueVisitorCounter.flush();
+        uniqueVisitorCounter.flush();
+
+        // Assert: sent once, then evicted because nothing changed
+        ArgumentCaptor<Map<VisitorBucket, byte[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(uniqueVisitorDAO, times(1)).mergeSketches(captor.capture());
+        byte[] sketch = captor.getValue().get(new VisitorBucket("abc", TODAY));
+        assertEquals(1, HyperLogLog.fromByteArray(sketch).estimate());
+        assertEquals(0, uniqueVisitorCounter.sketchCount());
+    }
+
+    @Test
+    public void estimateMergesPersistedAndPendingSketches() {
+        // Arrange
+        HyperLogLog persisted = new HyperLogLog();
+        persisted.add(VisitorFingerprint.of("10.0.0.1", "UA"));
+        persisted.add(VisitorFingerprint.of("10.0.0.2", "UA"));
+        when(uniqueVisitorDAO.findSketches("abc", TODAY.minusDays(6), TODAY))
+                .thenReturn(List.of(persisted.toByteArray()));
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.of("10.0.0.2", "UA"));
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.of("10.0.0.3", "UA"));
+
+        // Act
+        long estimate = uniqueVisitorCounter.estimate("abc", TODAY.minusDays(6), TODAY);
+
+        // Assert
+        assertEquals(3, estimate);
+        verify(uniqueVisitorDAO, never()).mergeSketches(any());
+    }
+
+    @Test
+    public void visitRacingIdleEvictionIsNotLost() throws Exception {
+        // Arrange
+        int visits = 2_000;
+        byte[] flushed = new byte[HyperLogLog.REGISTERS];
+        doAnswer(
+                        invocation -> {
+                            Map<VisitorBucket, byte[]> sketches = invocation.getArgument(0);
+                            sketches.values()
+                                    .forEach(sketch -> HyperLogLog.mergeRegisters(flushed, sketch));
+                            return null;
+                        })
+                .when(uniqueVisitorDAO)
+                .mergeSketches(any());
+        HyperLogLog expected = new HyperLogLog();
+        ExecutorService visitThread = Executors.newSingleThreadExecutor();
+
+        // Act: each visit lands while a flush finds the sketch idle and evicts it
+        try {
+            for (int i = 0; i < visits; i++) {
+                long persisted = VisitorFingerprint.of("10.0.0.1", "UA " + i);
+                long racing = VisitorFingerprint.of("10.0.0.2", "UA " + i);
+                expected.add(persisted);
+                expected.add(racing);
+                uniqueVisitorCounter.record("abc", persisted);
+                uniqueVisitorCounter.flush();
+                CountDownLatch started = new CountDownLatch(1);
+                Future<?> visited =
+                        visitThread.submit(
+                                () -> {
+                                    started.countDown();
+                                    uniqueVisitorCounter.record("abc", racing);
+                                });
+                started.await();
+                uniqueVisitorCounter.flush();
+                visited.get();
+            }
+            uniqueVisitorCounter.shutdown();
+        } finally {
+            visitThread.shutdown();
+        }
+
+        // Assert
+        assertArrayEquals(expected.toByteArray(), flushed);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failedFlushDropsOldestSketchesOverTheCap() {
+        // Arrange
+        ReflectionTestUtils.setField(uniqueVisitorCounter, "maxUnsavedSketches", 1);
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.of("10.0.0.1", "UA"));
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doThrow(new DataAccessResourceFailureException("down"))
+                .doNothing()
+                .when(uniqueVisitorDAO)
+                .mergeSketches(any());
+        uniqueVisitorCounter.flush();
+        uniqueVisitorCounter.setClock(
+                Clock.fixed(Instant.parse("2025-01-02T12:00:00Z"), ZoneOffset.UTC));
+        uniqueVisitorCounter.record("abc", VisitorFingerprint.of("10.0.0.2", "UA"));
+        uniqueVisitorCounter.flush();
+
+        // Act
+        uniqueVisitorCounter.flush();
+
+        // Assert: only the newer day is retried
+        assertEquals(1, uniqueVisitorCounter.droppedSketches());
+        ArgumentCaptor<Map<VisitorBucket, byte[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(uniqueVisitorDAO, times(3)).mergeSketches(captor.capture());
+        Map<VisitorBucket, byte[]> retried = captor.getAllValues().get(2);
+        assertEquals(1, retried.size());
+        assertTrue(retried.containsKey(new VisitorBucket("abc", TODAY.plusDays(1))));
+    }
+}
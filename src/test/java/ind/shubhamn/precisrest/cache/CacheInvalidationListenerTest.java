@@ -0,0 +1,89 @@
+package ind.shubhamn.precisrest.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.config.DatabaseConfig;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CacheInvalidationListenerTest {
+
+    @Autowired private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Autowired private DatabaseConfig databaseConfig;
+
+    @Autowired private DataSource dataSource;
+
+    @Test
+    public void parsePayloadCollectsShortUrlsAndReturnsHighestId() {
+        // Arrange
+        List<String> shortUrls = new ArrayList<>();
+
+        // Act
+        long maxId = CacheInvalidationListener.parsePayload("7:abc,12:x:y,bogus,9:def", shortUrls);
+
+        // Assert
+        assertEquals(12, maxId);
+        assertEquals(List.of("abc", "x:y", "def"), shortUrls);
+    }
+
+    @Test
+    public void reconnectReplaysPublishedInvalidations() throws Exception {
+        // Arrange
+        UrlCache urlCache = new UrlCache(100, 300, null);
+        CacheInvalidationListener listener = newListener(urlCache, 100);
+        try (Connection connection = dataSource.getConnection()) {
+            listener.resync(connection);
+            urlCache.putAll(List.of(mapping("stale-1"), mapping("stale-2"), mapping("fresh")));
+            listener.markDisconnected();
+            cacheInvalidationPublisher.publish(List.of("stale-1", "stale-2"));
+
+            // Act
+            listener.resync(connection);
+        }
+
+        // Assert
+        assertNull(urlCache.getIfPresent("stale-1"));
+        assertNull(urlCache.getIfPresent("stale-2"));
+        assertNotNull(urlCache.getIfPresent("fresh"));
+    }
+
+    @Test
+    public void reconnectAfterLongGapDropsWholeLocalCache() throws Exception {
+        // Arrange
+        UrlCache urlCache = new UrlCache(100, 300, null);
+        CacheInvalidationListener listener = newListener(urlCache, 1);
+        try (Connection connection = dataSource.getConnection()) {
+            listener.resync(connection);
+            urlCache.putAll(List.of(mapping("gap-1"), mapping("gap-2"), mapping("gap-3")));
+            listener.markDisconnected();
+            cacheInvalidationPublisher.publish(List.of("gap-1", "gap-2"));
+
+            // Act: two missed invalidations exceed maxReplay=1
+            listener.resync(connection);
+        }
+
+        // Assert
+        assertEquals(0, urlCache.localSize());
+    }
+
+    private CacheInvalidationListener newListener(UrlCache urlCache, int maxReplay) {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getInvalidation().setMaxReplay(maxReplay);
+        return new CacheInvalidationListener(cacheConfig, databaseConfig, urlCache);
+    }
+
+    private static UrlMapping mapping(String shortUrl) {
+        return new UrlMapping(shortUrl, "https://www.example.com/" + shortUrl, null, null);
+    }
+}
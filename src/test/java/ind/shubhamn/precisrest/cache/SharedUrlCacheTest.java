@@ -0,0 +1,133 @@
+package ind.shubhamn.precisrest.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.cache.resp.EmbeddedRespServer;
+import ind.shubhamn.precisrest.cache.resp.RespClient;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedUrlCacheTest {
+
+    private EmbeddedRespServer server;
+
+    private SharedUrlCache sharedUrlCache;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new EmbeddedRespServer();
+        sharedUrlCache =
+                new SharedUrlCache(
+                        new RespClient("localhost", server.getPort(), 1_000, 2, 4, 1_000),
+                        new CircuitBreaker(2, 60_000, 200),
+                        "precis:url:",
+                        3_600_000);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        sharedUrlCache.close();
+        server.close();
+    }
+
+    @Test
+    public void putThenGetRoundTripsAllFields() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_000);
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).withNano(0);
+        UrlMapping mapping =
+                new UrlMapping("abc123", "https://www.example.com/ü?q=1", createdAt, expiresAt);
+
+        // Act
+        sharedUrlCache.put(mapping);
+        UrlMapping result = sharedUrlCache.get("abc123");
+
+        // Assert
+        assertEquals(mapping, result);
+        assertNull(sharedUrlCache.get("missing"));
+    }
+
+    @Test
+    public void ttlIsDerivedFromExpiresAt() {
+        // Arrange
+        UrlMapping noExpiry = new UrlMapping("forever", "https://a.example", null, null);
+        UrlMapping soon =
+                new UrlMapping(
+                        "soon", "https://b.example", null, LocalDateTime.now().plusSeconds(60));
+        UrlMapping expired =
+                new UrlMapping(
+                        "gone", "https://c.example", null, LocalDateTime.now().minusSeconds(1));
+
+        // Act
+        sharedUrlCache.putAll(List.of(noExpiry, soon, expired));
+
+        // Assert
+        assertEquals(3_600_000L, (long) server.ttlOf("precis:url:forever"));
+        long soonTtl = server.ttlOf("precis:url:soon");
+        assertTrue(soonTtl > 55_000 && soonTtl <= 60_000, "ttl was " + soonTtl);
+        assertFalse(server.contains("precis:url:gone"));
+    }
+
+    @Test
+    public void getAllUsesPipelinedMultiGet() {
+        // Arrange
+        List<UrlMapping> mappings = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            mappings.add(new UrlMapping("c" + i, "https://example.com/" + i, null, null));
+            codes.add("c" + i);
+        }
+        codes.add("absent");
+        sharedUrlCache.putAll(mappings);
+        int commandsBefore = server.getCommandCount();
+
+        // Act
+        Map<String, UrlMapping> result = sharedUrlCache.getAll(codes);
+
+        // Assert
+        assertEquals(250, result.size());
+        assertEquals("https://example.com/42", result.get("c42").longUrl());
+        assertFalse(result.containsKey("absent"));
+        // 251 keys in chunks of 100 keys per MGET
+        assertEquals(3, server.getCommandCount() - commandsBefore);
+    }
+
+    @Test
+    public void slowCacheTripsCircuitBreakerAndReportsMisses() {
+        // Arrange
+        sharedUrlCache.put(new UrlMapping("slow", "https://slow.example", null, null));
+        server.setDelayMillis(300);
+
+        // Act: two slow calls reach the failure threshold
+        sharedUrlCache.get("slow");
+        sharedUrlCache.get("slow");
+        int commandsWhenOpen = server.getCommandCount();
+        UrlMapping whileOpen = sharedUrlCache.get("slow");
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, sharedUrlCache.getCircuitState());
+        assertNull(whileOpen);
+        assertEquals(commandsWhenOpen, server.getCommandCount());
+    }
+
+    @Test
+    public void unreachableCacheFallsBackToMiss() {
+        // Arrange
+        SharedUrlCache unreachable =
+                new SharedUrlCache(
+                        new RespClient("localhost", 1, 200, 1, 1, 200),
+                        new CircuitBreaker(1, 60_000, 200),
+                        "precis:url:",
+                        3_600_000);
+
+        // Act & Assert
+        assertNull(unreachable.get("abc123"));
+        assertEquals(CircuitBreaker.State.OPEN, unreachable.getCircuitState());
+    }
+}
@@ -0,0 +1,42 @@
+package ind.shubhamn.precisrest.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class UrlCacheTest {
+
+    @Test
+    public void pinnedKeySurvivesSizeEviction() {
+        // Arrange
+        UrlCache urlCache = new UrlCache(2, 300, null);
+        UrlMapping hot = new UrlMapping("hot", "https://hot.example", null, null);
+
+        // Act
+        urlCache.pin(Set.of("hot"), List.of(hot));
+        for (int i = 0; i < 100; i++) {
+            urlCache.put(new UrlMapping("k" + i, "https://example.com/" + i, null, null));
+        }
+        urlCache.cleanUp();
+
+        // Assert
+        assertEquals(hot, urlCache.getIfPresent("hot"));
+        assertTrue(urlCache.localSize() <= 3);
+    }
+
+    @Test
+    public void missingLocallyReportsUncachedKeys() {
+        // Arrange
+        UrlCache urlCache = new UrlCache(10, 300, null);
+        urlCache.put(new UrlMapping("abc", "https://a.example", null, null));
+
+        // Act
+        List<String> missing = urlCache.missingLocally(List.of("abc", "xyz"));
+
+        // Assert
+        assertEquals(List.of("xyz"), missing);
+    }
+}
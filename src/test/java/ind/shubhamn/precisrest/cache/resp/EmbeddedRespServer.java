@@ -0,0 +1,182 @@
+package ind.shubhamn.precisrest.cache.resp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tiny in-process stand-in for a Redis server, speaking just enough RESP2 for the shared cache
+ * tests: PING, GET, MGET, SET [PX ms], DEL. Records the TTL of every SET and can inject latency to
+ * exercise the circuit breaker.
+ */
+public class EmbeddedRespServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+    private final AtomicInteger commandCount = new AtomicInteger();
+    private volatile long delayMillis;
+
+    public EmbeddedRespServer() throws IOException {
+        serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "embedded-resp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public Long ttlOf(String key) {
+        return ttls.get(key);
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public int getCommandCount() {
+        return commandCount.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread handler = new Thread(() -> serve(socket), "embedded-resp-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                byte[][] command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                commandCount.incrementAndGet();
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                handle(command, out);
+                // only flush once the client has no further pipelined commands buffered
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // client went away
+        }
+    }
+
+    private void handle(byte[][] command, OutputStream out) throws IOException {
+        String name = new String(command[0], StandardCharsets.US_ASCII).toUpperCase();
+        switch (name) {
+            case "PING" -> out.write("+PONG\r\n".getBytes(StandardCharsets.US_ASCII));
+            case "GET" -> writeBulk(out, values.get(key(command[1])));
+            case "MGET" -> {
+                writeLine(out, "*" + (command.length - 1));
+                for (int i = 1; i < command.length; i++) {
+                    writeBulk(out, values.get(key(command[i])));
+                }
+            }
+            case "SET" -> {
+                String key = key(command[1]);
+                values.put(key, command[2]);
+                if (command.length == 5) {
+                    String ttl = new String(command[4], StandardCharsets.US_ASCII);
+                    ttls.put(key, Long.parseLong(ttl));
+                }
+                writeLine(out, "+OK");
+            }
+            case "DEL" -> {
+                int removed = 0;
+                for (int i = 1; i < command.length; i++) {
+                    if (values.remove(key(command[i])) != null) {
+                        removed++;
+                    }
+                }
+                writeLine(out, ":" + removed);
+            }
+            default -> writeLine(out, "-ERR unknown command '" + name + "'");
+        }
+    }
+
+    private static String key(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        int count = Integer.parseInt(readLine(in));
+        byte[][] args = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            in.read(); // '$'
+            int length = Integer.parseInt(readLine(in));
+            args[i] = in.readNBytes(length);
+            in.read(); // '\r'
+            in.read(); // '\n'
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            line.append((char) b);
+        }
+        in.read(); // '\n'
+        return line.toString();
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            writeLine(out, "$-1");
+            return;
+        }
+        writeLine(out, "$" + value.length);
+        out.write(value);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
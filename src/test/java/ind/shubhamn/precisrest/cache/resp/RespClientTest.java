@@ -0,0 +1,64 @@
+package ind.shubhamn.precisrest.cache.resp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RespClientTest {
+
+    private EmbeddedRespServer server;
+
+    private RespClient client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new EmbeddedRespServer();
+        client = new RespClient("localhost", server.getPort(), 1_000, 1, 1, 50);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void failsFastWhenAllConnectionsAreInUse() throws Exception {
+        // Arrange
+        server.setDelayMillis(500);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = caller.submit(client::ping);
+            while (client.getAvailablePermits() > 0) {
+                Thread.sleep(1);
+            }
+
+            // Act & Assert
+            IOException busy = assertThrows(IOException.class, client::ping);
+            assertTrue(busy.getMessage().contains("busy"));
+            assertEquals("PONG", slow.get());
+        } finally {
+            caller.shutdown();
+        }
+        assertEquals(1, client.getAvailablePermits());
+    }
+
+    @Test
+    public void failedConnectReturnsThePermit() throws Exception {
+        // Arrange
+        try (RespClient unreachable = new RespClient("localhost", 1, 200, 1, 1, 50)) {
+
+            // Act & Assert
+            assertThrows(ConnectException.class, unreachable::ping);
+            assertThrows(ConnectException.class, unreachable::ping);
+            assertEquals(1, unreachable.getAvailablePermits());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ind.shubhamn.precisrest.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClickCountDAOTest {
+
+    @Autowired private ClickCountDAO clickCountDAO;
+
+    @Test
+    public void addClicksInsertsThenAccumulates() {
+        // Act
+        clickCountDAO.addClicks(Map.of("click-a", 3L, "click-b", 1L));
+        clickCountDAO.addClicks(Map.of("click-a", 4L));
+
+        // Assert
+        assertEquals(7, clickCountDAO.findClicks("click-a"));
+        assertEquals(1, clickCountDAO.findClicks("click-b"));
+        assertEquals(0, clickCountDAO.findClicks("click-z"));
+    }
+}
@@ -0,0 +1,49 @@
+package ind.shubhamn.precisrest.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.model.TrafficBucket;
+import ind.shubhamn.precisrest.model.TrafficGranularity;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TrafficRollupDAOTest {
+
+    // 2025-01-01T10:00:00Z in minutes since the epoch
+    private static final long HOUR_START = 28_928_760;
+
+    @Autowired private TrafficRollupDAO trafficRollupDAO;
+
+    @Test
+    public void addCountsInsertsThenMergesRows() {
+        // Arrange
+        TrafficBucket bucket = new TrafficBucket("traffic", TrafficGranularity.MINUTE, HOUR_START);
+        int[] first = new int[60];
+        first[3] = 2;
+        int[] second = new int[60];
+        second[3] = 1;
+        second[59] = 7;
+
+        // Act
+        trafficRollupDAO.addCounts(Map.of(bucket, first));
+        trafficRollupDAO.addCounts(Map.of(bucket, second));
+        Map<Long, int[]> rows =
+                trafficRollupDAO.findRange(
+                        "traffic", TrafficGranularity.MINUTE, HOUR_START - 60, HOUR_START);
+
+        // Assert
+        assertEquals(1, rows.size());
+        int[] counts = rows.get(HOUR_START);
+        assertEquals(3, counts[3]);
+        assertEquals(7, counts[59]);
+        assertTrue(
+                trafficRollupDAO
+                        .findRange("traffic", TrafficGranularity.HOUR, HOUR_START, HOUR_START)
+                        .isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package ind.shubhamn.precisrest.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.analytics.HyperLogLog;
+import ind.shubhamn.precisrest.analytics.VisitorFingerprint;
+import ind.shubhamn.precisrest.model.VisitorBucket;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UniqueVisitorDAOTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    @Autowired private UniqueVisitorDAO uniqueVisitorDAO;
+
+    @Test
+    public void mergeSketchesUnionsWithPersistedRow() {
+        // Arrange
+        HyperLogLog nodeA = new HyperLogLog();
+        nodeA.add(VisitorFingerprint.of("10.0.0.1", "UA"));
+        HyperLogLog nodeB = new HyperLogLog();
+        nodeB.add(VisitorFingerprint.of("10.0.0.1", "UA"));
+        nodeB.add(VisitorFingerprint.of("10.0.0.2", "UA"));
+        VisitorBucket bucket = new VisitorBucket("visitors", DAY);
+
+        // Act
+        uniqueVisitorDAO.mergeSketches(Map.of(bucket, nodeA.toByteArray()));
+        uniqueVisitorDAO.mergeSketches(Map.of(bucket, nodeB.toByteArray()));
+        List<byte[]> sketches = uniqueVisitorDAO.findSketches("visitors", DAY, DAY.plusDays(1));
+
+        // Assert
+        assertEquals(1, sketches.size());
+        assertEquals(2, HyperLogLog.fromByteArray(sketches.get(0)).estimate());
+    }
+}
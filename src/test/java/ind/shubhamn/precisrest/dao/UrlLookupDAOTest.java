@@ -0,0 +1,41 @@
+package ind.shubhamn.precisrest.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UrlLookupDAOTest {
+
+    @Autowired private UrlShortenerDAO urlShortenerDAO;
+
+    @Autowired private UrlLookupDAO urlLookupDAO;
+
+    @Test
+    public void findByShortUrlReturnsRowWrittenThroughJpa() {
+        // Arrange
+        urlShortenerDAO.save(new ShortenedUrl("jdbc-hit", "https://www.example.com/jdbc"));
+
+        // Act
+        Optional<UrlMapping> result = urlLookupDAO.findByShortUrl("jdbc-hit");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("jdbc-hit", result.get().shortUrl());
+        assertEquals("https://www.example.com/jdbc", result.get().longUrl());
+        assertNotNull(result.get().createdAt());
+        assertNull(result.get().expiresAt());
+    }
+
+    @Test
+    public void findByShortUrlReturnsEmptyForUnknownCode() {
+        assertTrue(urlLookupDAO.findByShortUrl("no-such").isEmpty());
+    }
+}
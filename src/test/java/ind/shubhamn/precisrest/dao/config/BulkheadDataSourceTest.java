@@ -0,0 +1,81 @@
+package ind.shubhamn.precisrest.dao.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ind.shubhamn.precisrest.exception.DatabaseBusyException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+public class BulkheadDataSourceTest {
+
+    private DataSource target;
+
+    private BulkheadDataSource bulkhead;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead = new BulkheadDataSource(target, 1, 50);
+    }
+
+    @Test
+    public void rejectsWhenAllPermitsAreHeld() throws SQLException {
+        // Arrange
+        Connection held = bulkhead.getConnection();
+
+        // Act & Assert
+        assertThrows(DatabaseBusyException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getRejectedCount());
+        assertEquals(0, bulkhead.getAvailablePermits());
+        verify(target, times(1)).getConnection();
+        held.close();
+    }
+
+    @Test
+    public void closeReleasesThePermitOnce() throws SQLException {
+        // Arrange
+        Connection connection = bulkhead.getConnection();
+        Connection pooled = ((ConnectionProxy) connection).getTargetConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, bulkhead.getAvailablePermits());
+        verify(pooled, times(2)).close();
+        assertNotNull(bulkhead.getConnection());
+        assertThrows(DatabaseBusyException.class, bulkhead::getConnection);
+    }
+
+    @Test
+    public void failedCheckoutReturnsThePermit() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getAvailablePermits());
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    public void callsAreDelegatedToThePooledConnection() throws SQLException {
+        // Arrange
+        Connection connection = bulkhead.getConnection();
+        Connection pooled = ((ConnectionProxy) connection).getTargetConnection();
+        when(pooled.getAutoCommit()).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(connection.getAutoCommit());
+        connection.setAutoCommit(false);
+        verify(pooled).setAutoCommit(false);
+        connection.close();
+    }
+}
@@ -0,0 +1,43 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+public class ClickEventCodecTest {
+
+    @Test
+    public void recordsHaveFixedSize() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(2 * ClickEventCodec.RECORD_SIZE);
+
+        // Act
+        ClickEventCodec.encode(new ClickEvent(1L, "a", null, 0L, 200), buffer);
+        ClickEventCodec.encode(
+                new ClickEvent(2L, "abcdefgh", "https://r.example", 0L, 404), buffer);
+
+        // Assert
+        assertEquals(2 * ClickEventCodec.RECORD_SIZE, buffer.position());
+        buffer.flip();
+        assertEquals("a", ClickEventCodec.decode(buffer).shortUrl());
+        assertEquals("https://r.example", ClickEventCodec.decode(buffer).referrer());
+    }
+
+    @Test
+    public void longReferrerIsTruncatedOnCharacterBoundary() {
+        // Arrange: 'é' is two bytes in UTF-8, so the byte limit falls inside a character
+        String referrer = "https://r.example/" + "é".repeat(200);
+        ByteBuffer buffer = ByteBuffer.allocate(ClickEventCodec.RECORD_SIZE);
+
+        // Act
+        ClickEventCodec.encode(new ClickEvent(1L, "abc", referrer, 0L, 200), buffer);
+        buffer.flip();
+        ClickEvent decoded = ClickEventCodec.decode(buffer);
+
+        // Assert
+        assertTrue(referrer.startsWith(decoded.referrer()));
+        assertFalse(decoded.referrer().endsWith("\uFFFD"));
+        assertTrue(decoded.referrer().length() > 100);
+    }
+}
@@ -0,0 +1,113 @@
+package ind.shubhamn.precisrest.eventlog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.eventlog.config.ClickEventLogConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClickEventLogTest {
+
+    @TempDir private Path directory;
+
+    private ClickEventLog newLog(int queueCapacity, long segmentBytes) {
+        ClickEventLogConfig config = new ClickEventLogConfig();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        config.setQueueCapacity(queueCapacity);
+        config.setBatchSize(16);
+        config.setSegmentBytes(segmentBytes);
+        config.setForceIntervalMillis(10);
+        return new ClickEventLog(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void eventsRoundTripThroughSegments() throws Exception {
+        // Arrange
+        ClickEventLog clickEventLog = newLog(1_000, 1024 * 1024);
+        clickEventLog.start();
+
+        // Act
+        clickEventLog.append(new ClickEvent(1_000L, "abc123", "https://ref.example/", 42L, 200));
+        clickEventLog.append(new ClickEvent(2_000L, "missing", null, 7L, 404));
+        clickEventLog.stop();
+
+        // Assert
+        List<ClickEvent> events = ClickEventLogReader.readAll(directory);
+        assertEquals(
+                List.of(
+                        new ClickEvent(1_000L, "abc123", "https://ref.example/", 42L, 200),
+                        new ClickEvent(2_000L, "missing", null, 7L, 404)),
+                events);
+    }
+
+    @Test
+    public void segmentsRollOverBySize() throws Exception {
+        // Arrange: room for four records per segment
+        long segmentBytes = ClickEventCodec.HEADER_SIZE + 4L * ClickEventCodec.RECORD_SIZE;
+        ClickEventLog clickEventLog = newLog(1_000, segmentBytes);
+        clickEventLog.start();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            clickEventLog.append(new ClickEvent(i, "c" + i, null, i, 200));
+        }
+        clickEventLog.stop();
+
+        // Assert
+        List<Path> segments = ClickEventLogReader.segments(directory);
+        assertEquals(3, segments.size());
+        for (Path segment : segments) {
+            assertTrue(Files.size(segment) <= segmentBytes);
+        }
+        List<ClickEvent> events = ClickEventLogReader.readAll(directory);
+        assertEquals(10, events.size());
+        assertEquals("c9", events.get(9).shortUrl());
+    }
+
+    @Test
+    public void fullQueueDropsAndCountsEvents() {
+        // Arrange: writer not started, so nothing drains the queue
+        ClickEventLog clickEventLog = newLog(2, 1024 * 1024);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            clickEventLog.append(new ClickEvent(i, "abc123", null, 0L, 200));
+        }
+
+        // Assert
+        assertEquals(3, clickEventLog.getDroppedCount());
+    }
+
+    @Test
+    public void readerWritesNdjsonAndRawCopies() throws Exception {
+        // Arrange
+        ClickEventLog clickEventLog = newLog(1_000, 1024 * 1024);
+        clickEventLog.start();
+        clickEventLog.append(new ClickEvent(0L, "abc123", "https://x.example/\"q\"", 255L, 200));
+        clickEventLog.stop();
+        Path segment = ClickEventLogReader.segments(directory).get(0);
+
+        // Act
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        ClickEventLogReader.writeNdjson(segment, Channels.newChannel(json));
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        long copied = ClickEventLogReader.transferRaw(segment, Channels.newChannel(raw));
+
+        // Assert
+        assertEquals(
+                "{\"timestamp\":\"1970-01-01T00:00:00Z\",\"shortUrl\":\"abc123\","
+                        + "\"referrer\":\"https://x.example/\\\"q\\\"\",\"uaHash\":\"ff\","
+                        + "\"status\":200}\n",
+                json.toString(StandardCharsets.UTF_8));
+        assertEquals(Files.size(segment), copied);
+        assertArrayEquals(Files.readAllBytes(segment), raw.toByteArray());
+    }
+}
@@ -0,0 +1,86 @@
+package ind.shubhamn.precisrest.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+public class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint();
+
+    @AfterEach
+    public void tearDown() {
+        endpoint.stop();
+    }
+
+    @Test
+    public void eventsAreDisabledWithoutARecording() {
+        // Act & Assert
+        assertFalse(new ShortenEvent().isEnabled());
+        assertFalse(new ResolveEvent().isEnabled());
+        assertFalse(new DaoQueryEvent().isEnabled());
+    }
+
+    @Test
+    public void settingsEnableApplicationEventsAndDropSensitiveOnes() {
+        // Act
+        Map<String, String> settings = FlightRecordingEndpoint.settings();
+
+        // Assert
+        assertEquals("true", settings.get("precis.Shorten#enabled"));
+        assertEquals("true", settings.get("precis.Resolve#enabled"));
+        assertEquals("true", settings.get("precis.DaoQuery#enabled"));
+        assertEquals("false", settings.get("jdk.InitialEnvironmentVariable#enabled"));
+        assertEquals("false", settings.get("jdk.InitialSystemProperty#enabled"));
+    }
+
+    @Test
+    public void recordsApplicationEventsAndServesTheDump() throws Exception {
+        // Arrange
+        assertEquals("NONE", endpoint.status().get("state"));
+        assertEquals(404, endpoint.download("download").getStatus());
+
+        // Act
+        assertEquals("RUNNING", endpoint.start(60L).get("state"));
+        ShortenEvent event = new ShortenEvent();
+        event.begin();
+        event.finish("abc12345", true, "created");
+        endpoint.stop();
+        WebEndpointResponse<Resource> response = endpoint.download("download");
+
+        // Assert
+        assertEquals("STOPPED", endpoint.status().get("state"));
+        assertEquals(200, response.getStatus());
+        Path file = Files.createTempFile("precis-test-", ".jfr");
+        try {
+            Files.write(file, response.getBody().getContentAsByteArray());
+            List<RecordedEvent> shortens =
+                    RecordingFile.readAllEvents(file).stream()
+                            .filter(e -> e.getEventType().getName().equals("precis.Shorten"))
+                            .toList();
+            assertEquals(1, shortens.size());
+            assertEquals("abc12345", shortens.get(0).getString("shortUrl"));
+            assertEquals("created", shortens.get(0).getString("outcome"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void unknownSelectorIsNotFound() throws Exception {
+        // Arrange
+        endpoint.start(null);
+
+        // Act & Assert
+        assertEquals(404, endpoint.download("other").getStatus());
+    }
+}
@@ -0,0 +1,145 @@
+package ind.shubhamn.precisrest.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.limit.ConcurrencyLimiter.Priority;
+import ind.shubhamn.precisrest.limit.config.ConcurrencyLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+public class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        ConcurrencyLimitConfig config = new ConcurrencyLimitConfig();
+        config.setInitialLimit(10);
+        config.setMinLimit(1);
+        config.setMaxLimit(10);
+        config.setShortenShare(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(config, meterRegistry, JsonMapper.builder().build());
+    }
+
+    private MockHttpServletResponse post(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void occupy(int slots) {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(filter.getLimiter().tryAcquire(Priority.HIGH) >= 0);
+        }
+    }
+
+    @Test
+    public void admitsRequestsBelowTheLimit() throws Exception {
+        // Act
+        MockHttpServletResponse response = post("/app/rest/long");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.getLimiter().getInflight());
+    }
+
+    @Test
+    public void shedsWith503AndRetryAfterAtTheLimit() throws Exception {
+        // Arrange
+        occupy(10);
+
+        // Act
+        MockHttpServletResponse response = post("/app/rest/long");
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains(ErrorCodes.SERVICE_UNAVAILABLE));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("http.concurrency.rejected")
+                        .tag("priority", "high")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    public void resolvesKeepCapacityThatShortensCannotUse() throws Exception {
+        // Arrange: half the limit is the shorten share
+        occupy(5);
+
+        // Act
+        MockHttpServletResponse shorten = post("/app/rest/shorten");
+        MockHttpServletResponse resolve = post("/app/rest/long");
+
+        // Assert
+        assertEquals(503, shorten.getStatus());
+        assertEquals(200, resolve.getStatus());
+    }
+
+    @Test
+    public void nonApiPathsAreNeverShed() throws Exception {
+        // Arrange
+        occupy(10);
+
+        // Act
+        MockHttpServletResponse response = post("/actuator/health");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void downstream503ShrinksTheLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/rest/long");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(
+                request,
+                response,
+                (req, res) ->
+                        ((HttpServletResponse) res)
+                                .setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+
+        // Assert
+        assertEquals(9, filter.getLimiter().getLimit());
+        assertEquals(9.0, meterRegistry.get("http.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    public void exceptionReleasesWithoutShrinkingTheLimit() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/rest/long");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        filter.doFilter(
+                                request,
+                                response,
+                                (req, res) -> {
+                                    throw new IllegalStateException("boom");
+                                }));
+
+        // Assert
+        assertEquals(0, filter.getLimiter().getInflight());
+        assertEquals(10, filter.getLimiter().getLimit());
+    }
+}
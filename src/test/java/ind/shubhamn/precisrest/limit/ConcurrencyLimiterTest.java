@@ -0,0 +1,55 @@
+package ind.shubhamn.precisrest.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.limit.ConcurrencyLimiter.Priority;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimiterTest {
+
+    private static ConcurrencyLimiter limiter(int limit, double lowPriorityShare) {
+        return new ConcurrencyLimiter(
+                new VegasLimit(limit, 1, limit, TimeUnit.HOURS.toNanos(1)), lowPriorityShare);
+    }
+
+    @Test
+    public void lowPriorityLeavesReservedCapacityForHighPriority() {
+        // Arrange
+        ConcurrencyLimiter limiter = limiter(10, 0.8);
+
+        // Act
+        int low = 0;
+        while (limiter.tryAcquire(Priority.LOW) >= 0) {
+            low++;
+        }
+        int high = 0;
+        while (limiter.tryAcquire(Priority.HIGH) >= 0) {
+            high++;
+        }
+
+        // Assert
+        assertEquals(8, low);
+        assertEquals(2, high);
+        assertEquals(10, limiter.getInflight());
+        assertEquals(1, limiter.getRejectedCount(Priority.LOW));
+        assertEquals(1, limiter.getRejectedCount(Priority.HIGH));
+    }
+
+    @Test
+    public void releaseFreesCapacity() {
+        // Arrange
+        ConcurrencyLimiter limiter = limiter(1, 1.0);
+        long start = limiter.tryAcquire(Priority.HIGH);
+
+        // Act
+        long rejected = limiter.tryAcquire(Priority.HIGH);
+        limiter.release(start, false);
+        long admitted = limiter.tryAcquire(Priority.HIGH);
+
+        // Assert
+        assertEquals(-1, rejected);
+        assertTrue(admitted >= 0);
+        assertEquals(1, limiter.getInflight());
+    }
+}
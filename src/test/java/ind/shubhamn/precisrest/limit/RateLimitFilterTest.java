@@ -0,0 +1,172 @@
+package ind.shubhamn.precisrest.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.constants.ErrorCodes;
+import ind.shubhamn.precisrest.limit.config.RateLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Principal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+public class RateLimitFilterTest {
+
+    private RateLimitConfig config;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        config = new RateLimitConfig();
+        config.getTiers().put("anonymous", new RateLimitConfig.Tier(2, 0.01));
+        config.getTiers().put("authenticated", new RateLimitConfig.Tier(5, 0.01));
+        config.getTiers().put("partner", new RateLimitConfig.Tier(50, 0.01));
+        config.getClients().put("10.0.0.9", "partner");
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(config, meterRegistry, JsonMapper.builder().build());
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String ip, Principal principal)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        request.setUserPrincipal(principal);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse shorten(String ip) throws Exception {
+        return send("POST", "/app/rest/shorten", ip, null);
+    }
+
+    @Test
+    public void admitsWithinTheBucketAndReportsRemainingTokens() throws Exception {
+        // Act
+        MockHttpServletResponse response = shorten("10.0.0.1");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("2", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertNotNull(response.getHeader(RateLimitFilter.RESET_HEADER));
+    }
+
+    @Test
+    public void rejectsWith429OnceTheBucketIsEmpty() throws Exception {
+        // Arrange
+        shorten("10.0.0.1");
+        shorten("10.0.0.1");
+
+        // Act
+        MockHttpServletResponse response = shorten("10.0.0.1");
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("100", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains(ErrorCodes.RATE_LIMITED));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("http.ratelimit.rejected")
+                        .tag("tier", "anonymous")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    public void clientsHaveSeparateBuckets() throws Exception {
+        // Arrange
+        shorten("10.0.0.1");
+        shorten("10.0.0.1");
+
+        // Act
+        MockHttpServletResponse other = shorten("10.0.0.2");
+
+        // Assert
+        assertEquals(200, other.getStatus());
+        assertEquals(429, shorten("10.0.0.1").getStatus());
+        assertEquals(2, filter.getTrackedClients());
+    }
+
+    @Test
+    public void spoofedForwardedForDoesNotGetAFreshBucket() throws Exception {
+        // Act: a new X-Forwarded-For value on every request from the same address
+        int[] statuses = new int[3];
+        for (int i = 0; i < statuses.length; i++) {
+            MockHttpServletRequest request =
+                    new MockHttpServletRequest("POST", "/app/rest/shorten");
+            request.setRemoteAddr("203.0.113.7");
+            request.addHeader("X-Forwarded-For", "198.51.100." + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            statuses[i] = response.getStatus();
+        }
+
+        // Assert
+        assertArrayEquals(new int[] {200, 200, 429}, statuses);
+        assertEquals(1, filter.getTrackedClients());
+    }
+
+    @Test
+    public void authenticatedAndListedClientsGetTheirTier() throws Exception {
+        // Act
+        MockHttpServletResponse authenticated =
+                send("POST", "/app/rest/shorten", "10.0.0.1", () -> "api-client");
+        MockHttpServletResponse partner = shorten("10.0.0.9");
+
+        // Assert
+        assertEquals("5", authenticated.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("50", partner.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    public void resolvesAreNotLimited() throws Exception {
+        // Arrange
+        shorten("10.0.0.1");
+        shorten("10.0.0.1");
+
+        // Act
+        MockHttpServletResponse response = send("POST", "/app/rest/long", "10.0.0.1", null);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    public void trackedClientsAreBounded() throws Exception {
+        // Arrange
+        config.setMaxClients(100);
+        filter =
+                new RateLimitFilter(
+                        config, new SimpleMeterRegistry(), JsonMapper.builder().build());
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            shorten("10.1." + (i >> 8) + "." + (i & 0xff));
+        }
+
+        // Assert
+        assertTrue(filter.getTrackedClients() <= 100);
+    }
+
+    @Test
+    public void unknownTierFailsStartup() {
+        // Arrange
+        config.getClients().put("10.0.0.3", "gold");
+
+        // Act & Assert
+        assertThrows(
+                IllegalStateException.class,
+                () -> new RateLimitFilter(config, meterRegistry, JsonMapper.builder().build()));
+    }
+}
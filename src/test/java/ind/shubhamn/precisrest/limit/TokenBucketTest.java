@@ -0,0 +1,101 @@
+package ind.shubhamn.precisrest.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void newBucketAllowsBurstUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, 1);
+        long now = 42;
+
+        // Act & Assert
+        assertEquals(3, bucket.getRemaining(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+        assertEquals(0, bucket.getRemaining(now));
+    }
+
+    @Test
+    public void tokensRefillAtTheConfiguredRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 2);
+        long now = -5 * SECOND;
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+
+        // Act & Assert
+        assertEquals(SECOND / 2, bucket.getNanosUntilNextToken(now));
+        assertEquals(SECOND, bucket.getNanosUntilFull(now));
+        assertFalse(bucket.tryAcquire(now + SECOND / 2 - 1));
+        assertTrue(bucket.tryAcquire(now + SECOND / 2));
+        assertEquals(0, bucket.getRemaining(now + SECOND / 2));
+        assertEquals(2, bucket.getRemaining(now + 10 * SECOND));
+    }
+
+    @Test
+    public void idleBucketDoesNotAccumulateBeyondCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 1);
+        bucket.tryAcquire(0);
+
+        // Act
+        long later = 3600 * SECOND;
+
+        // Assert
+        assertEquals(2, bucket.getRemaining(later));
+        assertEquals(0, bucket.getNanosUntilFull(later));
+        assertTrue(bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later));
+        assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    public void concurrentAcquiresNeverExceedCapacity() throws Exception {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(100, 0.001);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long now = System.nanoTime();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(
+                    () -> {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            if (bucket.tryAcquire(now)) {
+                                acquired.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(100, acquired.get());
+    }
+
+    @Test
+    public void rejectsInvalidSettings() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,88 @@
+package ind.shubhamn.precisrest.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class VegasLimitTest {
+
+    private static final long NO_LOAD_RTT = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // long enough that no probe happens during a test
+    private static final long PROBE_INTERVAL = TimeUnit.HOURS.toNanos(1);
+
+    private long now = System.nanoTime();
+
+    /** Backend that serves {@code capacity} requests in parallel and queues the rest. */
+    private void drive(VegasLimit limit, int capacity, int offered, int samples) {
+        for (int i = 0; i < samples; i++) {
+            int inflight = Math.min(offered, limit.getLimit());
+            long rtt = (long) (NO_LOAD_RTT * Math.max(1.0, (double) inflight / capacity));
+            now += rtt / inflight;
+            limit.onSample(now, rtt, inflight, false);
+        }
+    }
+
+    @Test
+    public void limitGrowsWhileLatencyStaysFlat() {
+        // Arrange
+        VegasLimit limit = new VegasLimit(20, 4, 500, PROBE_INTERVAL);
+
+        // Act
+        drive(limit, Integer.MAX_VALUE, 1_000, 5_000);
+
+        // Assert
+        assertEquals(500, limit.getLimit());
+    }
+
+    @Test
+    public void limitShrinksTowardsBackendCapacityWhenLatencyRises() {
+        // Arrange
+        VegasLimit limit = new VegasLimit(20, 4, 500, PROBE_INTERVAL);
+        drive(limit, Integer.MAX_VALUE, 1_000, 5_000);
+
+        // Act: the backend can now only serve 20 requests at once
+        drive(limit, 20, 1_000, 5_000);
+
+        // Assert: a small queue on top of the capacity
+        assertTrue(
+                limit.getLimit() >= 20 && limit.getLimit() <= 40, "limit " + limit.getLimit());
+    }
+
+    @Test
+    public void limitDoesNotGrowWhenTrafficIsWellBelowIt() {
+        // Arrange
+        VegasLimit limit = new VegasLimit(100, 4, 500, PROBE_INTERVAL);
+
+        // Act
+        drive(limit, Integer.MAX_VALUE, 10, 5_000);
+
+        // Assert
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    public void dropsBackOffMultiplicativelyDownToMinimum() {
+        // Arrange
+        VegasLimit limit = new VegasLimit(100, 4, 500, PROBE_INTERVAL);
+
+        // Act
+        limit.onSample(now, NO_LOAD_RTT, 100, true);
+        int afterOneDrop = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(now, NO_LOAD_RTT, 100, true);
+        }
+
+        // Assert
+        assertEquals(90, afterOneDrop);
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    public void rejectsInvalidBounds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 0, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 50, 20, 1));
+    }
+}
@@ -0,0 +1,46 @@
+package ind.shubhamn.precisrest.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.logging.config.LogSamplingConfig;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class LogSamplerTest {
+
+    private static LogSampler sampler(Map<String, Integer> rates) {
+        LogSamplingConfig config = new LogSamplingConfig();
+        config.setRates(rates);
+        return new LogSampler(config);
+    }
+
+    @Test
+    public void unlistedAndRateOneCategoriesAreAlwaysLogged() {
+        // Arrange
+        LogSampler sampler = sampler(Map.of("request", 1, "other", 0));
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(sampler.sample("request"));
+            assertTrue(sampler.sample("other"));
+            assertTrue(sampler.sample("unlisted"));
+        }
+    }
+
+    @Test
+    public void keepsAboutOneInNEvents() {
+        // Arrange
+        LogSampler sampler = sampler(Map.of(LogSampler.REQUEST, 100));
+
+        // Act
+        int logged = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.sample(LogSampler.REQUEST)) {
+                logged++;
+            }
+        }
+
+        // Assert: expected 1000, standard deviation about 31
+        assertTrue(logged > 800 && logged < 1_200, "logged " + logged);
+    }
+}
@@ -0,0 +1,204 @@
+package ind.shubhamn.precisrest.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.logging.config.LogSamplingConfig;
+import ind.shubhamn.precisrest.service.RequestStageTimes;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics.Stage;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class RequestLoggingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SlowRequestTracker slowRequestTracker;
+
+    private RequestLoggingFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        slowRequestTracker = new SlowRequestTracker(2);
+        filter =
+                new RequestLoggingFilter(
+                        new LogSampler(new LogSamplingConfig()),
+                        meterRegistry,
+                        slowRequestTracker);
+    }
+
+    @Test
+    public void recordsLatencyByRouteAndStatus() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/rest/long");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(
+                request,
+                response,
+                (req, res) -> {
+                    req.setAttribute(
+                            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/app/rest/long");
+                    ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_FOUND);
+                });
+
+        // Assert
+        Timer timer =
+                meterRegistry
+                        .get(RequestLoggingFilter.LATENCY_METRIC)
+                        .tag("route", "/app/rest/long")
+                        .tag("method", "POST")
+                        .tag("status", "404")
+                        .timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void unmatchedPathsShareOneSeries() throws Exception {
+        // Act
+        for (String uri : new String[] {"/a", "/b", "/c"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(
+                    new MockHttpServletRequest("GET", uri),
+                    response,
+                    (req, res) ->
+                            ((HttpServletResponse) res)
+                                    .setStatus(HttpServletResponse.SC_NOT_FOUND));
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestLoggingFilter.LATENCY_METRIC).timers().size());
+        assertEquals(
+                3,
+                meterRegistry
+                        .get(RequestLoggingFilter.LATENCY_METRIC)
+                        .tag("route", "NOT_FOUND")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    public void nonStandardMethodsShareOneSeries() throws Exception {
+        // Act
+        for (String method : new String[] {"PROPFIND", "X-SCAN-1", "X-SCAN-2"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(
+                    new MockHttpServletRequest(method, "/a"),
+                    response,
+                    (req, res) ->
+                            ((HttpServletResponse) res)
+                                    .setStatus(HttpServletResponse.SC_NOT_FOUND));
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestLoggingFilter.LATENCY_METRIC).timers().size());
+        assertEquals(
+                3,
+                meterRegistry
+                        .get(RequestLoggingFilter.LATENCY_METRIC)
+                        .tag("method", "OTHER")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    public void generatesVersion4CorrelationIdWhenAbsent() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/"), response, new MockFilterChain());
+
+        // Assert
+        UUID id = UUID.fromString(response.getHeader("X-Correlation-ID"));
+        assertEquals(4, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void keepsIncomingCorrelationId() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("X-Correlation-ID", "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals("abc-123", response.getHeader("X-Correlation-ID"));
+    }
+
+    @Test
+    public void correlationIdsAreDistinct() {
+        // Act & Assert
+        assertNotEquals(
+                RequestLoggingFilter.newCorrelationId(), RequestLoggingFilter.newCorrelationId());
+    }
+
+    @Test
+    public void recordsSlowRequestWithStageBreakdown() throws Exception {
+        // Arrange
+        UrlShortenerMetrics metrics = new UrlShortenerMetrics(meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/rest/long");
+        request.addHeader("X-Correlation-ID", "slow-1");
+
+        // Act
+        filter.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (req, res) -> {
+                    req.setAttribute(
+                            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/app/rest/long");
+                    // a lookup that started 2 ms ago
+                    metrics.stop(Stage.LOOKUP, System.nanoTime() - 2_000_000);
+                });
+
+        // Assert
+        SlowRequest slow = slowRequestTracker.current().getFirst();
+        assertEquals("GET", slow.method());
+        assertEquals("/app/rest/long", slow.route());
+        assertEquals(200, slow.status());
+        assertEquals("slow-1", slow.correlationId());
+        assertEquals(1, slow.stageMillis().size());
+        assertTrue(slow.stageMillis().get("lookup") >= 2);
+        assertTrue(slow.durationMillis() >= slow.stageMillis().get("lookup"));
+    }
+
+    @Test
+    public void stageBreakdownDoesNotCarryOverBetweenRequests() throws Exception {
+        // Arrange
+        UrlShortenerMetrics metrics = new UrlShortenerMetrics(meterRegistry);
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/first"),
+                new MockHttpServletResponse(),
+                (req, res) -> metrics.stop(Stage.LOOKUP, metrics.start(Stage.LOOKUP)));
+
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/second");
+        second.addHeader("X-Correlation-ID", "second");
+
+        // Act
+        filter.doFilter(second, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        SlowRequest slow =
+                slowRequestTracker.current().stream()
+                        .filter(r -> r.correlationId().equals("second"))
+                        .findFirst()
+                        .orElseThrow();
+        assertTrue(slow.stageMillis().isEmpty());
+        assertNull(RequestStageTimes.current());
+    }
+}
@@ -0,0 +1,124 @@
+package ind.shubhamn.precisrest.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class SlowRequestTrackerTest {
+
+    private static SlowRequest request(long durationNanos) {
+        return new SlowRequest(
+                Instant.now(),
+                "GET",
+                "/app/rest/long",
+                200,
+                durationNanos / 1e6,
+                "id-" + durationNanos,
+                Map.of());
+    }
+
+    private static void record(SlowRequestTracker tracker, long durationNanos) {
+        if (tracker.qualifies(durationNanos)) {
+            tracker.offer(durationNanos, request(durationNanos));
+        }
+    }
+
+    private static List<String> ids(List<SlowRequest> requests) {
+        return requests.stream().map(SlowRequest::correlationId).toList();
+    }
+
+    @Test
+    public void keepsSlowestRequestsSlowestFirst() {
+        // Arrange
+        SlowRequestTracker tracker = new SlowRequestTracker(3);
+
+        // Act
+        for (long duration : new long[] {5, 1, 9, 3, 7, 2}) {
+            record(tracker, duration);
+        }
+
+        // Assert
+        assertEquals(List.of("id-9", "id-7", "id-5"), ids(tracker.current()));
+    }
+
+    @Test
+    public void fasterRequestsDoNotQualifyOnceFull() {
+        // Arrange
+        SlowRequestTracker tracker = new SlowRequestTracker(2);
+        record(tracker, 10);
+
+        // Assert: room left, anything qualifies
+        assertTrue(tracker.qualifies(1));
+
+        // Act
+        record(tracker, 20);
+
+        // Assert
+        assertFalse(tracker.qualifies(10));
+        assertTrue(tracker.qualifies(11));
+    }
+
+    @Test
+    public void rotateMovesCurrentWindowToPrevious() {
+        // Arrange
+        SlowRequestTracker tracker = new SlowRequestTracker(2);
+        record(tracker, 10);
+        record(tracker, 20);
+
+        // Act
+        tracker.rotate();
+        record(tracker, 5);
+
+        // Assert
+        assertEquals(List.of("id-5"), ids(tracker.current()));
+        assertEquals(List.of("id-20", "id-10"), ids(tracker.previous()));
+
+        // Act
+        tracker.rotate();
+
+        // Assert
+        assertTrue(tracker.current().isEmpty());
+        assertEquals(List.of("id-5"), ids(tracker.previous()));
+    }
+
+    @Test
+    public void concurrentOffersKeepTheSlowest() throws Exception {
+        // Arrange
+        SlowRequestTracker tracker = new SlowRequestTracker(10);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int i = 0; i < perThread; i++) {
+                                    record(tracker, (long) i * threads + offset + 1);
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        long max = (long) threads * perThread;
+        List<String> expected = new ArrayList<>();
+        for (long d = max; d > max - 10; d--) {
+            expected.add("id-" + d);
+        }
+        assertEquals(expected, ids(tracker.current()));
+    }
+}
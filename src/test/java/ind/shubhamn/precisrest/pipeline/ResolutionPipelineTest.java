@@ -0,0 +1,130 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.pipeline.config.PipelineConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ResolutionPipelineTest {
+
+    /** Copies what it sees, since slots are reused. */
+    private static final class RecordingHandler implements ResolutionHandler {
+
+        private final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onEvent(ResolutionEvent event, boolean endOfBatch) {
+            seen.add(event.getShortUrl() + ":" + event.getStatus());
+        }
+    }
+
+    private static ResolutionPipeline newPipeline(int ringSize, ResolutionHandler... handlers) {
+        PipelineConfig config = new PipelineConfig();
+        config.setRingSize(ringSize);
+        config.setWaitStrategy("blocking");
+        return new ResolutionPipeline(config, List.of(handlers), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void everyStageSeesEveryEventInOrder() {
+        // Arrange
+        RecordingHandler counters = new RecordingHandler();
+        RecordingHandler eventLog = new RecordingHandler();
+        ResolutionPipeline pipeline = newPipeline(64, counters, eventLog);
+        pipeline.start();
+
+        // Act: more events than slots, so the ring wraps while the stages run
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String shortUrl = "c" + i;
+            while (!pipeline.publish(shortUrl, 200, "10.0.0.1", "UA", null)) {
+                Thread.onSpinWait();
+            }
+            expected.add(shortUrl + ":200");
+        }
+        pipeline.stop();
+
+        // Assert
+        assertEquals(expected, counters.seen);
+        assertEquals(expected, eventLog.seen);
+    }
+
+    @Test
+    public void concurrentProducersLoseNoEvents() throws Exception {
+        // Arrange
+        RecordingHandler handler = new RecordingHandler();
+        ResolutionPipeline pipeline = newPipeline(1_024, handler);
+        pipeline.start();
+
+        // Act
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            String prefix = "p" + p + "-";
+            Thread producer =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 5_000; i++) {
+                                    while (!pipeline.publish(prefix + i, 200, null, null, null)) {
+                                        Thread.onSpinWait();
+                                    }
+                                }
+                            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pipeline.stop();
+
+        // Assert
+        assertEquals(20_000, handler.seen.size());
+        assertEquals(20_000, handler.seen.stream().distinct().count());
+    }
+
+    @Test
+    public void fullRingDropsAndCountsEvents() {
+        // Arrange: stages not started, so nothing frees a slot
+        ResolutionPipeline pipeline = newPipeline(4, new RecordingHandler());
+
+        // Act
+        int accepted = 0;
+        for (int i = 0; i < 6; i++) {
+            if (pipeline.publish("abc", 200, null, null, null)) {
+                accepted++;
+            }
+        }
+
+        // Assert
+        assertEquals(4, accepted);
+        assertEquals(2, pipeline.getDroppedCount());
+    }
+
+    @Test
+    public void failingHandlerDoesNotStopItsStage() {
+        // Arrange
+        RecordingHandler handler = new RecordingHandler();
+        ResolutionPipeline pipeline =
+                newPipeline(
+                        8,
+                        (event, endOfBatch) -> {
+                            if (event.getShortUrl().equals("bad")) {
+                                throw new IllegalStateException("boom");
+                            }
+                            handler.onEvent(event, endOfBatch);
+                        });
+        pipeline.start();
+
+        // Act
+        pipeline.publish("bad", 200, null, null, null);
+        pipeline.publish("good", 404, null, null, null);
+        pipeline.stop();
+
+        // Assert
+        assertEquals(List.of("good:404"), handler.seen);
+    }
+}
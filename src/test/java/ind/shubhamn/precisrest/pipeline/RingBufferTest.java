@@ -0,0 +1,72 @@
+package ind.shubhamn.precisrest.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+    private static RingBuffer<AtomicLong> newRingBuffer(int size) {
+        return new RingBuffer<>(size, AtomicLong::new, new WaitStrategy.Yielding());
+    }
+
+    @Test
+    public void claimFailsWhileSlowestConsumerIsAWholeRingBehind() {
+        // Arrange
+        RingBuffer<AtomicLong> ringBuffer = newRingBuffer(4);
+        Sequence consumer = new Sequence(-1);
+        ringBuffer.addGatingSequence(consumer);
+
+        // Act & Assert
+        for (long expected = 0; expected < 4; expected++) {
+            assertEquals(expected, ringBuffer.tryNext());
+        }
+        assertEquals(-1, ringBuffer.tryNext());
+
+        consumer.set(1);
+        assertEquals(4, ringBuffer.tryNext());
+        assertEquals(5, ringBuffer.tryNext());
+        assertEquals(-1, ringBuffer.tryNext());
+        assertEquals(4, ringBuffer.getBacklog());
+    }
+
+    @Test
+    public void slotsAreReusedAcrossLaps() {
+        // Arrange
+        RingBuffer<AtomicLong> ringBuffer = newRingBuffer(2);
+        AtomicLong first = ringBuffer.get(ringBuffer.tryNext());
+        ringBuffer.tryNext();
+        ringBuffer.tryNext();
+
+        // Act
+        AtomicLong third = ringBuffer.get(2);
+
+        // Assert
+        assertSame(first, third);
+    }
+
+    @Test
+    public void consumersOnlySeePublishedPrefix() {
+        // Arrange
+        RingBuffer<AtomicLong> ringBuffer = newRingBuffer(8);
+        long first = ringBuffer.tryNext();
+        long second = ringBuffer.tryNext();
+        long third = ringBuffer.tryNext();
+
+        // Act: published out of claim order
+        ringBuffer.publish(first);
+        ringBuffer.publish(third);
+
+        // Assert
+        assertEquals(first, ringBuffer.getHighestPublished(0));
+        ringBuffer.publish(second);
+        assertEquals(third, ringBuffer.getHighestPublished(0));
+        assertEquals(third, ringBuffer.getHighestPublished(first + 1));
+    }
+
+    @Test
+    public void sizeMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> newRingBuffer(6));
+    }
+}
@@ -0,0 +1,164 @@
+package ind.shubhamn.precisrest.rest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.cache.config.CacheConfig;
+import ind.shubhamn.precisrest.dao.UrlLookupDAO;
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.exception.GlobalExceptionHandler;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
+import ind.shubhamn.precisrest.mapper.UrlMapper;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.pipeline.ResolutionPipeline;
+import ind.shubhamn.precisrest.pipeline.config.PipelineConfig;
+import ind.shubhamn.precisrest.service.UrlShortenerMetrics;
+import ind.shubhamn.precisrest.service.UrlShortenerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Allocation regression test for the resolve path: controller, service, cache, pipeline hand-off,
+ * response helper and, for misses, the exception handler. Collaborators are real objects (no
+ * mocks, whose invocation recording would dominate the measurement) and logging runs at the
+ * production INFO level.
+ *
+ * <p>The budgets leave room for the response objects Spring and the servlet mock allocate; an INFO
+ * log line, a stack trace per miss or per-request string building each blow them on their own.
+ * {@code ResolvePathBenchmark} reports the exact figure with the GC profiler.
+ *
+ * <p>What stays on the stack depends on the JIT's escape analysis, so the figures vary between
+ * JDKs and machines. Tagged out of {@code ./gradlew test}; run with {@code ./gradlew
+ * allocationTest} on a known JDK.
+ */
+@Tag("allocation")
+public class ResolvePathAllocationTest {
+
+    private static final String LOGGER = "ind.shubhamn.precisrest";
+
+    private static final int WARMUP = 50_000;
+
+    private static final int MEASURED = 20_000;
+
+    private static final long HIT_BUDGET_BYTES = 1_536;
+
+    private static final long MISS_BUDGET_BYTES = 1_536;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ResolutionPipeline resolutionPipeline;
+
+    private UrlShortenerController controller;
+
+    private GlobalExceptionHandler exceptionHandler;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    public void setup() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LOGGER, LogLevel.INFO);
+
+        UrlCache urlCache = new UrlCache(new CacheConfig(), null);
+        urlCache.put(new UrlMapping("hit00001", "https://example.com/hit", null, null));
+        UrlLookupDAO urlLookupDAO =
+                new UrlLookupDAO() {
+                    @Override
+                    public Optional<UrlMapping> findByShortUrl(String shortUrl) {
+                        return Optional.empty();
+                    }
+                };
+        UrlShortenerService urlShortenerService = new UrlShortenerService();
+        ReflectionTestUtils.setField(urlShortenerService, "urlCache", urlCache);
+        ReflectionTestUtils.setField(urlShortenerService, "urlLookupDAO", urlLookupDAO);
+        ReflectionTestUtils.setField(
+                urlShortenerService,
+                "metrics",
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+
+        PipelineConfig pipelineConfig = new PipelineConfig();
+        // keeps the publishing thread off the blocking strategy's lock
+        pipelineConfig.setWaitStrategy("sleeping");
+        resolutionPipeline =
+                new ResolutionPipeline(
+                        pipelineConfig,
+                        List.of((event, endOfBatch) -> {}),
+                        new SimpleMeterRegistry());
+        resolutionPipeline.start();
+
+        controller = new UrlShortenerController();
+        ReflectionTestUtils.setField(controller, "urlShortenerService", urlShortenerService);
+        ReflectionTestUtils.setField(controller, "urlMapper", Mappers.getMapper(UrlMapper.class));
+        ReflectionTestUtils.setField(controller, "resolutionPipeline", resolutionPipeline);
+
+        exceptionHandler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("POST", "/app/rest/long");
+        request.setRemoteAddr("203.0.113.7");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        resolutionPipeline.stop();
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LOGGER, null);
+    }
+
+    @Test
+    public void cacheHitStaysWithinAllocationBudget() {
+        // Arrange
+        GetLongUrlRequestDTO dto = new GetLongUrlRequestDTO("hit00001");
+        assertEquals(200, controller.getLongUrl(dto, request).getStatusCode().value());
+
+        // Act
+        long bytesPerRequest = bytesPerRequest(() -> controller.getLongUrl(dto, request));
+
+        // Assert
+        assertTrue(
+                bytesPerRequest <= HIT_BUDGET_BYTES,
+                "cache hit allocated " + bytesPerRequest + " bytes per request");
+    }
+
+    @Test
+    public void notFoundStaysWithinAllocationBudget() {
+        // Arrange
+        GetLongUrlRequestDTO dto = new GetLongUrlRequestDTO("missing1");
+        Runnable resolve =
+                () -> {
+                    try {
+                        controller.getLongUrl(dto, request);
+                        fail("expected a miss");
+                    } catch (ShortUrlNotFoundException e) {
+                        exceptionHandler.handleShortUrlNotFound(e);
+                    }
+                };
+
+        // Act
+        long bytesPerRequest = bytesPerRequest(resolve);
+
+        // Assert
+        assertTrue(
+                bytesPerRequest <= MISS_BUDGET_BYTES,
+                "not found allocated " + bytesPerRequest + " bytes per request");
+    }
+
+    private long bytesPerRequest(Runnable resolve) {
+        for (int i = 0; i < WARMUP; i++) {
+            resolve.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            resolve.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+    }
+}
@@ -1,15 +1,21 @@
 package ind.shubhamn.precisrest.rest;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
 import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
+import ind.shubhamn.precisrest.exception.DatabaseBusyException;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.pipeline.ResolutionPipeline;
 import ind.shubhamn.precisrest.service.UrlShortenerService;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.Test;
@@ -22,6 +28,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.context.WebApplicationContext;
 import tools.jackson.databind.ObjectMapper;
 
@@ -40,6 +47,8 @@ public class UrlShortenerControllerTest {
 
     @MockitoBean private UrlShortenerService urlShortenerService;
 
+    @MockitoBean private ResolutionPipeline resolutionPipeline;
+
     @Test
     public void createShortenedUrlTest() throws Exception {
         ShortenUrlRequestDTO request = new ShortenUrlRequestDTO();
@@ -78,11 +87,9 @@ public class UrlShortenerControllerTest {
         GetLongUrlRequestDTO request = new GetLongUrlRequestDTO();
         request.setShortUrl("GRNHv-Vd");
 
-        ShortenedUrl entity = new ShortenedUrl();
-        entity.setShortUrl("GRNHv-Vd");
-        entity.setLongUrl("http://www.google.com");
+        UrlMapping urlMapping = new UrlMapping("GRNHv-Vd", "http://www.google.com", null, null);
 
-        when(urlShortenerService.getLongUrl(any())).thenReturn(entity);
+        when(urlShortenerService.getLongUrl(any())).thenReturn(urlMapping);
         String url = "http://localhost:8080/app/rest/long";
         String bodyJson = new ObjectMapper().writeValueAsString(request);
         MvcResult result =
@@ -91,6 +98,7 @@ public class UrlShortenerControllerTest {
                         .andExpect(status().isOk())
                         .andReturn();
         verify(urlShortenerService, times(1)).getLongUrl(any());
+        verify(resolutionPipeline).publish(eq("GRNHv-Vd"), eq(200), any(), isNull(), isNull());
     }
 
     @Test
@@ -118,4 +126,54 @@ public class UrlShortenerControllerTest {
                 .andExpect(status().isNotFound());
         verify(urlShortenerService, times(1)).getLongUrl(any());
     }
+
+    @Test
+    public void getLongUrlWithShortUrlNotFoundExceptionTest() throws Exception {
+        GetLongUrlRequestDTO request = new GetLongUrlRequestDTO();
+        request.setShortUrl("GRNHv-Vd");
+        when(urlShortenerService.getLongUrl(any())).thenThrow(ShortUrlNotFoundException.get());
+        String url = "http://localhost:8080/app/rest/long";
+        String bodyJson = new ObjectMapper().writeValueAsString(request);
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(bodyJson))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+        verify(urlShortenerService, times(1)).getLongUrl(any());
+        verify(resolutionPipeline).publish(eq("GRNHv-Vd"), eq(404), any(), isNull(), isNull());
+    }
+
+    @Test
+    public void getLongUrlWithDatabaseBusyExceptionTest() throws Exception {
+        GetLongUrlRequestDTO request = new GetLongUrlRequestDTO();
+        request.setShortUrl("GRNHv-Vd");
+        when(urlShortenerService.getLongUrl(any())).thenThrow(new DatabaseBusyException(10, 1_000));
+        String url = "http://localhost:8080/app/rest/long";
+        String bodyJson = new ObjectMapper().writeValueAsString(request);
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(bodyJson))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        verify(urlShortenerService, times(1)).getLongUrl(any());
+    }
+
+    @Test
+    public void createShortenedUrlWhenTransactionCannotStartTest() throws Exception {
+        ShortenUrlRequestDTO request = new ShortenUrlRequestDTO();
+        request.setLongUrl("http://www.google.com");
+        when(urlShortenerService.shortenUrl(any(), isNull()))
+                .thenThrow(
+                        new CannotCreateTransactionException(
+                                "Could not open JPA EntityManager for transaction",
+                                new DatabaseBusyException(10, 1_000)));
+        String url = "http://localhost:8080/app/rest/shorten";
+        String bodyJson = new ObjectMapper().writeValueAsString(request);
+        mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(bodyJson))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable());
+        verify(urlShortenerService, times(1)).shortenUrl(any(), isNull());
+    }
+
+    @Test
+    public void controllerIsSingletonTest() {
+        assertTrue(webApplicationContext.isSingleton("urlShortenerController"));
+    }
 }
@@ -0,0 +1,191 @@
+package ind.shubhamn.precisrest.rest.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.dto.GetLongUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.GetLongUrlResponseDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlRequestDTO;
+import ind.shubhamn.precisrest.dto.ShortenUrlResponseDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.json.JsonMapper;
+
+/** Output and input parity of the DTO codec with the application's own {@link JsonMapper}. */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class UrlDtoJsonConverterTest {
+
+    private static final LocalDateTime CREATED_AT =
+            LocalDateTime.of(2026, 1, 21, 9, 5, 7, 123_456_000);
+
+    @Autowired private JsonMapper jsonMapper;
+
+    @Autowired private UrlDtoJsonConverter converter;
+
+    @Autowired private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    public void takesPrecedenceOverJacksonForResponses() {
+        // Act
+        HttpMessageConverter<?> chosen =
+                handlerAdapter.getMessageConverters().stream()
+                        .filter(
+                                c ->
+                                        c.canWrite(
+                                                GetLongUrlResponseDTO.class,
+                                                MediaType.APPLICATION_JSON))
+                        .findFirst()
+                        .orElseThrow();
+
+        // Assert
+        assertSame(converter, chosen);
+    }
+
+    @Test
+    public void writesTheSameBytesAsJackson() throws Exception {
+        // Arrange
+        List<Object> responses = new ArrayList<>();
+        responses.add(
+                new GetLongUrlResponseDTO(
+                        "GRNHv-Vd", "https://www.example.com/a?b=1&c=2", CREATED_AT, null));
+        responses.add(new GetLongUrlResponseDTO(null, null, null, null));
+        responses.add(
+                new ShortenUrlResponseDTO(
+                        "my_alias",
+                        "https://example.com/\"quoted\"\\back\\slash\n\t\u0001\u001f\u007f",
+                        LocalDateTime.of(2026, 1, 1, 0, 0),
+                        LocalDateTime.of(2026, 12, 31, 23, 59, 59, 999_999_999)));
+        responses.add(
+                new ShortenUrlResponseDTO(
+                        "ünï",
+                        "https://例え.jp/パス/€?emoji=😀",
+                        LocalDateTime.of(999, 3, 4, 5, 6, 7, 1),
+                        LocalDateTime.of(10_000, 1, 1, 0, 0, 0, 100_000_000)));
+
+        // Act & Assert
+        for (Object response : responses) {
+            assertParity(response);
+        }
+    }
+
+    @Test
+    public void randomResponsesWriteTheSameBytesAsJackson() throws Exception {
+        // Arrange
+        Random random = new Random(42);
+
+        // Act & Assert
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime createdAt =
+                    random.nextInt(8) == 0
+                            ? null
+                            : LocalDateTime.of(
+                                    1970 + random.nextInt(100),
+                                    1 + random.nextInt(12),
+                                    1 + random.nextInt(28),
+                                    random.nextInt(24),
+                                    random.nextInt(60),
+                                    random.nextInt(60),
+                                    random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+            assertParity(
+                    new GetLongUrlResponseDTO(
+                            randomString(random, 8),
+                            randomString(random, 64),
+                            createdAt,
+                            random.nextBoolean() ? null : createdAt));
+        }
+    }
+
+    @Test
+    public void readsRequestsLikeJackson() throws Exception {
+        // Arrange
+        String[] getLongUrlBodies = {
+            "{\"shortUrl\":\"GRNHv-Vd\"}",
+            "{}",
+            "{\"shortUrl\":null}",
+            "{\"shortUrl\":12345}",
+            "{\"shortUrl\":\"a\\u00e9\\\"b\\/c\"}",
+            " {\n  \"shortUrl\" : \"spaced\"\n} ",
+            "{\"shortUrl\":\"first\",\"shortUrl\":\"second\"}",
+            "{\"extra\":{\"nested\":[1,2,{\"x\":null}]},\"shortUrl\":\"abc\"}",
+            "{\"shortUrl\":[\"abc\"]}",
+            "{\"shortUrl\":{\"value\":\"abc\"}}",
+            "[\"abc\"]",
+            "{\"shortUrl\":\"abc\"",
+        };
+        String[] shortenBodies = {
+            "{\"longUrl\":\"https:\\/\\/example.com\\/x\"}",
+            "{\"longUrl\":\"https://example.com\",\"customAlias\":\"my-alias\"}",
+            "{\"customAlias\":null,\"longUrl\":\"https://example.com\"}",
+            "{\"longUrl\":true}",
+            "{\"shortUrl\":\"ignored?\",\"longUrl\":\"https://example.com\"}",
+        };
+
+        // Act & Assert
+        for (String body : getLongUrlBodies) {
+            assertReadParity(GetLongUrlRequestDTO.class, body);
+        }
+        for (String body : shortenBodies) {
+            assertReadParity(ShortenUrlRequestDTO.class, body);
+        }
+    }
+
+    private void assertParity(Object response) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+
+        byte[] expected = jsonMapper.writeValueAsBytes(response);
+        assertEquals(
+                new String(expected, StandardCharsets.UTF_8),
+                output.getBodyAsString(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, output.getBodyAsBytes());
+        assertEquals(expected.length, output.getHeaders().getContentLength());
+    }
+
+    private void assertReadParity(Class<?> type, String body) throws Exception {
+        Object expected;
+        try {
+            expected = jsonMapper.readValue(body, type);
+        } catch (Exception e) {
+            assertThrows(
+                    HttpMessageNotReadableException.class,
+                    () -> read(type, body),
+                    "Jackson rejected " + body);
+            return;
+        }
+        assertEquals(expected, read(type, body), body);
+    }
+
+    private Object read(Class<?> type, String body) throws Exception {
+        return converter.read(
+                type, new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Mostly URL characters, with escapes, multi-byte characters and surrogate pairs mixed in. */
+    private static String randomString(Random random, int maxLength) {
+        String palette = "abcXYZ019-_.~:/?#[]@!$&'()*+,;=%\"\\\n\t\u0000\u001b é€中";
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            if (random.nextInt(16) == 0) {
+                sb.appendCodePoint(0x1F600 + random.nextInt(64));
+            } else {
+                sb.append(palette.charAt(random.nextInt(palette.length())));
+            }
+        }
+        return sb.toString();
+    }
+}
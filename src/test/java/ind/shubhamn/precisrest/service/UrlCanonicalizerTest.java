@@ -0,0 +1,137 @@
+package ind.shubhamn.precisrest.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.service.UrlCanonicalizer.CanonicalUrl;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class UrlCanonicalizerTest {
+
+    private static UrlCanonicalizer canonicalizer(boolean sort, String... stripped) {
+        CanonicalizationConfig config = new CanonicalizationConfig();
+        config.setSortQueryParameters(sort);
+        config.setStrippedParameters(List.of(stripped));
+        return new UrlCanonicalizer(config);
+    }
+
+    @Test
+    public void normalizesCaseDefaultPortsAndEscapes() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(false);
+
+        // Assert
+        assertEquals(
+                "http://example.com/a?b=1&a=2",
+                canonicalizer.canonicalize("HTTP://Example.COM:80/a?b=1&a=2").value());
+        assertEquals(
+                "https://example.com/x",
+                canonicalizer.canonicalize("https://example.com:443/x").value());
+        assertEquals(
+                "https://example.com/",
+                canonicalizer.canonicalize("https://EXAMPLE.com:/").value());
+        assertEquals(
+                "https://example.com:8443/~a/%2F?q=%C3%A9#%3A",
+                canonicalizer
+                        .canonicalize("https://example.com:8443/%7ea/%2f?q=%c3%a9#%3a")
+                        .value());
+        assertEquals(
+                "http://example.com:443/",
+                canonicalizer.canonicalize("http://example.com:443/").value());
+        assertTrue(canonicalizer.canonicalize("HTTP://Example.COM:80/%7E").equivalent());
+    }
+
+    @Test
+    public void writesEmptyHttpPathAsSlash() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(false, "utm_*");
+
+        // Assert
+        assertEquals(
+                canonicalizer.canonicalize("http://example.com/").value(),
+                canonicalizer.canonicalize("http://example.com").value());
+        assertEquals(
+                "https://example.com/",
+                canonicalizer.canonicalize("HTTPS://Example.com:443").value());
+        assertEquals(
+                "http://example.com/?q=1#f",
+                canonicalizer.canonicalize("http://example.com?q=1#f").value());
+        assertEquals(
+                "http://example.com/#f",
+                canonicalizer.canonicalize("http://example.com?utm_source=a#f").value());
+        assertEquals("ftp://example.com", canonicalizer.canonicalize("ftp://example.com").value());
+    }
+
+    @Test
+    public void keepsUserInfoAndPathCase() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(false);
+
+        // Assert
+        assertEquals(
+                "http://User:PW@host.com/Path/File?Q=V",
+                canonicalizer.canonicalize("http://User:PW@HOST.com/Path/File?Q=V").value());
+        assertEquals(
+                "http://[::ab]:8080/", canonicalizer.canonicalize("http://[::AB]:8080/").value());
+    }
+
+    @Test
+    public void returnsCanonicalInputUnchanged() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(true, "utm_*");
+        String url = "https://example.com/a/b?a=1&b=2#frag";
+
+        // Act
+        CanonicalUrl canonical = canonicalizer.compute(url);
+
+        // Assert
+        assertSame(url, canonical.value());
+        assertTrue(canonical.equivalent());
+    }
+
+    @Test
+    public void sortsAndStripsQueryParametersWhenConfigured() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(true, "utm_*", "FBCLID");
+
+        // Act
+        CanonicalUrl canonical =
+                canonicalizer.canonicalize(
+                        "http://Example.com/a?b=1&utm_source=x&a=2&fbclid=y&a=1#top");
+
+        // Assert
+        assertEquals("http://example.com/a?a=2&a=1&b=1#top", canonical.value());
+        assertFalse(canonical.equivalent());
+        assertEquals(
+                "http://example.com/a?a=2&b=1",
+                canonicalizer.canonicalize("http://example.com/a?b=1&a=2").value());
+    }
+
+    @Test
+    public void dropsQueryWhenEveryParameterIsStripped() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(false, "utm_source", "gclid");
+
+        // Assert
+        assertEquals(
+                "https://example.com/p#f",
+                canonicalizer.canonicalize("https://example.com/p?utm_source=a&gclid=b#f").value());
+        assertEquals(
+                "https://example.com/p?",
+                canonicalizer.canonicalize("https://example.com/p?").value());
+    }
+
+    @Test
+    public void memoizesResults() {
+        // Arrange
+        UrlCanonicalizer canonicalizer = canonicalizer(false);
+
+        // Act
+        CanonicalUrl first = canonicalizer.canonicalize("HTTP://EXAMPLE.COM/");
+        CanonicalUrl second = canonicalizer.canonicalize("HTTP://EXAMPLE.COM/");
+
+        // Assert
+        assertSame(first, second);
+    }
+}
@@ -4,15 +4,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import ind.shubhamn.precisrest.cache.CacheInvalidationPublisher;
+import ind.shubhamn.precisrest.cache.UrlCache;
 import ind.shubhamn.precisrest.dao.UrlShortenerDAO;
 import ind.shubhamn.precisrest.exception.ShortUrlAlreadyExistsException;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 public class UrlShortenerServiceCustomAliasTest {
 
@@ -20,6 +25,16 @@ public class UrlShortenerServiceCustomAliasTest {
 
     @Mock private UrlShortenerDAO urlShortenerDAO;
 
+    @Mock private UrlCache urlCache;
+
+    @Mock private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Spy private UrlShortenerMetrics metrics = new UrlShortenerMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private UrlCanonicalizer urlCanonicalizer =
+            new UrlCanonicalizer(new CanonicalizationConfig());
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
@@ -28,7 +43,7 @@ public class UrlShortenerServiceCustomAliasTest {
     @Test
     public void testShortenUrlWithCustomAlias_Success() throws Exception {
         // Arrange
-        String longUrl = "https://www.example.com";
+        String longUrl = "https://www.example.com/";
         String customAlias = "my-custom-link";
 
         when(urlShortenerDAO.findByShortUrl(customAlias)).thenReturn(Optional.empty());
@@ -49,7 +64,7 @@ public class UrlShortenerServiceCustomAliasTest {
     @Test
     public void testShortenUrlWithCustomAlias_AlreadyExists() {
         // Arrange
-        String longUrl = "https://www.example.com";
+        String longUrl = "https://www.example.com/";
         String customAlias = "existing-alias";
 
         ShortenedUrl existingUrl = new ShortenedUrl();
@@ -73,8 +88,8 @@ public class UrlShortenerServiceCustomAliasTest {
     @Test
     public void testShortenUrlWithCustomAlias_DifferentUrls() throws Exception {
         // Arrange
-        String longUrl1 = "https://www.example1.com";
-        String longUrl2 = "https://www.example2.com";
+        String longUrl1 = "https://www.example1.com/";
+        String longUrl2 = "https://www.example2.com/";
         String customAlias1 = "link1";
         String customAlias2 = "link2";
 
@@ -100,7 +115,7 @@ public class UrlShortenerServiceCustomAliasTest {
     @Test
     public void testShortenUrl_AutoGenerated_StillWorks() throws Exception {
         // Arrange
-        String longUrl = "https://www.google.com";
+        String longUrl = "https://www.google.com/";
 
         when(urlShortenerDAO.save(any(ShortenedUrl.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
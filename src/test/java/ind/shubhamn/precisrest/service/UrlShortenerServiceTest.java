@@ -2,16 +2,32 @@ package ind.shubhamn.precisrest.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import ind.shubhamn.precisrest.cache.CacheInvalidationPublisher;
+import ind.shubhamn.precisrest.cache.UrlCache;
+import ind.shubhamn.precisrest.dao.UrlLookupDAO;
 import ind.shubhamn.precisrest.dao.UrlShortenerDAO;
+import ind.shubhamn.precisrest.exception.ShortUrlNotFoundException;
 import ind.shubhamn.precisrest.model.ShortenedUrl;
+import ind.shubhamn.precisrest.model.UrlMapping;
+import ind.shubhamn.precisrest.service.config.CanonicalizationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class UrlShortenerServiceTest {
 
@@ -19,6 +35,20 @@ public class UrlShortenerServiceTest {
 
     @Mock private UrlShortenerDAO urlShortenerDAO;
 
+    @Mock private UrlCache urlCache;
+
+    @Mock private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy private UrlShortenerMetrics metrics = new UrlShortenerMetrics(meterRegistry);
+
+    @Spy
+    private UrlCanonicalizer urlCanonicalizer =
+            new UrlCanonicalizer(new CanonicalizationConfig());
+
+    @Mock private UrlLookupDAO urlLookupDAO;
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
@@ -27,7 +57,7 @@ public class UrlShortenerServiceTest {
     @Test
     public void shortenUrlTest() throws Exception {
         // Arrange
-        String longUrl = "http://www.google.com";
+        String longUrl = "http://www.google.com/";
         when(urlShortenerDAO.save(any(ShortenedUrl.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -41,21 +71,214 @@ public class UrlShortenerServiceTest {
         assertEquals(8, result.getShortUrl().length());
     }
 
+    @Test
+    public void shortenUrlSpellingsShareShortUrlTest() throws Exception {
+        // Arrange
+        when(urlShortenerDAO.save(any(ShortenedUrl.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ShortenedUrl canonical = urlShortenerService.shortenUrl("http://example.com/%7Ea", null);
+        ShortenedUrl variant = urlShortenerService.shortenUrl("HTTP://Example.COM:80/~a", null);
+
+        // Assert: also the code the reactive service derives for either spelling
+        assertEquals(canonical.getShortUrl(), variant.getShortUrl());
+        assertEquals("7BeVd3DS", variant.getShortUrl());
+        assertEquals("http://example.com/~a", variant.getLongUrl());
+    }
+
+    @Test
+    public void shortenUrlDoesNotRetargetStrippedSpellingTest() throws Exception {
+        // Arrange
+        CanonicalizationConfig config = new CanonicalizationConfig();
+        config.setStrippedParameters(List.of("utm_*"));
+        ReflectionTestUtils.setField(
+                urlShortenerService, "urlCanonicalizer", new UrlCanonicalizer(config));
+        Map<String, ShortenedUrl> rows = new HashMap<>();
+        when(urlShortenerDAO.findByShortUrl(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.getArgument(0))));
+        when(urlShortenerDAO.save(any(ShortenedUrl.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ShortenedUrl row = invocation.getArgument(0);
+                            rows.put(row.getShortUrl(), row);
+                            return row;
+                        });
+
+        // Act
+        ShortenedUrl first =
+                urlShortenerService.shortenUrl("https://example.com/a?utm_source=mail", null);
+        ShortenedUrl second =
+                urlShortenerService.shortenUrl("https://example.com/a?utm_source=ads", null);
+
+        // Assert
+        assertEquals(first.getShortUrl(), second.getShortUrl());
+        assertEquals("https://example.com/a?utm_source=mail", second.getLongUrl());
+        assertEquals(
+                "https://example.com/a?utm_source=mail",
+                rows.get(first.getShortUrl()).getLongUrl());
+        verify(urlShortenerDAO, times(1)).save(any(ShortenedUrl.class));
+    }
+
+    @Test
+    public void shortenUrlProbesPastSquattedAliasTest() throws Exception {
+        // Arrange: the victim URL's first code registered as a custom alias for another URL
+        Map<String, ShortenedUrl> rows = new HashMap<>();
+        when(urlShortenerDAO.findByShortUrl(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.getArgument(0))));
+        when(urlShortenerDAO.save(any(ShortenedUrl.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ShortenedUrl row = invocation.getArgument(0);
+                            rows.put(row.getShortUrl(), row);
+                            return row;
+                        });
+        urlShortenerService.shortenUrl("https://evil.example/", "K2u95Q5L");
+
+        // Act
+        ShortenedUrl result = urlShortenerService.shortenUrl("https://victim.example/pay", null);
+
+        // Assert
+        assertEquals("LQ0dzRkg", result.getShortUrl());
+        assertEquals("https://victim.example/pay", result.getLongUrl());
+        assertEquals("https://evil.example/", rows.get("K2u95Q5L").getLongUrl());
+    }
+
+    @Test
+    public void shortenUrlPublishesInvalidationTest() throws Exception {
+        // Arrange
+        when(urlShortenerDAO.save(any(ShortenedUrl.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ShortenedUrl result = urlShortenerService.shortenUrl("http://www.google.com", null);
+
+        // Assert
+        verify(cacheInvalidationPublisher).publish(List.of(result.getShortUrl()));
+        verify(urlCache).put(UrlMapping.of(result));
+    }
+
     @Test
     public void getLongUrlTest() throws Exception {
         // Arrange
-        ShortenedUrl shortenedUrl = new ShortenedUrl();
-        shortenedUrl.setShortUrl("GRNHv-Vd");
-        shortenedUrl.setLongUrl("http://www.google.com");
+        UrlMapping urlMapping = new UrlMapping("GRNHv-Vd", "http://www.google.com", null, null);
 
-        when(urlShortenerDAO.findByShortUrl("GRNHv-Vd")).thenReturn(Optional.of(shortenedUrl));
+        when(urlLookupDAO.findByShortUrl("GRNHv-Vd")).thenReturn(Optional.of(urlMapping));
 
         // Act
-        ShortenedUrl result = urlShortenerService.getLongUrl("GRNHv-Vd");
+        UrlMapping result = urlShortenerService.getLongUrl("GRNHv-Vd");
 
         // Assert
         assertNotNull(result);
-        assertEquals("GRNHv-Vd", result.getShortUrl());
-        assertEquals("http://www.google.com", result.getLongUrl());
+        assertEquals("GRNHv-Vd", result.shortUrl());
+        assertEquals("http://www.google.com", result.longUrl());
+        verify(urlShortenerDAO, never()).findByShortUrl(any());
+    }
+
+    @Test
+    public void getLongUrlCacheHitSkipsDatabaseTest() {
+        // Arrange
+        UrlMapping cached = new UrlMapping("GRNHv-Vd", "http://www.google.com", null, null);
+        when(urlCache.getIfPresent("GRNHv-Vd")).thenReturn(cached);
+
+        // Act
+        UrlMapping result = urlShortenerService.getLongUrl("GRNHv-Vd");
+
+        // Assert
+        assertSame(cached, result);
+        verify(urlLookupDAO, never()).findByShortUrl(any());
+    }
+
+    @Test
+    public void getLongUrlCacheMissPopulatesCacheTest() {
+        // Arrange
+        UrlMapping urlMapping = new UrlMapping("GRNHv-Vd", "http://www.google.com", null, null);
+        when(urlLookupDAO.findByShortUrl("GRNHv-Vd")).thenReturn(Optional.of(urlMapping));
+
+        // Act
+        urlShortenerService.getLongUrl("GRNHv-Vd");
+
+        // Assert
+        verify(urlCache).put(urlMapping);
+    }
+
+    @Test
+    public void getLongUrlNotFoundTest() {
+        // Arrange
+        when(urlLookupDAO.findByShortUrl("missing1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(
+                ShortUrlNotFoundException.class, () -> urlShortenerService.getLongUrl("missing1"));
+    }
+
+    @Test
+    public void getLongUrlNotFoundThrowsSharedStacklessExceptionTest() {
+        // Arrange
+        when(urlLookupDAO.findByShortUrl(any())).thenReturn(Optional.empty());
+
+        // Act
+        ShortUrlNotFoundException first =
+                assertThrows(
+                        ShortUrlNotFoundException.class,
+                        () -> urlShortenerService.getLongUrl("missing1"));
+        ShortUrlNotFoundException second =
+                assertThrows(
+                        ShortUrlNotFoundException.class,
+                        () -> urlShortenerService.getLongUrl("missing2"));
+        first.addSuppressed(new IllegalStateException("closing a resource failed"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals(0, second.getSuppressed().length);
+    }
+
+    @Test
+    public void getLongUrlCountsCacheHitsAndMissesTest() {
+        // Arrange
+        UrlMapping urlMapping = new UrlMapping("GRNHv-Vd", "http://www.google.com", null, null);
+        when(urlCache.getIfPresent("GRNHv-Vd")).thenReturn(null, urlMapping);
+        when(urlLookupDAO.findByShortUrl("GRNHv-Vd")).thenReturn(Optional.of(urlMapping));
+
+        // Act
+        urlShortenerService.getLongUrl("GRNHv-Vd");
+        urlShortenerService.getLongUrl("GRNHv-Vd");
+
+        // Assert
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("url.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("url.cache.requests")
+                        .tag("result", "miss")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                1, meterRegistry.get("url.shortener.stage").tag("stage", "lookup").timer().count());
+    }
+
+    @Test
+    public void shortenUrlTimesGenerateAndPersistStagesTest() throws Exception {
+        // Arrange
+        when(urlShortenerDAO.save(any(ShortenedUrl.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        urlShortenerService.shortenUrl("http://www.google.com", null);
+
+        // Assert
+        assertEquals(
+                1,
+                meterRegistry.get("url.shortener.stage").tag("stage", "generate").timer().count());
+        assertEquals(
+                1,
+                meterRegistry.get("url.shortener.stage").tag("stage", "persist").timer().count());
     }
 }
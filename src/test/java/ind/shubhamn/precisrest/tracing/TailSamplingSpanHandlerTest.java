@@ -0,0 +1,232 @@
+package ind.shubhamn.precisrest.tracing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import ind.shubhamn.precisrest.tracing.TailSamplingSpanHandler.Decision;
+import ind.shubhamn.precisrest.tracing.config.TailSamplingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TailSamplingSpanHandlerTest {
+
+    private static final long START_MICROS = 1_000_000;
+
+    private final List<String> exported = new CopyOnWriteArrayList<>();
+
+    private final SpanHandler exporter =
+            new SpanHandler() {
+                @Override
+                public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                    exported.add(span.name());
+                    return true;
+                }
+            };
+
+    private TailSamplingConfig config;
+
+    private TailSamplingSpanHandler handler;
+
+    private Tracing tracing;
+
+    private Tracer tracer;
+
+    @BeforeEach
+    public void setUp() {
+        config = new TailSamplingConfig();
+        config.setLatencyThresholdMillis(500);
+        config.setBaselineRate(0);
+        config.setMaxSpansPerTrace(2);
+        handler = new TailSamplingSpanHandler(config, new SimpleMeterRegistry(), this::handlers);
+        // the exporter comes after the tail sampler, as the Zipkin handler does in the application
+        tracing = Tracing.newBuilder().addSpanHandler(handler).addSpanHandler(exporter).build();
+        tracer = tracing.tracer();
+    }
+
+    private List<SpanHandler> handlers() {
+        return List.of(handler, exporter);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tracing.close();
+    }
+
+    private Span root(String name) {
+        return tracer.newTrace().name(name).start(START_MICROS);
+    }
+
+    private void child(Span parent, String name, Throwable error) {
+        Span child = tracer.newChild(parent.context()).name(name).start(START_MICROS);
+        if (error != null) {
+            child.error(error);
+        }
+        child.finish(START_MICROS + 1_000);
+    }
+
+    @Test
+    public void fastTraceIsDroppedWithItsChildren() {
+        // Arrange
+        Span root = root("root");
+        child(root, "query", null);
+
+        // Act
+        root.finish(START_MICROS + 10_000);
+
+        // Assert
+        assertTrue(exported.isEmpty());
+        assertEquals(1, handler.getDecisionCount(Decision.DROPPED));
+        assertEquals(0, handler.getBufferedTraces());
+    }
+
+    @Test
+    public void slowTraceIsExportedWithItsChildren() {
+        // Arrange
+        Span root = root("root");
+        child(root, "query", null);
+
+        // Assert: nothing leaves before the root finishes
+        assertTrue(exported.isEmpty());
+        assertEquals(1, handler.getBufferedTraces());
+
+        // Act
+        root.finish(START_MICROS + 600_000);
+
+        // Assert
+        assertEquals(List.of("query", "root"), exported);
+        assertEquals(1, handler.getDecisionCount(Decision.SLOW));
+        assertEquals(0, handler.getBufferedTraces());
+    }
+
+    @Test
+    public void errorInChildKeepsFastTrace() {
+        // Arrange
+        Span root = root("root");
+        child(root, "query", new IllegalStateException("boom"));
+
+        // Act
+        root.finish(START_MICROS + 10_000);
+
+        // Assert
+        assertEquals(List.of("query", "root"), exported);
+        assertEquals(1, handler.getDecisionCount(Decision.ERROR));
+    }
+
+    @Test
+    public void serverErrorStatusKeepsTrace() {
+        // Arrange
+        Span root = root("root").tag("status", "503");
+
+        // Act
+        root.finish(START_MICROS + 10_000);
+
+        // Assert
+        assertEquals(List.of("root"), exported);
+        assertEquals(1, handler.getDecisionCount(Decision.ERROR));
+    }
+
+    @Test
+    public void baselineKeepsOrdinaryTraces() {
+        // Arrange
+        config.setBaselineRate(1.0);
+        Span root = root("root");
+
+        // Act
+        root.finish(START_MICROS + 10_000);
+
+        // Assert
+        assertEquals(List.of("root"), exported);
+        assertEquals(1, handler.getDecisionCount(Decision.BASELINE));
+    }
+
+    @Test
+    public void spansBeyondPerTraceLimitAreDropped() {
+        // Arrange
+        Span root = root("root");
+        child(root, "first", null);
+        child(root, "second", null);
+        child(root, "third", null);
+
+        // Act
+        root.finish(START_MICROS + 600_000);
+
+        // Assert
+        assertEquals(List.of("first", "second", "root"), exported);
+    }
+
+    @Test
+    public void lateChildFollowsRootDecision() {
+        // Arrange
+        Span slow = root("slow");
+        Span fast = root("fast");
+        slow.finish(START_MICROS + 600_000);
+        fast.finish(START_MICROS + 10_000);
+        exported.clear();
+
+        // Act
+        child(slow, "late-kept", null);
+        child(fast, "late-dropped", null);
+
+        // Assert
+        assertEquals(List.of("late-kept"), exported);
+        assertEquals(0, handler.getBufferedTraces());
+    }
+
+    @Test
+    public void childFinishingAsRootFinishesIsNotLost() throws Exception {
+        // Arrange
+        int traces = 2_000;
+        ExecutorService childThread = Executors.newSingleThreadExecutor();
+
+        // Act: each child finishes on another thread while its slow root finishes
+        try {
+            for (int i = 0; i < traces; i++) {
+                Span root = root("root");
+                Span child = tracer.newChild(root.context()).name("child").start(START_MICROS);
+                CountDownLatch started = new CountDownLatch(1);
+                Future<?> finished =
+                        childThread.submit(
+                                () -> {
+                                    started.countDown();
+                                    child.finish(START_MICROS + 1_000);
+                                });
+                started.await();
+                root.finish(START_MICROS + 600_000);
+                finished.get();
+            }
+        } finally {
+            childThread.shutdown();
+        }
+
+        // Assert
+        assertEquals(traces, exported.stream().filter("child"::equals).count());
+        assertEquals(0, handler.getBufferedTraces());
+    }
+
+    @Test
+    public void disabledPassesEverythingThrough() {
+        // Arrange
+        config.setEnabled(false);
+        Span root = root("root");
+
+        // Act
+        child(root, "query", null);
+        root.finish(START_MICROS + 10_000);
+
+        // Assert
+        assertEquals(List.of("query", "root"), exported);
+    }
+}
@@ -0,0 +1,115 @@
+package ind.shubhamn.precisrest.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ind.shubhamn.precisrest.validation.config.DomainBlocklistConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DomainBlocklistTest {
+
+    @TempDir Path dir;
+
+    private DomainBlocklistConfig config(Path file) {
+        DomainBlocklistConfig config = new DomainBlocklistConfig();
+        config.setEnabled(true);
+        config.setFile(file.toString());
+        return config;
+    }
+
+    // replaced by rename, as a feed updater should
+    private void replace(Path file, String content) throws IOException {
+        Path next = dir.resolve("next.txt");
+        Files.writeString(next, content);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean isBlocked(DomainBlocklist blocklist, String url) {
+        int hostStart = UrlScanner.hostStart(url);
+        return hostStart >= 0
+                && blocklist.isBlocked(url, hostStart, UrlScanner.hostEnd(url, hostStart));
+    }
+
+    @Test
+    public void blocksListedHostsInUrls() throws IOException {
+        // Arrange
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "evil.com\n");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DomainBlocklist blocklist = new DomainBlocklist(config(file), registry);
+
+        // Assert
+        assertTrue(isBlocked(blocklist, "https://evil.com"));
+        assertTrue(isBlocked(blocklist, "http://user:pw@WWW.Evil.com.:8080/a?b#c"));
+        assertFalse(isBlocked(blocklist, "https://notevil.com/evil.com"));
+        assertFalse(isBlocked(blocklist, "https://example.com?next=evil.com"));
+        assertFalse(isBlocked(blocklist, "http://[::1]/"));
+        assertEquals(2, blocklist.getHitCount());
+        assertEquals(2.0, registry.get("url.blocklist.hits").functionCounter().count());
+        assertEquals(1.0, registry.get("url.blocklist.domains").gauge().value());
+        assertEquals(1, registry.get("url.blocklist.load").timer().count());
+    }
+
+    @Test
+    public void reloadsWhenFileChanges() throws IOException {
+        // Arrange
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "evil.com\n");
+        DomainBlocklist blocklist = new DomainBlocklist(config(file), new SimpleMeterRegistry());
+
+        // Act: unchanged, then replaced
+        blocklist.reloadIfChanged();
+        replace(file, "evil.com\nworse.net\n");
+        blocklist.reloadIfChanged();
+
+        // Assert
+        assertEquals(2, blocklist.size());
+        assertTrue(isBlocked(blocklist, "https://a.worse.net/"));
+    }
+
+    @Test
+    public void failedReloadKeepsCurrentList() throws IOException {
+        // Arrange
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "evil.com\n");
+        DomainBlocklist blocklist = new DomainBlocklist(config(file), new SimpleMeterRegistry());
+
+        // Act
+        Files.delete(file);
+        blocklist.reloadIfChanged();
+
+        // Assert
+        assertEquals(1, blocklist.getReloadFailureCount());
+        assertTrue(isBlocked(blocklist, "https://evil.com/"));
+    }
+
+    @Test
+    public void unreadableFileFailsStartup() {
+        // Arrange
+        DomainBlocklistConfig config = config(dir.resolve("missing.txt"));
+
+        // Act & Assert
+        assertThrows(
+                IllegalStateException.class,
+                () -> new DomainBlocklist(config, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void disabledBlocklistBlocksNothing() {
+        // Arrange
+        DomainBlocklist blocklist =
+                new DomainBlocklist(new DomainBlocklistConfig(), new SimpleMeterRegistry());
+
+        // Act
+        blocklist.reloadIfChanged();
+
+        // Assert
+        assertEquals(0, blocklist.size());
+        assertFalse(isBlocked(blocklist, "https://evil.com/"));
+    }
+}
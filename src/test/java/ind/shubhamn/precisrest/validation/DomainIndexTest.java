@@ -0,0 +1,129 @@
+package ind.shubhamn.precisrest.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class DomainIndexTest {
+
+    private static DomainIndex parse(String text) {
+        return DomainIndex.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static boolean matches(DomainIndex index, String host) {
+        return index.matches(host, 0, host.length());
+    }
+
+    @Test
+    public void matchesDomainAndSubdomainsOnly() {
+        // Arrange
+        DomainIndex index = parse("evil.com\nbad.example.org\n");
+
+        // Assert
+        assertTrue(matches(index, "evil.com"));
+        assertTrue(matches(index, "www.evil.com"));
+        assertTrue(matches(index, "a.b.EVIL.com"));
+        assertTrue(matches(index, "x.bad.example.org"));
+        assertFalse(matches(index, "notevil.com"));
+        assertFalse(matches(index, "evil.com.au"));
+        assertFalse(matches(index, "example.org"));
+        assertFalse(matches(index, "com"));
+    }
+
+    @Test
+    public void parsesCommentsHostsFileLinesAndWildcards() {
+        // Arrange
+        DomainIndex index =
+                parse(
+                        "# feed header\n"
+                                + "\n"
+                                + "0.0.0.0 tracker.net # inline\r\n"
+                                + "*.Ads.Example\n"
+                                + "  .leading.dot.\n"
+                                + "not a domain!\n"
+                                + "evil.com\n"
+                                + "EVIL.COM\n");
+
+        // Assert
+        assertEquals(4, index.size());
+        assertTrue(matches(index, "tracker.net"));
+        assertTrue(matches(index, "ads.example"));
+        assertTrue(matches(index, "x.leading.dot"));
+        assertTrue(matches(index, "evil.com"));
+        assertFalse(matches(index, "0.0.0.0"));
+    }
+
+    @Test
+    public void matchesHostWithinLargerText() {
+        // Arrange
+        DomainIndex index = parse("evil.com\n");
+        String url = "https://user@evil.com:8080/path";
+
+        // Assert
+        assertTrue(index.matches(url, 13, 21));
+        assertFalse(index.matches(url, 13, 20));
+    }
+
+    @Test
+    public void emptyIndexMatchesNothing() {
+        // Assert
+        assertEquals(0, parse("# nothing\n").size());
+        assertFalse(matches(DomainIndex.EMPTY, "evil.com"));
+    }
+
+    @Test
+    public void agreesWithHashSetAcrossBlocks() {
+        // Arrange: enough similar domains to fill many front-coded blocks
+        Random random = new Random(0x5eed);
+        Set<String> domains = new HashSet<>();
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            String domain = randomDomain(random);
+            domains.add(domain);
+            file.append(domain).append('\n');
+        }
+        DomainIndex index = parse(file.toString());
+
+        // Assert
+        assertEquals(domains.size(), index.size());
+        for (String domain : domains) {
+            assertTrue(matches(index, domain), domain);
+            assertTrue(matches(index, "sub." + domain), domain);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String host = randomDomain(random);
+            assertEquals(expected(domains, host), matches(index, host), host);
+        }
+    }
+
+    private static String randomDomain(Random random) {
+        StringBuilder domain = new StringBuilder();
+        int labels = 1 + random.nextInt(3);
+        for (int i = 0; i < labels; i++) {
+            if (i > 0) {
+                domain.append('.');
+            }
+            int length = 1 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                domain.append("abc-".charAt(random.nextInt(4)));
+            }
+        }
+        return domain.toString();
+    }
+
+    private static boolean expected(Set<String> domains, String host) {
+        String lower = host.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if ((i == 0 || lower.charAt(i - 1) == '.') && domains.contains(lower.substring(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}